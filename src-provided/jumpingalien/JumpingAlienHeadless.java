@@ -0,0 +1,80 @@
+package jumpingalien;
+
+import java.io.IOException;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.internal.JumpingAlienOptions;
+import jumpingalien.internal.game.BatchSimulation;
+import jumpingalien.internal.game.JumpingAlienGame;
+
+/**
+ * Runs levels without a display and reports how many in-game seconds are
+ * simulated per real second.
+ * 
+ * Usage: JumpingAlienHeadless [-seconds s] [-frametime dt] [-seed n]
+ * [-inputinterval s] [-script file] [game options] level.tmx...
+ */
+public class JumpingAlienHeadless {
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+
+		double seconds = 60;
+		double frameTime = 1.0 / 30;
+		long seed = 42;
+		double inputInterval = 0.5;
+		String script = null;
+		java.util.List<String> levels = new java.util.ArrayList<>();
+		java.util.List<String> gameArgs = new java.util.ArrayList<>();
+
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch (arg) {
+			case "-seconds":
+				seconds = Double.parseDouble(args[++i]);
+				break;
+			case "-frametime":
+				frameTime = Double.parseDouble(args[++i]);
+				break;
+			case "-seed":
+				seed = Long.parseLong(args[++i]);
+				break;
+			case "-inputinterval":
+				inputInterval = Double.parseDouble(args[++i]);
+				break;
+			case "-script":
+				script = args[++i];
+				break;
+			default:
+				if (arg.startsWith("-")) {
+					gameArgs.add(arg);
+					gameArgs.add(args[++i]);
+				} else {
+					levels.add(arg);
+				}
+			}
+		}
+		if (levels.isEmpty()) {
+			levels.add("level1.tmx");
+		}
+
+		for (String level : levels) {
+			JumpingAlienOptions options = JumpingAlienOptions.parse(gameArgs
+					.toArray(new String[0]));
+			Facade facade = new Facade();
+			facade.cleanAllSlimeIds();
+			JumpingAlienGame game = new JumpingAlienGame(options, facade);
+			BatchSimulation simulation = new BatchSimulation(game, level, 1024,
+					768);
+			if (script != null) {
+				simulation.loadScript(script);
+			} else {
+				simulation.setRandomInput(seed, inputInterval);
+			}
+			simulation.run(seconds, frameTime);
+			game.closeMetrics();
+			System.out.println(simulation.getReport());
+		}
+	}
+
+}
@@ -315,6 +315,30 @@ public interface IFacade {
 	 */
 	Set<? extends Object> getAllGameObjects(World world) throws ModelException;
 	
+	/**
+	 * Return a collection of the game objects in the given world whose current sprite
+	 * overlaps with the visible window of that world, extended with the given margin
+	 * (in pixels) at each side.
+	 * 
+	 * You may stick to the default implementation, which returns all game objects
+	 * of the given world.
+	 */
+	default Collection<? extends Object> getGameObjectsInVisibleWindow(World world, int margin) throws ModelException {
+		return getAllGameObjects(world);
+	}
+	
+	/**
+	 * Return a read-only collection of all the game objects in the given world, in the order
+	 * in which they were added, that follows the changes of that world. The GUI walks over
+	 * this collection several times per frame, so it should not be a copy.
+	 * 
+	 * You may stick to the default implementation, which returns all game objects
+	 * of the given world.
+	 */
+	default Collection<? extends Object> getAllGameObjectsView(World world) throws ModelException {
+		return getAllGameObjects(world);
+	}
+	
 	/**
 	 * Return the mazub under control of the end user in the given world.
 	 */
@@ -556,6 +580,62 @@ public interface IFacade {
 			return null;
 		}
 		throw new NoSuchMethodError("Teams of 2 students should implement this method.");
-	}	
+	}
+
+	/*******************************
+	 * Performance and diagnostics *
+	 *******************************/
+
+	/**
+	 * Return the profiler timing the phases in which the time of the given world
+	 * advances, or null if the time of that world is not profiled.
+	 * 
+	 * You may stick to the default implementation, which does not profile any world.
+	 */
+	default PhaseProfiler getProfiler(World world) throws ModelException {
+		return null;
+	}
+
+	/**
+	 * Return the number of times the given world has been queried for the game
+	 * objects in a rectangle of pixels.
+	 * 
+	 * You may stick to the default implementation, which does not count any query.
+	 */
+	default long getNbObjectQueries(World world) throws ModelException {
+		return 0;
+	}
+
+	/**
+	 * Return the number of game objects the given world has examined while answering
+	 * queries for the game objects in a rectangle of pixels.
+	 * 
+	 * You may stick to the default implementation, which does not count any object.
+	 */
+	default long getNbObjectQueryCandidates(World world) throws ModelException {
+		return 0;
+	}
+
+	/**
+	 * Set the number of pixels around the visible window and around the player
+	 * Mazub of the given world within which game objects advance their time, or
+	 * a negative number to let all game objects advance their time.
+	 * 
+	 * You may stick to the default implementation, which lets all game objects
+	 * advance their time.
+	 */
+	default void setActivityMargin(World world, int activityMargin) throws ModelException {
+	}
+
+	/**
+	 * Set whether groups of game objects of the given world that cannot interact
+	 * with each other advance their time concurrently, with the same result as
+	 * when all game objects advance one after the other.
+	 * 
+	 * You may stick to the default implementation, which advances all game
+	 * objects one after the other.
+	 */
+	default void setAdvancesInParallel(World world, boolean advancesInParallel) throws ModelException {
+	}
 
-}
\ No newline at end of file
+}
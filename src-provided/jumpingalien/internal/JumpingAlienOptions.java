@@ -12,6 +12,56 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 	 */
 	private double timeScale = 1.0;
 
+	/**
+	 * Fixed in-game time step with which the world is advanced (default: 0.0).
+	 * If 0, the world is advanced with the measured time of each frame.
+	 * Otherwise, the world is advanced in steps of exactly this many seconds,
+	 * and objects are painted at positions interpolated between the last two steps.
+	 */
+	private double fixedTimeStep = 0.0;
+
+	/**
+	 * Maximal number of fixed time steps taken in a single frame (default: 8).
+	 * If more steps would be needed, the remaining time is dropped and
+	 * in-game time runs slower than real time.
+	 */
+	private int maxCatchUpSteps = 8;
+
+	/**
+	 * Update the game on a thread of its own and paint it on the main thread
+	 * from snapshots of the game (default: false).
+	 */
+	private boolean separateRenderThread = false;
+
+	/**
+	 * File to which snapshots of the game's metrics are appended (default:
+	 * none).
+	 */
+	private String metricsFile = null;
+
+	/**
+	 * Format of the metrics file, "json" or "csv" (default: json).
+	 */
+	private String metricsFormat = "json";
+
+	/**
+	 * Real seconds between two snapshots in the metrics file (default: 10).
+	 */
+	private double metricsInterval = 10;
+
+	/**
+	 * Local port on which the game's metrics are served over HTTP at
+	 * /metrics (default: 0, not served).
+	 */
+	private int metricsPort = 0;
+
+	/**
+	 * Number of pixels around the visible window and around Mazub within
+	 * which game objects are advanced (default: -1, all game objects are
+	 * advanced).
+	 */
+	private int activityMargin = -1;
+
 	/**
 	 * Target framerate (default: 30 frames per second).
 	 */
@@ -67,10 +117,22 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 	 */
 	private boolean debugShowObjectString = false;
 
+	/**
+	 * Time the phases of advancing the world and the painters, and show
+	 * percentiles of those times on screen (default: false).
+	 */
+	private boolean debugShowProfiler = false;
+
 	/**
 	 * Show the entire world on screen, scaled (default: false).
 	 */
 	private boolean debugShowEntireWorld = false;
+
+	/**
+	 * Number of pixels around the visible window in which game objects are
+	 * still painted (default: 0). Objects further away are not painted.
+	 */
+	private int cullingMargin = 0;
 	
 	
 	@Override
@@ -92,6 +154,90 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 		this.timeScale = timeScale;
 	}
 
+	/**
+	 * The fixed time step must stay below the longest time duration over which
+	 * the model advances the time of a world at once.
+	 */
+	public static final double MAX_FIXED_TIME_STEP = 0.2;
+
+	public static boolean isValidFixedTimeStep(double fixedTimeStep) {
+		return fixedTimeStep > 0 && fixedTimeStep < MAX_FIXED_TIME_STEP;
+	}
+
+	@Override
+	public double getFixedTimeStep() {
+		return fixedTimeStep;
+	}
+
+	@Override
+	public void setFixedTimeStep(double fixedTimeStep) {
+		this.fixedTimeStep = fixedTimeStep;
+	}
+
+	@Override
+	public int getMaxCatchUpSteps() {
+		return maxCatchUpSteps;
+	}
+
+	@Override
+	public void setMaxCatchUpSteps(int maxCatchUpSteps) {
+		this.maxCatchUpSteps = maxCatchUpSteps;
+	}
+
+	@Override
+	public boolean isSeparateRenderThread() {
+		return separateRenderThread;
+	}
+
+	public void setSeparateRenderThread(boolean separateRenderThread) {
+		this.separateRenderThread = separateRenderThread;
+	}
+
+	@Override
+	public String getMetricsFile() {
+		return metricsFile;
+	}
+
+	public void setMetricsFile(String metricsFile) {
+		this.metricsFile = metricsFile;
+	}
+
+	@Override
+	public String getMetricsFormat() {
+		return metricsFormat;
+	}
+
+	public void setMetricsFormat(String metricsFormat) {
+		this.metricsFormat = metricsFormat;
+	}
+
+	@Override
+	public double getMetricsInterval() {
+		return metricsInterval;
+	}
+
+	public void setMetricsInterval(double metricsInterval) {
+		this.metricsInterval = metricsInterval;
+	}
+
+	@Override
+	public int getMetricsPort() {
+		return metricsPort;
+	}
+
+	public void setMetricsPort(int metricsPort) {
+		this.metricsPort = metricsPort;
+	}
+
+	@Override
+	public int getActivityMargin() {
+		return activityMargin;
+	}
+
+	public void setActivityMargin(int activityMargin) {
+		this.activityMargin = activityMargin;
+	}
+
 	@Override
 	public boolean getDebugShowInfo() {
 		return debugShowInfo;
@@ -195,6 +341,26 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 		this.debugShowEntireWorld = debugShowEntireWorld;
 	}
 
+	@Override
+	public boolean getDebugShowProfiler() {
+		return debugShowProfiler;
+	}
+
+	@Override
+	public void setDebugShowProfiler(boolean debugShowProfiler) {
+		this.debugShowProfiler = debugShowProfiler;
+	}
+
+	@Override
+	public int getCullingMargin() {
+		return cullingMargin;
+	}
+
+	@Override
+	public void setCullingMargin(int cullingMargin) {
+		this.cullingMargin = cullingMargin;
+	}
+
 	public static JumpingAlienOptions parse(String[] args) {
 		JumpingAlienOptions options = new JumpingAlienOptions();
 
@@ -207,9 +373,44 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 			case "-timescale":
 				options.timeScale = Double.parseDouble(args[++i]);
 				break;
+			case "-fixedstep":
+				double fixedTimeStep = Double.parseDouble(args[++i]);
+				if (!isValidFixedTimeStep(fixedTimeStep))
+					throw new IllegalArgumentException("Illegal fixed time step: "
+							+ fixedTimeStep + " (expected more than 0 and less than "
+							+ MAX_FIXED_TIME_STEP + " seconds)");
+				options.fixedTimeStep = fixedTimeStep;
+				break;
+			case "-maxcatchup":
+				options.maxCatchUpSteps = Integer.parseInt(args[++i]);
+				break;
+			case "-cullmargin":
+				options.cullingMargin = Integer.parseInt(args[++i]);
+				break;
+			case "-renderthread":
+				options.separateRenderThread = Boolean.parseBoolean(args[++i]);
+				break;
+			case "-metricsfile":
+				options.metricsFile = args[++i];
+				break;
+			case "-metricsformat":
+				options.metricsFormat = args[++i];
+				break;
+			case "-metricsinterval":
+				options.metricsInterval = Double.parseDouble(args[++i]);
+				break;
+			case "-metricsport":
+				options.metricsPort = Integer.parseInt(args[++i]);
+				break;
+			case "-activitymargin":
+				options.activityMargin = Integer.parseInt(args[++i]);
+				break;
 			case "-debuginfo":
 				options.debugShowInfo = Boolean.parseBoolean(args[++i]);
 				break;
+			case "-debugprofiler":
+				options.debugShowProfiler = Boolean.parseBoolean(args[++i]);
+				break;
 			case "-debugaxes":
 				options.debugShowAxes = Boolean.parseBoolean(args[++i]);
 				break;
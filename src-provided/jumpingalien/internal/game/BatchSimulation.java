@@ -0,0 +1,202 @@
+package jumpingalien.internal.game;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import jumpingalien.model.Mazub;
+
+/**
+ * Runs a level of a JumpingAlienGame without a GUI, as fast as possible,
+ * while feeding Mazub a scripted or random stream of inputs.
+ */
+public class BatchSimulation {
+
+	private static final String[] ACTIONS = { "startMoveLeft", "endMoveLeft",
+			"startMoveRight", "endMoveRight", "startJump", "endJump",
+			"startDuck", "endDuck" };
+
+	private final JumpingAlienGame game;
+
+	private final List<ScriptedAction> script = new ArrayList<>();
+	private Random random;
+	private double randomInputInterval = 0.5;
+
+	private double simulatedTime;
+	private double wallTime;
+	private long nbUpdates;
+
+	public BatchSimulation(JumpingAlienGame game, String mapFile,
+			int visibleWidth, int visibleHeight) {
+		this.game = game;
+		game.setVisibleScreenSize(visibleWidth, visibleHeight);
+		if (!game.setMapFile(mapFile)) {
+			throw new IllegalArgumentException("Could not read level "
+					+ mapFile);
+		}
+	}
+
+	public JumpingAlienGame getGame() {
+		return game;
+	}
+
+	/**
+	 * Read a script of inputs for Mazub. Each non-empty line that does not
+	 * start with '#' consists of an in-game time in seconds and the name of an
+	 * action of IActionHandler, e.g. "1.5 startJump".
+	 */
+	public void loadScript(String filename) throws IOException {
+		for (String line : Files.readAllLines(Paths.get(filename))) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] parts = line.split("\\s+");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Illegal script line: "
+						+ line);
+			}
+			script.add(new ScriptedAction(Double.parseDouble(parts[0]),
+					getAction(parts[1])));
+		}
+		script.sort((a, b) -> Double.compare(a.time, b.time));
+	}
+
+	/**
+	 * Give Mazub a random input every given number of in-game seconds,
+	 * chosen with a generator initialised with the given seed.
+	 */
+	public void setRandomInput(long seed, double interval) {
+		this.random = new Random(seed);
+		this.randomInputInterval = interval;
+	}
+
+	/**
+	 * Advance the game by the given number of in-game seconds, or until the
+	 * game is over, in updates of the given frame time.
+	 */
+	public void run(double seconds, double frameTime) {
+		game.start();
+		// the first update of a game is skipped
+		game.update(frameTime);
+		int nextScripted = 0;
+		double nextRandom = 0;
+		long start = System.nanoTime();
+		while (game.isRunning() && game.getElapsedTime() < seconds) {
+			double now = game.getElapsedTime();
+			while (nextScripted < script.size()
+					&& script.get(nextScripted).time <= now) {
+				script.get(nextScripted++).action.accept(game.getActionHandler());
+			}
+			if (random != null && nextRandom <= now) {
+				String action = ACTIONS[random.nextInt(ACTIONS.length)];
+				if (isApplicable(action)) {
+					getAction(action).accept(game.getActionHandler());
+				}
+				nextRandom += randomInputInterval;
+			}
+			try {
+				game.update(frameTime);
+			} catch (RuntimeException e) {
+				failure = e;
+				break;
+			}
+			nbUpdates++;
+		}
+		wallTime = (System.nanoTime() - start) / 1e9;
+		simulatedTime = game.getElapsedTime();
+	}
+
+	/**
+	 * Random inputs that would be rejected by the model in the current state
+	 * of Mazub are skipped.
+	 */
+	private boolean isApplicable(String action) {
+		Mazub alien = game.getAlien();
+		if (alien == null) {
+			return false;
+		}
+		switch (action) {
+		case "startMoveLeft":
+		case "startMoveRight":
+			return !game.getFacade().isMoving(alien);
+		case "startJump":
+			return !game.getFacade().isJumping(alien);
+		case "startDuck":
+			return !game.getFacade().isDucking(alien);
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * Return the exception that aborted the last run, if any.
+	 */
+	public RuntimeException getFailure() {
+		return failure;
+	}
+
+	private RuntimeException failure;
+
+	public double getSimulatedTime() {
+		return simulatedTime;
+	}
+
+	public double getWallTime() {
+		return wallTime;
+	}
+
+	public long getNbUpdates() {
+		return nbUpdates;
+	}
+
+	public double getSimulatedSecondsPerWallSecond() {
+		return simulatedTime / wallTime;
+	}
+
+	public String getReport() {
+		return String.format(
+				"%s: %.2f simulated s in %.3f wall s (%d updates, %.1f sim-s/wall-s)%s",
+				game.getMapFile(), getSimulatedTime(), getWallTime(),
+				getNbUpdates(), getSimulatedSecondsPerWallSecond(),
+				failure != null ? ", aborted: " + failure
+						: game.isRunning() ? "" : ", game over");
+	}
+
+	private static Consumer<IActionHandler> getAction(String name) {
+		switch (name) {
+		case "startMoveLeft":
+			return IActionHandler::startMoveLeft;
+		case "endMoveLeft":
+			return IActionHandler::endMoveLeft;
+		case "startMoveRight":
+			return IActionHandler::startMoveRight;
+		case "endMoveRight":
+			return IActionHandler::endMoveRight;
+		case "startJump":
+			return IActionHandler::startJump;
+		case "endJump":
+			return IActionHandler::endJump;
+		case "startDuck":
+			return IActionHandler::startDuck;
+		case "endDuck":
+			return IActionHandler::endDuck;
+		default:
+			throw new IllegalArgumentException("Unknown action: " + name);
+		}
+	}
+
+	private static class ScriptedAction {
+		private final double time;
+		private final Consumer<IActionHandler> action;
+
+		private ScriptedAction(double time, Consumer<IActionHandler> action) {
+			this.time = time;
+			this.action = action;
+		}
+	}
+}
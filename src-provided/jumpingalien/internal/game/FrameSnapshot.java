@@ -0,0 +1,117 @@
+package jumpingalien.internal.game;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import jumpingalien.internal.gui.sprites.ImageSprite;
+import jumpingalien.model.Mazub;
+import jumpingalien.model.School;
+import jumpingalien.model.Slime;
+import jumpingalien.util.ModelException;
+import jumpingalien.util.Sprite;
+
+/**
+ * The state of a game needed to paint a frame, captured by the simulation
+ * thread after an update and painted by the render thread.
+ *
+ * A snapshot is only changed by capture(), while it is the write buffer of a
+ * TripleBuffer; once published it is not changed until the reader has
+ * released it.
+ */
+class FrameSnapshot {
+
+	boolean valid;
+
+	Mazub alien;
+	int[] alienXYPixel;
+	int[] alienSize;
+	double[] alienXYPrecise;
+	double[] alienVelocity;
+	double[] alienAcceleration;
+	Sprite alienSprite;
+	Integer alienHealth;
+
+	int[] visibleWindow;
+	Boolean gameOver;
+	Boolean playerWon;
+
+	int nbObjects;
+	Object[] objects = new Object[64];
+	int[] objectX = new int[64];
+	int[] objectY = new int[64];
+	ImageSprite[] objectSprites = new ImageSprite[64];
+	School[] objectSchools = new School[64];
+	final IdentityHashMap<Object, Integer> indexOfObject = new IdentityHashMap<>();
+
+	/**
+	 * Capture the current state of the given game.
+	 */
+	void capture(JumpingAlienGame game) {
+		clear();
+		if (game.getWorld() == null) {
+			return;
+		}
+		AlienInfoProvider<Mazub> alienInfo = game.getLiveAlienInfoProvider();
+		alien = alienInfo.getAlien();
+		alienXYPixel = alienInfo.getAlienXYPixel().orElse(null);
+		alienSprite = alienInfo.getPlayerSprite().orElse(null);
+		alienSize = (alienSprite == null) ? null : new int[] {
+				alienSprite.getWidth(), alienSprite.getHeight() };
+		alienXYPrecise = alienInfo.getAlienXYPrecise().orElse(null);
+		alienVelocity = alienInfo.getAlienVelocity().orElse(null);
+		alienAcceleration = alienInfo.getAlienAcceleration().orElse(null);
+		alienHealth = alienInfo.getAlienHealth().orElse(null);
+
+		WorldInfoProvider worldInfo = game.getLiveWorldInfoProvider();
+		visibleWindow = worldInfo.getVisibleWindow().orElse(null);
+		gameOver = worldInfo.isGameOver().orElse(null);
+		playerWon = worldInfo.didPlayerWin().orElse(null);
+
+		game.catchErrorAction(() -> {
+			for (Object object : game.getFacade().getAllGameObjectsView(game.getWorld())) {
+				if (object != alien) {
+					addObject(game, object);
+				}
+			}
+		});
+		valid = true;
+	}
+
+	private void addObject(JumpingAlienGame game, Object object)
+			throws ModelException {
+		if (nbObjects == objects.length) {
+			int length = 2 * nbObjects;
+			objects = Arrays.copyOf(objects, length);
+			objectX = Arrays.copyOf(objectX, length);
+			objectY = Arrays.copyOf(objectY, length);
+			objectSprites = Arrays.copyOf(objectSprites, length);
+			objectSchools = Arrays.copyOf(objectSchools, length);
+		}
+		int[] xy = game.getInterpolatedPixelPosition(object);
+		objects[nbObjects] = object;
+		objectX[nbObjects] = xy[0];
+		objectY[nbObjects] = xy[1];
+		objectSprites[nbObjects] = (ImageSprite) game.getFacade()
+				.getCurrentSprite(object);
+		objectSchools[nbObjects] = (object instanceof Slime) ? game
+				.getFacade().getSchool((Slime) object) : null;
+		indexOfObject.put(object, nbObjects);
+		nbObjects++;
+	}
+
+	private void clear() {
+		valid = false;
+		alien = null;
+		alienXYPixel = alienSize = null;
+		alienXYPrecise = alienVelocity = alienAcceleration = null;
+		alienSprite = null;
+		alienHealth = null;
+		visibleWindow = null;
+		gameOver = playerWon = null;
+		Arrays.fill(objects, 0, nbObjects, null);
+		Arrays.fill(objectSprites, 0, nbObjects, null);
+		Arrays.fill(objectSchools, 0, nbObjects, null);
+		indexOfObject.clear();
+		nbObjects = 0;
+	}
+}
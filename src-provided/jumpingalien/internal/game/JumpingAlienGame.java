@@ -1,8 +1,13 @@
 package jumpingalien.internal.game;
 
+import java.awt.GraphicsEnvironment;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -12,10 +17,15 @@ import jumpingalien.facade.IFacade;
 import jumpingalien.internal.game.AlienInfoProvider;
 import jumpingalien.internal.game.IActionHandler;
 import jumpingalien.internal.game.JumpingAlienGameOptions;
+import jumpingalien.internal.game.ObjectInfoProvider.ObjectsByType;
 import jumpingalien.internal.game.WorldInfoProvider;
 import jumpingalien.internal.gui.sprites.ImageSprite;
 import jumpingalien.internal.gui.sprites.JumpingAlienSprites;
+import jumpingalien.internal.metrics.Counter;
+import jumpingalien.internal.metrics.MetricsExporter;
+import jumpingalien.internal.metrics.MetricsRegistry;
 import jumpingalien.model.Mazub;
+import jumpingalien.model.PhaseProfiler;
 import jumpingalien.model.School;
 import jumpingalien.model.Shark;
 import jumpingalien.model.Skullcab;
@@ -32,8 +42,10 @@ import jumpingalien.util.ModelException;
 import jumpingalien.util.Sprite;
 import ogp.framework.command.Command;
 import ogp.framework.game.Game;
+import ogp.framework.game.TripleBuffer;
 import ogp.framework.messages.Message;
 import ogp.framework.messages.MessageType;
+import ogp.framework.util.ImageCache;
 
 public class JumpingAlienGame extends Game {
 
@@ -56,10 +68,16 @@ public class JumpingAlienGame extends Game {
 	private int visibleScreenHeight = -1;
 
 	private double elapsedTime = 0;
-	private boolean running;
+	private volatile boolean running;
 
 	private final IFacade facade;
 
+	private final MetricsRegistry metrics = new MetricsRegistry();
+	private final Counter updateCounter = metrics.counter("game.updates");
+	private final Counter timescaleAdjustmentCounter = metrics
+			.counter("game.timescaleAdjustments");
+	private MetricsExporter metricsExporter;
+
 	public JumpingAlienGame(JumpingAlienGameOptions options, IFacade facade) {
 		super(options);
 		this.handler = createActionHandler();
@@ -67,6 +85,106 @@ public class JumpingAlienGame extends Game {
 		this.alienInfoProvider = createAlienInfoProvider();
 		this.objectInfoProvider = createObjectInfoProvider();		
 		this.facade = facade;
+		if (options.isSeparateRenderThread()) {
+			this.snapshots = new TripleBuffer<>(FrameSnapshot::new);
+			this.snapshotInfoProvider = new SnapshotInfoProvider(snapshots, worldInfoProvider);
+		} else {
+			this.snapshots = null;
+			this.snapshotInfoProvider = null;
+		}
+		registerMetrics();
+	}
+
+	private void registerMetrics() {
+		metrics.registerGauge("game.elapsedTime", this::getElapsedTime);
+		metrics.registerGauge("game.timescale", () -> getOptions().getTimescale());
+		metrics.registerGauge("game.droppedTime", this::getDroppedTime);
+		metrics.registerGauge("world.objects", () -> publishedNbObjects);
+		metrics.registerGauge("world.objectQueries", () -> publishedNbObjectQueries);
+		metrics.registerGauge("world.objectQueryCandidates", () -> publishedNbObjectQueryCandidates);
+		metrics.registerProfiler("world",
+				() -> (getWorld() == null) ? null : getFacade().getProfiler(getWorld()));
+	}
+
+	/**
+	 * Publish the state of the world read by the gauges, so that the metrics
+	 * exporter never reads the world while the game loop changes it.
+	 */
+	private void publishWorldMetrics() {
+		World world = getWorld();
+		publishedNbObjects = getFacade().getAllGameObjectsView(world).size();
+		publishedNbObjectQueries = getFacade().getNbObjectQueries(world);
+		publishedNbObjectQueryCandidates = getFacade().getNbObjectQueryCandidates(world);
+	}
+
+	private volatile int publishedNbObjects;
+	private volatile long publishedNbObjectQueries;
+	private volatile long publishedNbObjectQueryCandidates;
+
+	/**
+	 * The metrics of this game, to which others (such as the GUI) may add
+	 * metrics of their own.
+	 */
+	public MetricsRegistry getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Whether the metrics of this game are exported, which requires the
+	 * profiler of the world to be enabled.
+	 */
+	public boolean isExportingMetrics() {
+		return metricsExporter != null;
+	}
+
+	private void startMetricsExport() {
+		JumpingAlienGameOptions options = getOptions();
+		if (metricsExporter != null
+				|| (options.getMetricsFile() == null && options.getMetricsPort() <= 0)) {
+			return;
+		}
+		try {
+			MetricsExporter exporter = new MetricsExporter(metrics,
+					(options.getMetricsFile() == null) ? null : Paths.get(options.getMetricsFile()),
+					MetricsExporter.Format.parse(options.getMetricsFormat()),
+					options.getMetricsInterval(), options.getMetricsPort());
+			exporter.start();
+			metricsExporter = exporter;
+		} catch (IOException | IllegalArgumentException e) {
+			addMessage(new Message(MessageType.ERROR, "Could not export metrics: "
+					+ e.getMessage()));
+		}
+	}
+
+	/**
+	 * Write the last snapshot of the metrics of this game and stop exporting
+	 * them.
+	 */
+	public void closeMetrics() {
+		if (metricsExporter != null) {
+			metricsExporter.close();
+		}
+	}
+
+	/**
+	 * Snapshots of the game published after each update, if the game is
+	 * painted on another thread than the one updating it.
+	 */
+	private final TripleBuffer<FrameSnapshot> snapshots;
+	private final SnapshotInfoProvider snapshotInfoProvider;
+
+	private void publishSnapshot() {
+		if (snapshots != null) {
+			snapshots.getWriteBuffer().capture(this);
+			snapshots.publish();
+		}
+	}
+
+	@Override
+	public void prepareRender() {
+		if (snapshotInfoProvider != null) {
+			snapshotInfoProvider.beginFrame();
+		}
 	}
 
 	public IFacade getFacade() {
@@ -78,9 +196,11 @@ public class JumpingAlienGame extends Game {
 		return (JumpingAlienGameOptions) super.getOptions();
 	}
 
-	public void restart() {
+	public synchronized void restart() {
 		this.world = null;
 		this.alien = null;
+		this.accumulatedTime = 0;
+		this.previousPixelPositions.clear();
 		start();
 	}
 	
@@ -101,6 +221,11 @@ public class JumpingAlienGame extends Game {
 			}
 
 			tileSize = map.getTileSizeY();
+
+			// decode the tile images while the model is created
+			if (!GraphicsEnvironment.isHeadless()) {
+				ImageCache.preload(map.getLayerImageFiles());
+			}
 		} catch (Throwable e) {
 			addMessage(new Message(MessageType.ERROR, "Error while reading "
 					+ filename + ": " + e.getMessage()));
@@ -111,14 +236,16 @@ public class JumpingAlienGame extends Game {
 	}
 
 	@Override
-	public void start() {
+	public synchronized void start() {
 		if (visibleScreenWidth < 0 || visibleScreenHeight < 0) {
 			throw new IllegalStateException("Visible screen size not set");
 		}
 
+		startMetricsExport();
 		createModel();
 
 		running = true;
+		publishSnapshot();
 	}
 
 	public void setPause(boolean value) {
@@ -258,9 +385,15 @@ public class JumpingAlienGame extends Game {
 			throw new IllegalStateException("World already created!");
 		}
 		this.world = world;
+		getFacade().setActivityMargin(world, getOptions().getActivityMargin());
+		PhaseProfiler profiler = getFacade().getProfiler(world);
+		if (isExportingMetrics() && profiler != null) {
+			profiler.setEnabled(true);
+		}
+		publishWorldMetrics();
 	}
 
-	private World getWorld() {
+	public World getWorld() {
 		return world;
 	}
 
@@ -281,9 +414,17 @@ public class JumpingAlienGame extends Game {
 	private boolean firstUpdate = true;
 
 	@Override
-	protected void doUpdate(double dt) {
+	protected synchronized void doUpdate(double dt) {
 		if (isRunning()) {
+			updateCounter.increment();
 			if (!firstUpdate) {
+				if (isFixedTimeStepEnabled()) {
+					executePendingCommands();
+					advanceFixedTimeSteps(dt / getOptions().getTimescale());
+					firstUpdate = false;
+					publishSnapshot();
+					return;
+				}
 				dt = applyTimescale(dt);
 				executePendingCommands();
 				try {
@@ -297,6 +438,7 @@ public class JumpingAlienGame extends Game {
 				}
 			}
 			firstUpdate = false;
+			publishSnapshot();
 		}
 	}
 
@@ -344,18 +486,116 @@ public class JumpingAlienGame extends Game {
 														// theoretically
 														// necessary timescale
 		getOptions().setTimescale(newScale);
+		timescaleAdjustmentCounter.increment();
 		System.out
 				.println(String
 						.format("Warning: Your advanceTime code seems too slow to ensure dt <= %.3f with the current framerate.\n         In-game time will run slower than real time (1 in-game second = %.2f real-world seconds)",
 								MAX_TIME_STEP, newScale));
 	}
 
+	public boolean isFixedTimeStepEnabled() {
+		return getOptions().getFixedTimeStep() > 0;
+	}
+
+	/**
+	 * In-game time that has not yet been simulated in fixed time steps.
+	 */
+	private double accumulatedTime = 0;
+
+	/**
+	 * In-game time that was dropped because more than the maximal number of
+	 * catch-up steps would have been needed.
+	 */
+	private double droppedTime = 0;
+
+	/**
+	 * Pixel positions of the game objects before the last fixed time step,
+	 * used to interpolate the painted positions.
+	 */
+	private final java.util.Map<Object, int[]> previousPixelPositions = new IdentityHashMap<>();
+
+	/**
+	 * Advance the world in fixed time steps to account for the given in-game
+	 * time, together with the time left over from previous updates.
+	 * 
+	 * At most getMaxCatchUpSteps() steps are taken; time that would need more
+	 * steps is dropped, so that a slow update does not cause ever slower
+	 * updates.
+	 */
+	protected void advanceFixedTimeSteps(double dt) {
+		double step = getOptions().getFixedTimeStep();
+		int maxSteps = Math.max(1, getOptions().getMaxCatchUpSteps());
+		accumulatedTime += Math.max(0, dt);
+		int nbSteps = (int) Math.min(maxSteps, Math.floor(accumulatedTime / step));
+		if (accumulatedTime >= (maxSteps + 1) * step) {
+			droppedTime += accumulatedTime - maxSteps * step;
+			accumulatedTime = maxSteps * step;
+		}
+		for (int i = 0; i < nbSteps && isRunning(); i++) {
+			if (i == nbSteps - 1) {
+				recordPreviousPixelPositions();
+			}
+			try {
+				advanceTime(step);
+				elapsedTime += step;
+			} catch (ModelException e) {
+				addMessage(new Message(MessageType.ERROR, e.getMessage()));
+				System.out.println("Could not advance time by dt=" + step
+						+ ": " + e.getMessage());
+				e.printStackTrace();
+			}
+			accumulatedTime -= step;
+		}
+	}
+
+	private void recordPreviousPixelPositions() {
+		previousPixelPositions.clear();
+		catchErrorAction(() -> {
+			for (Object object : getFacade().getAllGameObjectsView(getWorld())) {
+				previousPixelPositions.put(object, getFacade().getPixelPosition(object));
+			}
+		});
+	}
+
+	/**
+	 * Return the fraction of a fixed time step that has accumulated since the
+	 * last step, or 1 if the world is not advanced in fixed time steps.
+	 */
+	public double getInterpolationAlpha() {
+		if (!isFixedTimeStepEnabled()) {
+			return 1;
+		}
+		return Math.max(0, Math.min(1, accumulatedTime / getOptions().getFixedTimeStep()));
+	}
+
+	public double getDroppedTime() {
+		return droppedTime;
+	}
+
+	/**
+	 * Return the position at which the given game object is to be painted:
+	 * its pixel position, interpolated between the positions before and after
+	 * the last fixed time step if the world is advanced in fixed time steps.
+	 */
+	public int[] getInterpolatedPixelPosition(Object gameObject) {
+		int[] current = getFacade().getPixelPosition(gameObject);
+		int[] previous = previousPixelPositions.get(gameObject);
+		if (previous == null || !isFixedTimeStepEnabled()) {
+			return current;
+		}
+		double alpha = getInterpolationAlpha();
+		return new int[] {
+				(int) Math.round(previous[0] + alpha * (current[0] - previous[0])),
+				(int) Math.round(previous[1] + alpha * (current[1] - previous[1])) };
+	}
+
 	public boolean isRunning() {
 		return running;
 	}
 
 	protected void advanceTime(double dt) {
 		getFacade().advanceWorldTime(getWorld(), dt);
+		publishWorldMetrics();
 		if (getFacade().isGameOver(getWorld())) {
 			stop();
 		}
@@ -394,7 +634,7 @@ public class JumpingAlienGame extends Game {
 
 			@Override
 			public Optional<int[]> getAlienXYPixel() {
-				return catchErrorGet(() -> getFacade().getPixelPosition(getAlien()));
+				return catchErrorGet(() -> getInterpolatedPixelPosition(getAlien()));
 			}
 			
 			@Override
@@ -516,7 +756,7 @@ public class JumpingAlienGame extends Game {
 
 			@Override
 			public Optional<int[]> getLocation(Sneezewort plant) {
-				return Optional.of(getFacade().getPixelPosition(plant));
+				return Optional.of(getInterpolatedPixelPosition(plant));
 			}
 
 			@Override
@@ -532,7 +772,7 @@ public class JumpingAlienGame extends Game {
 			
 			@Override
 			public Optional<int[]> getLocation(Skullcab plant) {
-				return Optional.of(getFacade().getPixelPosition(plant));
+				return Optional.of(getInterpolatedPixelPosition(plant));
 			}
 			
 			@Override
@@ -549,7 +789,7 @@ public class JumpingAlienGame extends Game {
 
 			@Override
 			public Optional<int[]> getLocation(Slime slime) {
-				return Optional.of(getFacade().getPixelPosition(slime));
+				return Optional.of(getInterpolatedPixelPosition(slime));
 			}
 
 			@Override
@@ -559,7 +799,7 @@ public class JumpingAlienGame extends Game {
 
 			@Override
 			public Optional<int[]> getLocation(Shark shark) {
-				return Optional.of(getFacade().getPixelPosition(shark));
+				return Optional.of(getInterpolatedPixelPosition(shark));
 			}
 
 			@Override
@@ -579,6 +819,20 @@ public class JumpingAlienGame extends Game {
 				return catchErrorGet(() -> getFacade().getSchool(slime));
 			}
 
+			@Override
+			public ObjectsByType getObjectsInVisibleWindow(int margin) {
+				return new ObjectsByType(catchErrorGet(
+						() -> getFacade().getGameObjectsInVisibleWindow(getWorld(), margin))
+						.orElse(Collections.emptyList()));
+			}
+
+			@Override
+			public ObjectsByType getAllObjects() {
+				return new ObjectsByType(catchErrorGet(
+						() -> getFacade().getAllGameObjects(getWorld()))
+						.orElse(Collections.emptySet()));
+			}
+
 
 		};
 	}
@@ -598,19 +852,41 @@ public class JumpingAlienGame extends Game {
 		return currentMap;
 	}
 
+	/**
+	 * The information providers for the painters read from the published
+	 * snapshots if the game is painted on another thread than the one
+	 * updating it.
+	 */
 	public AlienInfoProvider<Mazub> getAlienInfoProvider() {
+		if (snapshotInfoProvider != null) {
+			return snapshotInfoProvider;
+		}
 		return alienInfoProvider;
 	}
 
 	public WorldInfoProvider getWorldInfoProvider() {
+		if (snapshotInfoProvider != null) {
+			return snapshotInfoProvider;
+		}
 		return worldInfoProvider;
 	}
 	
 
 	public ObjectInfoProvider getObjectInfoProvider() {
+		if (snapshotInfoProvider != null) {
+			return snapshotInfoProvider;
+		}
 		return objectInfoProvider;
 	}
 
+	AlienInfoProvider<Mazub> getLiveAlienInfoProvider() {
+		return alienInfoProvider;
+	}
+
+	WorldInfoProvider getLiveWorldInfoProvider() {
+		return worldInfoProvider;
+	}
+
 
 	@Override
 	public void addCommand(Command command) {
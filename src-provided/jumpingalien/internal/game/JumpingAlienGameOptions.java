@@ -5,5 +5,58 @@ import ogp.framework.game.GameOptions;
 public interface JumpingAlienGameOptions extends GameOptions {
 
 	public double getTimescale();
+
+	/**
+	 * Whether the game is painted from snapshots published after every
+	 * update, so that it can be painted on another thread than the one
+	 * updating it.
+	 */
+	public boolean isSeparateRenderThread();
+
 	public void setTimescale(double value);
+
+	/**
+	 * Fixed in-game time step in seconds with which the world is advanced, or
+	 * 0 to advance the world with the measured frame time.
+	 */
+	public double getFixedTimeStep();
+	public void setFixedTimeStep(double value);
+
+	/**
+	 * Maximal number of fixed time steps taken in a single update to catch up
+	 * with real time.
+	 */
+	public int getMaxCatchUpSteps();
+	public void setMaxCatchUpSteps(int value);
+
+	/**
+	 * File to which snapshots of the metrics of the game are appended, or
+	 * null to not write metrics to a file.
+	 */
+	public String getMetricsFile();
+
+	/**
+	 * Format of the metrics file: "json" for a line of JSON per snapshot or
+	 * "csv" for a line per value.
+	 */
+	public String getMetricsFormat();
+
+	/**
+	 * Number of real seconds between two snapshots written to the metrics
+	 * file.
+	 */
+	public double getMetricsInterval();
+
+	/**
+	 * Local port on which the current metrics are served over HTTP, or 0 to
+	 * not serve them.
+	 */
+	public int getMetricsPort();
+
+	/**
+	 * Number of pixels around the visible window and around Mazub within
+	 * which game objects are advanced, or a negative number to advance all
+	 * game objects. Objects further away lie dormant until they come closer.
+	 */
+	public int getActivityMargin();
 }
@@ -1,6 +1,8 @@
 package jumpingalien.internal.game;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import jumpingalien.internal.gui.sprites.ImageSprite;
@@ -38,4 +40,53 @@ public interface ObjectInfoProvider {
 
 	public Optional<School> getSchool(Slime slime);
 
+	/**
+	 * Return the game objects whose sprite overlaps with the visible window,
+	 * extended with the given margin, grouped by their type.
+	 */
+	public ObjectsByType getObjectsInVisibleWindow(int margin);
+
+	/**
+	 * Return all game objects, grouped by their type.
+	 */
+	public ObjectsByType getAllObjects();
+
+	public static class ObjectsByType {
+
+		private final List<Sneezewort> sneezeworts = new ArrayList<>();
+		private final List<Skullcab> skullcabs = new ArrayList<>();
+		private final List<Slime> slimes = new ArrayList<>();
+		private final List<Shark> sharks = new ArrayList<>();
+
+		public ObjectsByType(Collection<? extends Object> objects) {
+			for (Object object : objects) {
+				if (object instanceof Sneezewort) {
+					sneezeworts.add((Sneezewort) object);
+				} else if (object instanceof Skullcab) {
+					skullcabs.add((Skullcab) object);
+				} else if (object instanceof Slime) {
+					slimes.add((Slime) object);
+				} else if (object instanceof Shark) {
+					sharks.add((Shark) object);
+				}
+			}
+		}
+
+		public List<Sneezewort> getSneezeworts() {
+			return sneezeworts;
+		}
+
+		public List<Skullcab> getSkullcabs() {
+			return skullcabs;
+		}
+
+		public List<Slime> getSlimes() {
+			return slimes;
+		}
+
+		public List<Shark> getSharks() {
+			return sharks;
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,270 @@
+package jumpingalien.internal.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import jumpingalien.internal.gui.sprites.ImageSprite;
+import jumpingalien.internal.tmxfile.data.ImageTile.TileType;
+import jumpingalien.model.Mazub;
+import jumpingalien.model.School;
+import jumpingalien.model.Shark;
+import jumpingalien.model.Skullcab;
+import jumpingalien.model.Slime;
+import jumpingalien.model.Sneezewort;
+import jumpingalien.util.Sprite;
+import ogp.framework.game.TripleBuffer;
+
+/**
+ * Information for the painters, read from the frame snapshots published by
+ * the simulation thread instead of from the model itself.
+ *
+ * The render thread calls beginFrame() before painting a frame; all
+ * information of that frame then comes from the same snapshot. Information
+ * that does not change once the game is started (the world size and its
+ * tiles) is read from the given live provider.
+ */
+class SnapshotInfoProvider implements AlienInfoProvider<Mazub>,
+		WorldInfoProvider, ObjectInfoProvider {
+
+	private final TripleBuffer<FrameSnapshot> snapshots;
+	private final WorldInfoProvider staticWorldInfo;
+
+	SnapshotInfoProvider(TripleBuffer<FrameSnapshot> snapshots,
+			WorldInfoProvider staticWorldInfo) {
+		this.snapshots = snapshots;
+		this.staticWorldInfo = staticWorldInfo;
+	}
+
+	private FrameSnapshot current() {
+		return snapshots.getReadBuffer();
+	}
+
+	/**
+	 * Take the most recent snapshot to paint the next frame.
+	 */
+	void beginFrame() {
+		snapshots.acquire();
+	}
+
+	//********** ALIEN **********//
+
+	@Override
+	public Mazub getAlien() {
+		return current().alien;
+	}
+
+	@Override
+	public Optional<int[]> getAlienXYPixel() {
+		return Optional.ofNullable(current().alienXYPixel);
+	}
+
+	@Override
+	public Optional<int[]> getAlienSize() {
+		return Optional.ofNullable(current().alienSize);
+	}
+
+	@Override
+	public Optional<double[]> getAlienXYPrecise() {
+		return Optional.ofNullable(current().alienXYPrecise);
+	}
+
+	@Override
+	public Optional<Sprite> getPlayerSprite() {
+		return Optional.ofNullable(current().alienSprite);
+	}
+
+	@Override
+	public Optional<double[]> getAlienVelocity() {
+		return Optional.ofNullable(current().alienVelocity);
+	}
+
+	@Override
+	public Optional<double[]> getAlienAcceleration() {
+		return Optional.ofNullable(current().alienAcceleration);
+	}
+
+	@Override
+	public Optional<Integer> getAlienHealth() {
+		return Optional.ofNullable(current().alienHealth);
+	}
+
+	//********** WORLD **********//
+
+	@Override
+	public Optional<int[]> getWorldSize() {
+		return staticWorldInfo.getWorldSize();
+	}
+
+	@Override
+	public Optional<int[]> getVisibleWindow() {
+		return Optional.ofNullable(current().visibleWindow);
+	}
+
+	@Override
+	public int getTileLength() {
+		return staticWorldInfo.getTileLength();
+	}
+
+	@Override
+	public Optional<int[][]> getTilesIn(int left, int bottom, int right,
+			int top) {
+		return staticWorldInfo.getTilesIn(left, bottom, right, top);
+	}
+
+	@Override
+	public Optional<TileType> getGeologicalFeature(int bottomLeftX,
+			int bottomLeftY) {
+		return staticWorldInfo.getGeologicalFeature(bottomLeftX, bottomLeftY);
+	}
+
+	@Override
+	public Optional<int[]> getBottomLeftPixelOfTile(int tileX, int tileY) {
+		return staticWorldInfo.getBottomLeftPixelOfTile(tileX, tileY);
+	}
+
+	@Override
+	public Optional<Boolean> isGameOver() {
+		return Optional.ofNullable(current().gameOver);
+	}
+
+	@Override
+	public Optional<Boolean> didPlayerWin() {
+		return Optional.ofNullable(current().playerWon);
+	}
+
+	//********** OBJECTS **********//
+
+	private <T> Collection<T> getObjectsOfType(Class<T> type) {
+		FrameSnapshot snapshot = current();
+		List<T> result = new ArrayList<>();
+		for (int i = 0; i < snapshot.nbObjects; i++) {
+			if (type.isInstance(snapshot.objects[i])) {
+				result.add(type.cast(snapshot.objects[i]));
+			}
+		}
+		return result;
+	}
+
+	private Optional<int[]> getLocationOf(Object object) {
+		FrameSnapshot snapshot = current();
+		Integer index = snapshot.indexOfObject.get(object);
+		if (index == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new int[] { snapshot.objectX[index],
+				snapshot.objectY[index] });
+	}
+
+	private Optional<ImageSprite> getSpriteOf(Object object) {
+		FrameSnapshot snapshot = current();
+		Integer index = snapshot.indexOfObject.get(object);
+		if (index == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(snapshot.objectSprites[index]);
+	}
+
+	@Override
+	public Collection<Slime> getSlimes() {
+		return getObjectsOfType(Slime.class);
+	}
+
+	@Override
+	public Collection<Shark> getSharks() {
+		return getObjectsOfType(Shark.class);
+	}
+
+	@Override
+	public Collection<Sneezewort> getSneezeworts() {
+		return getObjectsOfType(Sneezewort.class);
+	}
+
+	@Override
+	public Collection<Skullcab> getSkullcabs() {
+		return getObjectsOfType(Skullcab.class);
+	}
+
+	@Override
+	public Optional<int[]> getLocation(Sneezewort plant) {
+		return getLocationOf(plant);
+	}
+
+	@Override
+	public Optional<int[]> getLocation(Skullcab plant) {
+		return getLocationOf(plant);
+	}
+
+	@Override
+	public Optional<int[]> getLocation(Shark shark) {
+		return getLocationOf(shark);
+	}
+
+	@Override
+	public Optional<int[]> getLocation(Slime slime) {
+		return getLocationOf(slime);
+	}
+
+	@Override
+	public Optional<ImageSprite> getCurrentSprite(Sneezewort plant) {
+		return getSpriteOf(plant);
+	}
+
+	@Override
+	public Optional<ImageSprite> getCurrentSprite(Skullcab plant) {
+		return getSpriteOf(plant);
+	}
+
+	@Override
+	public Optional<ImageSprite> getCurrentSprite(Shark shark) {
+		return getSpriteOf(shark);
+	}
+
+	@Override
+	public Optional<ImageSprite> getCurrentSprite(Slime slime) {
+		return getSpriteOf(slime);
+	}
+
+	@Override
+	public Optional<School> getSchool(Slime slime) {
+		FrameSnapshot snapshot = current();
+		Integer index = snapshot.indexOfObject.get(slime);
+		if (index == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(snapshot.objectSchools[index]);
+	}
+
+	@Override
+	public ObjectsByType getObjectsInVisibleWindow(int margin) {
+		FrameSnapshot snapshot = current();
+		int[] window = snapshot.visibleWindow;
+		if (window == null) {
+			return getAllObjects();
+		}
+		List<Object> visible = new ArrayList<>();
+		for (int i = 0; i < snapshot.nbObjects; i++) {
+			ImageSprite sprite = snapshot.objectSprites[i];
+			int width = (sprite == null) ? 1 : sprite.getWidth();
+			int height = (sprite == null) ? 1 : sprite.getHeight();
+			if (snapshot.objectX[i] <= window[2] + margin
+					&& snapshot.objectX[i] + width - 1 >= window[0] - margin
+					&& snapshot.objectY[i] <= window[3] + margin
+					&& snapshot.objectY[i] + height - 1 >= window[1] - margin) {
+				visible.add(snapshot.objects[i]);
+			}
+		}
+		return new ObjectsByType(visible);
+	}
+
+	@Override
+	public ObjectsByType getAllObjects() {
+		FrameSnapshot snapshot = current();
+		List<Object> all = new ArrayList<>(snapshot.nbObjects);
+		for (int i = 0; i < snapshot.nbObjects; i++) {
+			all.add(snapshot.objects[i]);
+		}
+		return new ObjectsByType(all);
+	}
+}
@@ -5,8 +5,11 @@ import java.awt.Color;
 import jumpingalien.internal.game.IActionHandler;
 import jumpingalien.internal.game.JumpingAlienGame;
 import jumpingalien.internal.gui.painters.*;
+import jumpingalien.model.PhaseProfiler;
+import jumpingalien.model.World;
 import ogp.framework.gui.InputMode;
 import ogp.framework.gui.MessagePainter;
+import ogp.framework.gui.Painter;
 import ogp.framework.gui.Screen;
 import ogp.framework.gui.SolidBackgroundPainter;
 import ogp.framework.gui.camera.Camera;
@@ -19,6 +22,8 @@ public class AlienGameScreen
 
 	private Camera mainCamera, zoomCamera;
 
+	private final PhaseProfiler painterProfiler = new PhaseProfiler();
+
 	public AlienGameScreen(AlienScreenPanel panel,
 			JumpingAlienGUI gui,
 			Screen<JumpingAlienGame, JumpingAlienGUI> previous) {
@@ -29,6 +34,14 @@ public class AlienGameScreen
 		return getGUI().getGUIOptions();
 	}
 
+	/**
+	 * Return the profiler recording how long each painter of this screen
+	 * takes per frame.
+	 */
+	public PhaseProfiler getPainterProfiler() {
+		return painterProfiler;
+	}
+
 	public IActionHandler getActionHandler() {
 		return getGame().getActionHandler();
 	}
@@ -100,7 +113,8 @@ public class AlienGameScreen
 		addPainter(new TilePainter(this, getGame().getMap(), getGame()
 				.getWorldInfoProvider()));
 
-		if (getOptions().getDebugShowInfo()) {
+		if (getOptions().getDebugShowInfo()
+				|| getOptions().getDebugShowProfiler()) {
 			addPainter(new DebugInfoPainter(this));
 		}
 
@@ -136,11 +150,32 @@ public class AlienGameScreen
 		addPainter(new GameOverPainter(this, getGame().getWorldInfoProvider()));
 	}
 
+	// painters are always profiled, so that flight recordings include them
+	@Override
+	protected void addPainter(Painter<?> painter) {
+		super.addPainter(profiled(painter));
+	}
+
+	private <S> Painter<S> profiled(Painter<S> painter) {
+		return new ProfiledPainter<>(painter, painterProfiler);
+	}
+
 	@Override
 	public void updateState(double dt) {
 		positionMainCamera();
 		positionZoomCamera();
+		updateProfilers();
+	}
 
+	private void updateProfilers() {
+		boolean enabled = getOptions().getDebugShowProfiler();
+		painterProfiler.setEnabled(enabled);
+		World world = getGame().getWorld();
+		PhaseProfiler profiler = (world == null) ? null
+				: getGame().getFacade().getProfiler(world);
+		if (profiler != null) {
+			profiler.setEnabled(enabled || getGame().isExportingMetrics());
+		}
 	}
 
 	private void positionZoomCamera() {
@@ -27,6 +27,9 @@ public class DebugMenu extends
 
 		addDebugOption("Show info", JumpingAlienGUIOptions::getDebugShowInfo,
 				JumpingAlienGUIOptions::setDebugShowInfo);
+		addDebugOption("Show profiler",
+				JumpingAlienGUIOptions::getDebugShowProfiler,
+				JumpingAlienGUIOptions::setDebugShowProfiler);
 		addDebugOption("Show game object location and size",
 				JumpingAlienGUIOptions::getDebugShowObjectLocationAndSize,
 				JumpingAlienGUIOptions::setDebugShowObjectLocationAndSize);
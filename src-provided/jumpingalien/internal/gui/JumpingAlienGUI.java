@@ -12,6 +12,13 @@ public class JumpingAlienGUI extends
 
 	public JumpingAlienGUI(JumpingAlienGame game, JumpingAlienGUIOptions options) {
 		super(game, options);
+		game.getMetrics().registerGauge("frame.fps", () -> getCurrentStats().fps);
+		game.getMetrics().registerGauge("frame.updateTime",
+				() -> getCurrentStats().avgGameUpdateTime);
+		game.getMetrics().registerGauge("frame.paintTime",
+				() -> getCurrentStats().avgPaintTime);
+		game.getMetrics().registerGauge("frame.sleepTime",
+				() -> getCurrentStats().avgSleepTime);
 	}
 
 	@Override
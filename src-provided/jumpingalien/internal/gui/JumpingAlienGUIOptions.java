@@ -39,4 +39,10 @@ public interface JumpingAlienGUIOptions extends GUIOptions {
 
 	public abstract boolean getDebugShowObjectString();
 	public abstract void setDebugShowObjectString(boolean value);
+
+	public abstract boolean getDebugShowProfiler();
+	public abstract void setDebugShowProfiler(boolean value);
+
+	public abstract int getCullingMargin();
+	public abstract void setCullingMargin(int value);
 }
\ No newline at end of file
@@ -7,6 +7,9 @@ import java.util.List;
 import java.util.function.Supplier;
 
 import jumpingalien.internal.gui.AlienGameScreen;
+import jumpingalien.model.PhaseProfiler;
+import jumpingalien.model.TimingHistogram;
+import jumpingalien.model.World;
 import ogp.framework.gui.PerformanceStats;
 
 public class DebugInfoPainter extends
@@ -14,7 +17,9 @@ public class DebugInfoPainter extends
 
 	public DebugInfoPainter(AlienGameScreen screen) {
 		super(screen);
-		setupDefaultInfo();
+		if (getOptions().getDebugShowInfo()) {
+			setupDefaultInfo();
+		}
 	}
 
 	protected void setupDefaultInfo() {
@@ -85,9 +90,42 @@ public class DebugInfoPainter extends
 			g.drawString(info.toString(), x, y + lineNb++ * lineHeight);
 		}
 
+		if (getOptions().getDebugShowProfiler()) {
+			List<String> lines = new ArrayList<>();
+			World world = getGame().getWorld();
+			PhaseProfiler profiler = (world == null) ? null
+					: getGame().getFacade().getProfiler(world);
+			if (profiler != null) {
+				addProfilerLines(lines, "Advance time", profiler);
+			}
+			addProfilerLines(lines, "Painters", getScreen().getPainterProfiler());
+			for (String line : lines) {
+				g.drawString(line, x, y + lineNb++ * lineHeight);
+			}
+		}
+
 		g.setPaintMode();
 	}
 
+	private static void addProfilerLines(List<String> lines, String title,
+			PhaseProfiler profiler) {
+		lines.add(String.format("%s (p50 / p99 / max):", title));
+		for (String phase : profiler.getPhases()) {
+			TimingHistogram histogram = profiler.getHistogram(phase);
+			if (profiler.isCountedPhase(phase)) {
+				lines.add(String.format("    %s: %d / %d / %d", phase,
+						histogram.getValueAtPercentile(50),
+						histogram.getValueAtPercentile(99),
+						histogram.getMax()));
+			} else {
+				lines.add(String.format("    %s: %.3f / %.3f / %.3f ms", phase,
+						histogram.getValueAtPercentile(50) / 1e6,
+						histogram.getValueAtPercentile(99) / 1e6,
+						histogram.getMax() / 1e6));
+			}
+		}
+	}
+
 	private PerformanceStats getFPSStats() {
 		return getScreen().getFPSStats();
 	}
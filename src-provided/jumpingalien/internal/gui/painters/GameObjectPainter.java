@@ -10,9 +10,12 @@ import jumpingalien.internal.gui.AlienGUIUtils;
 import jumpingalien.internal.gui.AlienGameScreen;
 import jumpingalien.internal.gui.JumpingAlienGUIOptions;
 import jumpingalien.internal.gui.painters.AbstractAlienPainter;
+import jumpingalien.internal.gui.sprites.HueShiftCache;
 import jumpingalien.internal.gui.sprites.ImageSprite;
+import jumpingalien.internal.gui.sprites.JumpingAlienSprites;
 import jumpingalien.internal.game.AlienInfoProvider;
 import jumpingalien.internal.game.ObjectInfoProvider;
+import jumpingalien.internal.game.ObjectInfoProvider.ObjectsByType;
 import jumpingalien.model.Mazub;
 import jumpingalien.model.School;
 import jumpingalien.model.Shark;
@@ -41,10 +44,17 @@ public final class GameObjectPainter extends
 
 	@Override
 	public void paintInWorld(java.awt.Graphics2D g) {
+		ObjectsByType objects;
+		if (getOptions().getDebugShowEntireWorld()) {
+			objects = objectInfoProvider.getAllObjects();
+		} else {
+			objects = objectInfoProvider.getObjectsInVisibleWindow(getOptions()
+					.getCullingMargin());
+		}
 		paintMazubDebugInfo(g);
-		paintPlants(g);
-		paintSharks(g);
-		paintSlimes(g);
+		paintPlants(g, objects);
+		paintSharks(g, objects);
+		paintSlimes(g, objects);
 	}
 
 	protected void paintMazubDebugInfo(Graphics2D g) {
@@ -65,8 +75,8 @@ public final class GameObjectPainter extends
 		}
 	}
 
-	protected void paintPlants(Graphics2D g) {
-		for (Sneezewort plant : objectInfoProvider.getSneezeworts()) {
+	protected void paintPlants(Graphics2D g, ObjectsByType objects) {
+		for (Sneezewort plant : objects.getSneezeworts()) {
 			objectInfoProvider.getLocation(plant).ifPresent(
 					xy -> {
 						objectInfoProvider.getCurrentSprite(plant).ifPresent(
@@ -75,7 +85,7 @@ public final class GameObjectPainter extends
 					});
 
 		}
-		for (Skullcab plant : objectInfoProvider.getSkullcabs()) {
+		for (Skullcab plant : objects.getSkullcabs()) {
 			objectInfoProvider.getLocation(plant).ifPresent(
 					xy -> {
 						objectInfoProvider.getCurrentSprite(plant).ifPresent(
@@ -87,8 +97,8 @@ public final class GameObjectPainter extends
 	}
 	
 
-	protected void paintSharks(Graphics2D g) {
-		for (Shark shark : objectInfoProvider.getSharks()) {
+	protected void paintSharks(Graphics2D g, ObjectsByType objects) {
+		for (Shark shark : objects.getSharks()) {
 			objectInfoProvider.getLocation(shark).ifPresent(
 					xy -> {
 						objectInfoProvider.getCurrentSprite(shark).ifPresent(
@@ -100,13 +110,24 @@ public final class GameObjectPainter extends
 
 	private final java.util.Map<School, Integer> schoolHueShifts = new HashMap<>();
 
+	private final HueShiftCache hueShiftCache = new HueShiftCache();
+
+	/**
+	 * The first time a school is seen, the shifted variants of the slime
+	 * sprites are computed, so that painting a slime only draws an image.
+	 */
 	private int getHueShift(School school) {
-		return schoolHueShifts.computeIfAbsent(school,
-				s -> schoolHueShifts.size());
+		return schoolHueShifts.computeIfAbsent(school, s -> {
+			int shift = schoolHueShifts.size();
+			hueShiftCache.precompute(shift,
+					JumpingAlienSprites.SLIME_SPRITE_LEFT,
+					JumpingAlienSprites.SLIME_SPRITE_RIGHT);
+			return shift;
+		});
 	}
 
-	protected void paintSlimes(Graphics2D g) {
-		for (Slime slime : objectInfoProvider.getSlimes()) {
+	protected void paintSlimes(Graphics2D g, ObjectsByType objects) {
+		for (Slime slime : objects.getSlimes()) {
 			objectInfoProvider
 					.getLocation(slime)
 					.ifPresent(
@@ -119,7 +140,7 @@ public final class GameObjectPainter extends
 														.ifPresent(
 																school -> paintSprite(
 																		g,
-																		sprite.shiftHue(getHueShift(school)),
+																		hueShiftCache.get(sprite, getHueShift(school)),
 																		xy)));
 								paintDebugInfo(g, slime, xy);
 							});
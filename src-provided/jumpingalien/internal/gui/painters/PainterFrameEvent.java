@@ -0,0 +1,28 @@
+package jumpingalien.internal.gui.painters;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A flight recorder event covering the painting of one frame by a painter.
+ * The event spans from the first to the last pass of the painter over the
+ * frame, which includes the passes of other painters in between; the time
+ * spent in the painter itself is its paint time.
+ */
+@Name("jumpingalien.PainterFrame")
+@Label("Painter Frame")
+@Category({ "Jumping Alien", "Rendering" })
+@Description("Painting one frame by a single painter")
+class PainterFrameEvent extends jdk.jfr.Event {
+
+	@Label("Painter")
+	String painter;
+
+	@Label("Paint Time")
+	@Description("The time spent in the painter itself")
+	@Timespan(Timespan.NANOSECONDS)
+	long paintTime;
+}
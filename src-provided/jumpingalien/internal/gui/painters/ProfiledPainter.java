@@ -0,0 +1,66 @@
+package jumpingalien.internal.gui.painters;
+
+import java.awt.Graphics2D;
+
+import jumpingalien.model.PhaseProfiler;
+import ogp.framework.gui.Painter;
+
+/**
+ * A painter that paints by means of another painter and records how long
+ * that painter takes per frame in a profiler, under the name of the class of
+ * that painter, and as a flight recorder event.
+ */
+public class ProfiledPainter<ScreenType> extends Painter<ScreenType> {
+
+	private final Painter<ScreenType> painter;
+	private final PhaseProfiler profiler;
+	private final String phase;
+
+	private long elapsed;
+	private PainterFrameEvent event;
+
+	public ProfiledPainter(Painter<ScreenType> painter, PhaseProfiler profiler) {
+		super(painter.getScreen());
+		this.painter = painter;
+		this.profiler = profiler;
+		this.phase = painter.getClass().getSimpleName();
+	}
+
+	public Painter<ScreenType> getPainter() {
+		return painter;
+	}
+
+	@Override
+	public void paintScreenPre(Graphics2D g) {
+		event = new PainterFrameEvent();
+		event.begin();
+		long start = System.nanoTime();
+		painter.paintScreenPre(g);
+		elapsed = System.nanoTime() - start;
+	}
+
+	@Override
+	public void paintInWorld(Graphics2D g) {
+		long start = System.nanoTime();
+		painter.paintInWorld(g);
+		elapsed += System.nanoTime() - start;
+	}
+
+	// the last pass of a frame: record the time of all three passes at once
+	@Override
+	public void paintScreenPost(Graphics2D g) {
+		long start = System.nanoTime();
+		painter.paintScreenPost(g);
+		elapsed += System.nanoTime() - start;
+		if (profiler.isEnabled()) {
+			profiler.getHistogram(phase).record(Math.max(0, elapsed));
+		}
+		if (event != null && event.shouldCommit()) {
+			event.painter = phase;
+			event.paintTime = elapsed;
+			event.commit();
+		}
+		event = null;
+		elapsed = 0;
+	}
+}
@@ -0,0 +1,195 @@
+package jumpingalien.internal.gui.painters;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+
+import jumpingalien.internal.tmxfile.data.ImageTile;
+import jumpingalien.internal.tmxfile.data.Layer;
+import jumpingalien.internal.tmxfile.data.Map;
+import ogp.framework.util.ImageCache;
+
+/**
+ * A cache of images of square chunks of tiles of a map, with all layers of
+ * the map composited into a single image per chunk. Chunks are rendered the
+ * first time they are needed and the least recently used chunks are evicted
+ * once more than the maximal number of chunks are cached.
+ *
+ * Chunk images are created compatible with the screen, so that they can be
+ * kept in accelerated memory. The images of all tiles are decoded when the
+ * cache is created, so that no chunk waits for images the first time it is
+ * rendered.
+ */
+class TileChunkCache {
+
+	public static final int DEFAULT_CHUNK_TILES = 16;
+	public static final int DEFAULT_MAX_CHUNKS = 64;
+
+	private final Map map;
+	private final int tileSize;
+	private final int chunkTiles;
+	private final int nbChunksX;
+	private final int nbChunksY;
+
+	private int maxChunks;
+
+	/**
+	 * Rendered chunks by index; null for chunks without any tile.
+	 */
+	private final LinkedHashMap<Integer, Image> chunks = new LinkedHashMap<Integer, Image>(
+			16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				java.util.Map.Entry<Integer, Image> eldest) {
+			if (size() > maxChunks) {
+				if (eldest.getValue() != null) {
+					eldest.getValue().flush();
+				}
+				return true;
+			}
+			return false;
+		}
+	};
+
+	TileChunkCache(Map map, int tileSize) {
+		this(map, tileSize, DEFAULT_CHUNK_TILES, DEFAULT_MAX_CHUNKS);
+	}
+
+	TileChunkCache(Map map, int tileSize, int chunkTiles, int maxChunks) {
+		this.map = map;
+		this.tileSize = tileSize;
+		this.chunkTiles = chunkTiles;
+		this.nbChunksX = (map.getNbTilesX() + chunkTiles - 1) / chunkTiles;
+		this.nbChunksY = (map.getNbTilesY() + chunkTiles - 1) / chunkTiles;
+		this.maxChunks = maxChunks;
+		// decode all tile images in parallel rather than one by one below
+		ImageCache.preload(map.getLayerImageFiles()).join();
+		int maxWidth = tileSize;
+		int maxHeight = tileSize;
+		for (Layer layer : map.getLayers()) {
+			for (int tileX = 0; tileX < map.getNbTilesX(); tileX++) {
+				for (int tileY = 0; tileY < map.getNbTilesY(); tileY++) {
+					ImageTile tile = layer.getTile(tileX, tileY);
+					if (tile != null) {
+						maxWidth = Math.max(maxWidth, tile.getImage().getWidth(null));
+						maxHeight = Math.max(maxHeight, tile.getImage().getHeight(null));
+					}
+				}
+			}
+		}
+		this.overhangTilesX = (maxWidth - 1) / tileSize;
+		this.overhangTilesY = (maxHeight - 1) / tileSize;
+	}
+
+	/**
+	 * The number of tiles to the left of and below a chunk whose images can
+	 * stick out into the chunk, for images larger than a tile.
+	 */
+	private final int overhangTilesX;
+	private final int overhangTilesY;
+
+	int getChunkSizeInPixels() {
+		return chunkTiles * tileSize;
+	}
+
+	int getNbChunksX() {
+		return nbChunksX;
+	}
+
+	int getNbChunksY() {
+		return nbChunksY;
+	}
+
+	int getNbCachedChunks() {
+		return chunks.size();
+	}
+
+	/**
+	 * Make sure at least the given number of chunks can be cached, so that
+	 * chunks in view are not evicted while painting a single frame.
+	 */
+	void ensureCapacity(int nbChunks) {
+		maxChunks = Math.max(maxChunks, nbChunks);
+	}
+
+	/**
+	 * Return the image of the chunk with the given coordinates, with its
+	 * bottom left pixel at the bottom left pixel of the chunk's first tile,
+	 * or null if the chunk contains no tiles.
+	 */
+	Image getChunk(int chunkX, int chunkY) {
+		Integer index = chunkY * nbChunksX + chunkX;
+		if (chunks.containsKey(index)) {
+			return chunks.get(index);
+		}
+		Image image = renderChunk(chunkX, chunkY);
+		chunks.put(index, image);
+		return image;
+	}
+
+	void clear() {
+		for (Image image : chunks.values()) {
+			if (image != null) {
+				image.flush();
+			}
+		}
+		chunks.clear();
+	}
+
+	private Image renderChunk(int chunkX, int chunkY) {
+		int firstTileX = chunkX * chunkTiles;
+		int firstTileY = chunkY * chunkTiles;
+		int nbTilesX = Math.min(chunkTiles, map.getNbTilesX() - firstTileX);
+		int nbTilesY = Math.min(chunkTiles, map.getNbTilesY() - firstTileY);
+		int width = nbTilesX * tileSize;
+		int height = nbTilesY * tileSize;
+
+		BufferedImage image = null;
+		Graphics2D g = null;
+		for (int tileX = Math.max(0, firstTileX - overhangTilesX); tileX < firstTileX + nbTilesX; tileX++) {
+			for (int tileY = Math.max(0, firstTileY - overhangTilesY); tileY < firstTileY + nbTilesY; tileY++) {
+				for (Layer layer : map.getLayers()) {
+					ImageTile tile = layer.getTile(tileX, tileY);
+					if (tile == null || !overlapsChunk(tile, tileX - firstTileX, tileY - firstTileY)) {
+						continue;
+					}
+					if (image == null) {
+						image = createImage(width, height);
+						g = image.createGraphics();
+					}
+					// images have their top row first, the world its bottom row
+					g.drawImage(tile.getImage(), (tileX - firstTileX) * tileSize,
+							height - (tileY - firstTileY) * tileSize
+									- tile.getImage().getHeight(null), null);
+				}
+			}
+		}
+		if (g != null) {
+			g.dispose();
+		}
+		return image;
+	}
+
+	private boolean overlapsChunk(ImageTile tile, int localTileX, int localTileY) {
+		return (localTileX * tileSize + tile.getImage().getWidth(null) > 0)
+				&& (localTileY * tileSize + tile.getImage().getHeight(null) > 0);
+	}
+
+	private static BufferedImage createImage(int width, int height) {
+		if (!GraphicsEnvironment.isHeadless()) {
+			GraphicsConfiguration configuration = GraphicsEnvironment
+					.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+					.getDefaultConfiguration();
+			return configuration.createCompatibleImage(width, height,
+					Transparency.TRANSLUCENT);
+		}
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+}
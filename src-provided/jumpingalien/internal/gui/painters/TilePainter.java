@@ -2,13 +2,12 @@ package jumpingalien.internal.gui.painters;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.util.Optional;
 
 import jumpingalien.internal.gui.AlienGUIUtils;
 import jumpingalien.internal.gui.AlienGameScreen;
 import jumpingalien.internal.gui.painters.AbstractAlienPainter;
-import jumpingalien.internal.tmxfile.data.ImageTile;
-import jumpingalien.internal.tmxfile.data.Layer;
 import jumpingalien.internal.tmxfile.data.Map;
 import jumpingalien.internal.tmxfile.data.ImageTile.TileType;
 import jumpingalien.internal.game.WorldInfoProvider;
@@ -27,8 +26,15 @@ public class TilePainter extends AbstractAlienPainter {
 		this.map = map;
 		this.worldInfoProvider = worldInfoProvider;
 		this.tileSize = worldInfoProvider.getTileLength();
+		this.chunks = new TileChunkCache(map, tileSize);
 	}
 
+	/**
+	 * The terrain does not change once the game has started, so the tiles of
+	 * all layers are painted from composited chunks.
+	 */
+	private final TileChunkCache chunks;
+
 	@Override
 	public void paintInWorld(Graphics2D g) {
 		int[] worldSize = worldInfoProvider.getWorldSize().get();
@@ -36,10 +42,9 @@ public class TilePainter extends AbstractAlienPainter {
 		g.setColor(getBackgroundColor());
 		g.fillRect(0, 0, worldSize[0], worldSize[1]);
 
-		Optional<int[][]> tileCoordinatesToDrawOpt;
+		int[] window;
 		if (getOptions().getDebugShowEntireWorld()) {
-			tileCoordinatesToDrawOpt = worldInfoProvider.getTilesIn(0, 0,
-					worldSize[0] - 1, worldSize[1] - 1);
+			window = new int[] { 0, 0, worldSize[0] - 1, worldSize[1] - 1 };
 		} else {
 			Optional<int[]> visibleWindowOpt = worldInfoProvider
 					.getVisibleWindow();
@@ -47,22 +52,21 @@ public class TilePainter extends AbstractAlienPainter {
 			if (!visibleWindowOpt.isPresent()) {
 				return;
 			}
-			int[] visibleWindow = visibleWindowOpt.get();
-
-			tileCoordinatesToDrawOpt = worldInfoProvider.getTilesIn(
-					visibleWindow[0], visibleWindow[1], visibleWindow[2],
-					visibleWindow[3]);
+			window = visibleWindowOpt.get();
 		}
-		if (!tileCoordinatesToDrawOpt.isPresent()) {
-			return;
-		}
-		int[][] tileCoordinatesToDraw = tileCoordinatesToDrawOpt.get();
 
-		for (int[] tileXY : tileCoordinatesToDraw) {
-			int tileX = tileXY[0];
-			int tileY = tileXY[1];
+		paintChunks(g, window);
 
-			paintTile(g, tileX, tileY);
+		if (getOptions().getDebugShowTileTypes()
+				|| getOptions().getDebugShowTileGridlines()) {
+			Optional<int[][]> tileCoordinatesToDrawOpt = worldInfoProvider
+					.getTilesIn(window[0], window[1], window[2], window[3]);
+			if (!tileCoordinatesToDrawOpt.isPresent()) {
+				return;
+			}
+			for (int[] tileXY : tileCoordinatesToDrawOpt.get()) {
+				paintTileOverlay(g, tileXY[0], tileXY[1]);
+			}
 		}
 
 		if (getOptions().getDebugShowAlienOverlappingTiles()) {
@@ -103,27 +107,37 @@ public class TilePainter extends AbstractAlienPainter {
 		}
 	}
 
-	private void paintTile(Graphics2D g, int tileX, int tileY) {
+	/**
+	 * Paint the chunks of tiles overlapping with the given window
+	 * (left, bottom, right, top), rendering the chunks that are not cached yet.
+	 */
+	private void paintChunks(Graphics2D g, int[] window) {
+		int chunkSize = chunks.getChunkSizeInPixels();
+		int firstChunkX = Math.max(0, window[0] / chunkSize);
+		int lastChunkX = Math.min(chunks.getNbChunksX() - 1, window[2] / chunkSize);
+		int firstChunkY = Math.max(0, window[1] / chunkSize);
+		int lastChunkY = Math.min(chunks.getNbChunksY() - 1, window[3] / chunkSize);
+		chunks.ensureCapacity(2 * (lastChunkX - firstChunkX + 1)
+				* (lastChunkY - firstChunkY + 1));
+		for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+			for (int chunkY = firstChunkY; chunkY <= lastChunkY; chunkY++) {
+				Image chunk = chunks.getChunk(chunkX, chunkY);
+				if (chunk != null) {
+					AlienGUIUtils.drawImageInWorld(g, chunk, chunkX * chunkSize,
+							chunkY * chunkSize, false);
+				}
+			}
+		}
+	}
+
+	private void paintTileOverlay(Graphics2D g, int tileX, int tileY) {
 		Optional<int[]> bottomLeftOpt = worldInfoProvider
 				.getBottomLeftPixelOfTile(tileX, tileY);
 		if (!bottomLeftOpt.isPresent()) {
-			// TODO: do something else?
 			return;
 		}
 		int[] bottomLeftXY = bottomLeftOpt.get();
 
-		int tileSize = worldInfoProvider.getTileLength();
-
-		for (Layer layer : map.getLayers()) {
-			if (map.isValidTileCoordinate(tileX, tileY)) {
-				ImageTile tile = layer.getTile(tileX, tileY);
-				if (tile != null) {
-					AlienGUIUtils.drawImageInWorld(g, tile.getImage(),
-							bottomLeftXY[0], bottomLeftXY[1], false);
-				}
-			}
-		}
-
 		if (getOptions().getDebugShowTileTypes()) {
 			Optional<TileType> optType = worldInfoProvider
 					.getGeologicalFeature(bottomLeftXY[0], bottomLeftXY[1]);
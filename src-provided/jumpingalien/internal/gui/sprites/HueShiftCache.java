@@ -0,0 +1,98 @@
+package jumpingalien.internal.gui.sprites;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * A bounded cache of hue-shifted variants of sprites, keyed by the original
+ * sprite and the amount of the shift. When the cache is full, the variant that
+ * was used least recently is evicted.
+ */
+public class HueShiftCache {
+
+	public static final int DEFAULT_MAX_SIZE = 64;
+
+	private final int maxSize;
+
+	private final LinkedHashMap<Key, ImageSprite> variants;
+
+	public HueShiftCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public HueShiftCache(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Illegal cache size: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.variants = new LinkedHashMap<Key, ImageSprite>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					java.util.Map.Entry<Key, ImageSprite> eldest) {
+				return size() > HueShiftCache.this.maxSize;
+			}
+		};
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized int size() {
+		return variants.size();
+	}
+
+	/**
+	 * Return the given sprite with its hue shifted by the given amount,
+	 * computing and caching the variant if it is not cached yet.
+	 */
+	public synchronized ImageSprite get(ImageSprite sprite, int amount) {
+		if (amount == 0) {
+			return sprite;
+		}
+		return variants.computeIfAbsent(new Key(sprite, amount),
+				key -> sprite.shiftHue(amount));
+	}
+
+	/**
+	 * Compute and cache the variants of the given sprites for the given
+	 * amount of shift ahead of their first use.
+	 */
+	public void precompute(int amount, ImageSprite... sprites) {
+		for (ImageSprite sprite : sprites) {
+			get(sprite, amount);
+		}
+	}
+
+	public synchronized void clear() {
+		variants.clear();
+	}
+
+	private static final class Key {
+
+		private final ImageSprite sprite;
+		private final int amount;
+
+		private Key(ImageSprite sprite, int amount) {
+			this.sprite = sprite;
+			this.amount = amount;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return sprite == key.sprite && amount == key.amount;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(sprite), amount);
+		}
+	}
+}
@@ -4,21 +4,20 @@ import java.awt.image.BufferedImage;
 
 import jumpingalien.util.Sprite;
 import ogp.framework.util.GUIUtils;
+import ogp.framework.util.ImageCache;
 
 public class ImageSprite extends Sprite {
 
 	public static ImageSprite createSprite(String fileName) {
-		return new ImageSprite(fileName, GUIUtils.loadImage(fileName));
+		return new ImageSprite(fileName, fileName, false, false);
 	}
 
 	public static ImageSprite createHFlippedSprite(String fileName) {
-		return new ImageSprite(fileName, GUIUtils.hflip(GUIUtils
-				.loadImage(fileName)));
+		return new ImageSprite(fileName, fileName, true, false);
 	}
 
 	public static ImageSprite createVFlippedSprite(String fileName) {
-		return new ImageSprite(fileName, GUIUtils.vflip(GUIUtils
-				.loadImage(fileName)));
+		return new ImageSprite(fileName, fileName, false, true);
 	}
 	
 	public static ImageSprite createSprite(String name, BufferedImage image) {
@@ -27,9 +26,45 @@ public class ImageSprite extends Sprite {
 
 	private final BufferedImage image;
 
+	/**
+	 * The file this sprite was read from and whether it was flipped, or null
+	 * if this sprite is not (a resized variant of) the image in a file. Images
+	 * of sprites read from files are shared through the ImageCache.
+	 */
+	private final String fileName;
+	private final boolean hflip;
+	private final boolean vflip;
+
 	public ImageSprite(String name, BufferedImage image) {
+		this(name, image, null, false, false);
+	}
+
+	private ImageSprite(String name, String fileName, boolean hflip,
+			boolean vflip) {
+		this(name, ImageCache.getVariant(fileName, hflip, vflip, -1, -1),
+				fileName, hflip, vflip);
+	}
+
+	private ImageSprite(String name, BufferedImage image, String fileName,
+			boolean hflip, boolean vflip) {
 		super(name, image.getWidth(), image.getHeight());
 		this.image = image;
+		this.fileName = fileName;
+		this.hflip = hflip;
+		this.vflip = vflip;
+	}
+
+	/**
+	 * Return a sprite with the image of this sprite scaled to the given size
+	 * (see GUIUtils.scaleTo), reusing the scaled image of a sprite read from a file if it was scaled
+	 * to that size before.
+	 */
+	private ImageSprite scaled(int newWidth, int newHeight) {
+		if (fileName != null) {
+			return new ImageSprite(getName(), ImageCache.getVariant(fileName,
+					hflip, vflip, newWidth, newHeight), fileName, hflip, vflip);
+		}
+		return scaled(newWidth, newHeight);
 	}
 
 	public BufferedImage getImage() {
@@ -37,8 +72,7 @@ public class ImageSprite extends Sprite {
 	}
 
 	public ImageSprite scaleToHeight(int newHeight) {
-		return new ImageSprite(getName(),
-				GUIUtils.scaleTo(image, -1, newHeight));
+		return scaled(-1, newHeight);
 	}
 
 	/**
@@ -59,12 +93,11 @@ public class ImageSprite extends Sprite {
 			newHeight = image.getHeight();
 		}
 
-		return new ImageSprite(getName(), GUIUtils.scaleTo(image, newWidth,
-				newHeight));
+		return scaled(newWidth, newHeight);
 	}
 
 	public Sprite scaleToWidth(int newWidth) {
-		return new ImageSprite(getName(), GUIUtils.scaleTo(image, newWidth, -1));
+		return scaled(newWidth, -1);
 	}
 
 	public ImageSprite shiftHue(int amount) {
@@ -2,9 +2,12 @@ package jumpingalien.internal.gui.sprites;
 
 import static jumpingalien.internal.gui.sprites.ImageSprite.*;
 
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import jumpingalien.util.Sprite;
+import ogp.framework.util.ImageCache;
 
 public class JumpingAlienSprites {
 
@@ -12,6 +15,26 @@ public class JumpingAlienSprites {
 	protected static final int FULL_HEIGHT = 97;
 	protected static final int DUCK_HEIGHT = 70;
 	
+	static {
+		// decode the images of all sprites below in parallel
+		ImageCache.preload(Stream.concat(Stream.of(
+				"levels/player/p1_front.png",
+				"levels/player/p1_duck_front.png",
+				"levels/player/p1_stand.png", "levels/player/p1_jump.png",
+				"levels/player/p1_duck.png",
+				JumpingAlienSprites.PLANT_LEFT_FILENAME,
+				JumpingAlienSprites.SHARK_LEFT_FILENAME,
+				JumpingAlienSprites.SHARK_DEAD_FILENAME,
+				JumpingAlienSprites.SLIME_LEFT_FILENAME,
+				"levels/hud/hud_heartFull.png", "levels/hud/hud_heartHalf.png",
+				"levels/hud/hud_heartEmpty.png"), Stream.concat(
+				IntStream.rangeClosed(1, 11).mapToObj(i -> String.format(
+						"levels/player/p1_walk/PNG/p1_walk%02d.png", i)),
+				IntStream.rangeClosed(0, 9).mapToObj(n -> String.format(
+						"levels/hud/hud_%d.png", n))))
+				.collect(Collectors.toList()));
+	}
+
 	public static final Sprite[] ALIEN_SPRITESET = new Sprite[30];
 
 	static {
@@ -0,0 +1,26 @@
+package jumpingalien.internal.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count that can be incremented from any thread.
+ */
+public class Counter {
+
+	private final LongAdder value = new LongAdder();
+
+	public void increment() {
+		value.increment();
+	}
+
+	public void add(long amount) {
+		if (amount < 0) {
+			throw new IllegalArgumentException("Counters cannot decrease");
+		}
+		value.add(amount);
+	}
+
+	public long get() {
+		return value.sum();
+	}
+}
@@ -0,0 +1,209 @@
+package jumpingalien.internal.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Periodically appends snapshots of a metrics registry to a file, as JSON
+ * lines or as CSV, and optionally serves the current snapshot over HTTP on
+ * the loopback interface at /metrics (as JSON, or as CSV with ?format=csv).
+ *
+ * Snapshots are taken on a daemon thread of the exporter. A last snapshot is
+ * written when the exporter is closed, which also happens when the virtual
+ * machine shuts down.
+ */
+public class MetricsExporter implements AutoCloseable {
+
+	public enum Format {
+		JSON, CSV;
+
+		public static Format parse(String name) {
+			switch (name.toLowerCase()) {
+			case "json":
+			case "jsonl":
+				return JSON;
+			case "csv":
+				return CSV;
+			default:
+				throw new IllegalArgumentException("Unknown metrics format: "
+						+ name);
+			}
+		}
+	}
+
+	private final MetricsRegistry registry;
+	private final Path file;
+	private final Format format;
+	private final double interval;
+	private final int port;
+
+	private ScheduledExecutorService scheduler;
+	private BufferedWriter writer;
+	private HttpServer server;
+	private Thread shutdownHook;
+	private boolean closed;
+
+	/**
+	 * Create an exporter of the given registry.
+	 *
+	 * @param file
+	 *            The file to append snapshots to, or null to not write
+	 *            snapshots to a file.
+	 * @param interval
+	 *            The number of seconds between two snapshots written to the
+	 *            file.
+	 * @param port
+	 *            The local port to serve snapshots on, or 0 to not serve
+	 *            snapshots.
+	 */
+	public MetricsExporter(MetricsRegistry registry, Path file, Format format,
+			double interval, int port) {
+		if (!(interval > 0)) {
+			throw new IllegalArgumentException("Illegal interval: " + interval);
+		}
+		if (port < 0 || port > 65535) {
+			throw new IllegalArgumentException("Illegal port: " + port);
+		}
+		this.registry = registry;
+		this.file = file;
+		this.format = format;
+		this.interval = interval;
+		this.port = port;
+	}
+
+	public synchronized void start() throws IOException {
+		if (scheduler != null || closed) {
+			throw new IllegalStateException("Exporter already started");
+		}
+		if (file != null) {
+			boolean empty = !Files.exists(file) || Files.size(file) == 0;
+			writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			if (empty && format == Format.CSV) {
+				writer.write(MetricsSnapshot.CSV_HEADER);
+				writer.newLine();
+			}
+		}
+		if (port > 0) {
+			server = HttpServer.create(new InetSocketAddress(
+					InetAddress.getLoopbackAddress(), port), 0);
+			server.createContext("/metrics", this::serve);
+			server.setExecutor(null);
+			server.start();
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Metrics");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.max(1, (long) (interval * 1000));
+		scheduler.scheduleAtFixedRate(this::writeSnapshot, period, period,
+				TimeUnit.MILLISECONDS);
+		shutdownHook = new Thread(this::close, "Metrics shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	private synchronized void writeSnapshot() {
+		if (writer == null) {
+			return;
+		}
+		MetricsSnapshot snapshot = registry.snapshot();
+		try {
+			if (format == Format.CSV) {
+				writer.write(snapshot.toCsv());
+			} else {
+				writer.write(snapshot.toJson());
+				writer.newLine();
+			}
+			writer.flush();
+		} catch (IOException e) {
+			System.err.println("Could not write metrics to " + file + ": "
+					+ e.getMessage());
+			closeWriter();
+		}
+	}
+
+	private void serve(HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			String query = exchange.getRequestURI().getQuery();
+			MetricsSnapshot snapshot = registry.snapshot();
+			byte[] body;
+			if (query != null && query.contains("format=csv")) {
+				body = (MetricsSnapshot.CSV_HEADER + "\n" + snapshot.toCsv())
+						.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", "text/csv");
+			} else {
+				body = (snapshot.toJson() + "\n")
+						.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type",
+						"application/json");
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Write a last snapshot and stop exporting.
+	 */
+	@Override
+	public void close() {
+		ScheduledExecutorService scheduler;
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			scheduler = this.scheduler;
+		}
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		if (server != null) {
+			server.stop(0);
+		}
+		synchronized (this) {
+			writeSnapshot();
+			closeWriter();
+		}
+		if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			} catch (IllegalStateException e) {
+				// already shutting down
+			}
+		}
+	}
+
+	private void closeWriter() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				// nothing more to write anyway
+			}
+			writer = null;
+		}
+	}
+}
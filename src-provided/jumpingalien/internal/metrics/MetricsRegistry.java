@@ -0,0 +1,89 @@
+package jumpingalien.internal.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.TreeMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+import jumpingalien.model.PhaseProfiler;
+import jumpingalien.model.TimingHistogram;
+
+/**
+ * A named collection of counters, gauges and histograms, of which snapshots
+ * can be taken at any time and from any thread.
+ *
+ * Gauges and histograms are read through suppliers when a snapshot is taken,
+ * so that they can follow objects that are replaced while the game runs, such
+ * as the world. A supplier may return null or throw a runtime exception when
+ * its value is not available; the metric is then left out of the snapshot.
+ */
+public class MetricsRegistry {
+
+	private final java.util.Map<String, Counter> counters = new TreeMap<>();
+	private final java.util.Map<String, DoubleSupplier> gauges = new TreeMap<>();
+	private final java.util.Map<String, Supplier<TimingHistogram>> histograms = new TreeMap<>();
+	private final java.util.Map<String, Supplier<PhaseProfiler>> profilers = new LinkedHashMap<>();
+
+	/**
+	 * Return the counter with the given name, creating it if it does not
+	 * exist yet.
+	 */
+	public synchronized Counter counter(String name) {
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	public synchronized void registerGauge(String name, DoubleSupplier gauge) {
+		gauges.put(name, gauge);
+	}
+
+	public synchronized void registerHistogram(String name,
+			Supplier<TimingHistogram> histogram) {
+		histograms.put(name, histogram);
+	}
+
+	/**
+	 * Register the histograms of all phases of the profiler returned by the
+	 * given supplier, each under the given prefix followed by a dot and the
+	 * name of the phase.
+	 */
+	public synchronized void registerProfiler(String prefix,
+			Supplier<PhaseProfiler> profiler) {
+		profilers.put(prefix, profiler);
+	}
+
+	public synchronized MetricsSnapshot snapshot() {
+		MetricsSnapshot snapshot = new MetricsSnapshot(System.currentTimeMillis());
+		for (java.util.Map.Entry<String, Counter> entry : counters.entrySet()) {
+			snapshot.addCounter(entry.getKey(), entry.getValue().get());
+		}
+		for (java.util.Map.Entry<String, DoubleSupplier> entry : gauges.entrySet()) {
+			try {
+				snapshot.addGauge(entry.getKey(), entry.getValue().getAsDouble());
+			} catch (RuntimeException e) {
+				// not available right now
+			}
+		}
+		for (java.util.Map.Entry<String, Supplier<TimingHistogram>> entry : histograms.entrySet()) {
+			try {
+				snapshot.addHistogram(entry.getKey(), entry.getValue().get());
+			} catch (RuntimeException e) {
+				// not available right now
+			}
+		}
+		for (java.util.Map.Entry<String, Supplier<PhaseProfiler>> entry : profilers.entrySet()) {
+			PhaseProfiler profiler;
+			try {
+				profiler = entry.getValue().get();
+			} catch (RuntimeException e) {
+				continue;
+			}
+			if (profiler != null) {
+				for (String phase : profiler.getPhases()) {
+					snapshot.addHistogram(entry.getKey() + "." + phase,
+							profiler.getHistogram(phase));
+				}
+			}
+		}
+		return snapshot;
+	}
+}
@@ -0,0 +1,148 @@
+package jumpingalien.internal.metrics;
+
+import java.util.Locale;
+import java.util.TreeMap;
+
+import jumpingalien.model.TimingHistogram;
+
+/**
+ * The values of all metrics of a registry at one point in time.
+ */
+public class MetricsSnapshot {
+
+	public static final String CSV_HEADER = "timestamp,metric,field,value";
+
+	private final long timestamp;
+	private final java.util.Map<String, Long> counters = new TreeMap<>();
+	private final java.util.Map<String, Double> gauges = new TreeMap<>();
+	private final java.util.Map<String, long[]> histograms = new TreeMap<>();
+
+	private static final String[] HISTOGRAM_FIELDS = { "count", "p50", "p99",
+			"max" };
+
+	MetricsSnapshot(long timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	/**
+	 * The time the snapshot was taken, in milliseconds since the epoch.
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	void addCounter(String name, long value) {
+		counters.put(name, value);
+	}
+
+	void addGauge(String name, double value) {
+		if (Double.isFinite(value)) {
+			gauges.put(name, value);
+		}
+	}
+
+	void addHistogram(String name, TimingHistogram histogram) {
+		if (histogram != null) {
+			histograms.put(name, new long[] { histogram.getCount(),
+					histogram.getValueAtPercentile(50),
+					histogram.getValueAtPercentile(99), histogram.getMax() });
+		}
+	}
+
+	public java.util.Map<String, Long> getCounters() {
+		return java.util.Collections.unmodifiableMap(counters);
+	}
+
+	public java.util.Map<String, Double> getGauges() {
+		return java.util.Collections.unmodifiableMap(gauges);
+	}
+
+	/**
+	 * Return this snapshot as a single line of JSON, of the form
+	 * {"timestamp":t,"counters":{...},"gauges":{...},"histograms":{"name":{"count":n,"p50":v,"p99":v,"max":v},...}}
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\"timestamp\":").append(timestamp);
+		json.append(",\"counters\":{");
+		String separator = "";
+		for (java.util.Map.Entry<String, Long> entry : counters.entrySet()) {
+			json.append(separator).append(quote(entry.getKey())).append(':')
+					.append(entry.getValue());
+			separator = ",";
+		}
+		json.append("},\"gauges\":{");
+		separator = "";
+		for (java.util.Map.Entry<String, Double> entry : gauges.entrySet()) {
+			json.append(separator).append(quote(entry.getKey())).append(':')
+					.append(format(entry.getValue()));
+			separator = ",";
+		}
+		json.append("},\"histograms\":{");
+		separator = "";
+		for (java.util.Map.Entry<String, long[]> entry : histograms.entrySet()) {
+			json.append(separator).append(quote(entry.getKey())).append(":{");
+			for (int i = 0; i < HISTOGRAM_FIELDS.length; i++) {
+				json.append(i == 0 ? "" : ",").append('"')
+						.append(HISTOGRAM_FIELDS[i]).append("\":")
+						.append(entry.getValue()[i]);
+			}
+			json.append('}');
+			separator = ",";
+		}
+		json.append("}}");
+		return json.toString();
+	}
+
+	/**
+	 * Return this snapshot as lines of CSV, one per value, with the columns
+	 * of CSV_HEADER. Every line ends with a newline.
+	 */
+	public String toCsv() {
+		StringBuilder csv = new StringBuilder();
+		for (java.util.Map.Entry<String, Long> entry : counters.entrySet()) {
+			appendCsvLine(csv, entry.getKey(), "count",
+					Long.toString(entry.getValue()));
+		}
+		for (java.util.Map.Entry<String, Double> entry : gauges.entrySet()) {
+			appendCsvLine(csv, entry.getKey(), "value",
+					format(entry.getValue()));
+		}
+		for (java.util.Map.Entry<String, long[]> entry : histograms.entrySet()) {
+			for (int i = 0; i < HISTOGRAM_FIELDS.length; i++) {
+				appendCsvLine(csv, entry.getKey(), HISTOGRAM_FIELDS[i],
+						Long.toString(entry.getValue()[i]));
+			}
+		}
+		return csv.toString();
+	}
+
+	private void appendCsvLine(StringBuilder csv, String metric, String field,
+			String value) {
+		csv.append(timestamp).append(',');
+		if (metric.indexOf(',') >= 0 || metric.indexOf('"') >= 0) {
+			csv.append('"').append(metric.replace("\"", "\"\"")).append('"');
+		} else {
+			csv.append(metric);
+		}
+		csv.append(',').append(field).append(',').append(value).append('\n');
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.6g", value);
+	}
+
+	private static String quote(String text) {
+		StringBuilder quoted = new StringBuilder("\"");
+		for (char c : text.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				quoted.append('\\').append(c);
+			} else if (c < 0x20) {
+				quoted.append(String.format("\\u%04x", (int) c));
+			} else {
+				quoted.append(c);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+}
@@ -0,0 +1,160 @@
+package jumpingalien.internal.tmxfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import jumpingalien.internal.tmxfile.data.ImageTile;
+import jumpingalien.internal.tmxfile.data.Layer;
+import jumpingalien.internal.tmxfile.data.Map;
+import jumpingalien.internal.tmxfile.data.MapObject;
+import jumpingalien.internal.tmxfile.data.ObjectGroup;
+import jumpingalien.internal.tmxfile.data.Tileset;
+
+/**
+ * Reads levels written by the LevelCompiler, by memory-mapping the compiled
+ * file.
+ */
+class CompiledLevelReader {
+
+	private final String levelsFolder;
+
+	CompiledLevelReader(String levelsFolder) {
+		this.levelsFolder = levelsFolder;
+	}
+
+	/**
+	 * Check whether the given compiled file exists and was compiled from the
+	 * current version of the given source file.
+	 */
+	boolean isUpToDate(Path compiled, Path source) {
+		if (!Files.isRegularFile(compiled)) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(compiled,
+				StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(24);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+			}
+			header.flip();
+			return header.remaining() == 24
+					&& header.getInt() == LevelCompiler.MAGIC
+					&& header.getInt() == LevelCompiler.VERSION
+					&& header.getLong() == Files.size(source)
+					&& header.getLong() == Files.getLastModifiedTime(source)
+							.toMillis();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	Map read(Path compiled) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(compiled,
+				StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size());
+		}
+		try {
+			return read(buffer);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("Truncated level file: " + compiled, e);
+		}
+	}
+
+	private Map read(ByteBuffer buffer) throws IOException {
+		if (buffer.getInt() != LevelCompiler.MAGIC
+				|| buffer.getInt() != LevelCompiler.VERSION) {
+			throw new IOException("Not a compiled level of version "
+					+ LevelCompiler.VERSION);
+		}
+		buffer.getLong(); // source length
+		buffer.getLong(); // source last modified
+
+		int nbTilesX = buffer.getInt();
+		int nbTilesY = buffer.getInt();
+		Map map = new Map(nbTilesX, nbTilesY, buffer.getInt(), buffer.getInt());
+		map.setInitialX(buffer.getInt());
+		map.setInitialY(buffer.getInt());
+		map.setTargetTileX(buffer.getInt());
+		map.setTargetTileY(buffer.getInt());
+		map.setBackground(readString(buffer));
+		int nbAttributes = buffer.getInt();
+		for (int i = 0; i < nbAttributes; i++) {
+			map.setAttribute(readString(buffer), readString(buffer));
+		}
+
+		int nbTilesets = buffer.getInt();
+		for (int i = 0; i < nbTilesets; i++) {
+			Tileset tileset = map.newTileSet(buffer.getInt());
+			int nbTiles = buffer.getInt();
+			for (int j = 0; j < nbTiles; j++) {
+				ImageTile tile = tileset.newTile(buffer.getInt());
+				int width = buffer.getInt();
+				int height = buffer.getInt();
+				tile.setImage(width, height, toFile(readString(buffer)));
+			}
+		}
+
+		int nbLayers = buffer.getInt();
+		int[] gids = new int[nbTilesX * nbTilesY];
+		for (int i = 0; i < nbLayers; i++) {
+			Layer layer = map.newLayer(readString(buffer));
+			IntBuffer cells = buffer.asIntBuffer();
+			cells.get(gids);
+			buffer.position(buffer.position() + 4 * gids.length);
+			for (int gid : gids) {
+				layer.addTile(map.getTile(gid));
+			}
+		}
+
+		int nbGroups = buffer.getInt();
+		for (int i = 0; i < nbGroups; i++) {
+			ObjectGroup group = map.newObjectGroup(readString(buffer));
+			int nbObjects = buffer.getInt();
+			for (int j = 0; j < nbObjects; j++) {
+				int id = buffer.getInt();
+				int gid = buffer.getInt();
+				MapObject object = new MapObject(id,
+						map.getTile(gid & 0x1fffffff), buffer.getInt(),
+						buffer.getInt());
+				object.setHFlip((gid & (1 << 31)) != 0);
+				object.setVFlip((gid & (1 << 30)) != 0);
+				int nbObjectAttributes = buffer.getInt();
+				for (int k = 0; k < nbObjectAttributes; k++) {
+					object.setAttribute(readString(buffer), readString(buffer));
+				}
+				if (object.getTile() != null) {
+					group.addObject(object);
+				}
+			}
+		}
+		return map;
+	}
+
+	private File toFile(String path) {
+		if (Paths.get(path).isAbsolute()) {
+			return new File(path);
+		}
+		return new File(levelsFolder, path);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,181 @@
+package jumpingalien.internal.tmxfile;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import jumpingalien.internal.tmxfile.data.ImageTile;
+import jumpingalien.internal.tmxfile.data.Layer;
+import jumpingalien.internal.tmxfile.data.Map;
+import jumpingalien.internal.tmxfile.data.MapObject;
+import jumpingalien.internal.tmxfile.data.ObjectGroup;
+import jumpingalien.internal.tmxfile.data.Tileset;
+
+/**
+ * Compiles TMX level files into a compact binary format that is loaded much
+ * faster than the XML, by memory-mapping it. TMXFileReader reads the compiled
+ * file of a level instead of the level itself when the compiled file is up
+ * to date. Levels are compiled by running this compiler, for instance before
+ * shipping them, or by a TMXFileReader that compiles on read.
+ *
+ * Usage: LevelCompiler [levels folder] [level.tmx...]; without levels, all
+ * levels in the folder (default: levels/) are compiled.
+ *
+ * The format consists of big-endian ints and longs, and of strings written as their
+ * number of UTF-8 bytes (-1 for null) followed by those bytes:
+ *
+ * <pre>
+ * header:      MAGIC, VERSION, length and last modified time (longs) of the source file
+ * map:         nbTilesX, nbTilesY, tileSizeX, tileSizeY, initialX, initialY, targetTileX, targetTileY,
+ *              background, nbAttributes, (name, value)*
+ * tilesets:    nbTilesets, (firstGid, nbTiles, (localId, width, height, image file)*)*
+ * layers:      nbLayers, (name, nbTilesX * nbTilesY gids, top row first, 0 for no tile)*
+ * objects:     nbObjectGroups, (name, nbObjects, (id, gid with flip bits, x, y, nbAttributes, (name, value)*)*)*
+ * </pre>
+ *
+ * Image files are stored relative to the levels folder.
+ */
+public class LevelCompiler {
+
+	static final int MAGIC = 0x4A414C56; // "JALV"
+	static final int VERSION = 1;
+
+	static final String EXTENSION = ".lvl";
+
+	public static void main(String[] args) throws IOException {
+		String levelsFolder = "levels/";
+		int first = 0;
+		if (args.length > 0 && new File(args[0]).isDirectory()) {
+			levelsFolder = args[0];
+			first = 1;
+		}
+		String[] levels;
+		if (args.length > first) {
+			levels = java.util.Arrays.copyOfRange(args, first, args.length);
+		} else {
+			levels = new File(levelsFolder).list((dir, name) -> name
+					.endsWith(".tmx"));
+		}
+		TMXFileReader reader = new TMXFileReader(levelsFolder);
+		reader.setUseCompiledLevels(false);
+		for (String level : levels) {
+			Path target = getCompiledPath(levelsFolder, level);
+			compile(reader.read(level), levelsFolder, new File(levelsFolder,
+					level).toPath(), target);
+			System.out.println(String.format("%s -> %s (%d bytes)", level,
+					target, Files.size(target)));
+		}
+	}
+
+	/**
+	 * Return the path of the compiled file of the given level file.
+	 */
+	public static Path getCompiledPath(String levelsFolder, String filename) {
+		String name = filename.endsWith(".tmx") ? filename.substring(0,
+				filename.length() - 4) : filename;
+		return Paths.get(levelsFolder, name + EXTENSION);
+	}
+
+	/**
+	 * Write the given map, read from the given source file in the given
+	 * levels folder, to the given target file in the compiled format.
+	 */
+	public static void compile(Map map, String levelsFolder, Path source,
+			Path target) throws IOException {
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+			long length = Files.size(source);
+			long lastModified = Files.getLastModifiedTime(source).toMillis();
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(length);
+			out.writeLong(lastModified);
+
+			out.writeInt(map.getNbTilesX());
+			out.writeInt(map.getNbTilesY());
+			out.writeInt(map.getTileSizeX());
+			out.writeInt(map.getTileSizeY());
+			out.writeInt(map.getInitialPositionX());
+			out.writeInt(map.getInitialPositionY());
+			out.writeInt(map.getTargetTileX());
+			out.writeInt(map.getTargetTileY());
+			writeString(out, map.getBackground());
+			writeAttributes(out, map.getAttributes());
+
+			String prefix = new File(levelsFolder).getPath() + File.separator;
+			out.writeInt(map.getTilesets().size());
+			for (Tileset tileset : map.getTilesets()) {
+				out.writeInt(tileset.getFirstId());
+				out.writeInt(tileset.getTiles().size());
+				for (ImageTile tile : tileset.getTiles()) {
+					out.writeInt(tile.getId() - tileset.getFirstId());
+					out.writeInt(tile.getWidth());
+					out.writeInt(tile.getHeight());
+					String path = tile.getFile().getPath();
+					writeString(out, path.startsWith(prefix) ? path
+							.substring(prefix.length()) : path);
+				}
+			}
+
+			out.writeInt(map.getLayers().size());
+			for (Layer layer : map.getLayers()) {
+				writeString(out, layer.getName());
+				List<ImageTile> tiles = layer.getTiles();
+				for (int i = 0; i < map.getNbTilesX() * map.getNbTilesY(); i++) {
+					ImageTile tile = (i < tiles.size()) ? tiles.get(i) : null;
+					out.writeInt((tile == null) ? 0 : tile.getId());
+				}
+			}
+
+			out.writeInt(map.getObjectGroups().size());
+			for (ObjectGroup group : map.getObjectGroups()) {
+				writeString(out, group.getName());
+				out.writeInt(group.getObjects().size());
+				for (MapObject object : group.getObjects()) {
+					int gid = object.getTile().getId();
+					if (object.getHflip()) {
+						gid |= 1 << 31;
+					}
+					if (object.getVflip()) {
+						gid |= 1 << 30;
+					}
+					out.writeInt(object.getId());
+					out.writeInt(gid);
+					out.writeInt(object.getX());
+					out.writeInt(object.getY());
+					writeAttributes(out, object.getAttributes());
+				}
+			}
+		}
+		Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void writeAttributes(DataOutputStream out,
+			java.util.Map<String, String> attributes) throws IOException {
+		out.writeInt(attributes.size());
+		for (java.util.Map.Entry<String, String> attribute : attributes
+				.entrySet()) {
+			writeString(out, attribute.getKey());
+			writeString(out, attribute.getValue());
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value)
+			throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+}
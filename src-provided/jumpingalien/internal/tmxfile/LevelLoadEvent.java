@@ -0,0 +1,30 @@
+package jumpingalien.internal.tmxfile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event covering the parsing of a level file; its duration
+ * is the time it took to parse the file.
+ */
+@Name("jumpingalien.LevelLoad")
+@Label("Level Load")
+@Category({ "Jumping Alien", "Loading" })
+@Description("Parsing a TMX level file")
+class LevelLoadEvent extends jdk.jfr.Event {
+
+	@Label("Level")
+	String level;
+
+	@Label("Layers")
+	int layerCount;
+
+	@Label("Tiles")
+	@Description("The number of tiles in all layers of the level")
+	int tileCount;
+
+	@Label("Objects")
+	int objectCount;
+}
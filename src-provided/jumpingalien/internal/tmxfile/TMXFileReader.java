@@ -2,10 +2,14 @@ package jumpingalien.internal.tmxfile;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import jumpingalien.internal.tmxfile.data.Layer;
 import jumpingalien.internal.tmxfile.data.Map;
 
 public class TMXFileReader {
@@ -18,18 +22,47 @@ public class TMXFileReader {
 
 	private final String levelsFolder;
 
+	private boolean useCompiledLevels = true;
+
+	private boolean compileOnRead = false;
+
 	public TMXFileReader(String levelsFolder) {
 		this.levelsFolder = levelsFolder;
 	}
 
+	/**
+	 * Whether a level is read from its compiled file (see LevelCompiler)
+	 * instead of from the level file itself, if the compiled file is up to
+	 * date (default: true).
+	 */
+	public void setUseCompiledLevels(boolean useCompiledLevels) {
+		this.useCompiledLevels = useCompiledLevels;
+	}
+
+	/**
+	 * Whether a level without an up-to-date compiled file is compiled into
+	 * the levels folder after reading it, so that it is read from its
+	 * compiled file the next time (default: false). Compiling only happens if
+	 * compiled levels are used.
+	 */
+	public void setCompileOnRead(boolean compileOnRead) {
+		this.compileOnRead = compileOnRead;
+	}
+
 	public Map read(String filename) throws IllegalArgumentException {
+		LevelLoadEvent event = new LevelLoadEvent();
+		event.begin();
 		try {
-			SAXParserFactory pf = SAXParserFactory.newInstance();
-			SAXParser parser = pf.newSAXParser();
-			TMXFileSAXHandler handler = new TMXFileSAXHandler(levelsFolder);
-			parser.parse(new FileInputStream(new File(levelsFolder, filename)),
-					handler);
-			return handler.getResult();
+			Map map = readMap(filename);
+			event.end();
+			if (event.shouldCommit()) {
+				event.level = filename;
+				event.layerCount = map.getLayers().size();
+				event.tileCount = countTiles(map);
+				event.objectCount = map.getObjects().size();
+				event.commit();
+			}
+			return map;
 		} catch (Exception e) {
 			e.printStackTrace();
 			throw new IllegalArgumentException("Could not parse: "
@@ -37,4 +70,53 @@ public class TMXFileReader {
 		}
 	}
 
+	private Map readMap(String filename) throws Exception {
+		CompiledLevelReader compiledReader = new CompiledLevelReader(levelsFolder);
+		if (filename.endsWith(LevelCompiler.EXTENSION)) {
+			return compiledReader.read(new File(levelsFolder, filename).toPath());
+		}
+		Path compiled = LevelCompiler.getCompiledPath(levelsFolder, filename);
+		Path source = new File(levelsFolder, filename).toPath();
+		if (useCompiledLevels) {
+			if (compiledReader.isUpToDate(compiled, source)) {
+				try {
+					return compiledReader.read(compiled);
+				} catch (IOException e) {
+					System.out.println("Could not read " + compiled + ", reading "
+							+ filename + " instead: " + e.getMessage());
+				}
+			}
+		}
+		SAXParserFactory pf = SAXParserFactory.newInstance();
+		SAXParser parser = pf.newSAXParser();
+		TMXFileSAXHandler handler = new TMXFileSAXHandler(levelsFolder);
+		try (InputStream in = new FileInputStream(source.toFile())) {
+			parser.parse(in, handler);
+		}
+		Map map = handler.getResult();
+		if (useCompiledLevels && compileOnRead) {
+			try {
+				LevelCompiler.compile(map, levelsFolder, source, compiled);
+			} catch (IOException e) {
+				System.out.println("Could not compile " + filename + " to "
+						+ compiled + ": " + e.getMessage());
+			}
+		}
+		return map;
+	}
+
+	private static int countTiles(Map map) {
+		int count = 0;
+		for (Layer layer : map.getLayers()) {
+			for (int tileX = 0; tileX < map.getNbTilesX(); tileX++) {
+				for (int tileY = 0; tileY < map.getNbTilesY(); tileY++) {
+					if (layer.getTile(tileX, tileY) != null) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
 }
@@ -1,7 +1,7 @@
 package jumpingalien.internal.tmxfile;
 
 import java.io.File;
-import java.util.Optional;
+import java.io.IOException;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -25,6 +25,14 @@ class TMXFileSAXHandler extends DefaultHandler {
 	private ObjectGroup currentObjectGroup;
 	private MapObject currentObject;
 
+	/**
+	 * The encoding and compression of the <data> element being parsed, and
+	 * its content so far.
+	 */
+	private String dataEncoding;
+	private String dataCompression;
+	private final StringBuilder dataText = new StringBuilder();
+
 	public TMXFileSAXHandler(String parentFolder) {
 		this.parentFolder = parentFolder;
 	}
@@ -95,9 +103,15 @@ class TMXFileSAXHandler extends DefaultHandler {
 			currentLayer = map.newLayer(name);
 			break;
 		}
-		case "data":
-			// ignore
+		case "data": {
+			// unencoded data consists of <tile> elements
+			dataEncoding = attributes.getValue("encoding");
+			dataCompression = attributes.getValue("compression");
+			if (dataEncoding != null) {
+				dataText.setLength(0);
+			}
 			break;
+		}
 		case "tile": {
 			if (currentTileset != null) {
 				int id = Integer.parseInt(attributes.getValue("id"));
@@ -105,8 +119,7 @@ class TMXFileSAXHandler extends DefaultHandler {
 			} else if (currentLayer != null) {
 				if (attributes.getValue("gid") != null) {
 					int id = Integer.parseInt(attributes.getValue("gid"));
-					Optional<ImageTile> tile = map.findTile(id);
-					currentLayer.addTile(tile.orElse(null));
+					currentLayer.addTile(map.getTile(id));
 				} else {
 					currentLayer.addTile(null);
 				}
@@ -148,10 +161,54 @@ class TMXFileSAXHandler extends DefaultHandler {
 		}
 	}
 
+	@Override
+	public void characters(char[] ch, int start, int length)
+			throws SAXException {
+		if (dataEncoding != null) {
+			dataText.append(ch, start, length);
+		}
+	}
+
+	private void addEncodedTiles() throws SAXException {
+		int nbCells = map.getNbTilesX() * map.getNbTilesY();
+		int[] gids;
+		try {
+			switch (dataEncoding) {
+			case "csv":
+				gids = TileDataDecoder.decodeCsv(dataText, nbCells);
+				break;
+			case "base64":
+				gids = TileDataDecoder.decodeBase64(dataText, dataCompression,
+						nbCells);
+				break;
+			default:
+				throw new SAXException("Unsupported tile data encoding: "
+						+ dataEncoding);
+			}
+		} catch (IOException e) {
+			throw new SAXException(e.getMessage(), e);
+		}
+		if (gids.length != nbCells) {
+			throw new SAXException(String.format(
+					"Layer has %d tiles instead of %d", gids.length, nbCells));
+		}
+		for (int gid : gids) {
+			currentLayer.addTile(map.getTile(gid & 0x1fffffff));
+		}
+	}
+
 	@Override
 	public void endElement(String uri, String localName, String qName)
 			throws SAXException {
 		switch (qName) {
+		case "data":
+			if (dataEncoding != null && currentLayer != null) {
+				addEncodedTiles();
+			}
+			dataEncoding = null;
+			dataCompression = null;
+			dataText.setLength(0);
+			break;
 		case "tileset":
 			currentTileset = null;
 			break;
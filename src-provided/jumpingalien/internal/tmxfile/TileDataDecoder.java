@@ -0,0 +1,115 @@
+package jumpingalien.internal.tmxfile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodes the content of encoded &lt;data&gt; elements of TMX layers into the
+ * gids of their cells, with the flip flags left in.
+ */
+class TileDataDecoder {
+
+	/**
+	 * Decode the given comma separated gids.
+	 */
+	static int[] decodeCsv(CharSequence text, int expectedCount)
+			throws IOException {
+		int[] gids = new int[Math.max(expectedCount, 16)];
+		int count = 0;
+		long value = 0;
+		boolean inNumber = false;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				value = 10 * value + (c - '0');
+				if (value > 0xffffffffL) {
+					throw new IOException("Illegal gid in CSV tile data");
+				}
+				inNumber = true;
+			} else if (c == ',') {
+				if (!inNumber) {
+					throw new IOException("Missing gid in CSV tile data");
+				}
+				gids = append(gids, count++, value);
+				value = 0;
+				inNumber = false;
+			} else if (!Character.isWhitespace(c)) {
+				throw new IOException("Illegal character in CSV tile data: "
+						+ c);
+			}
+		}
+		if (inNumber) {
+			gids = append(gids, count++, value);
+		}
+		return Arrays.copyOf(gids, count);
+	}
+
+	private static int[] append(int[] gids, int index, long value) {
+		if (index == gids.length) {
+			gids = Arrays.copyOf(gids, 2 * gids.length);
+		}
+		gids[index] = (int) value;
+		return gids;
+	}
+
+	/**
+	 * Decode the given base64 encoded gids, compressed with the given
+	 * compression ("zlib", "gzip" or null for none).
+	 */
+	static int[] decodeBase64(CharSequence text, String compression,
+			int expectedCount) throws IOException {
+		byte[] bytes;
+		try {
+			bytes = Base64.getMimeDecoder().decode(text.toString().trim());
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Illegal base64 tile data", e);
+		}
+		if (compression != null) {
+			bytes = decompress(bytes, compression, 4 * expectedCount);
+		}
+		if (bytes.length % 4 != 0) {
+			throw new IOException("Tile data is not a sequence of gids");
+		}
+		int[] gids = new int[bytes.length / 4];
+		for (int i = 0; i < gids.length; i++) {
+			// gids are little-endian unsigned ints
+			gids[i] = (bytes[4 * i] & 0xff) | (bytes[4 * i + 1] & 0xff) << 8
+					| (bytes[4 * i + 2] & 0xff) << 16
+					| (bytes[4 * i + 3] & 0xff) << 24;
+		}
+		return gids;
+	}
+
+	private static byte[] decompress(byte[] bytes, String compression,
+			int expectedLength) throws IOException {
+		InputStream compressed = new ByteArrayInputStream(bytes);
+		switch (compression) {
+		case "zlib":
+			compressed = new InflaterInputStream(compressed);
+			break;
+		case "gzip":
+			compressed = new GZIPInputStream(compressed);
+			break;
+		default:
+			throw new IOException("Unsupported tile data compression: "
+					+ compression);
+		}
+		try (InputStream in = compressed) {
+			byte[] result = new byte[Math.max(expectedLength, 64)];
+			int length = 0;
+			int read;
+			while ((read = in.read(result, length, result.length - length)) >= 0) {
+				length += read;
+				if (length == result.length) {
+					result = Arrays.copyOf(result, 2 * result.length);
+				}
+			}
+			return Arrays.copyOf(result, length);
+		}
+	}
+}
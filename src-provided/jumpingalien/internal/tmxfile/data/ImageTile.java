@@ -3,7 +3,7 @@ package jumpingalien.internal.tmxfile.data;
 import java.awt.Image;
 import java.io.File;
 
-import ogp.framework.util.GUIUtils;
+import ogp.framework.util.ImageCache;
 
 /**
  * This class is only for internal use by the GUI
@@ -98,9 +98,9 @@ public class ImageTile {
 	}
 
 	public Image getImage() {
-		// lazy loading
+		// lazy loading, from the images preloaded for the map if possible
 		if (image == null) {
-			image = GUIUtils.loadImage(file.getAbsolutePath());
+			image = ImageCache.get(file.getAbsolutePath());
 		}
 		return image;
 	}
@@ -1,6 +1,7 @@
 package jumpingalien.internal.tmxfile.data;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Layer {
@@ -27,6 +28,14 @@ public class Layer {
 		tiles.add(tile);
 	}
 
+	/**
+	 * The tiles of this layer, row by row from the top row of the map down,
+	 * with null for cells without a tile.
+	 */
+	public List<ImageTile> getTiles() {
+		return Collections.unmodifiableList(tiles);
+	}
+
 	public ImageTile getTile(int tileX, int tileY) {
 		int tileIndex = (nbTilesY - tileY - 1) * nbTilesX + tileX;
 		return tiles.get(tileIndex);
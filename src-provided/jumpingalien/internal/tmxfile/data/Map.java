@@ -1,12 +1,13 @@
 package jumpingalien.internal.tmxfile.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class Map {
 
@@ -60,11 +61,42 @@ public class Map {
 	}
 
 	public Tileset newTileSet(int gid) {
-		Tileset result = new Tileset(gid);
+		Tileset result = new Tileset(this, gid);
 		tilesets.add(result);
 		return result;
 	}
 
+	/**
+	 * The tiles of the tilesets of this map by their gid, with null for gids
+	 * without a tile. When tilesets define the same gid, the tile of the
+	 * first tileset is kept.
+	 */
+	private ImageTile[] tilesByGid = new ImageTile[0];
+
+	void indexTile(ImageTile tile) {
+		int gid = tile.getId();
+		if (gid < 0) {
+			return;
+		}
+		if (gid >= tilesByGid.length) {
+			tilesByGid = Arrays.copyOf(tilesByGid,
+					Math.max(gid + 1, 2 * tilesByGid.length));
+		}
+		if (tilesByGid[gid] == null) {
+			tilesByGid[gid] = tile;
+		}
+	}
+
+	/**
+	 * Return the tile with the given gid, or null if there is no such tile.
+	 */
+	public ImageTile getTile(int gid) {
+		if (gid < 0 || gid >= tilesByGid.length) {
+			return null;
+		}
+		return tilesByGid[gid];
+	}
+
 	public Layer newLayer(String name) {
 		Layer result = new Layer(name, nbTilesX, nbTilesY);
 		layers.add(result);
@@ -72,9 +104,7 @@ public class Map {
 	}
 
 	public Optional<ImageTile> findTile(int id) {
-		return tilesets.stream().map(ts -> ts.findTile(id))
-				.flatMap(o -> o.map(Stream::of).orElseGet(Stream::empty))
-				.findAny();
+		return Optional.ofNullable(getTile(id));
 	}
 
 	public Layer getLayer(String name) {
@@ -141,6 +171,15 @@ public class Map {
 		this.targetTileY = targetTileY;
 	}
 
+	/**
+	 * Return the files of the images of the tiles in the layers of this map.
+	 */
+	public Set<String> getLayerImageFiles() {
+		return layers.stream().flatMap(l -> l.getTiles().stream())
+				.filter(t -> t != null).map(t -> t.getFile().getAbsolutePath())
+				.collect(Collectors.toSet());
+	}
+
 	public Set<MapObject> getObjects() {
 		return getObjectGroups().stream().flatMap(og -> og.getObjects().stream()).collect(Collectors.toSet());
 	}
@@ -156,4 +195,12 @@ public class Map {
 	public boolean hasAttribute(String name) {
 		return attributes.containsKey(name);
 	}
+
+	public java.util.Map<String, String> getAttributes() {
+		return Collections.unmodifiableMap(attributes);
+	}
+
+	public List<Tileset> getTilesets() {
+		return Collections.unmodifiableList(tilesets);
+	}
 }
\ No newline at end of file
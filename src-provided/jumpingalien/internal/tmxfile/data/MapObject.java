@@ -1,5 +1,6 @@
 package jumpingalien.internal.tmxfile.data;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -24,6 +25,10 @@ public class MapObject {
 		attributes.put(key, value);
 	}
 
+	public Map<String, String> getAttributes() {
+		return Collections.unmodifiableMap(attributes);
+	}
+
 	public int getX() {
 		return x;
 	}
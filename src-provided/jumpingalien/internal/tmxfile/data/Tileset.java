@@ -1,6 +1,7 @@
 package jumpingalien.internal.tmxfile.data;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,15 +9,29 @@ public class Tileset {
 
 	private int firstId;
 
+	/**
+	 * The map whose tile index is kept up to date with the tiles of this
+	 * tileset, if any.
+	 */
+	private Map map;
+
 	public Tileset(int gid) {
 		this.firstId = gid;
 	}
 
+	Tileset(Map map, int gid) {
+		this(gid);
+		this.map = map;
+	}
+
 	private List<ImageTile> tiles = new ArrayList<>();
 
 	public ImageTile newTile(int id) {
 		ImageTile result = new ImageTile(firstId + id);
 		tiles.add(result);
+		if (map != null) {
+			map.indexTile(result);
+		}
 		return result;
 	}
 
@@ -28,6 +43,10 @@ public class Tileset {
 		return firstId + tiles.size();
 	}
 
+	public List<ImageTile> getTiles() {
+		return Collections.unmodifiableList(tiles);
+	}
+
 	public Optional<ImageTile> findTile(int id) {
 		return tiles.stream().filter(t -> t.getId() == id).findAny();
 	}
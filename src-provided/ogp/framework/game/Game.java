@@ -35,6 +35,12 @@ public abstract class Game {
 	
 	protected abstract void doUpdate(double dt);
 
+	/**
+	 * Called on the thread that paints the game, before each frame is painted.
+	 */
+	public void prepareRender() {
+	}
+
 	protected void addCommand(Command command) {
 		commandQueue.add(command);
 	}
@@ -0,0 +1,77 @@
+package ogp.framework.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer handing values from one writer thread to one
+ * reader thread.
+ * 
+ * The writer fills the write buffer and publishes it; the reader takes the
+ * most recently published buffer. Neither thread ever waits for the other, and
+ * a buffer is never written while the reader holds it, so the reader sees each
+ * published value as an immutable whole.
+ * 
+ * Thread-safe for exactly one writer and one reader.
+ */
+public class TripleBuffer<T> {
+
+	private static final int INDEX_MASK = 3;
+	private static final int FRESH = 4;
+
+	private final Object[] buffers = new Object[3];
+
+	/**
+	 * Index of the buffer in the middle, with the FRESH bit set if it was
+	 * published but not yet taken by the reader.
+	 */
+	private final AtomicInteger middle = new AtomicInteger(1);
+
+	private int writeIndex = 0;
+	private int readIndex = 2;
+
+	public TripleBuffer(Supplier<T> factory) {
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = factory.get();
+		}
+	}
+
+	/**
+	 * Return the buffer the writer may fill. Only to be called by the writer.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getWriteBuffer() {
+		return (T) buffers[writeIndex];
+	}
+
+	/**
+	 * Publish the write buffer and take another buffer to write. Only to be
+	 * called by the writer.
+	 */
+	public void publish() {
+		writeIndex = middle.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Take the most recently published buffer, if one was published since the
+	 * last call. Only to be called by the reader.
+	 * 
+	 * @return whether a newer buffer was taken
+	 */
+	public boolean acquire() {
+		if ((middle.get() & FRESH) == 0) {
+			return false;
+		}
+		readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+		return true;
+	}
+
+	/**
+	 * Return the buffer taken by the last call to acquire(). Only to be
+	 * called by the reader.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getReadBuffer() {
+		return (T) buffers[readIndex];
+	}
+}
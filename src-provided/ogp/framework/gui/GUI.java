@@ -33,7 +33,15 @@ public abstract class GUI<TGame extends Game> {
 	}
 
 	public PerformanceStats getCurrentStats() {
-		return fpsCounter.getStats();
+		PerformanceStats stats = fpsCounter.getStats();
+		PerformanceStats simulation = simulationStats;
+		if (simulation != null) {
+			// updates take place on the simulation thread
+			return new PerformanceStats(simulation.avgGameUpdateTime,
+					stats.avgPaintTime, stats.avgSleepTime, stats.fps,
+					stats.targetFPS);
+		}
+		return stats;
 	}
 
 	public Frame getFrame() {
@@ -71,18 +79,28 @@ public abstract class GUI<TGame extends Game> {
 
 	private void gameLoop() {
 
+		boolean separateThreads = options.isSeparateRenderThread();
+		if (separateThreads) {
+			Thread simulation = new Thread(this::simulationLoop, "Simulation");
+			simulation.setDaemon(true);
+			simulation.start();
+		}
+
 		fpsCounter.start();
 
 		while (!stopped) {
 
 			double dt = fpsCounter.getTimeToAdvance();
 
-			game.update(dt);
+			if (!separateThreads) {
+				game.update(dt);
+			}
 
 			fpsCounter.gameUpdated();
 			
 			if (stopped) break;
 
+			game.prepareRender();
 			screenPanel.update(dt);
 
 			fpsCounter.framePainted();
@@ -96,6 +114,36 @@ public abstract class GUI<TGame extends Game> {
 		}
 	}
 
+	/**
+	 * Update the game at the target framerate on a thread of its own, while
+	 * the screen is painted by the game loop.
+	 */
+	private void simulationLoop() {
+		TimeKeeper updateKeeper = new TimeKeeper(options.getTargetFPS());
+		updateKeeper.start();
+		while (!stopped) {
+			game.update(updateKeeper.getTimeToAdvance());
+			updateKeeper.gameUpdated();
+			updateKeeper.framePainted();
+			simulationStats = updateKeeper.getStats();
+			try {
+				Thread.sleep(updateKeeper.getTimeToSleep());
+			} catch (InterruptedException e) {
+			}
+			updateKeeper.frameDone();
+		}
+	}
+
+	private volatile PerformanceStats simulationStats;
+
+	/**
+	 * Return the statistics of the thread updating the game, if it is
+	 * updated on a thread of its own.
+	 */
+	public PerformanceStats getSimulationStats() {
+		return simulationStats;
+	}
+
 	public void exit() {
 		stopped = true;
 		frame.setVisible(false);
@@ -39,23 +39,24 @@ public class GUIUtils {
 	private static final float STEP_SIZE = 7F/10F;
 
 	public static void shiftHue(BufferedImage img, int amount) {
+		int width = img.getWidth();
+		int height = img.getHeight();
+		int[] pixels = img.getRGB(0, 0, width, height, null, 0, width);
 		float[] hsb = new float[3];
-		for (int x = 0; x < img.getWidth(); x++) {
-			for (int y = 0; y < img.getHeight(); y++) {
-				Color color = new Color(img.getRGB(x, y), true);
-				Color.RGBtoHSB(color.getRed(), color.getGreen(),
-						color.getBlue(), hsb);
-				hsb[0] = (hsb[0] + (STEP_SIZE * amount)) % 1.0F;
-				img.setRGB(x, y, Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]));
-				img.getAlphaRaster().setPixel(x, y,
-						new int[] { color.getAlpha() });
-			}
+		for (int i = 0; i < pixels.length; i++) {
+			int argb = pixels[i];
+			Color.RGBtoHSB((argb >> 16) & 0xff, (argb >> 8) & 0xff,
+					argb & 0xff, hsb);
+			hsb[0] = (hsb[0] + (STEP_SIZE * amount)) % 1.0F;
+			pixels[i] = (argb & 0xff000000)
+					| (Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]) & 0x00ffffff);
 		}
+		img.setRGB(0, 0, width, height, pixels, 0, width);
 	}
 
 	public static BufferedImage copyImage(BufferedImage source) {
-		BufferedImage b = new BufferedImage(source.getWidth(),
-				source.getHeight(), source.getType());
+		BufferedImage b = createImageLike(source, source.getWidth(),
+				source.getHeight());
 		Graphics2D g = b.createGraphics();
 		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
 				RenderingHints.VALUE_ANTIALIAS_ON);
@@ -86,8 +87,7 @@ public class GUIUtils {
 
 		int newWidth = (int) (ratioX * image.getWidth());
 		int newHeight = (int) (ratioY * image.getHeight());
-		BufferedImage result = new BufferedImage(newWidth, newHeight,
-				image.getType());
+		BufferedImage result = createImageLike(image, newWidth, newHeight);
 		Graphics2D g = result.createGraphics();
 		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
 				RenderingHints.VALUE_INTERPOLATION_BILINEAR);
@@ -96,6 +96,20 @@ public class GUIUtils {
 		return result;
 	}
 
+	/**
+	 * Create an image of the given size of the same type as the given image,
+	 * or with 8-bit ARGB pixels if that type cannot be created directly (as
+	 * with images that are compatible with the screen).
+	 */
+	private static BufferedImage createImageLike(BufferedImage image,
+			int width, int height) {
+		int type = image.getType();
+		if (type == BufferedImage.TYPE_CUSTOM) {
+			type = BufferedImage.TYPE_INT_ARGB;
+		}
+		return new BufferedImage(width, height, type);
+	}
+
 	public static BufferedImage loadImage(String filename) {
 		try {
 			InputStream inputStream = openResource(filename);
@@ -109,8 +123,8 @@ public class GUIUtils {
 	}
 
 	public static BufferedImage hflip(BufferedImage image) {
-		BufferedImage flippedImage = new BufferedImage(image.getWidth(),
-				image.getHeight(), image.getType());
+		BufferedImage flippedImage = createImageLike(image, image.getWidth(),
+				image.getHeight());
 		Graphics2D flippedGraphics = flippedImage.createGraphics();
 		flippedGraphics.scale(-1, 1);
 		flippedGraphics.drawImage(image, -image.getWidth(null), 0, null);
@@ -119,8 +133,8 @@ public class GUIUtils {
 	}
 	
 	public static BufferedImage vflip(BufferedImage image) {
-		BufferedImage flippedImage = new BufferedImage(image.getWidth(),
-				image.getHeight(), image.getType());
+		BufferedImage flippedImage = createImageLike(image, image.getWidth(),
+				image.getHeight());
 		Graphics2D flippedGraphics = flippedImage.createGraphics();
 		flippedGraphics.scale(1, -1);
 		flippedGraphics.drawImage(image, 0, -image.getHeight(null), null);
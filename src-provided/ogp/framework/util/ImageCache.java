@@ -0,0 +1,196 @@
+package ogp.framework.util;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A cache of decoded images shared by the whole application, keyed by the
+ * canonical path of their file, so that every image file is decoded only
+ * once. Flipped and scaled variants of images are derived once and cached as
+ * well.
+ *
+ * Images are decoded on a pool of worker threads, so that the images of a
+ * level can be decoded in parallel by preloading them. Unless the graphics
+ * environment is headless, images are converted to the format of the screen,
+ * so that they can be kept in accelerated memory.
+ */
+public class ImageCache {
+
+	private static final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+
+	private static final ExecutorService decoders = Executors
+			.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+					new ThreadFactory() {
+
+						private final AtomicInteger count = new AtomicInteger();
+
+						@Override
+						public Thread newThread(Runnable runnable) {
+							Thread thread = new Thread(runnable,
+									"Image decoder " + count.incrementAndGet());
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+
+	private ImageCache() {
+	}
+
+	/**
+	 * Return the image in the given file, decoding it if it has not been
+	 * decoded yet.
+	 *
+	 * @throws RuntimeException
+	 *             if the file cannot be read
+	 */
+	public static BufferedImage get(String filename) {
+		return join(load(filename), filename);
+	}
+
+	/**
+	 * Return the image in the given file, flipped horizontally and/or
+	 * vertically and scaled to the given size, deriving the variant if it has
+	 * not been derived yet.
+	 *
+	 * @param width
+	 *            The width of the variant, or -1 to maintain the aspect ratio
+	 *            of the image (see GUIUtils.scaleTo).
+	 * @param height
+	 *            The height of the variant, or -1 to maintain the aspect ratio
+	 *            of the image. If both are -1, the image is not scaled.
+	 * @throws RuntimeException
+	 *             if the file cannot be read
+	 */
+	public static BufferedImage getVariant(String filename, boolean hflip,
+			boolean vflip, int width, int height) {
+		if (!hflip && !vflip && width < 0 && height < 0) {
+			return get(filename);
+		}
+		String key = String.format("%s#%s%s%dx%d", getKey(filename),
+				hflip ? "h" : "", vflip ? "v" : "", width, height);
+		// the map does not allow updates from within computeIfAbsent
+		CompletableFuture<BufferedImage> original = load(filename);
+		CompletableFuture<BufferedImage> variant = images.computeIfAbsent(key,
+				k -> original.thenApplyAsync(
+						image -> derive(image, hflip, vflip, width, height),
+						decoders));
+		try {
+			return join(variant, filename);
+		} catch (RuntimeException e) {
+			images.remove(key, variant);
+			if (original.isCompletedExceptionally()) {
+				images.remove(getKey(filename), original);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Start decoding the images in the given files on the worker threads.
+	 *
+	 * @return A future that completes once all given files have been decoded,
+	 *         or have failed to decode.
+	 */
+	public static CompletableFuture<Void> preload(Collection<String> filenames) {
+		return CompletableFuture.allOf(filenames.stream()
+				.map(filename -> load(filename).handle((image, e) -> null))
+				.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * Remove all images and variants from the cache.
+	 */
+	public static void clear() {
+		images.clear();
+	}
+
+	private static CompletableFuture<BufferedImage> load(String filename) {
+		return images.computeIfAbsent(getKey(filename),
+				key -> CompletableFuture.supplyAsync(
+						() -> toCompatible(GUIUtils.loadImage(filename)),
+						decoders));
+	}
+
+	private static BufferedImage join(CompletableFuture<BufferedImage> image,
+			String filename) {
+		try {
+			return image.join();
+		} catch (CompletionException e) {
+			// forget the failure, so that a later attempt reads the file again
+			images.remove(getKey(filename), image);
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException("Could not read file '" + filename
+					+ "'", e.getCause());
+		}
+	}
+
+	/**
+	 * Return the canonical path of the given file, or the location of the
+	 * resource with the given name if it is not a file.
+	 */
+	private static String getKey(String filename) {
+		try {
+			URL url = GUIUtils.toURL(filename);
+			if (url == null || "file".equals(url.getProtocol())) {
+				File file = (url == null) ? new File(filename) : new File(
+						url.toURI());
+				return file.getCanonicalPath();
+			}
+			return url.toExternalForm();
+		} catch (IOException | URISyntaxException e) {
+			// let decoding report the problem
+			return new File(filename).getAbsolutePath();
+		}
+	}
+
+	private static BufferedImage derive(BufferedImage image, boolean hflip,
+			boolean vflip, int width, int height) {
+		BufferedImage result = image;
+		if (hflip) {
+			result = GUIUtils.hflip(result);
+		}
+		if (vflip) {
+			result = GUIUtils.vflip(result);
+		}
+		if (width >= 0 || height >= 0) {
+			result = GUIUtils.scaleTo(result, width, height);
+		}
+		return toCompatible(result);
+	}
+
+	private static BufferedImage toCompatible(BufferedImage image) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return image;
+		}
+		GraphicsConfiguration configuration = GraphicsEnvironment
+				.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDefaultConfiguration();
+		if (image.getColorModel().equals(
+				configuration.getColorModel(Transparency.TRANSLUCENT))) {
+			return image;
+		}
+		BufferedImage result = configuration.createCompatibleImage(
+				image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+		Graphics2D g = result.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return result;
+	}
+}
@@ -1,6 +1,7 @@
 package jumpingalien.facade;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import jumpingalien.model.*;
@@ -189,12 +190,24 @@ public class Facade implements IFacade {
 
 	@Override
 	public boolean hasAsGameObject(Object object, World world) throws ModelException {
-		return world.getObjects().contains(object);
+		return world.hasAsObject(object);
 	}
 
 	@Override
 	public Set<Object> getAllGameObjects(World world) throws ModelException {
-		return world.getObjects();
+		return new LinkedHashSet<>(world.getObjectsView());
+	}
+
+	@Override
+	public Collection<Object> getAllGameObjectsView(World world) throws ModelException {
+		return world.getObjectsView();
+	}
+
+	@Override
+	public Collection<GameObject> getGameObjectsInVisibleWindow(World world, int margin) throws ModelException {
+		if (margin < 0)
+			throw new ModelException("Illegal margin");
+		return world.getObjectsInVisibleWindow(margin);
 	}
 
 	@Override
@@ -210,7 +223,7 @@ public class Facade implements IFacade {
 		else if (object instanceof Mazub && world.worldAlreadyContainsMazub())
 			throw new ModelException("Already contains Mazub");
 		
-		else if (world.getObjects().size() >= 100) {
+		else if (world.getNumberOfObjects() >= world.getMaximumNumberOfObjects()) {
 			if (((object instanceof Mazub) && (world.getPlayerMazub()!=null)) || !(object instanceof Mazub))
 				throw new ModelException("Too many objects");
 		}
@@ -437,7 +450,7 @@ public class Facade implements IFacade {
 	@Override
 	public School createSchool(World world) throws ModelException {
 		if (world != null) {
-			if (world.getSchools().size()>=10)
+			if (world.getSchools().size()>=world.getMaximumNumberOfSchools())
 				throw new ModelException("already maximum schools reached");
 		}
 		School newSchool = new School(world);
@@ -482,6 +495,30 @@ public class Facade implements IFacade {
 	@Override
 	public boolean hasImplementedWorldWindow() {
 		return true;
-	}	
+	}
+
+	@Override
+	public PhaseProfiler getProfiler(World world) throws ModelException {
+		return world.getProfiler();
+	}
+
+	@Override
+	public long getNbObjectQueries(World world) throws ModelException {
+		return world.getNbObjectQueries();
+	}
+
+	@Override
+	public long getNbObjectQueryCandidates(World world) throws ModelException {
+		return world.getNbObjectQueryCandidates();
+	}
+
+	@Override
+	public void setActivityMargin(World world, int activityMargin) throws ModelException {
+		world.setActivityMargin(activityMargin);
+	}
+
+	@Override
+	public void setAdvancesInParallel(World world, boolean advancesInParallel) throws ModelException {
+		world.setAdvancesInParallel(advancesInParallel);
+	}
 }
-	
\ No newline at end of file
@@ -0,0 +1,45 @@
+package jumpingalien.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event covering one query of a world for the features or the objects in a rectangle.
+ * These queries happen thousands of times per frame, so the event has to be enabled in the recording settings.
+ */
+@Name("jumpingalien.CollisionQuery")
+@Label("Collision Query")
+@Category({ "Jumping Alien", "Simulation" })
+@Description("Looking up the features or objects overlapping with a rectangle of pixels")
+@Enabled(false)
+class CollisionQueryEvent extends jdk.jfr.Event {
+
+	static final String FEATURES = "features";
+	static final String OBJECTS = "objects";
+
+	/**
+	 * Check whether a recording is collecting collision query events, so that queries need not even allocate
+	 * an event while none is.
+	 */
+	static boolean isRecorded() {
+		return TYPE.isEnabled();
+	}
+
+	private static final EventType TYPE = EventType.getEventType(CollisionQueryEvent.class);
+
+	@Label("Kind")
+	@Description("Whether features (tiles) or objects were looked up")
+	String kind;
+
+	@Label("Candidates")
+	@Description("The number of tiles or objects examined")
+	int candidates;
+
+	@Label("Results")
+	@Description("The number of objects overlapping with the rectangle, or 0 for features")
+	int results;
+}
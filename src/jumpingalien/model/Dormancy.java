@@ -0,0 +1,219 @@
+package jumpingalien.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The dormancy of the objects of a world outside its activity region. Dormant objects do not take part in the
+ * advancements of time of their world; once they wake, they catch up with the advancements they have missed,
+ * over the very same time durations.
+ *
+ * To keep the catch-up exact, objects lie dormant in groups of objects that cannot interact with any other
+ * object while they lie dormant, and the objects of a group catch up together, advancement after advancement,
+ * in the order of their world. Before each advancement, the objects are split in groups as by the parallel
+ * advancement of time, where the region of a dormant object is the region it can reach since it fell asleep.
+ * A group of objects outside the activity region falls asleep, and a dormant group keeps lying dormant, as long
+ * as it is a group of its own. As the regions of dormant objects grow with the time they lie dormant, and as
+ * dormant objects wake after a bounded number of advancements at the latest, the advancements to catch up with
+ * are bounded as well.
+ *
+ * @version	1.0
+ *
+ * @author 	Arthur van Meerbeeck, 2e Bachelor Burgerlijk Ingenieur, Computerwetenschappen-Elektrotechniek
+ *
+ * @author	Paul van Tieghem de Ten Berghe, 2e Bachelor Burgerlijk Ingenieur, Elektrotechniek-Computerwetenschappen
+ */
+class Dormancy {
+
+	/**
+	 * Initialize this new dormancy for the objects of the given world.
+	 *
+	 * @param	world
+	 * 			The world of the objects.
+	 */
+	Dormancy(World world) {
+		this.world = world;
+	}
+
+	private final World world;
+
+	/**
+	 * The largest number of advancements of time an object lies dormant.
+	 */
+	static final int MAXIMUM_NUMBER_OF_DORMANT_TICKS = 64;
+
+	/**
+	 * Log of the time durations of the latest advancements of time of the world.
+	 */
+	private final TickLog log = new TickLog(MAXIMUM_NUMBER_OF_DORMANT_TICKS);
+
+	/**
+	 * A group of objects lying dormant together.
+	 */
+	private static final class Group {
+
+		private Group(GameObject[] members, long fromTick, double fromTime, int maxNbTicks) {
+			this.members = members;
+			this.fromTick = fromTick;
+			this.fromTime = fromTime;
+			this.maxNbTicks = maxNbTicks;
+		}
+
+		/**
+		 * The objects of this group, in the order of their world.
+		 */
+		private final GameObject[] members;
+
+		/**
+		 * The first advancement of time this group missed, the time of the world before that advancement,
+		 * and the largest number of advancements this group lies dormant.
+		 */
+		private final long fromTick;
+		private final double fromTime;
+		private final int maxNbTicks;
+	}
+
+	/**
+	 * The groups of objects lying dormant, in the order in which they fell asleep.
+	 */
+	private final Set<Group> groups = new LinkedHashSet<Group>();
+
+	/**
+	 * Return the number of objects lying dormant.
+	 */
+	int getNbDormantObjects() {
+		int nbDormant = 0;
+		for (Group group: this.groups) {
+			for (GameObject member: group.members) {
+				if (member.getWorld() == this.world)
+					nbDormant++;
+			}
+		}
+		return nbDormant;
+	}
+
+	/**
+	 * Prepare the next advancement of time of the given objects of the world over the given time duration: let
+	 * dormant objects that can interact with other objects, that can enter the given activity region or that have
+	 * lain dormant long enough wake and catch up, and let groups of objects outside the activity region fall asleep.
+	 *
+	 * @param	objects
+	 * 			All objects of the world, in the order of the world.
+	 * @param	dt
+	 * 			The time duration of the advancement.
+	 * @param	x1, y1, x2, y2
+	 * 			The leftmost and rightmost column and the bottom and top row of pixels of the activity region.
+	 * @return	The objects that take part in the advancement, in the order of the world.
+	 */
+	List<Object> prepareTick(Collection<Object> objects, double dt, int x1, int y1, int x2, int y2) {
+		long tick = this.log.getNbTicks();
+		double time = this.log.getTime();
+		GameObject[] order = new GameObject[objects.size()];
+		int n = 0;
+		for (Object object: objects)
+			order[n++] = (GameObject) object;
+		double[] durations = new double[n];
+		for (int i = 0; i < n; i++) {
+			Group group = (Group) order[i].dormantGroup;
+			durations[i] = (group == null) ? dt : (time - group.fromTime) + dt;
+		}
+		int[] regionX1 = new int[n], regionY1 = new int[n], regionX2 = new int[n], regionY2 = new int[n];
+		int[] groupOf = new int[n];
+		int nbGroups = ParallelAdvance.findGroups(order, durations, regionX1, regionY1, regionX2, regionY2, groupOf);
+		if (nbGroups < 0) {
+			// the reach of some object is not bounded: all objects wake
+			this.wakeAll(tick);
+			nbGroups = 0;
+		}
+
+		// an interaction group advances unless it consists of the objects of a single dormant group, or of
+		// objects none of which is dormant, outside the activity region
+		boolean[] advances = new boolean[nbGroups];
+		boolean[] seen = new boolean[nbGroups];
+		Object[] dormantGroupOf = new Object[nbGroups];
+		for (int i = 0; (i < n) && (nbGroups > 0); i++) {
+			int g = groupOf[i];
+			Group group = (Group) order[i].dormantGroup;
+			if ((regionX1[i] <= x2) && (x1 <= regionX2[i]) && (regionY1[i] <= y2) && (y1 <= regionY2[i]))
+				advances[g] = true;
+			if ((group != null) && (tick - group.fromTick >= group.maxNbTicks))
+				advances[g] = true;
+			if (!seen[g]) {
+				seen[g] = true;
+				dormantGroupOf[g] = group;
+			}
+			else if (dormantGroupOf[g] != group)
+				advances[g] = true;
+		}
+		for (int i = 0; i < n; i++) {
+			Group group = (Group) order[i].dormantGroup;
+			if ((group != null) && ((nbGroups == 0) || advances[groupOf[i]]))
+				this.wake(group, tick);
+		}
+
+		List<Object> advancing = new ArrayList<Object>(n);
+		List<List<GameObject>> asleep = new ArrayList<List<GameObject>>();
+		int[] asleepOf = new int[nbGroups];
+		for (int i = 0; i < n; i++) {
+			GameObject object = order[i];
+			if ((nbGroups == 0) || advances[groupOf[i]]) {
+				if (object.getWorld() == this.world)
+					advancing.add(object);
+			}
+			else if (object.dormantGroup == null) {
+				int g = groupOf[i];
+				if (asleepOf[g] == 0) {
+					asleep.add(new ArrayList<GameObject>());
+					asleepOf[g] = asleep.size();
+				}
+				asleep.get(asleepOf[g]-1).add(object);
+			}
+		}
+		for (List<GameObject> members: asleep) {
+			// spread the wakes of groups falling asleep together over several advancements
+			int maxNbTicks = MAXIMUM_NUMBER_OF_DORMANT_TICKS/2 +
+					Math.floorMod(members.get(0).handle, MAXIMUM_NUMBER_OF_DORMANT_TICKS/2);
+			Group group = new Group(members.toArray(new GameObject[members.size()]), tick, time, maxNbTicks);
+			for (GameObject member: group.members)
+				member.dormantGroup = group;
+			this.groups.add(group);
+		}
+		this.log.append(dt);
+		return advancing;
+	}
+
+	/**
+	 * Let the given dormant object and the objects lying dormant with it wake, after catching up with all
+	 * advancements of time of the world so far.
+	 *
+	 * @param	object
+	 * 			The object to wake.
+	 */
+	void wake(GameObject object) {
+		if (object.dormantGroup != null)
+			this.wake((Group) object.dormantGroup, this.log.getNbTicks());
+	}
+
+	/**
+	 * Let all dormant objects wake, after catching up with all advancements of time of the world so far.
+	 */
+	void wakeAll() {
+		this.wakeAll(this.log.getNbTicks());
+	}
+
+	private void wakeAll(long tick) {
+		for (Group group: new ArrayList<Group>(this.groups))
+			this.wake(group, tick);
+	}
+
+	private void wake(Group group, long tick) {
+		if (!this.groups.remove(group))
+			return;
+		for (GameObject member: group.members)
+			member.dormantGroup = null;
+		this.log.replay(group.members, this.world, group.fromTick, tick);
+	}
+}
@@ -0,0 +1,206 @@
+package jumpingalien.model;
+
+import java.util.Arrays;
+
+/**
+ * A store of the kinematic state of the game objects of a world, kept in one array per quantity (position,
+ * velocity and acceleration in both dimensions) and indexed by the handles of the objects in the object registry
+ * of that world. While an object is attached to this store, its slot is the only copy of its kinematic state:
+ * the object reads and writes its position, velocity and acceleration there.
+ *
+ * Because the state of all objects of a world lies in a few dense arrays, quantities shared by the integration
+ * of all objects can be computed for the whole world at once in tight loops over those arrays.
+ *
+ * @invar	All arrays of this store have the same length.
+ * 		|	x.length == y.length == vx.length == vy.length == ax.length == ay.length == flags.length
+ *
+ * @version	1.0
+ *
+ * @author 	Arthur van Meerbeeck, 2e Bachelor Burgerlijk Ingenieur, Computerwetenschappen-Elektrotechniek
+ *
+ * @author	Paul van Tieghem de Ten Berghe, 2e Bachelor Burgerlijk Ingenieur, Elektrotechniek-Computerwetenschappen
+ */
+class EntityStore {
+
+	/**
+	 * Initialize this new store with the given number of slots, all at rest in the origin.
+	 *
+	 * @param	capacity
+	 * 			The number of slots of this new store.
+	 */
+	EntityStore(int capacity) {
+		this.allocate(capacity);
+	}
+
+	//********************************** FLAGS ***************************************//
+
+	/**
+	 * Behaviour flags of a slot: whether it holds an object at all, whether that object is the player,
+	 * and whether the integration quantities of the slot are up to date with its velocity and acceleration.
+	 */
+	static final int OCCUPIED = 1;
+	static final int PLAYER = 2;
+	static final int INTEGRATED = 4;
+
+	//********************************** SLOTS ***************************************//
+
+	/**
+	 * Return the number of slots of this store.
+	 */
+	int capacity() {
+		return this.x.length;
+	}
+
+	/**
+	 * Make sure this store has a slot with the given index.
+	 *
+	 * @param	slot
+	 * 			The index of the slot.
+	 * @post	| new.capacity() > slot
+	 */
+	void ensureCapacity(int slot) {
+		if (slot >= this.capacity())
+			this.allocate(Math.max(slot+1, 2*this.capacity()));
+	}
+
+	private void allocate(int capacity) {
+		this.x = (this.x == null) ? new double[capacity] : Arrays.copyOf(this.x, capacity);
+		this.y = (this.y == null) ? new double[capacity] : Arrays.copyOf(this.y, capacity);
+		this.vx = (this.vx == null) ? new double[capacity] : Arrays.copyOf(this.vx, capacity);
+		this.vy = (this.vy == null) ? new double[capacity] : Arrays.copyOf(this.vy, capacity);
+		this.ax = (this.ax == null) ? new double[capacity] : Arrays.copyOf(this.ax, capacity);
+		this.ay = (this.ay == null) ? new double[capacity] : Arrays.copyOf(this.ay, capacity);
+		this.flags = (this.flags == null) ? new int[capacity] : Arrays.copyOf(this.flags, capacity);
+		this.firstStep = (this.firstStep == null) ? new double[capacity] : Arrays.copyOf(this.firstStep, capacity);
+		this.reachX = (this.reachX == null) ? new double[capacity] : Arrays.copyOf(this.reachX, capacity);
+		this.reachY = (this.reachY == null) ? new double[capacity] : Arrays.copyOf(this.reachY, capacity);
+	}
+
+	/**
+	 * Put the given state in the given slot of this store, and mark that slot as occupied with the given flags.
+	 *
+	 * @param	slot
+	 * 			The slot to put the state in.
+	 * @param	flags
+	 * 			The behaviour flags of the slot.
+	 */
+	void put(int slot, double x, double y, double vx, double vy, double ax, double ay, int flags) {
+		this.ensureCapacity(slot);
+		this.x[slot] = x;
+		this.y[slot] = y;
+		this.vx[slot] = vx;
+		this.vy[slot] = vy;
+		this.ax[slot] = ax;
+		this.ay[slot] = ay;
+		this.flags[slot] = (flags | OCCUPIED) & ~INTEGRATED;
+	}
+
+	/**
+	 * Empty the given slot of this store.
+	 *
+	 * @param	slot
+	 * 			The slot to empty.
+	 */
+	void free(int slot) {
+		this.x[slot] = this.y[slot] = 0.0;
+		this.vx[slot] = this.vy[slot] = 0.0;
+		this.ax[slot] = this.ay[slot] = 0.0;
+		this.flags[slot] = 0;
+	}
+
+	//********************************** STATE ***************************************//
+
+	/**
+	 * Set the position in the given slot.
+	 */
+	void setX(int slot, double x) {
+		this.x[slot] = x;
+	}
+
+	void setY(int slot, double y) {
+		this.y[slot] = y;
+	}
+
+	/**
+	 * Set the velocity or acceleration in the given slot, invalidating the integration quantities of that slot.
+	 */
+	void setVx(int slot, double vx) {
+		this.vx[slot] = vx;
+		this.flags[slot] &= ~INTEGRATED;
+	}
+
+	void setVy(int slot, double vy) {
+		this.vy[slot] = vy;
+		this.flags[slot] &= ~INTEGRATED;
+	}
+
+	void setAx(int slot, double ax) {
+		this.ax[slot] = ax;
+		this.flags[slot] &= ~INTEGRATED;
+	}
+
+	void setAy(int slot, double ay) {
+		this.ay[slot] = ay;
+		this.flags[slot] &= ~INTEGRATED;
+	}
+
+	/**
+	 * The position in meters, velocity in m/s and acceleration in m/s^2 of the object in each slot, and the
+	 * behaviour flags of each slot.
+	 */
+	double[] x, y;
+	double[] vx, vy;
+	double[] ax, ay;
+	int[] flags;
+
+	//********************************** INTEGRATION ***************************************//
+
+	/**
+	 * Compute for all non-player objects in this store the quantities of their integration over the given time
+	 * duration that only depend on their velocity and acceleration: the duration of their first partial
+	 * advancement, in which they move by at most one centimeter, and the distance in pixels they can reach
+	 * in both dimensions.
+	 *
+	 * @param	dt
+	 * 			The time duration of the integration.
+	 * @param	nbSlots
+	 * 			The number of slots to integrate, starting from the first slot.
+	 * @post	| for slot in 0..nbSlots-1
+	 * 			|	if (flags[slot] & (OCCUPIED | PLAYER)) == OCCUPIED
+	 * 			|		then isIntegrated(slot, dt)
+	 */
+	void integrate(double dt, int nbSlots) {
+		int n = Math.min(nbSlots, this.capacity());
+		double[] vx = this.vx, vy = this.vy, ax = this.ax, ay = this.ay;
+		double[] firstStep = this.firstStep, reachX = this.reachX, reachY = this.reachY;
+		// Math.pow(v, 2) is exactly v*v, so these agree bit for bit with the computation per object
+		for (int slot = 0; slot < n; slot++) {
+			firstStep[slot] = 0.01/(Math.sqrt((vx[slot]*vx[slot] + vy[slot]*vy[slot]) +
+					Math.sqrt(ax[slot]*ax[slot] + ay[slot]*ay[slot])));
+		}
+		for (int slot = 0; slot < n; slot++) {
+			reachX[slot] = (Math.abs(vx[slot]) + Math.abs(ax[slot])*dt)*dt*100;
+			reachY[slot] = (Math.abs(vy[slot]) + Math.abs(ay[slot])*dt)*dt*100;
+		}
+		int[] flags = this.flags;
+		for (int slot = 0; slot < n; slot++) {
+			if ((flags[slot] & (OCCUPIED | PLAYER)) == OCCUPIED)
+				flags[slot] |= INTEGRATED;
+		}
+		this.integratedDt = dt;
+	}
+
+	/**
+	 * Check whether the integration quantities of the given slot are up to date for the given time duration.
+	 */
+	boolean isIntegrated(int slot, double dt) {
+		return ((this.flags[slot] & INTEGRATED) != 0) && (dt == this.integratedDt);
+	}
+
+	/**
+	 * The integration quantities of each slot, and the time duration for which they were computed.
+	 */
+	double[] firstStep;
+	double[] reachX, reachY;
+	private double integratedDt = Double.NaN;
+}
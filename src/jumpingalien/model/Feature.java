@@ -24,6 +24,16 @@ public enum Feature {
 			return "PASSABLE";
 		}
 		
+		/**
+		 * Return the properties of the AIR feature.
+	     *
+		 * @return  The integer 0, air has no properties.
+		 *        | result == 0
+		 */
+		public int getProperties() {
+			return 0;
+		}
+		
 	},
 	
 	SOLID_GROUND {
@@ -48,6 +58,16 @@ public enum Feature {
 			return "IMPASSABLE";
 		}
 		
+		/**
+		 * Return the properties of the SOLID_GROUND feature.
+	     *
+		 * @return  The property impassable.
+		 *        | result == PROPERTY_IMPASSABLE
+		 */
+		public int getProperties() {
+			return PROPERTY_IMPASSABLE;
+		}
+		
 	},
 	
 	WATER {
@@ -72,6 +92,16 @@ public enum Feature {
 			return "PASSABLE";
 		}
 		
+		/**
+		 * Return the properties of the WATER feature.
+	     *
+		 * @return  The properties liquid and damaging.
+		 *        | result == PROPERTY_LIQUID | PROPERTY_DAMAGING
+		 */
+		public int getProperties() {
+			return PROPERTY_LIQUID | PROPERTY_DAMAGING;
+		}
+		
 	},
 	
 	MAGMA {
@@ -96,6 +126,16 @@ public enum Feature {
 			return "PASSABLE";
 		}
 		
+		/**
+		 * Return the properties of the MAGMA feature.
+	     *
+		 * @return  The properties liquid and damaging.
+		 *        | result == PROPERTY_LIQUID | PROPERTY_DAMAGING
+		 */
+		public int getProperties() {
+			return PROPERTY_LIQUID | PROPERTY_DAMAGING;
+		}
+		
 	},
 	
 	ICE {
@@ -119,6 +159,16 @@ public enum Feature {
 		public String getType() {
 			return "IMPASSABLE";
 		}
+		
+		/**
+		 * Return the properties of the ICE feature.
+	     *
+		 * @return  The property impassable.
+		 *        | result == PROPERTY_IMPASSABLE
+		 */
+		public int getProperties() {
+			return PROPERTY_IMPASSABLE;
+		}
 	},
 	
 	GAS {
@@ -143,6 +193,16 @@ public enum Feature {
 			return "PASSABLE";
 		}
 		
+		/**
+		 * Return the properties of the GAS feature.
+	     *
+		 * @return  The property damaging.
+		 *        | result == PROPERTY_DAMAGING
+		 */
+		public int getProperties() {
+			return PROPERTY_DAMAGING;
+		}
+		
 	};
 	
 	/**
@@ -155,4 +215,153 @@ public enum Feature {
 	 */
 	public abstract String getType();
 	
+	/**
+	 * Return the properties of this feature, as a bitmask of PROPERTY_IMPASSABLE,
+	 * PROPERTY_LIQUID and PROPERTY_DAMAGING.
+	 */
+	public abstract int getProperties();
+	
+	/**
+	 * Check whether this feature has the given property.
+	 * 
+	 * @param	property
+	 * 			The property to check.
+	 * @return	| result == ((getProperties() & property) != 0)
+	 */
+	public boolean hasProperty(int property) {
+		return ((this.getProperties() & property) != 0);
+	}
+	
+	/**
+	 * Check whether this feature is impassable.
+	 * 
+	 * @return	| result == hasProperty(PROPERTY_IMPASSABLE)
+	 */
+	public boolean isImpassable() {
+		return hasProperty(PROPERTY_IMPASSABLE);
+	}
+	
+	/**
+	 * Check whether this feature is a liquid.
+	 * 
+	 * @return	| result == hasProperty(PROPERTY_LIQUID)
+	 */
+	public boolean isLiquid() {
+		return hasProperty(PROPERTY_LIQUID);
+	}
+	
+	/**
+	 * Check whether this feature damages a Mazub overlapping with it.
+	 * 
+	 * @return	| result == hasProperty(PROPERTY_DAMAGING)
+	 */
+	public boolean isDamaging() {
+		return hasProperty(PROPERTY_DAMAGING);
+	}
+	
+	/**
+	 * Property of features that game objects cannot pass through.
+	 */
+	public static final int PROPERTY_IMPASSABLE = 1;
+	
+	/**
+	 * Property of features that are liquids.
+	 */
+	public static final int PROPERTY_LIQUID = 2;
+	
+	/**
+	 * Property of features that damage a Mazub overlapping with them.
+	 */
+	public static final int PROPERTY_DAMAGING = 4;
+	
+	//****************************** LOOKUP BY SYMBOL **********************************//
+	
+	/**
+	 * Return the feature with the given symbol.
+	 * 
+	 * @param	symbol
+	 * 			The symbol of the feature.
+	 * @return	| if (isValidSymbol(symbol))
+	 * 			|	then result.getSymbol() == symbol
+	 * 			| else
+	 * 			|	then result == AIR
+	 */
+	public static Feature fromSymbol(int symbol) {
+		if (!isValidSymbol(symbol))
+			return AIR;
+		return FEATURES_BY_SYMBOL[symbol];
+	}
+	
+	/**
+	 * Check whether the given symbol is the symbol of a feature.
+	 * 
+	 * @param	symbol
+	 * 			The symbol to check.
+	 * @return	| result == (for some feature in Feature.values(): feature.getSymbol() == symbol)
+	 */
+	public static boolean isValidSymbol(int symbol) {
+		return ((symbol >= 0) && (symbol < FEATURES_BY_SYMBOL.length) && (FEATURES_BY_SYMBOL[symbol] != null));
+	}
+	
+	/**
+	 * Check whether the feature with the given symbol has the given property.
+	 * 
+	 * @param	symbol
+	 * 			The symbol of the feature.
+	 * @param	property
+	 * 			The property to check.
+	 * @return	| result == fromSymbol(symbol).hasProperty(property)
+	 */
+	public static boolean hasProperty(int symbol, int property) {
+		if (!isValidSymbol(symbol))
+			return AIR.hasProperty(property);
+		return ((PROPERTIES_BY_SYMBOL[symbol] & property) != 0);
+	}
+	
+	/**
+	 * Check whether the feature with the given symbol is impassable.
+	 * 
+	 * @param	symbol
+	 * 			The symbol of the feature.
+	 * @return	| result == hasProperty(symbol, PROPERTY_IMPASSABLE)
+	 */
+	public static boolean isImpassable(int symbol) {
+		return hasProperty(symbol, PROPERTY_IMPASSABLE);
+	}
+	
+	/**
+	 * Check whether any of the features in the given bitmask of feature symbols has the given property.
+	 * 
+	 * @param	symbolMask
+	 * 			The bitmask in which bit (1 << symbol) is set for every feature symbol to consider.
+	 * @param	property
+	 * 			The property to check.
+	 * @return	| result == (for some symbol: (symbolMask & (1 << symbol)) != 0 && hasProperty(symbol, property))
+	 */
+	public static boolean maskHasProperty(int symbolMask, int property) {
+		for (int symbol = 0; symbol < PROPERTIES_BY_SYMBOL.length; symbol++) {
+			if (((symbolMask & (1 << symbol)) != 0) && ((PROPERTIES_BY_SYMBOL[symbol] & property) != 0))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * The features indexed by their symbol, and the properties of those features.
+	 */
+	private static final Feature[] FEATURES_BY_SYMBOL;
+	private static final int[] PROPERTIES_BY_SYMBOL;
+	
+	static {
+		int maxSymbol = 0;
+		for (Feature feature: values())
+			maxSymbol = Math.max(maxSymbol, feature.getSymbol());
+		FEATURES_BY_SYMBOL = new Feature[maxSymbol+1];
+		PROPERTIES_BY_SYMBOL = new int[maxSymbol+1];
+		for (Feature feature: values()) {
+			FEATURES_BY_SYMBOL[feature.getSymbol()] = feature;
+			PROPERTIES_BY_SYMBOL[feature.getSymbol()] = feature.getProperties();
+		}
+	}
+	
 }
@@ -3,7 +3,7 @@ package jumpingalien.model;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.lang.Object;
 import be.kuleuven.cs.som.annotate.Basic;
@@ -46,61 +46,126 @@ public abstract class GameObject extends Object {
 	
 	/**
      * Return the actual position in two dimension of this GameObject.
+     * 
+     * @return	| result == new double[] {getX(), getY()}
      */
-	public abstract double[] getPosition();
+	public double[] getPosition() {
+		return new double[] {this.getX(), this.getY()};
+	}
+	
+	/**
+	 * Return the horizontal position in meters of this GameObject.
+	 */
+	@Basic @Raw
+	public double getX() {
+		EntityStore entities = this.entities;
+		return (entities == null) ? this.x : entities.x[this.handle];
+	}
+	
+	/**
+	 * Return the vertical position in meters of this GameObject.
+	 */
+	@Basic @Raw
+	public double getY() {
+		EntityStore entities = this.entities;
+		return (entities == null) ? this.y : entities.y[this.handle];
+	}
 
 	/**
      * Set the horizontal and vertical position of this GameObject
+     * 
+     * @effect	| setHorAndVerPosition(position[0], position[1])
      */
-	public abstract void setHorAndVerPosition(double[] position);
+	public void setHorAndVerPosition(double[] position) {
+		this.setHorAndVerPosition(position[0], position[1]);
+	}
+	
+	/**
+     * Set the horizontal and vertical position of this GameObject
+     */
+	protected abstract void setHorAndVerPosition(double horizontalPosition, double verticalPosition);
 	
 	/**
 	 * Set the position of the GameObject to the given position in two dimensions.
 	 * 
 	 * @param 	position
 	 * 		  	The new position to set.
+	 * @effect	The position is set by its horizontal and vertical component.
+	 * 		|	setPositionXY(position[0], position[1])
+	 * @throws	IllegalArgumentException
+	 * 		   	the position is not a valid position.
+	 * 		|  	!CanHaveAsPosition(position)
+	 */
+	@Raw
+    public void setNewPosition(double[] position) throws IllegalArgumentException {  
+    	if ((position == null) || (position.length != 2)) throw new IllegalArgumentException("Illegal new position");
+    	this.setPositionXY(position[0], position[1]);
+	}
+	
+	/**
+	 * Set the position of the GameObject to the given horizontal and vertical position.
+	 * 
+	 * @param 	x
+	 * 		  	The new horizontal position to set.
+	 * @param 	y
+	 * 		  	The new vertical position to set.
 	 * @effect	if the object is located in a world and the position is not in the boundaries of this world 
 	 * 			the object will be terminated.
-	 * 		|	if this.getWorld()!= null && ! isPositionInWorldBoundaries(position)
+	 * 		|	if this.getWorld()!= null && ! isPositionInWorldBoundaries(x, y)
 	 * 		|		then this.terminateObject()
-	 * @post 	The position of this new object is equal to the given position in meters
-	 * 		|	this.actualPosition = position
 	 * @post 	The pixel position of this new object is set to the position in centimeters
-	 * 		|	setPixelPosition(newPixelPosition);
+	 * 		|	setPixelPosition((int) (x*10*10), (int) (y*10*10))
+	 * @effect	The horizontal and vertical position of this new object are equal to the given position in meters
+	 * 		|	setHorAndVerPosition(x, y)
 	 * @throws	IllegalArgumentException
 	 * 		   	the position is not a valid position.
-	 * 		|  	!CanHaveAsPosition(position)
+	 * 		|  	!CanHaveAsPosition(x, y)
 	 */
 	@Raw
-    public void setNewPosition(double[] position) throws IllegalArgumentException {  
-	
-    	if (!canHaveAsPosition(position)) throw new IllegalArgumentException("Illegal new position");
-    	
-    	if (this.getWorld()!= null) {
-    		if (! isPositionInWorldBoundaries(position))
-    			this.terminateObject();	
-    	}
-    	//Set the new pixel position
-    	int[] newPixelPosition = new int[] {(int) (position[0]*10*10),(int) (position[1]*10*10)};
-    	setPixelPosition(newPixelPosition);
-    	
-    	//Set the new actual position
-    	ArrayList<Double> newActualPosition = new ArrayList<Double>(2);
-		newActualPosition.add(0, position[0]);
-		newActualPosition.add(1, position[1]);
-		this.actualPosition.set(newActualPosition);
+	public void setPositionXY(double x, double y) throws IllegalArgumentException {
+		
+		if (!canHaveAsPosition(x, y)) throw new IllegalArgumentException("Illegal new position");
+		
+		if (this.getWorld()!= null) {
+			if (! isPositionInWorldBoundaries(x, y))
+				this.terminateObject();	
+		}
+		//Set the new pixel position
+		setPixelPosition((int) (x*10*10), (int) (y*10*10));
 		
 		//Set horizontal en vertical position of the gameObjects
-    	setHorAndVerPosition(position);
+		setHorAndVerPosition(x, y);
 	}
 	
 	/**
-     * Array registering the actual position in meters of this gameobject in the game world in two dimensions.
-     */
-	GenericPosition<Double> actualPosition = new GenericPosition<Double>();
+	 * Set the horizontal position in meters of this GameObject, without any check.
+	 */
+	@Raw
+	protected final void storeX(double x) {
+		EntityStore entities = this.entities;
+		if (entities == null)
+			this.x = x;
+		else
+			entities.setX(this.handle, x);
+	}
+	
+	/**
+	 * Set the vertical position in meters of this GameObject, without any check.
+	 */
+	@Raw
+	protected final void storeY(double y) {
+		EntityStore entities = this.entities;
+		if (entities == null)
+			this.y = y;
+		else
+			entities.setY(this.handle, y);
+	}
 	
-	public double horizontalPosition;
-	public double verticalPosition;
+	/**
+	 * Variables registering the position in meters of this GameObject, while its kinematic state is not kept
+	 * in an entity store.
+	 */
+	private double x, y;
 	
 	
 	//********************************** PIXEL POSITION ***************************************//
@@ -108,14 +173,27 @@ public abstract class GameObject extends Object {
 	/**
 	 * Return the pixel position in two dimensions of this GameObject.
 	 * @return	the pixel position
-	 * 		|	result == pixelPosition.get()
+	 * 		|	result == new int[] {getPixelX(), getPixelY()}
 	 */
-	@Basic @Raw
+	@Raw
 	public int[] getPixelPosition() {
-		int[] result = new int[2];
-		result[0] = pixelPosition.get().get(0);
-		result[1] = pixelPosition.get().get(1);
-		return result;
+		return new int[] {this.pixelX, this.pixelY};
+	}
+	
+	/**
+	 * Return the horizontal pixel position of this GameObject.
+	 */
+	@Basic @Raw
+	public int getPixelX() {
+		return this.pixelX;
+	}
+	
+	/**
+	 * Return the vertical pixel position of this GameObject.
+	 */
+	@Basic @Raw
+	public int getPixelY() {
+		return this.pixelY;
 	}
 	
     /**
@@ -123,8 +201,7 @@ public abstract class GameObject extends Object {
      * 
      * @param	pixelPosition
      * 		 	The pixel position of this new object.
-     * @post	The pixel position of this new object is equal to the given pixel position.
-     * 		| 	this.pixelPosition = pixelPosition
+     * @effect	| setPixelPosition(pixelPosition[0], pixelPosition[1])
      * @throws	IllegalArgumentException
      * 		  	the given position is not a valid pixel position for any object.
      * 		|	! isValidPixelPosition(pixelPosition)
@@ -134,46 +211,229 @@ public abstract class GameObject extends Object {
     	if (!isValidPixelPosition(pixelPosition)) {
     		throw new IllegalArgumentException();
     	}
-    	ArrayList<Integer> newPixelPosition = new ArrayList<Integer>(2);
-		newPixelPosition.add(0, pixelPosition[0]);
-		newPixelPosition.add(1, pixelPosition[1]);
-		this.pixelPosition.set(newPixelPosition);
+    	this.setPixelPosition(pixelPosition[0], pixelPosition[1]);
     }
 	
+    /**
+     * Set the pixel position of the GameObject to the given horizontal and vertical pixel position.
+     * 
+     * @post	The pixel position of this new object is equal to the given pixel position.
+     * 		| 	new.getPixelX() == pixelX && new.getPixelY() == pixelY
+     */
+	@Raw
+	public void setPixelPosition(int pixelX, int pixelY) {
+		this.pixelX = pixelX;
+		this.pixelY = pixelY;
+		if (this.getWorld() != null)
+			this.getWorld().objectMoved(this);
+	}
+	
 	/**
-     * Array registering the pixel position of object in the game world in two dimensions.
+     * Variables registering the pixel position of object in the game world in two dimensions.
      */
-	GenericPosition<Integer> pixelPosition = new GenericPosition<Integer>();
+	private int pixelX;
+	private int pixelY;
+	
+	/**
+	 * The cell of the spatial grid of its world in which this object is registered, or -1 if it is not registered,
+	 * and the order in which it was registered.
+	 */
+	int gridCell = -1;
+	long gridSequence;
+
+	/**
+	 * The group this object advances in while the objects of its world advance in parallel, or null if it does
+	 * not, and whether it moved meanwhile, so that its cell in the spatial grid of its world is out of date.
+	 */
+	Object parallelGroup = null;
+	boolean gridStale = false;
+	
+	/**
+	 * The handle of this object in the object registry of its world, or -1 if it is not in a world.
+	 */
+	int handle = -1;
+
+	/**
+	 * The group of objects this object lies dormant with while its world lets objects outside its activity
+	 * region go dormant, or null if it does not lie dormant.
+	 */
+	Object dormantGroup = null;
 	
 	//********************************** VELOCITY ***************************************//
 
 	/**
 	 * Return the velocity in two dimensions of this GameObject.
+	 * 
+	 * @return	| result == new double[] {getVx(), getVy()}
+	 */
+	public double[] getVelocity() {
+		return new double[] {this.getVx(), this.getVy()};
+	}
+	
+	/**
+	 * Return the horizontal velocity in m/s of this GameObject.
+	 */
+	@Basic @Raw
+	public double getVx() {
+		EntityStore entities = this.entities;
+		return (entities == null) ? this.vx : entities.vx[this.handle];
+	}
+	
+	/**
+	 * Return the vertical velocity in m/s of this GameObject.
 	 */
-	public abstract double[] getVelocity();
+	@Basic @Raw
+	public double getVy() {
+		EntityStore entities = this.entities;
+		return (entities == null) ? this.vy : entities.vy[this.handle];
+	}
 
 	/**
      * Set the velocity in two dimensions of this GameObject
      */
 	public abstract void setVelocity(double[] velocity);
 	
-	public double horizontalVelocity;
-	public double verticalVelocity;
+	/**
+	 * Set the horizontal velocity in m/s of this GameObject, without any check.
+	 */
+	@Raw
+	protected final void storeVx(double vx) {
+		EntityStore entities = this.entities;
+		if (entities == null)
+			this.vx = vx;
+		else
+			entities.setVx(this.handle, vx);
+	}
+	
+	/**
+	 * Set the vertical velocity in m/s of this GameObject, without any check.
+	 */
+	@Raw
+	protected final void storeVy(double vy) {
+		EntityStore entities = this.entities;
+		if (entities == null)
+			this.vy = vy;
+		else
+			entities.setVy(this.handle, vy);
+	}
+	
+	/**
+	 * Variables registering the velocity in m/s of this GameObject, while its kinematic state is not kept
+	 * in an entity store.
+	 */
+	private double vx, vy;
 	
 	//********************************** ACCELERATION ***************************************//
 
 	/**
 	 * Return the acceleration in two dimensions of this GameObject.
+	 * 
+	 * @return	| result == new double[] {getAx(), getAy()}
+	 */
+	public double[] getAcceleration() {
+		return new double[] {this.getAx(), this.getAy()};
+	}
+	
+	/**
+	 * Return the horizontal acceleration in m/s^2 of this GameObject.
 	 */
-	public abstract double[] getAcceleration();
+	@Basic @Raw
+	public double getAx() {
+		EntityStore entities = this.entities;
+		return (entities == null) ? this.ax : entities.ax[this.handle];
+	}
+	
+	/**
+	 * Return the vertical acceleration in m/s^2 of this GameObject.
+	 */
+	@Basic @Raw
+	public double getAy() {
+		EntityStore entities = this.entities;
+		return (entities == null) ? this.ay : entities.ay[this.handle];
+	}
 
 	/**
      * Set acceleration in two dimensions of this GameObject
      */
 	public abstract void setAcceleration(double[] acceleration);
 	
-	public double horizontalAcceleration;
-	public double verticalAcceleration;
+	/**
+	 * Set the horizontal acceleration in m/s^2 of this GameObject, without any check.
+	 */
+	@Raw
+	protected final void storeAx(double ax) {
+		EntityStore entities = this.entities;
+		if (entities == null)
+			this.ax = ax;
+		else
+			entities.setAx(this.handle, ax);
+	}
+	
+	/**
+	 * Set the vertical acceleration in m/s^2 of this GameObject, without any check.
+	 */
+	@Raw
+	protected final void storeAy(double ay) {
+		EntityStore entities = this.entities;
+		if (entities == null)
+			this.ay = ay;
+		else
+			entities.setAy(this.handle, ay);
+	}
+	
+	/**
+	 * Variables registering the acceleration in m/s^2 of this GameObject, while its kinematic state is not kept
+	 * in an entity store.
+	 */
+	private double ax, ay;
+	
+	//********************************** ENTITY STORE ***************************************//
+	
+	/**
+	 * Move the kinematic state of this GameObject to the slot at its handle in the given store. From then on,
+	 * that slot is the only copy of its position, velocity and acceleration.
+	 * 
+	 * @param	store
+	 * 			The store to write the state of this object to.
+	 * @param	flags
+	 * 			The behaviour flags of this object in that store.
+	 */
+	void attachTo(EntityStore store, int flags) {
+		store.put(this.handle, this.x, this.y, this.vx, this.vy, this.ax, this.ay, flags);
+		this.entities = store;
+	}
+	
+	/**
+	 * Move the kinematic state of this GameObject out of its store back into this object, and empty its slot
+	 * in that store.
+	 */
+	void detachFromStore() {
+		EntityStore entities = this.entities;
+		if (entities == null)
+			return;
+		int slot = this.handle;
+		this.x = entities.x[slot];
+		this.y = entities.y[slot];
+		this.vx = entities.vx[slot];
+		this.vy = entities.vy[slot];
+		this.ax = entities.ax[slot];
+		this.ay = entities.ay[slot];
+		this.entities = null;
+		entities.free(slot);
+	}
+	
+	/**
+	 * Check whether the kinematic state of this GameObject is kept in the given store.
+	 */
+	boolean isAttachedTo(EntityStore store) {
+		return (this.entities == store);
+	}
+	
+	/**
+	 * The store of the world of this GameObject in which its kinematic state is kept, 
+	 * or null if its state is kept in this object.
+	 */
+	private EntityStore entities = null;
 	
 	//********************************** ORIENTATION ***************************************//
 
@@ -373,36 +633,43 @@ public abstract class GameObject extends Object {
 	 * 
 	 * @param 	position
 	 * 			The position to check.
-	 * @return	True if and only if the object is a mazub located in a world and doesn't overlap with impassable terrain when located on his new position
-	 * 			,the position is not equal to null, the length of position is equal to two and
-	 * 			the given horizontal and vertical positions are valid numbers.
+	 * @return	True if and only if the position is not equal to null, the length of position is equal to two
+	 * 			and its horizontal and vertical position are a valid position.
+	 * 		|	result == (position!=null) && (position.length == 2) && canHaveAsPosition(position[0], position[1])
+	 */
+	@Raw
+	public boolean canHaveAsPosition(double[] position) {
+		return ((position!=null) && (position.length == 2) && this.canHaveAsPosition(position[0], position[1]));
+	}
+	
+	/**
+	 * Check whether the given horizontal and vertical position is a valid position.
+	 * 
+	 * @param 	x
+	 * 			The horizontal position to check.
+	 * @param 	y
+	 * 			The vertical position to check.
+	 * @return	True if and only if the object is a mazub located in a world and doesn't overlap with impassable terrain
+	 * 			when located on his new position and the given horizontal and vertical positions are valid numbers.
 	 * 		| 	if this.getWorld()!= null && this instanceof Mazub
 	 * 		|		then for x in 1..Xp-1 and for y in 1..Yp-1
-	 * 		|		result == !(this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE")
+	 * 		|		result == !Feature.isImpassable(featureSymbol)
 	 * 		|	else
-	 * 		|		result == (position!=null) && (position.length == 2) && (!Double.isNaN(actualPosition[0])) 
-	 * 		|		&& (!Double.isNaN(actualPosition[1]))
+	 * 		|		result == (!Double.isNaN(x)) && (!Double.isNaN(y))
 	 */
 	@Raw
-	public boolean canHaveAsPosition(double[] position) {
+	public boolean canHaveAsPosition(double x, double y) {
 		
 		if (this.getWorld()!= null && this instanceof Mazub) {
 			int Xp = this.getCurrentSprite().getWidth();
 			int Yp = this.getCurrentSprite().getHeight();
-			for (int x=1; x<= Xp-1; x++) {
-				for (int y=1; y<= Yp-1; y++) {
-					int PixelX = ((int)(position[0]*100))+x;
-					int PixelY = ((int)(position[1]*100))+y;
-					World world = this.getWorld();
-					int featureSymbol = world.getFeatureSymbolAtLocation(PixelX,PixelY);
-					if ( (this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE") {
-						return false;
-					}
-				}
-			}
+			int PixelX = (int)(x*100);
+			int PixelY = (int)(y*100);
+			if (this.rectangleHasFeatureProperty(this.getWorld(), PixelX+1, PixelY+1, PixelX+Xp-1, PixelY+Yp-1, 
+					Feature.PROPERTY_IMPASSABLE))
+				return false;
 		}
-		return ((position!=null) && (position.length == 2) && 
-				(! Double.isNaN(position[0])) && (!Double.isNaN(position[1])));
+		return ((! Double.isNaN(x)) && (!Double.isNaN(y)));
 	}
 	
 	/**
@@ -411,14 +678,25 @@ public abstract class GameObject extends Object {
 	 * 		  The position to check.
 	 * @return	True is and only if the position is not equal to null and the horizontal position
 	 * 			and the vertical position don't exceed the world boundaries.
-	 * 		|	result ==(position[0] >= getMinHorizontalPosition()) && (position[0]< getMaxHorizontalPosition())
-	 *		|				&& (position[1]>= getMinVerticalPosition()) && (position[1]< getMaxVerticalPosition()) 
-	 *		|				&& (position != null)
+	 * 		|	result == (position != null) && isPositionInWorldBoundaries(position[0], position[1])
 	 */		
 	public boolean isPositionInWorldBoundaries(double[] position) {
-		return ((position[0] >= getMinHorizontalPosition()) && (position[0]< getMaxHorizontalPosition())
-				&& (position[1] >= getMinVerticalPosition()) && (position[1]< getMaxVerticalPosition()) && (position != null));
+		return ((position != null) && this.isPositionInWorldBoundaries(position[0], position[1]));
+	}
 	
+	/**
+	 * Check whether the given horizontal and vertical position is in the boundaries of the world
+	 * @param x
+	 * 		  The horizontal position to check.
+	 * @param y
+	 * 		  The vertical position to check.
+	 * @return	True is and only if the horizontal position and the vertical position don't exceed the world boundaries.
+	 * 		|	result ==(x >= getMinHorizontalPosition()) && (x < getMaxHorizontalPosition())
+	 *		|				&& (y >= getMinVerticalPosition()) && (y < getMaxVerticalPosition()) 
+	 */		
+	public boolean isPositionInWorldBoundaries(double x, double y) {
+		return ((x >= getMinHorizontalPosition()) && (x < getMaxHorizontalPosition())
+				&& (y >= getMinVerticalPosition()) && (y < getMaxVerticalPosition()));
 	}
 	
     
@@ -631,13 +909,13 @@ public abstract class GameObject extends Object {
 	public boolean overlapsWithObject(Object object) {
 		if (this == object)
 			return false;
-		int x = this.getPixelPosition()[0];
-		int y = this.getPixelPosition()[1];
+		int x = this.getPixelX();
+		int y = this.getPixelY();
 		int Xp = this.getCurrentSprite().getWidth();
 		int Yp = this.getCurrentSprite().getHeight();
 		
-		int x1 = ((GameObject) object).getPixelPosition()[0];
-		int y1 = ((GameObject) object).getPixelPosition()[1];
+		int x1 = ((GameObject) object).getPixelX();
+		int y1 = ((GameObject) object).getPixelY();
 		int Xp1 = ((GameObject) object).getCurrentSprite().getWidth();
 		int Yp1 = ((GameObject) object).getCurrentSprite().getHeight();
 		
@@ -653,24 +931,16 @@ public abstract class GameObject extends Object {
 	 * @return 	If any of this object's pixels (except the bottom row) overlaps with impassable terrain, the object overlaps with impassable terrain.
 	 * 		|   for any i in x..XP+x-1
 	 * 		| 		for any j in y+1..Yp+y-1
-	 * 		|   		result == feature.getType() == "IMPASSABLE"
+	 * 		|   		result == Feature.isImpassable(world.getFeatureSymbolAtLocation(i, j))
 	 */
 	public boolean overlapsWithImpassableTerrain(World world) {
 	
-		int x = this.getPixelPosition()[0];
-		int y = this.getPixelPosition()[1];
+		int x = this.getPixelX();
+		int y = this.getPixelY();
 		int Xp = this.getCurrentSprite().getWidth();
 		int Yp = this.getCurrentSprite().getHeight();
 		
-		for (int i = x; i<=(Xp+x-1); i++) {
-			for (int j = y+1; j<=(Yp+y-1);j++) {	
-				int featureSymbol = world.getFeatureSymbolAtLocation(i, j);
-				Feature feature = world.getFeature(featureSymbol);
-				if (feature.getType() == "IMPASSABLE" )
-					return true;	
-			}
-		}
-		return false;
+		return this.rectangleHasFeatureProperty(world, x, y+1, Xp+x-1, Yp+y-1, Feature.PROPERTY_IMPASSABLE);
 	}
 	
 	/**
@@ -683,21 +953,39 @@ public abstract class GameObject extends Object {
 	 */
 	public Set<Integer> getOverlappingFeatures() {
 		
-		int x = this.getPixelPosition()[0];
-		int y = this.getPixelPosition()[1];
+		int x = this.getPixelX();
+		int y = this.getPixelY();
 		int Xp = this.getCurrentSprite().getWidth();
 		int Yp = this.getCurrentSprite().getHeight();
 		
+		int mask = this.getFeatureMaskOfRectangle(this.getWorld(), x, y, Xp+x-1, Yp+y-1);
 		Set<Integer> allOverlappingFeatures = new HashSet<Integer>();
-		for (int i = x; i<=Xp+x-1; i++) {
-			for (int j = y; j<=Yp+y-1;j++) {
-				allOverlappingFeatures.add(this.getWorld().getFeatureSymbolAtLocation(i, j));
-			}
+		for (int bits = mask; bits != 0; bits &= bits-1) {
+			int symbol = Integer.numberOfTrailingZeros(bits);
+			if (Feature.isValidSymbol(symbol))
+				allOverlappingFeatures.add(symbol);
 		}
 		
 		return allOverlappingFeatures;
 	}
 	
+	/**
+	 * Boolean which returns whether or not this object is overlapping with the given feature.
+	 * 
+	 * @param	feature
+	 * 			The feature to check the overlap with.
+	 * @return 	If any of this object's pixels overlaps with a tile of the given feature, the object overlaps with it.
+	 * 		|   result == this.getOverlappingFeatures().contains(feature.getSymbol())
+	 */
+	public boolean overlapsWithFeature(Feature feature) {
+		int x = this.getPixelX();
+		int y = this.getPixelY();
+		int Xp = this.getCurrentSprite().getWidth();
+		int Yp = this.getCurrentSprite().getHeight();
+		
+		return ((this.getFeatureMaskOfRectangle(this.getWorld(), x, y, Xp+x-1, Yp+y-1) & (1 << feature.getSymbol())) != 0);
+	}
+	
 	
 	/**
 	 * Boolean which returns whether or not this object is overlapping with water.
@@ -707,7 +995,7 @@ public abstract class GameObject extends Object {
 	 */
 	public boolean overlapsWithWater() {
 		
-		return (this.getOverlappingFeatures().contains(Feature.WATER.getSymbol()));
+		return this.overlapsWithFeature(Feature.WATER);
 						
 	}
 	
@@ -719,7 +1007,7 @@ public abstract class GameObject extends Object {
 	 */
 	public boolean overlapsWithMagma() {
 		
-		return (this.getOverlappingFeatures().contains(Feature.MAGMA.getSymbol()));			
+		return this.overlapsWithFeature(Feature.MAGMA);
 	}
 	
 	/**
@@ -730,7 +1018,7 @@ public abstract class GameObject extends Object {
 	 */
 	public boolean overlapsWithGas() {
 		
-		return (this.getOverlappingFeatures().contains(Feature.GAS.getSymbol()));			
+		return this.overlapsWithFeature(Feature.GAS);
 	}
 	
 	/**
@@ -741,29 +1029,57 @@ public abstract class GameObject extends Object {
 	 * @return 	If the world is null, there are no overlapping objects, so an empty set is returned.
 	 * 		|   if (world == null)
 	 * 		| 		then result = AllOverlappingObjects
-	 * @return	Else the method iterates over every object in the given world and adds them to the set if they overlap with this object
+	 * @return	Else the method asks the world for the objects near this object and adds them to the set if they overlap with this object
 	 * 		|   else
-	 * 		| 		while worldIt.hasnext() do
+	 * 		| 		for object in world.getObjectsInRectangle(x, y, x+Xp-1, y+Yp-1)
 	 * 		|			if (this.overlapsWithObject(object))
 	 *		|				then AllOverlappingObjects.add(object)
 	 * 		|	result == AllOverlappingobjects	
 	 */
 	public Set<Object> allOverlappingObjects(World world) {
+		return new HashSet<Object>(this.queryOverlappingObjects(world));
+	}
+	
+	/**
+	 * Return the objects of the given world overlapping with this object, in the order of the world, in the
+	 * query list of this object, which is only valid up to the next query of this object.
+	 * 
+	 * @return	| new HashSet<Object>(result).equals(this.allOverlappingObjects(world))
+	 */
+	List<GameObject> queryOverlappingObjects(World world) {
+		if (world == null) {
+			this.queryResult.clear();
+			return this.queryResult;
+		}
+		int x = this.getPixelX();
+		int y = this.getPixelY();
+		int Xp = this.getCurrentSprite().getWidth();
+		int Yp = this.getCurrentSprite().getHeight();
 		
-		Set<Object> AllOverlappingObjects = new HashSet<Object>();
-		
-		if (world == null)
-			return AllOverlappingObjects;
-		
-		@SuppressWarnings("rawtypes")
-		Iterator worldIt = world.iterator();
-		while (worldIt.hasNext()) {
-			Object object = (Object) worldIt.next();
+		List<GameObject> objects = this.getObjectsInRectangle(world, x, y, x+Xp-1, y+Yp-1);
+		int nbOverlapping = 0;
+		for (int i = 0; i < objects.size(); i++) {
+			GameObject object = objects.get(i);
 			if (this.overlapsWithObject(object))
-				AllOverlappingObjects.add(object);
+				objects.set(nbOverlapping++, object);
 		}
-		
-		return AllOverlappingObjects;
+		while (objects.size() > nbOverlapping)
+			objects.remove(objects.size()-1);
+		return objects;
+	}
+	
+	/**
+	 * Check whether this object overlaps with an object of the given class in the given world.
+	 * 
+	 * @return	| result == this.allOverlappingObjects(world).stream().anyMatch(object -> type.isInstance(object))
+	 */
+	private boolean overlapsWithObjectOfClass(World world, Class<? extends GameObject> type) {
+		List<GameObject> objects = this.queryOverlappingObjects(world);
+		for (int i = 0; i < objects.size(); i++) {
+			if (type.isInstance(objects.get(i)))
+				return true;
+		}
+		return false;
 	}
 	
 	/**
@@ -775,7 +1091,7 @@ public abstract class GameObject extends Object {
 	 * 		| 	result == this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Mazub )
 	 */
 	public boolean overlapsWithMazub(World world) {
-		return this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Mazub );
+		return this.overlapsWithObjectOfClass(world, Mazub.class);
 	}
 	
 	/**
@@ -787,7 +1103,7 @@ public abstract class GameObject extends Object {
 	 * 		| 	result == this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Plant )
 	 */
 	public boolean overlapsWithPlant(World world) {
-		return this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Plant );
+		return this.overlapsWithObjectOfClass(world, Plant.class);
 
 	}
 	
@@ -800,7 +1116,7 @@ public abstract class GameObject extends Object {
 	 * 		| 	result == this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Shark)
 	 */
 	public boolean overlapsWithShark(World world) {
-		return this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Shark);
+		return this.overlapsWithObjectOfClass(world, Shark.class);
 	}
 	
 	/**
@@ -812,7 +1128,7 @@ public abstract class GameObject extends Object {
 	 * 		| 	result == this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Slime)
 	 */
 	public boolean overlapsWithSlime(World world) {
-		return this.allOverlappingObjects(world).stream().anyMatch(object-> object instanceof Slime);
+		return this.overlapsWithObjectOfClass(world, Slime.class);
 	}
 	
 	/**
@@ -927,6 +1243,54 @@ public abstract class GameObject extends Object {
 	 */
 	private double TimeWhileDead = 0;
 	
+	//************************************************* TIMERS ***************************************************************//
+	
+	/**
+	 * Return the time this object has advanced so far, in seconds.
+	 */
+	@Basic @Raw
+	public double getTime() {
+		return this.time;
+	}
+	
+	/**
+	 * Perform the given action once the time of this object has advanced with the given delay from now on,
+	 * or from the deadline of the timer whose action is being performed, so that periodic actions do not drift.
+	 * The partial advancements of this object are split at the deadline, so that the action is performed
+	 * exactly at the deadline, in between two partial advancements.
+	 * 
+	 * @param	delay
+	 * 			The time in seconds after which the action is performed.
+	 * @param	action
+	 * 			The action to perform.
+	 * @return	The timer of the action, which can be used to cancel it.
+	 * @throws	IllegalArgumentException
+	 * 		|	!(delay >= 0) || (action == null)
+	 */
+	protected TimerQueue.Timer scheduleAfter(double delay, Runnable action) throws IllegalArgumentException {
+		if (!(delay >= 0))
+			throw new IllegalArgumentException("Illegal delay");
+		if (this.timers == null)
+			this.timers = new TimerQueue();
+		TimerQueue.Timer firing = this.timers.getFiringTimer();
+		return this.timers.schedule(((firing == null) ? this.time : firing.getDeadline()) + delay, action);
+	}
+	
+	/**
+	 * Cancel the given timer of this object, if it has not fired yet.
+	 */
+	protected void cancelTimer(TimerQueue.Timer timer) {
+		if (this.timers != null)
+			this.timers.cancel(timer);
+	}
+	
+	/**
+	 * The time this object has advanced so far, and the timers on that time, or null if no timer has ever
+	 * been scheduled for this object.
+	 */
+	private double time = 0.0;
+	private TimerQueue timers = null;
+	
 	//************************************************* ADVANCE TIME ***************************************************************//
 
 	/**
@@ -947,36 +1311,221 @@ public abstract class GameObject extends Object {
 	 * 			The given time duration to advance the time with
 	 * @effect The object will be advanced pixel by pixel until the total dt is advanced.
 	 * 		   | while (timeDuration > 0)
-	 *		   |	if (dtObject > timeDuration) then
+	 *		   |	fire the timers of this object whose deadline has been reached
+	 *		   |	if (untilDeadline < dtObject && untilDeadline <= timeDuration) then
+	 *		   |		advanceTimePartially(untilDeadline)
+	 *		   |		timeDuration -= untilDeadline
+	 *		   |	else if (dtObject > timeDuration) then
 	 *		   |		advanceTimePartially(timeDuration)
 	 *		   |		timeDuration == 0
 	 *		   | 	else
 	 *		   | 		advanceTimePartially(dtObject)
 	 *		   | 		timeDuration -= dtObject
+	 *		   |	fire the timers of this object whose deadline has been reached
 	 */
 	public void advanceObjectsTime(double dt) {
+		this.nbSubStepsOfLastAdvance = 0;
 		if (!isValidTimeDuration(dt))
 			return;
 		
+		ObjectAdvanceEvent event = ObjectAdvanceEvent.isRecorded() ? new ObjectAdvanceEvent() : null;
+		if (event != null)
+			event.begin();
 		double timeDuration = dt;
+		int nbSteps = 0;
+		this.sweepRegion(dt);
+		try {
 			while (timeDuration>0) {
+				// timers that are already due fire without a partial advancement
+				if ((this.timers != null) && (this.timers.getNextDeadline() <= this.time))
+					this.timers.fireUntil(this.time);
+				nbSteps++;
 				
-				double dtObject = 0.01/(Math.sqrt((Math.pow(this.getVelocity()[0],2) + 
-						Math.pow(this.getVelocity()[1], 2))+(Math.sqrt((Math.pow(this.getAcceleration()[0], 2)+
-								Math.pow(this.getAcceleration()[1], 2))))));
+				double dtObject;
+				if ((nbSteps == 1) && (this.entities != null) && this.entities.isIntegrated(this.handle, dt))
+					dtObject = this.entities.firstStep[this.handle];
+				else
+					dtObject = 0.01/(Math.sqrt((Math.pow(this.getVx(),2) + 
+						Math.pow(this.getVy(), 2))+(Math.sqrt((Math.pow(this.getAx(), 2)+
+								Math.pow(this.getAy(), 2))))));
 				
-				if (dtObject > timeDuration) {
+				// a partial advancement never passes the deadline of a timer of this object
+				double deadline = (this.timers == null) ? Double.POSITIVE_INFINITY : this.timers.getNextDeadline();
+				double untilDeadline = deadline - this.time;
+				if ((untilDeadline < dtObject) && (untilDeadline <= timeDuration)) {
+					this.advanceTimePartially(untilDeadline);
+					timeDuration -= untilDeadline;
+					this.time = deadline;
+				}
+				else if (dtObject > timeDuration) {
 		
 						this.advanceTimePartially(timeDuration);
+						this.time += timeDuration;
 						timeDuration = 0.0;
 				}
 				else {
 					this.advanceTimePartially(dtObject);
+					this.time += dtObject;
 					timeDuration -= dtObject;
 				}
+				if (this.timers != null)
+					this.timers.fireUntil(this.time);
 			}
+		} finally {
+			this.sweptWorld = null;
+			this.nbSubStepsOfLastAdvance = nbSteps;
+		}
+		PhaseProfiler profiler = this.getProfiler();
+		if (profiler.isEnabled())
+			profiler.count(this.getClass().getSimpleName() + " sub-steps", nbSteps);
+		if ((event != null) && event.shouldCommit()) {
+			event.objectType = this.getClass().getSimpleName();
+			event.dt = dt;
+			event.subSteps = nbSteps;
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Return the number of partial advancements this object took the last time it advanced its time.
+	 */
+	@Basic
+	int getNbSubStepsOfLastAdvance() {
+		return this.nbSubStepsOfLastAdvance;
+	}
+	
+	private int nbSubStepsOfLastAdvance = 0;
+	
+	/**
+	 * Return the profiler of the world of this object, or a profiler that is never enabled if this object
+	 * is not in a world.
+	 * 
+	 * @return	| if (getWorld() == null) then result == PhaseProfiler.NONE
+	 * 			| else result == getWorld().getProfiler()
+	 */
+	protected PhaseProfiler getProfiler() {
+		World world = this.getWorld();
+		if (world == null)
+			return PhaseProfiler.NONE;
+		return world.getProfiler();
+	}
+	
+	//************************************************* SWEPT REGION ***************************************************************//
+	
+	/**
+	 * Compute the region of pixels this object can sweep through while advancing its time with the given duration,
+	 * and register whether the terrain in that region consists of one feature and whether no other object is in it.
+	 * As long as a query of this object lies inside that region, its answer is known without asking the world.
+	 * 
+	 * @param	dt
+	 * 			The time duration the object is going to advance.
+	 * @post	The swept region contains all pixels the object can reach with its current velocity and acceleration,
+	 * 			extended by a margin for the probes along its edges.
+	 * 		|	new.sweptX1 <= x - reachX && new.sweptX2 >= x + maxWidth + reachX
+	 * 		|	new.sweptY1 <= y - reachY && new.sweptY2 >= y + maxHeight + reachY
+	 */
+	private void sweepRegion(double dt) {
+		this.sweptWorld = null;
+		World world = this.getWorld();
+		if (world == null)
+			return;
+		int maxWidth = 0;
+		int maxHeight = 0;
+		for (Sprite sprite: this.sprites) {
+			maxWidth = Math.max(maxWidth, sprite.getWidth());
+			maxHeight = Math.max(maxHeight, sprite.getHeight());
+		}
+		double reachX, reachY;
+		if ((this.entities != null) && this.entities.isIntegrated(this.handle, dt)) {
+			reachX = this.entities.reachX[this.handle];
+			reachY = this.entities.reachY[this.handle];
+		}
+		else {
+			reachX = (Math.abs(this.getVx()) + Math.abs(this.getAx())*dt)*dt*100;
+			reachY = (Math.abs(this.getVy()) + Math.abs(this.getAy())*dt)*dt*100;
+		}
+		if (Double.isNaN(reachX) || Double.isNaN(reachY) || reachX > SWEEP_LIMIT || reachY > SWEEP_LIMIT)
+			return;
+		this.sweptX1 = this.getPixelX() - (int) reachX - SWEEP_MARGIN;
+		this.sweptY1 = this.getPixelY() - (int) reachY - SWEEP_MARGIN;
+		this.sweptX2 = this.getPixelX() + maxWidth + (int) reachX + SWEEP_MARGIN;
+		this.sweptY2 = this.getPixelY() + maxHeight + (int) reachY + SWEEP_MARGIN;
+		this.sweptFeatureMask = world.getFeatureMaskOfRectangle(sweptX1, sweptY1, sweptX2, sweptY2);
+		List<GameObject> objects = this.queryResult;
+		objects.clear();
+		world.getObjectsInRectangle(sweptX1, sweptY1, sweptX2, sweptY2, objects);
+		this.sweptRegionFreeOfObjects = (objects.isEmpty() || (objects.size() == 1 && objects.get(0) == this));
+		this.sweptWorld = world;
+	}
+	
+	/**
+	 * Check whether the given rectangle of pixels lies inside the swept region of this object in the given world.
+	 */
+	private boolean isInSweptRegion(World world, int x1, int y1, int x2, int y2) {
+		return ((world == this.sweptWorld) && (x1 <= x2) && (y1 <= y2) && 
+				(x1 >= this.sweptX1) && (x2 <= this.sweptX2) && (y1 >= this.sweptY1) && (y2 <= this.sweptY2));
+	}
+	
+	/**
+	 * Return the features overlapping with the given rectangle of pixels in the given world.
+	 * 
+	 * @return	| result == world.getFeatureMaskOfRectangle(x1, y1, x2, y2)
+	 */
+	private int getFeatureMaskOfRectangle(World world, int x1, int y1, int x2, int y2) {
+		if ((Integer.bitCount(this.sweptFeatureMask) == 1) && isInSweptRegion(world, x1, y1, x2, y2))
+			return this.sweptFeatureMask;
+		return world.getFeatureMaskOfRectangle(x1, y1, x2, y2);
+	}
+	
+	/**
+	 * Check whether the given rectangle of pixels overlaps with a feature having the given property in the given world.
+	 * 
+	 * @return	| result == world.rectangleHasFeatureProperty(x1, y1, x2, y2, property)
+	 */
+	private boolean rectangleHasFeatureProperty(World world, int x1, int y1, int x2, int y2, int property) {
+		return Feature.maskHasProperty(this.getFeatureMaskOfRectangle(world, x1, y1, x2, y2), property);
+	}
+	
+	/**
+	 * Return all objects of the given world whose current sprite overlaps with the given rectangle of pixels.
+	 * The result is the query list of this object, so it is only valid up to the next query of this object.
+	 * 
+	 * @return	| result == world.getObjectsInRectangle(x1, y1, x2, y2)
+	 */
+	private List<GameObject> getObjectsInRectangle(World world, int x1, int y1, int x2, int y2) {
+		List<GameObject> result = this.queryResult;
+		result.clear();
+		if (this.sweptRegionFreeOfObjects && isInSweptRegion(world, x1, y1, x2, y2)) {
+			if (SpatialGrid.overlaps(this, x1, y1, x2, y2))
+				result.add(this);
+		}
+		else
+			world.getObjectsInRectangle(x1, y1, x2, y2, result);
+		return result;
 	}
 	
+	/**
+	 * The list this object collects the results of its queries for the objects in a rectangle in, reused by
+	 * each of these queries so that they do not allocate a new list while this object advances its time.
+	 */
+	private final ArrayList<GameObject> queryResult = new ArrayList<GameObject>();
+	
+	/**
+	 * The swept region of this object while it advances its time, and what it contains. The world is null
+	 * when this object is not advancing its time.
+	 */
+	private World sweptWorld = null;
+	private int sweptX1, sweptY1, sweptX2, sweptY2;
+	private int sweptFeatureMask;
+	private boolean sweptRegionFreeOfObjects;
+	
+	/**
+	 * The margin in pixels around the swept region, covering the probes one or two pixels beyond the edges of an object,
+	 * and the largest reach in pixels for which a swept region is computed.
+	 */
+	private static final int SWEEP_MARGIN = 3;
+	private static final double SWEEP_LIMIT = 10000;
+	
 	/**
 	 * Advance the time partially for this GameObject.
 	 * 
@@ -999,6 +1548,26 @@ public abstract class GameObject extends Object {
 		return Arrays.copyOf(this.sprites, this.sprites.length);
 	}
 	
+	/**
+	 * Return the sprite of this object at the given index, without copying the sprites of this object.
+	 * 
+	 * @return	| result == getSprites()[index]
+	 */
+	@Raw
+	protected Sprite getSprite(int index) {
+		return this.sprites[index];
+	}
+	
+	/**
+	 * Return the number of sprites of this object.
+	 * 
+	 * @return	| result == getSprites().length
+	 */
+	@Raw
+	protected int getNbSprites() {
+		return this.sprites.length;
+	}
+	
 	public boolean isValidSprites(Sprite[] sprites) {
 		if (this instanceof Mazub)
 			return Mazub.isValidMazubSprites(sprites);
@@ -1040,10 +1609,10 @@ public abstract class GameObject extends Object {
 		 * 		|				i>=OuterLeftYObject && i <= OuterLeftYObject+((GameObject) object).getCurrentSprite().getHeight()-2
 		 */
 		public boolean collisionWithObjectToTheRight(Object object) {
-			int OuterRightX = (this.getPixelPosition()[0]+ this.getCurrentSprite().getWidth()+1);
-			int OuterRightY = (this.getPixelPosition()[1]);
-			int OuterLeftXObject = (((GameObject) object).getPixelPosition()[0]);
-			int OuterLeftYObject = (((GameObject) object).getPixelPosition()[1]);
+			int OuterRightX = (this.getPixelX()+ this.getCurrentSprite().getWidth()+1);
+			int OuterRightY = (this.getPixelY());
+			int OuterLeftXObject = (((GameObject) object).getPixelX());
+			int OuterLeftYObject = (((GameObject) object).getPixelY());
 			
 			if (OuterRightX != OuterLeftXObject)
 				return false;
@@ -1069,10 +1638,10 @@ public abstract class GameObject extends Object {
 		 * 		|			i>= OuterRightYObject && i<= OuterRightYObject+((GameObject) object).getCurrentSprite().getHeight()-2
 		 */
 		public boolean collisionWithObjectToTheLeft(Object object) {
-			int OuterLeftX = (this.getPixelPosition()[0]);
-			int OuterLeftY = (this.getPixelPosition()[1]);
-			int OuterRightXObject = (((GameObject) object).getPixelPosition()[0]+ ((GameObject) object).getCurrentSprite().getWidth());
-			int OuterRightYObject = (((GameObject) object).getPixelPosition()[1]);
+			int OuterLeftX = (this.getPixelX());
+			int OuterLeftY = (this.getPixelY());
+			int OuterRightXObject = (((GameObject) object).getPixelX()+ ((GameObject) object).getCurrentSprite().getWidth());
+			int OuterRightYObject = (((GameObject) object).getPixelY());
 			
 			if (OuterLeftX != OuterRightXObject)
 				return false;
@@ -1098,10 +1667,10 @@ public abstract class GameObject extends Object {
 		 * 		|			i>=BottomXObject && i<= BottomXObject+((GameObject) object).getCurrentSprite().getWidth()-1
 		 */
 		public boolean collisionWithObjectAtTheTop(Object object) {
-			int TopY = this.getPixelPosition()[1]+ this.getCurrentSprite().getHeight()+1;
-			int TopX = this.getPixelPosition()[0];
-			int BottomYObject = ((GameObject) object).getPixelPosition()[1];
-			int BottomXObject = ((GameObject) object).getPixelPosition()[0];
+			int TopY = this.getPixelY()+ this.getCurrentSprite().getHeight()+1;
+			int TopX = this.getPixelX();
+			int BottomYObject = ((GameObject) object).getPixelY();
+			int BottomXObject = ((GameObject) object).getPixelX();
 			
 			if (TopY != BottomYObject)
 				return false;
@@ -1128,10 +1697,10 @@ public abstract class GameObject extends Object {
 		 * 		|			i>= TopXObject && i<=TopXObject+((GameObject) object).getCurrentSprite().getWidth()-1
 		 */			
 		public boolean collisionWithObjectAtTheBottom(Object object) {
-			int BottomY = this.getPixelPosition()[1];
-			int BottomX = this.getPixelPosition()[0];
-			int TopYObject = ((GameObject) object).getPixelPosition()[1] + ((GameObject) object).getCurrentSprite().getHeight()-1;
-			int TopXObject = ((GameObject) object).getPixelPosition()[0];
+			int BottomY = this.getPixelY();
+			int BottomX = this.getPixelX();
+			int TopYObject = ((GameObject) object).getPixelY() + ((GameObject) object).getCurrentSprite().getHeight()-1;
+			int TopXObject = ((GameObject) object).getPixelX();
 			
 			if (BottomY != TopYObject)
 				return false;
@@ -1147,22 +1716,53 @@ public abstract class GameObject extends Object {
 		
 		//********** COLLISION WITH OTHER OBJECT (NOT PLANT) ******************//
 
+		/**
+		 * Return the objects of the given world that are close enough to this game object to collide with it.
+		 * 
+		 * @param	world
+		 * 			The world to look for objects in.
+		 * @return	All objects of the given world overlapping with this game object extended by a margin of two pixels 
+		 * 			on every side, which contains every object this game object can collide with, in the order of the world.
+		 * 		|	result == world.getObjectsInRectangle(x-2, y-2, x+Xp+1, y+Yp+1)
+		 */
+		public List<GameObject> getNeighbouringObjects(World world) {
+			return new ArrayList<GameObject>(this.queryNeighbouringObjects(world));
+		}
+		
+		/**
+		 * Return the objects of the given world that are close enough to this game object to collide with it,
+		 * in the query list of this object, which is only valid up to the next query of this object.
+		 * 
+		 * @return	| result.equals(this.getNeighbouringObjects(world))
+		 */
+		private List<GameObject> queryNeighbouringObjects(World world) {
+			int x = this.getPixelX();
+			int y = this.getPixelY();
+			int Xp = this.getCurrentSprite().getWidth();
+			int Yp = this.getCurrentSprite().getHeight();
+			
+			return this.getObjectsInRectangle(world, x-2, y-2, x+Xp+1, y+Yp+1);
+		}
+
 		/**
 		 * Return whether or not the game object is colliding with an object which is not a plant to the right.
 		 * 
 		 * @return The game object collides with at least one other object which is not a plant from his world to the right.
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
-		 * 		|	else result ==this.getWorld().getObjects().stream().anyMatch(o->
+		 * 		|	else result ==this.getNeighbouringObjects(this.getWorld()).stream().anyMatch(o->
 		 * 		|		(!(o instanceof Plant) && this.collisionWithObjectToTheRight(o)))
 		 */
 		public boolean collidesWithanObjectToTheRight() {
 			if (this.getWorld() == null)
 				return false;
-			else {
-				return this.getWorld().getObjects().stream().anyMatch(o->(!(o instanceof Plant) && this.collisionWithObjectToTheRight(o)));
-
+			List<GameObject> objects = this.queryNeighbouringObjects(this.getWorld());
+			for (int i = 0; i < objects.size(); i++) {
+				GameObject object = objects.get(i);
+				if (!(object instanceof Plant) && this.collisionWithObjectToTheRight(object))
+					return true;
 			}
+			return false;
 		}
 		
 		/**
@@ -1172,16 +1772,19 @@ public abstract class GameObject extends Object {
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
 		 * 		|	else result ==
-		 * 		|		this.getWorld().getObjects().stream().anyMatch(o->
+		 * 		|		this.getNeighbouringObjects(this.getWorld()).stream().anyMatch(o->
 		 * 		|			(!(o instanceof Plant) && this.collisionWithObjectToTheLeft(o)))
 		 */
 		public boolean collidesWithanObjectToTheLeft() {
 			if (this.getWorld() == null)
 				return false;
-			else {
-				return this.getWorld().getObjects().stream().anyMatch(o->(!(o instanceof Plant) && this.collisionWithObjectToTheLeft(o)));
-
+			List<GameObject> objects = this.queryNeighbouringObjects(this.getWorld());
+			for (int i = 0; i < objects.size(); i++) {
+				GameObject object = objects.get(i);
+				if (!(object instanceof Plant) && this.collisionWithObjectToTheLeft(object))
+					return true;
 			}
+			return false;
 		}
 		
 		/**
@@ -1190,16 +1793,19 @@ public abstract class GameObject extends Object {
 		 * @return The game object collides with at least one other object which is not a plant from his world at his top.
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
-		 * 		|	else result == this.getWorld().getObjects().stream().anyMatch(o->
+		 * 		|	else result == this.getNeighbouringObjects(this.getWorld()).stream().anyMatch(o->
 		 * 		|		(!(o instanceof Plant) && this.collisionWithObjectAtTheTop(o)))
 		 */
 		public boolean collidesWithanObjectAtTheTop() {
 			if (this.getWorld() == null)
 				return false;
-			else {
-				return this.getWorld().getObjects().stream().anyMatch(o->(!(o instanceof Plant) && this.collisionWithObjectAtTheTop(o)));
-
+			List<GameObject> objects = this.queryNeighbouringObjects(this.getWorld());
+			for (int i = 0; i < objects.size(); i++) {
+				GameObject object = objects.get(i);
+				if (!(object instanceof Plant) && this.collisionWithObjectAtTheTop(object))
+					return true;
 			}
+			return false;
 		}
 		
 		/**
@@ -1208,14 +1814,19 @@ public abstract class GameObject extends Object {
 		 * @return The game object collides with at least one other object which is not a plant from his world at his bottom.
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
-		 * 		|		else result ==this.getWorld().getObjects().stream().anyMatch(o->
+		 * 		|		else result ==this.getNeighbouringObjects(this.getWorld()).stream().anyMatch(o->
 		 * 		|			(!(o instanceof Plant) && this.collisionWithObjectAtTheBottom(o)))
 		 */
 		public boolean collidesWithanObjectAtTheBottom() {
 			if (this.getWorld() == null)
 				return false;
-			else 
-				return this.getWorld().getObjects().stream().anyMatch(o->(!(o instanceof Plant) && this.collisionWithObjectAtTheBottom(o)));
+			List<GameObject> objects = this.queryNeighbouringObjects(this.getWorld());
+			for (int i = 0; i < objects.size(); i++) {
+				GameObject object = objects.get(i);
+				if (!(object instanceof Plant) && this.collisionWithObjectAtTheBottom(object))
+					return true;
+			}
+			return false;
 		}
 		
 		/**
@@ -1226,7 +1837,7 @@ public abstract class GameObject extends Object {
 		 * 		|	if world == null
 		 * 		|		result == AllCollidingObjects
 		 * @effect if the world is not null all the colliding objects will be put in an arraylist
-		 * 		|	for object in world.getobjects
+		 * 		|	for object in this.getNeighbouringObjects(world)
 		 * 		|		if this.collisionWithObjectAtTheBottom(object) || this.collisionWithObjectAtTheTop(object) 
 		 *		|			|| this.collisionWithObjectToTheLeft(object) || this.collisionWithObjectToTheRight(object)
 		 *		|			then AllCollidingObjects.add(object)
@@ -1235,19 +1846,7 @@ public abstract class GameObject extends Object {
 		 * 
 		 */
 		public ArrayList<Object> allCollidingObjects(World world) {
-			ArrayList<Object> AllCollidingObjects = new ArrayList<Object>();
-			
-			if (world == null)
-				return AllCollidingObjects;
-			
-			else {	
-				for (Object object: world.getObjects()) {
-					if (this.collisionWithObjectAtTheBottom(object) || this.collisionWithObjectAtTheTop(object) 
-							|| this.collisionWithObjectToTheLeft(object) || this.collisionWithObjectToTheRight(object))
-						AllCollidingObjects.add(object);
-				}
-				return AllCollidingObjects;
-			}
+			return new ArrayList<Object>(this.queryCollidingObjects(world, false));
 		}
 		
 		/**
@@ -1258,7 +1857,7 @@ public abstract class GameObject extends Object {
 		 * 		|		result == AllCollidingObjects
 		 * 
 		 * @effect if the world is not null objects with which this game object is colliding and facing will be put in an arraylist
-		 * 		|	for object in world.getobjects
+		 * 		|	for object in this.getNeighbouringObjects(world)
 		 * 		|		if this.collisionWithObjectAtTheBottom(object) || this.collisionWithObjectAtTheTop(object) 
 		 *		|			|| (this.collisionWithObjectToTheLeft(object) && this.getOrientation()==-1) || 
 		 *		|			(this.collisionWithObjectToTheRight(object) && this.getOrientation()==1))
@@ -1267,18 +1866,55 @@ public abstract class GameObject extends Object {
 		 * 		|	result == AllCollidingObjects
 		 */
 		public ArrayList<Object> allCollidingObjectsWithOrientation(World world) {
-			ArrayList<Object> AllCollidingObjects = new ArrayList<Object>();
+			return new ArrayList<Object>(this.queryCollidingObjects(world, true));
+		}
+		
+		/**
+		 * Return the objects of the given world with which this game object is colliding, and which it is facing if
+		 * so asked, in the collision list of this object, which is only valid up to the next call of this method.
+		 * 
+		 * @return	| if (withOrientation)
+		 * 			|	then result.equals(this.allCollidingObjectsWithOrientation(world))
+		 * 			|	else result.equals(this.allCollidingObjects(world))
+		 */
+		List<GameObject> queryCollidingObjects(World world, boolean withOrientation) {
+			List<GameObject> result = this.collidingObjects;
+			result.clear();
 			if (world == null)
-				return AllCollidingObjects;
-			else {
-				for (Object object: world.getObjects()) {
-					if (this.collisionWithObjectAtTheBottom(object) || this.collisionWithObjectAtTheTop(object) 
-							|| (this.collisionWithObjectToTheLeft(object) && this.getOrientation()==-1) || 
-							(this.collisionWithObjectToTheRight(object) && this.getOrientation()==1))
-						AllCollidingObjects.add(object);
-				}
-				return AllCollidingObjects;
+				return result;
+			List<GameObject> objects = this.queryNeighbouringObjects(world);
+			for (int i = 0; i < objects.size(); i++) {
+				GameObject object = objects.get(i);
+				if (this.collisionWithObjectAtTheBottom(object) || this.collisionWithObjectAtTheTop(object) 
+						|| (this.collisionWithObjectToTheLeft(object) && (!withOrientation || this.getOrientation()==-1)) || 
+						(this.collisionWithObjectToTheRight(object) && (!withOrientation || this.getOrientation()==1)))
+					result.add(object);
+			}
+			return result;
+		}
+		
+		/**
+		 * The list this object collects the objects it collides with in, reused by each call of queryCollidingObjects.
+		 */
+		private final ArrayList<GameObject> collidingObjects = new ArrayList<GameObject>();
+		
+		/**
+		 * Return whether this game object is colliding with an object it is facing.
+		 * 
+		 * @return	| result == !this.allCollidingObjectsWithOrientation(world).isEmpty()
+		 */
+		public boolean collidesWithanObjectWithOrientation(World world) {
+			if (world == null)
+				return false;
+			List<GameObject> objects = this.queryNeighbouringObjects(world);
+			for (int i = 0; i < objects.size(); i++) {
+				GameObject object = objects.get(i);
+				if (this.collisionWithObjectAtTheBottom(object) || this.collisionWithObjectAtTheTop(object) 
+						|| (this.collisionWithObjectToTheLeft(object) && this.getOrientation()==-1) || 
+						(this.collisionWithObjectToTheRight(object) && this.getOrientation()==1))
+					return true;
 			}
+			return false;
 		}
 		
 		//********** COLLISION WITH IMPASSABLE TERRAIN ******************//
@@ -1291,21 +1927,17 @@ public abstract class GameObject extends Object {
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
 		 * 		|		else result ==
-		 * 		|			for any PixelY in this.getPixelPosition()[1]+1..this.getPixelPosition()[1]+this.getCurrentSprite().getHeight()-2:
-		 * 		|				this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE"
+		 * 		|			for any PixelY in this.getPixelY()+1..this.getPixelY()+this.getCurrentSprite().getHeight()-2:
+		 * 		|				Feature.isImpassable(featureSymbol)
 		 */
 		public boolean collidesWithITToTheRight() {
 			if (this.getWorld() == null)
 				return false;
 			else {
-				int PixelX = this.getPixelPosition()[0] + this.getCurrentSprite().getWidth();
-				for (int PixelY = this.getPixelPosition()[1]+1; PixelY<= this.getPixelPosition()[1]+this.getCurrentSprite().getHeight()-2
-						;PixelY++) {
-					int featureSymbol = this.getWorld().getFeatureSymbolAtLocation(PixelX, PixelY);
-					if ( (this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE" ) 
-						return true;
-				}
-				return false;
+				int PixelX = this.getPixelX() + this.getCurrentSprite().getWidth();
+				int PixelY = this.getPixelY();
+				return this.rectangleHasFeatureProperty(this.getWorld(), PixelX, PixelY+1, PixelX, 
+						PixelY+this.getCurrentSprite().getHeight()-2, Feature.PROPERTY_IMPASSABLE);
 			}
 		}
 		
@@ -1317,21 +1949,17 @@ public abstract class GameObject extends Object {
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
 		 * 		|		else result ==
-		 * 		|			for any PixelY in this.getPixelPosition()[1]+1..this.getPixelPosition()[1]+this.getCurrentSprite().getHeight()-2:
-		 * 		|				(this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE"
+		 * 		|			for any PixelY in this.getPixelY()+1..this.getPixelY()+this.getCurrentSprite().getHeight()-2:
+		 * 		|				Feature.isImpassable(featureSymbol)
 		 */
 		public boolean collidesWithITToTheLeft() {
 			if (this.getWorld() == null)
 				return false;
 			else {
-				int PixelX = this.getPixelPosition()[0];
-				for (int PixelY = this.getPixelPosition()[1]+1; PixelY<= this.getPixelPosition()[1]+this.getCurrentSprite().getHeight()-2
-						;PixelY++) {
-					int featureSymbol = this.getWorld().getFeatureSymbolAtLocation(PixelX, PixelY);
-					if ( (this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE" ) 
-						return true;
-				}
-				return false;
+				int PixelX = this.getPixelX();
+				int PixelY = this.getPixelY();
+				return this.rectangleHasFeatureProperty(this.getWorld(), PixelX, PixelY+1, PixelX, 
+						PixelY+this.getCurrentSprite().getHeight()-2, Feature.PROPERTY_IMPASSABLE);
 			}
 		}
 		
@@ -1343,21 +1971,17 @@ public abstract class GameObject extends Object {
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
 		 * 		|		else result ==
-		 * 		|			for any PixelX in this.getPixelPosition()[0]+1..this.getPixelPosition()[0]+this.getCurrentSprite().getWidth()-1:
-		 * 		|				(this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE"
+		 * 		|			for any PixelX in this.getPixelX()+1..this.getPixelX()+this.getCurrentSprite().getWidth()-1:
+		 * 		|				Feature.isImpassable(featureSymbol)
 		 */
 		public boolean collidesWithITAtTheTop() {
 			if (this.getWorld() == null)
 				return false;
 			else {
-				int PixelY = this.getPixelPosition()[1]+this.getCurrentSprite().getHeight()+1;
-				for (int PixelX = this.getPixelPosition()[0]+1; PixelX <= this.getPixelPosition()[0] + this.getCurrentSprite().getWidth()-1
-						;PixelX++) {
-					int featureSymbol = this.getWorld().getFeatureSymbolAtLocation(PixelX, PixelY);
-					if ( (this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE" ) 
-						return true;
-				}
-				return false;
+				int PixelX = this.getPixelX();
+				int PixelY = this.getPixelY()+this.getCurrentSprite().getHeight()+1;
+				return this.rectangleHasFeatureProperty(this.getWorld(), PixelX+1, PixelY, 
+						PixelX+this.getCurrentSprite().getWidth()-1, PixelY, Feature.PROPERTY_IMPASSABLE);
 			}
 		}
 		
@@ -1369,21 +1993,17 @@ public abstract class GameObject extends Object {
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
 		 * 		|		else result ==
-		 * 		|			for any PixelX in this.getPixelPosition()[0]+1..this.getPixelPosition()[0]+this.getCurrentSprite().getWidth()-1:
-		 * 		|				(this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE"
+		 * 		|			for any PixelX in this.getPixelX()+1..this.getPixelX()+this.getCurrentSprite().getWidth()-1:
+		 * 		|				Feature.isImpassable(featureSymbol)
 		 */
 		public boolean collidesWithITAtTheBottom() {
 			if (this.getWorld() == null)
 				return false;
 			else {
-				int PixelY = this.getPixelPosition()[1];
-				for (int PixelX = this.getPixelPosition()[0]+1; PixelX <= this.getPixelPosition()[0] + this.getCurrentSprite().getWidth()-1
-						;PixelX++) {
-					int featureSymbol = this.getWorld().getFeatureSymbolAtLocation(PixelX, PixelY);
-					if ( (this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE" ) 
-						return true;
-				}
-				return false;
+				int PixelX = this.getPixelX();
+				int PixelY = this.getPixelY();
+				return this.rectangleHasFeatureProperty(this.getWorld(), PixelX+1, PixelY, 
+						PixelX+this.getCurrentSprite().getWidth()-1, PixelY, Feature.PROPERTY_IMPASSABLE);
 			}
 		}
 		
@@ -1394,21 +2014,17 @@ public abstract class GameObject extends Object {
 		 * 		|	if this.getWorld() == null
 		 * 		|		then result == false
 		 * 		|		else result ==
-		 * 		|			for any PixelX in this.getPixelPosition()[0]+1..this.getPixelPosition()[0]+this.getCurrentSprite().getWidth()-1:
-		 * 		|				(this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE"
+		 * 		|			for any PixelX in this.getPixelX()+1..this.getPixelX()+this.getCurrentSprite().getWidth()-1:
+		 * 		|				Feature.isImpassable(featureSymbol)
 		 */
 		public boolean restingOnSolidGround() {
 			if (this.getWorld() == null)
 				return false;
 			else {
-				int PixelY = this.getPixelPosition()[1];
-				for (int PixelX = this.getPixelPosition()[0]+1; PixelX <= this.getPixelPosition()[0] + this.getCurrentSprite().getWidth()-1
-						;PixelX++) {
-					int featureSymbol = this.getWorld().getFeatureSymbolAtLocation(PixelX, PixelY-1);
-					if ( (this.getWorld().getFeature(featureSymbol)).getType() == "IMPASSABLE" ) 
-						return true;
-				}
-				return false;
+				int PixelX = this.getPixelX();
+				int PixelY = this.getPixelY()-1;
+				return this.rectangleHasFeatureProperty(this.getWorld(), PixelX+1, PixelY, 
+						PixelX+this.getCurrentSprite().getWidth()-1, PixelY, Feature.PROPERTY_IMPASSABLE);
 			}
 		}
 		
@@ -1425,11 +2041,16 @@ public abstract class GameObject extends Object {
 	 */
 	public void stopMovingIfDead() {
 		if (this.isDead()) {
-			setVelocity(new double[ ]{0.0, 0.0});
-			setAcceleration(new double[ ]{0.0, 0.0});
+			setVelocity(NO_MOTION);
+			setAcceleration(NO_MOTION);
 		}
 	}
 	
+	/**
+	 * A velocity and acceleration of zero in both dimensions.
+	 */
+	private static final double[] NO_MOTION = new double[] {0.0, 0.0};
+	
 	//************************************ TIME AFTER COLLISION *******************************************//
 		
 		
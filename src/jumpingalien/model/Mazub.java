@@ -1,5 +1,6 @@
 package jumpingalien.model;
 
+import java.util.List;
 import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.util.Sprite;
 
@@ -62,7 +63,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override @Basic
 	public double getHorizontalPosition() {
-		return this.horizontalPosition;
+		return this.getX();
 	}
 
 	/**
@@ -78,7 +79,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	@Override @Raw
 	public void setHorizontalPosition(double horizontalPosition) throws IllegalArgumentException {
 		if (!this.canHaveAsHorizontalPosition(horizontalPosition)) throw new IllegalArgumentException();
-		this.horizontalPosition = horizontalPosition;
+		this.storeX(horizontalPosition);
 	}
 	
 	/**
@@ -86,7 +87,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override @Basic
 	public double getHorizontalVelocity() {
-		return this.horizontalVelocity;
+		return this.getVx();
 	}
 
 	/**
@@ -127,13 +128,13 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	@Override @Raw
 	public void setHorizontalVelocity(double horizontalVelocity) {
 		if (this.isValidHorizontalVelocity(horizontalVelocity))
-			this.horizontalVelocity = horizontalVelocity;
+			this.storeVx(horizontalVelocity);
 		else if (Math.abs(horizontalVelocity) > getMaxHorizontalVelocity())
-			this.horizontalVelocity = getOrientation()*getMaxHorizontalVelocity();
+			this.storeVx(getOrientation()*getMaxHorizontalVelocity());
 		else if (Math.abs(horizontalVelocity) < getMinHorizontalVelocity())
-			this.horizontalVelocity = getOrientation()*getMinHorizontalVelocity();
+			this.storeVx(getOrientation()*getMinHorizontalVelocity());
 		else 
-			this.horizontalVelocity = 0.0;
+			this.storeVx(0.0);
 	}
 	
 	/**
@@ -181,7 +182,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override @Basic @Raw
 	public double getHorizontalAcceleration() {
-		return this.horizontalAcceleration;
+		return this.getAx();
 	}
 
 
@@ -195,7 +196,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override
 	public void setHorizontalAcceleration(double horizontalAcceleration) {
-		this.horizontalAcceleration = horizontalAcceleration;
+		this.storeAx(horizontalAcceleration);
 		
 	}
 	
@@ -208,7 +209,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override @Basic
 	public double getVerticalPosition() {
-		return this.verticalPosition;
+		return this.getY();
 	}
 
 	/**
@@ -224,7 +225,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	@Override @Raw
 	public void setVerticalPosition(double verticalPosition) throws IllegalArgumentException {
 		if (!this.canHaveAsVerticalPosition(verticalPosition)) throw new IllegalArgumentException();
-		this.verticalPosition = verticalPosition;
+		this.storeY(verticalPosition);
 	}
 
 	/**
@@ -232,7 +233,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override @Basic
 	public double getVerticalVelocity() {
-		return this.verticalVelocity;
+		return this.getVy();
 	}
 
 	/**
@@ -263,9 +264,9 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	@Override @Raw
 	public void setVerticalVelocity(double verticalVelocity) {
 		if (this.isValidVerticalVelocity(verticalVelocity))
-			this.verticalVelocity = verticalVelocity;
+			this.storeVy(verticalVelocity);
 		else if (verticalVelocity > getMaxVerticalVelocity())
-			this.verticalVelocity = getMaxVerticalVelocity();
+			this.storeVy(getMaxVerticalVelocity());
 	}
 
 	/**
@@ -281,7 +282,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override @Basic @Raw
 	public double getVerticalAcceleration() {
-		return this.verticalAcceleration;
+		return this.getAy();
 	}
 
 	/**
@@ -294,7 +295,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override
 	public void setVerticalAcceleration(double verticalAcceleration) {
-		this.verticalAcceleration = verticalAcceleration;	
+		this.storeAy(verticalAcceleration);	
 	}
 	
 	/**************
@@ -302,33 +303,19 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	 **************/
 
 	/**
- 	 * Return the position two dimensions of this Mazub.
- 	 */
-	@Override @Basic
-	public double[] getPosition() {
-		return new double[] {getHorizontalPosition(), getVerticalPosition()};
-	}
-	
-	/**
- 	 * Set the position of this Mazub to the given position.
+ 	 * Set the position of this Mazub to the given horizontal and vertical position.
  	 * 
- 	 * @param  	position
- 	 * 			The given position.
+ 	 * @param  	horizontalPosition
+ 	 * 			The given horizontal position.
+ 	 * @param  	verticalPosition
+ 	 * 			The given vertical position.
  	 * @post   	The new horizontal and vertical position of this Mazub is set to the given position
- 	 *       | 	new.getPosition == position;
+ 	 *       | 	new.getX() == horizontalPosition && new.getY() == verticalPosition;
  	 */
-	@Override 
-	public void setHorAndVerPosition(double[] position) {
-		setHorizontalPosition(position[0]);
-		setVerticalPosition(position[1]);
-	}
-	
-	/**
- 	 * Return the velocity in two dimensions in m/s of this Mazub.
- 	 */
-	@Override @Basic
-	public double[] getVelocity() {
-		return new double[] {getHorizontalVelocity(), getVerticalVelocity()};
+	@Override
+	protected void setHorAndVerPosition(double horizontalPosition, double verticalPosition) {
+		setHorizontalPosition(horizontalPosition);
+		setVerticalPosition(verticalPosition);
 	}
 	
 	/**
@@ -345,14 +332,6 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 		setVerticalVelocity(velocity[1]);
 	}
 	
-	/**
- 	 * Return the acceleration in two dimensions in m/s^2 of this Mazub.
- 	 */
-	@Override @Basic
-	public double[] getAcceleration() {
-		return new double[] {getHorizontalAcceleration(), getVerticalAcceleration()};
-	}
-	
 	/**
  	 * Set the acceleration of this Mazub to the given acceleration.
  	 * 
@@ -663,16 +642,28 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	@Override
 	public void advanceTimePartially(double timeDuration) {
 
+		PhaseProfiler profiler = this.getProfiler();
+		long time = profiler.start();
 		stopMovingIfDead();
+		time = profiler.lap("Mazub.stopMovingIfDead", time);
 		terminateDeadObject(timeDuration);
+		time = profiler.lap("Mazub.terminateDeadObject", time);
 		eatPlants(timeDuration);
+		time = profiler.lap("Mazub.eatPlants", time);
 		updateSprites(timeDuration);
+		time = profiler.lap("Mazub.updateSprites", time);
 		overlappingWithFeatures(timeDuration);
+		time = profiler.lap("Mazub.overlappingWithFeatures", time);
 		checkImpassableTerrainCollision();
+		time = profiler.lap("Mazub.checkImpassableTerrainCollision", time);
 		checkObjectCollision();
+		time = profiler.lap("Mazub.checkObjectCollision", time);
 		collisionWithObject(timeDuration);
+		time = profiler.lap("Mazub.collisionWithObject", time);
 		updatePositionAndVelocity(timeDuration);
+		time = profiler.lap("Mazub.updatePositionAndVelocity", time);
 		checkIfPlayerHasWon();
+		profiler.stop("Mazub.checkIfPlayerHasWon", time);
 		
 	}	
 	
@@ -692,16 +683,17 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	public void eatPlants(double timeduration) {
 		if (this.getWorld()!= null) {
 			
-			if (this.overlapsWithPlant(this.getWorld())) {
-				
-				for (Plant plant: this.getOverlappingPlants(this.getWorld())) {
-					if (plant.getTimeAfterCollision()>=0.6) {
-						this.eatingPlant(plant, this);
-						plant.setTimeAfterCollision(0.0);
-					}
-					else 
-						plant.setTimeAfterCollision(plant.getTimeAfterCollision()+timeduration);
+			List<GameObject> objects = this.queryOverlappingObjects(this.getWorld());
+			for (int i = 0; i < objects.size(); i++) {
+				if (!(objects.get(i) instanceof Plant))
+					continue;
+				Plant plant = (Plant) objects.get(i);
+				if (plant.getTimeAfterCollision()>=0.6) {
+					this.eatingPlant(plant, this);
+					plant.setTimeAfterCollision(0.0);
 				}
+				else 
+					plant.setTimeAfterCollision(plant.getTimeAfterCollision()+timeduration);
 			}
 		}
 	}
@@ -813,7 +805,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 				setOrientation(0);
 				
 				if (this.getWorld()!= null) {
-					if (! this.canHaveAsPosition(this.getPosition()))
+					if (! this.canHaveAsPosition(this.getX(), this.getY()))
 						this.setOrientation(current_orientation);
 					
 					else
@@ -964,7 +956,9 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 			return;
 		
 		else {
-			for (Object object: this.allCollidingObjects(this.getWorld())) {
+			List<GameObject> objects = this.queryCollidingObjects(this.getWorld(), false);
+			for (int i = 0; i < objects.size(); i++) {
+				Object object = objects.get(i);
 				if (!((GameObject) object).isDead() && object != this && !this.isDead()) {
 					
 					if (!(((GameObject) object).getTimeAfterCollision()>=0.6)) {
@@ -1026,7 +1020,7 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 			this.setHorizontalVelocity((getHorizontalVelocity() + getHorizontalAcceleration()*timeDuration));
 		}
 	
-		this.setNewPosition(new double[] {hor_pos,ver_pos});
+		this.setPositionXY(hor_pos, ver_pos);
 	}
 	
 	//*************************************** CHECK IF PLAYER HAS WON ***************************************************//
@@ -1083,41 +1077,40 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	
 	@Override
 	public Sprite getCurrentSprite() {
-		Sprite[] sprites = this.getSprites();
-		int m = (sprites.length-10)/2;
+		int m = (this.getNbSprites()-10)/2;
 		int spriteIndex = counter%(m+1);
-		Sprite currentSprite = sprites[0];
+		Sprite currentSprite = this.getSprite(0);
 		// is not moving horizontally, has not moved horizontally within the last second of in-game time and is not ducking.
 		if ((!isRunning()) && (!isDucking) && (getOrientation()==0))
-			currentSprite = sprites[0];	
+			currentSprite = this.getSprite(0);	
 		// is not moving horizontally, has not moved horizontally within the last second of in-game time and is ducking.
 		if ((!isRunning()) && (isDucking) && (getOrientation()==0))
-			currentSprite = sprites[1];	
+			currentSprite = this.getSprite(1);	
 		// is not moving horizontally but its last horizontal movement was to the right (within 1s), and the character is not ducking.
 		if ((!isRunning()) && (!isDucking) && (getOrientation()==1))
-			currentSprite = sprites[2];	
+			currentSprite = this.getSprite(2);	
 		// is not moving horizontally but its last horizontal movement was to the left (within 1s), and the character is not ducking.
 		if ((!isRunning()) && (!isDucking) && (getOrientation()==-1))
-			currentSprite = sprites[3];
+			currentSprite = this.getSprite(3);
 		// is moving to the right and jumping and not ducking.
 		if ((isRunning()) && (!isDucking) && (getOrientation()==1) && (isJumping))
-			currentSprite = sprites[4];
+			currentSprite = this.getSprite(4);
 		// is moving to the left and jumping and not ducking.
 		if ((isRunning()) && (!isDucking) && (getOrientation()==-1) && (isJumping))
-			currentSprite = sprites[5];
+			currentSprite = this.getSprite(5);
 		// is ducking and moving to the right or was moving to the right (within 1s).
 		if ((isRunning()) && (isDucking) && (getOrientation()==1))
-			currentSprite = sprites[6];
+			currentSprite = this.getSprite(6);
 		// is ducking and moving to the left or was moving to the left (within 1s).
 		if ((isRunning()) && (isDucking) && (getOrientation()==-1))
-			currentSprite = sprites[7];
+			currentSprite = this.getSprite(7);
 		// the character is neither ducking nor jumping and moving to the right.
 		if ((isRunning()) && (!isDucking) && (getOrientation()==1) && (!isJumping)) {
-			currentSprite = sprites[8+spriteIndex];
+			currentSprite = this.getSprite(8+spriteIndex);
 		}
 		// the character is neither ducking nor jumping and moving to the left.
 		if ((isRunning()) && (!isDucking) && (getOrientation()==-1) && (!isJumping)) {
-			currentSprite = sprites[9+m+spriteIndex];
+			currentSprite = this.getSprite(9+m+spriteIndex);
 		}
 		return currentSprite;
 	}
@@ -1142,8 +1135,8 @@ public class Mazub extends GameObject implements HorizontalMove, VerticalMove {
 	 */
 	public boolean MazubOverlapsWithTargetTile() {
 		//Player coordinates & size
-		int x = this.getPixelPosition()[0];
-		int y = this.getPixelPosition()[1];
+		int x = this.getPixelX();
+		int y = this.getPixelY();
 		int Xp = this.getCurrentSprite().getWidth();
 		int Yp = this.getCurrentSprite().getHeight();
 		
@@ -0,0 +1,38 @@
+package jumpingalien.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event covering one advancement of the time of a game object.
+ */
+@Name("jumpingalien.ObjectAdvance")
+@Label("Object Advance")
+@Category({ "Jumping Alien", "Simulation" })
+@Description("Advancing the time of a single game object")
+class ObjectAdvanceEvent extends jdk.jfr.Event {
+
+	/**
+	 * Check whether a recording is collecting object advance events, so that objects need not even allocate
+	 * an event while none is.
+	 */
+	static boolean isRecorded() {
+		return TYPE.isEnabled();
+	}
+
+	private static final EventType TYPE = EventType.getEventType(ObjectAdvanceEvent.class);
+
+	@Label("Object Type")
+	String objectType;
+
+	@Label("Time Duration")
+	@Description("The in-game time the object advanced, in seconds")
+	double dt;
+
+	@Label("Sub-Steps")
+	@Description("The number of partial advancements the object took")
+	int subSteps;
+}
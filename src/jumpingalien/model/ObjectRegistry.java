@@ -0,0 +1,224 @@
+package jumpingalien.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A registry of the game objects of a world, handing out a stable integer handle to every registered object
+ * and storing the objects in one dense array per kind of object (Mazub, Shark, Slime, Plant).
+ * The ids of the registered slimes are indexed as well.
+ * Registering and unregistering an object take constant time.
+ *
+ * @invar	Every registered object has a handle referring back to it.
+ * 		|	for object in registered objects
+ * 		|		getObject(object.handle) == object
+ *
+ * @version	1.0
+ *
+ * @author 	Arthur van Meerbeeck, 2e Bachelor Burgerlijk Ingenieur, Computerwetenschappen-Elektrotechniek
+ *
+ * @author	Paul van Tieghem de Ten Berghe, 2e Bachelor Burgerlijk Ingenieur, Elektrotechniek-Computerwetenschappen
+ */
+class ObjectRegistry {
+
+	//********************************** KINDS ***************************************//
+
+	static final int MAZUB = 0;
+	static final int SHARK = 1;
+	static final int SLIME = 2;
+	static final int PLANT = 3;
+	static final int NB_KINDS = 4;
+
+	/**
+	 * Return the kind of the given object.
+	 *
+	 * @param	object
+	 * 			The object to classify.
+	 * @return	| if (object instanceof Mazub) then result == MAZUB
+	 * 			| else if (object instanceof Shark) then result == SHARK
+	 * 			| else if (object instanceof Slime) then result == SLIME
+	 * 			| else result == PLANT
+	 */
+	static int getKindOf(Object object) {
+		if (object instanceof Mazub)
+			return MAZUB;
+		else if (object instanceof Shark)
+			return SHARK;
+		else if (object instanceof Slime)
+			return SLIME;
+		else
+			return PLANT;
+	}
+
+	//********************************** HANDLES ***************************************//
+
+	/**
+	 * Return the object with the given handle, or null if no registered object has that handle.
+	 *
+	 * @param	handle
+	 * 			The handle of the object.
+	 */
+	GameObject getObject(int handle) {
+		if ((handle < 0) || (handle >= this.objectOfHandle.length))
+			return null;
+		return this.objectOfHandle[handle];
+	}
+
+	/**
+	 * Check whether the given object is registered in this registry.
+	 *
+	 * @param	object
+	 * 			The object to check.
+	 * @return	| result == (object.handle >= 0 && getObject(object.handle) == object)
+	 */
+	boolean contains(GameObject object) {
+		return ((object.handle >= 0) && (getObject(object.handle) == object));
+	}
+
+	/**
+	 * Register the given object and give it a handle. Handles of unregistered objects are reused.
+	 *
+	 * @param	object
+	 * 			The object to register.
+	 * @post	| getObject(object.handle) == object
+	 * @post	| new.size() == size() + 1
+	 */
+	void register(GameObject object) {
+		int handle;
+		if (this.nbFreeHandles > 0)
+			handle = this.freeHandles[--this.nbFreeHandles];
+		else {
+			handle = this.nextHandle++;
+			if (handle == this.objectOfHandle.length) {
+				this.objectOfHandle = Arrays.copyOf(this.objectOfHandle, 2*handle);
+				this.slotOfHandle = Arrays.copyOf(this.slotOfHandle, 2*handle);
+			}
+		}
+		int kind = getKindOf(object);
+		if (this.sizes[kind] == this.partitions[kind].length)
+			this.partitions[kind] = Arrays.copyOf(this.partitions[kind], 2*this.sizes[kind]);
+		this.partitions[kind][this.sizes[kind]] = object;
+		this.objectOfHandle[handle] = object;
+		this.slotOfHandle[handle] = this.sizes[kind]++;
+		object.handle = handle;
+		if (kind == SLIME)
+			this.nbSlimesWithId.merge(((Slime) object).getId(), 1, Integer::sum);
+	}
+
+	/**
+	 * Unregister the given object and free its handle. The last object of the same kind takes its place.
+	 *
+	 * @param	object
+	 * 			The object to unregister.
+	 * @post	| object.handle == -1
+	 * @post	| new.size() == size() - 1
+	 */
+	void unregister(GameObject object) {
+		if (!contains(object))
+			return;
+		int handle = object.handle;
+		int kind = getKindOf(object);
+		int slot = this.slotOfHandle[handle];
+		int last = --this.sizes[kind];
+		GameObject moved = this.partitions[kind][last];
+		this.partitions[kind][slot] = moved;
+		this.slotOfHandle[moved.handle] = slot;
+		this.partitions[kind][last] = null;
+		this.objectOfHandle[handle] = null;
+		if (this.nbFreeHandles == this.freeHandles.length)
+			this.freeHandles = Arrays.copyOf(this.freeHandles, 2*this.nbFreeHandles);
+		this.freeHandles[this.nbFreeHandles++] = handle;
+		object.handle = -1;
+		if (kind == SLIME)
+			this.nbSlimesWithId.computeIfPresent(((Slime) object).getId(), (id, nb) -> (nb == 1) ? null : nb-1);
+	}
+
+	/**
+	 * Unregister all objects.
+	 */
+	void clear() {
+		for (int kind = 0; kind < NB_KINDS; kind++) {
+			for (int slot = 0; slot < this.sizes[kind]; slot++) {
+				this.partitions[kind][slot].handle = -1;
+				this.partitions[kind][slot] = null;
+			}
+			this.sizes[kind] = 0;
+		}
+		Arrays.fill(this.objectOfHandle, null);
+		this.nextHandle = 0;
+		this.nbFreeHandles = 0;
+		this.nbSlimesWithId.clear();
+	}
+
+	/**
+	 * Return a bound on the handles of registered objects: every handle handed out is smaller than it.
+	 *
+	 * @return	| for object in registered objects
+	 * 			|	object.handle < result
+	 */
+	int getHandleBound() {
+		return this.nextHandle;
+	}
+
+	private GameObject[] objectOfHandle = new GameObject[16];
+	private int[] slotOfHandle = new int[16];
+	private int[] freeHandles = new int[16];
+	private int nbFreeHandles = 0;
+	private int nextHandle = 0;
+
+	//********************************** PARTITIONS ***************************************//
+
+	/**
+	 * Return the number of registered objects.
+	 */
+	int size() {
+		int size = 0;
+		for (int kind = 0; kind < NB_KINDS; kind++)
+			size += this.sizes[kind];
+		return size;
+	}
+
+	/**
+	 * Return the number of registered objects of the given kind.
+	 *
+	 * @param	kind
+	 * 			The kind of objects.
+	 */
+	int size(int kind) {
+		return this.sizes[kind];
+	}
+
+	/**
+	 * Return the registered object of the given kind at the given slot of the dense array of that kind.
+	 *
+	 * @param	kind
+	 * 			The kind of the object.
+	 * @param	slot
+	 * 			The slot of the object, between 0 and size(kind)-1.
+	 */
+	GameObject get(int kind, int slot) {
+		return this.partitions[kind][slot];
+	}
+
+	/**
+	 * Check whether a slime with the given id is registered in this registry.
+	 *
+	 * @param	id
+	 * 			The id to check.
+	 * @return	| result == for some slot in 0..size(SLIME)-1
+	 * 			|	((Slime) get(SLIME, slot)).getId() == id
+	 */
+	boolean containsSlimeWithId(long id) {
+		return this.nbSlimesWithId.containsKey(id);
+	}
+
+	private final GameObject[][] partitions = new GameObject[][] {
+		new GameObject[1], new GameObject[16], new GameObject[16], new GameObject[16] };
+	private final int[] sizes = new int[NB_KINDS];
+
+	/**
+	 * The number of registered slimes with each id.
+	 */
+	private final Map<Long, Integer> nbSlimesWithId = new HashMap<Long, Integer>();
+}
@@ -0,0 +1,632 @@
+package jumpingalien.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An advancement of the time of the objects of a world, split over groups of objects that cannot interact with
+ * each other while the time advances, so that the groups can advance concurrently on a fork/join pool.
+ *
+ * While advancing its time, an object only looks at the terrain and at the objects within two pixels of its
+ * own sprite, and it only affects those objects and the slimes of its school. The objects are therefore grouped
+ * by the region of pixels they can reach during the advancement (given a bound on the speed and acceleration
+ * any object can get), and by their school: objects whose regions overlap, and slimes of the same school, are
+ * in the same group. Within a group, objects advance in the order of the world, so every object sees exactly
+ * the same world as when all objects advance one after the other, and the result is the same bit for bit.
+ * Groups are joined into at most as many tasks as the pool has threads, and small advancements are not split at
+ * all, as handing objects over to other threads costs more than advancing a few of them.
+ *
+ * The regions are computed for a longer time duration than a single advancement, so that the same split can be
+ * used again for later advancements, as long as the same objects advance, no slime changed its school and the
+ * region every object can reach in the next advancement lies within the region it was grouped by.
+ *
+ * Effects on the world as a whole are collected per group in the read phase in which the groups advance, and
+ * applied in the resolve phase. The spatial grid of the world is not changed in the read phase, so that the
+ * groups can query it without taking a lock: the objects a group removes or moves are only taken out of or
+ * moved in the grid in the resolve phase, and meanwhile the queries of the group leave them out of the
+ * objects found in the grid and look at the objects it moved one by one. The queries of a group never look at
+ * the objects of other groups, which lie outside the regions the objects of the group can reach. The removals
+ * are applied in the order in which the objects would have been removed if all objects had advanced one after
+ * the other.
+ *
+ * @version	1.0
+ *
+ * @author 	Arthur van Meerbeeck, 2e Bachelor Burgerlijk Ingenieur, Computerwetenschappen-Elektrotechniek
+ *
+ * @author	Paul van Tieghem de Ten Berghe, 2e Bachelor Burgerlijk Ingenieur, Elektrotechniek-Computerwetenschappen
+ */
+class ParallelAdvance {
+
+	//********************************** PARTITION ***************************************//
+
+	/**
+	 * Split the advancement of the given objects over the given time duration into groups of objects that
+	 * cannot interact with each other, joined into at most the given number of tasks.
+	 *
+	 * @param	objects
+	 * 			The objects to advance, in the order in which they advance.
+	 * @param	dt
+	 * 			The time duration to advance.
+	 * @param	maxTasks
+	 * 			The largest number of tasks to join the groups into.
+	 * @param	minTaskSize
+	 * 			The smallest number of objects worth a task of their own.
+	 * @return	The split advancement, or null if the objects are too few to be split into at least two tasks of
+	 * 			the given size or if the region of some object is not bounded. The advancement may consist of a
+	 * 			single task if the objects cannot be split into groups that are large enough.
+	 */
+	static ParallelAdvance partition(Collection<Object> objects, double dt, int maxTasks, int minTaskSize) {
+		int n = objects.size();
+		int nbTasks = Math.min(maxTasks, n / Math.max(minTaskSize, 1));
+		if ((n < 2) || (nbTasks < 2))
+			return null;
+		GameObject[] order = new GameObject[n];
+		n = 0;
+		for (Object object: objects)
+			order[n++] = (GameObject) object;
+		double[] durations = new double[n];
+		Arrays.fill(durations, Math.max(dt, REUSE_DURATION));
+		int[] x1 = new int[n], y1 = new int[n], x2 = new int[n], y2 = new int[n];
+		int[] groupOf = new int[n];
+		int nbGroups = findGroups(order, durations, x1, y1, x2, y2, groupOf);
+		if (nbGroups < 0)
+			return null;
+
+		// join the groups in the order of their first object into tasks of about the same number of objects
+		int[] sizes = new int[nbGroups];
+		for (int i = 0; i < n; i++)
+			sizes[groupOf[i]]++;
+		int target = (n + nbTasks - 1) / nbTasks;
+		int[] taskOf = new int[nbGroups];
+		int[] taskSizes = new int[nbTasks];
+		int task = 0;
+		for (int g = 0; g < nbGroups; g++) {
+			taskOf[g] = task;
+			taskSizes[task] += sizes[g];
+			if ((taskSizes[task] >= target) && (task < nbTasks-1) && (g < nbGroups-1))
+				task++;
+		}
+		if ((task > 0) && (taskSizes[task] < minTaskSize)) {
+			for (int g = 0; g < nbGroups; g++) {
+				if (taskOf[g] == task)
+					taskOf[g] = task-1;
+			}
+			taskSizes[task-1] += taskSizes[task];
+			task--;
+		}
+		Group[] groups = new Group[task+1];
+		for (int t = 0; t < groups.length; t++)
+			groups[t] = new Group(new int[taskSizes[t]], order[0].getWorld());
+		Arrays.fill(taskSizes, 0);
+		for (int i = 0; i < n; i++) {
+			int t = taskOf[groupOf[i]];
+			groups[t].members[taskSizes[t]++] = i;
+		}
+		return new ParallelAdvance(order, groups, x1, y1, x2, y2);
+	}
+
+	/**
+	 * Split the given objects into groups of objects that cannot interact with each other while each of them
+	 * advances its time over the time duration at the same index: objects whose regions overlap, and slimes of
+	 * the same school, are in the same group.
+	 *
+	 * @param	objects
+	 * 			The objects to split.
+	 * @param	durations
+	 * 			The time duration over which each object advances.
+	 * @param	x1, y1, x2, y2
+	 * 			The arrays in which the region of pixels each object can reach is stored.
+	 * @param	groupOf
+	 * 			The array in which the group of each object is stored, groups being numbered from zero on
+	 * 			in the order of their first object.
+	 * @return	The number of groups, or -1 if the region of some object is not bounded.
+	 */
+	static int findGroups(GameObject[] objects, double[] durations, int[] x1, int[] y1, int[] x2, int[] y2,
+			int[] groupOf) {
+		int n = objects.length;
+		for (int i = 0; i < n; i++) {
+			if (!computeRegion(objects[i], durations[i], i, x1, y1, x2, y2))
+				return -1;
+		}
+
+		int[] parent = new int[n];
+		for (int i = 0; i < n; i++)
+			parent[i] = i;
+		// sweep over the regions from left to right: every region overlapping with a region to its left
+		// starts before that region ends
+		long[] byLeft = new long[n];
+		for (int i = 0; i < n; i++)
+			byLeft[i] = ((long) x1[i] << 32) | i;
+		Arrays.sort(byLeft);
+		for (int k = 0; k < n; k++) {
+			int i = (int) byLeft[k];
+			for (int l = k+1; (l < n) && (x1[(int) byLeft[l]] <= x2[i]); l++) {
+				int j = (int) byLeft[l];
+				if ((y1[j] <= y2[i]) && (y1[i] <= y2[j]))
+					union(parent, i, j);
+			}
+		}
+		IdentityHashMap<School, Integer> firstOfSchool = new IdentityHashMap<School, Integer>();
+		for (int i = 0; i < n; i++) {
+			if ((objects[i] instanceof Slime) && (((Slime) objects[i]).getSchool() != null)) {
+				Integer first = firstOfSchool.putIfAbsent(((Slime) objects[i]).getSchool(), i);
+				if (first != null)
+					union(parent, first, i);
+			}
+		}
+
+		// number the groups in the order of their first object
+		int[] groupOfRoot = new int[n];
+		Arrays.fill(groupOfRoot, -1);
+		int nbGroups = 0;
+		for (int i = 0; i < n; i++) {
+			int root = find(parent, i);
+			if (groupOfRoot[root] < 0)
+				groupOfRoot[root] = nbGroups++;
+			groupOf[i] = groupOfRoot[root];
+		}
+		return nbGroups;
+	}
+
+	/**
+	 * Compute the region of pixels the given object can reach while advancing its time with the given duration,
+	 * extended by the probes along its edges, and store it at the given index of the given arrays.
+	 *
+	 * @return	False if and only if that region is not bounded.
+	 */
+	private static boolean computeRegion(GameObject object, double dt, int index, int[] x1, int[] y1, int[] x2, int[] y2) {
+		int maxWidth = 0;
+		int maxHeight = 0;
+		for (int i = 0; i < object.getNbSprites(); i++) {
+			maxWidth = Math.max(maxWidth, object.getSprite(i).getWidth());
+			maxHeight = Math.max(maxHeight, object.getSprite(i).getHeight());
+		}
+		return computeRegion(object, maxWidth, maxHeight, dt, index, x1, y1, x2, y2);
+	}
+
+	/**
+	 * Compute the region of pixels the given object, whose sprites are at most as large as given, can reach
+	 * while advancing its time with the given duration, extended by the probes along its edges, and store it
+	 * at the given index of the given arrays.
+	 *
+	 * @return	False if and only if that region is not bounded.
+	 */
+	private static boolean computeRegion(GameObject object, int maxWidth, int maxHeight, double dt, int index,
+			int[] x1, int[] y1, int[] x2, int[] y2) {
+		double reachX = (Math.max(Math.abs(object.getVx()), MAX_SPEED) +
+				Math.max(Math.abs(object.getAx()), MAX_ACCELERATION)*dt)*dt*100;
+		double reachY = (Math.max(Math.abs(object.getVy()), MAX_SPEED) +
+				Math.max(Math.abs(object.getAy()), MAX_ACCELERATION)*dt)*dt*100;
+		if (!(reachX <= REACH_LIMIT) || !(reachY <= REACH_LIMIT))
+			return false;
+		x1[index] = object.getPixelX() - (int) Math.ceil(reachX) - MARGIN;
+		y1[index] = object.getPixelY() - (int) Math.ceil(reachY) - MARGIN;
+		x2[index] = object.getPixelX() + maxWidth - 1 + (int) Math.ceil(reachX) + MARGIN;
+		y2[index] = object.getPixelY() + maxHeight - 1 + (int) Math.ceil(reachY) + MARGIN;
+		return true;
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	private static void union(int[] parent, int i, int j) {
+		int rootI = find(parent, i);
+		int rootJ = find(parent, j);
+		if (rootI < rootJ)
+			parent[rootJ] = rootI;
+		else if (rootJ < rootI)
+			parent[rootI] = rootJ;
+	}
+
+	/**
+	 * The largest speed in m/s any object can get at once while advancing its time (Mazub starting a jump),
+	 * and the largest acceleration in m/s^2 any object can get (falling).
+	 */
+	private static final double MAX_SPEED = 8.0;
+	private static final double MAX_ACCELERATION = 10.0;
+
+	/**
+	 * The margin in pixels around the region of an object, covering the probes two pixels beyond its edges
+	 * and the rounding of positions to pixels, and the largest reach in pixels for which a region is computed.
+	 */
+	private static final int MARGIN = 3;
+	private static final double REACH_LIMIT = 10000;
+
+	/**
+	 * The time duration in seconds for which the regions of the objects are computed if the advancement is
+	 * shorter, so that the split can be used again for the next advancements.
+	 */
+	private static final double REUSE_DURATION = 0.1;
+
+	/**
+	 * The largest number of tasks an advancement is split in by default, being the number of threads of the
+	 * common fork/join pool, and the smallest number of objects worth a task of their own by default.
+	 */
+	static final int MAX_TASKS = ForkJoinPool.getCommonPoolParallelism();
+	static final int MIN_TASK_SIZE = 64;
+
+	//********************************** GROUPS ***************************************//
+
+	private ParallelAdvance(GameObject[] order, Group[] groups, int[] x1, int[] y1, int[] x2, int[] y2) {
+		this.order = order;
+		this.groups = groups;
+		this.x1 = x1;
+		this.y1 = y1;
+		this.x2 = x2;
+		this.y2 = y2;
+		int n = order.length;
+		this.widths = new int[n];
+		this.heights = new int[n];
+		this.schools = new School[n];
+		for (int i = 0; i < n; i++) {
+			for (int sprite = 0; sprite < order[i].getNbSprites(); sprite++) {
+				this.widths[i] = Math.max(this.widths[i], order[i].getSprite(sprite).getWidth());
+				this.heights[i] = Math.max(this.heights[i], order[i].getSprite(sprite).getHeight());
+			}
+			if (order[i] instanceof Slime)
+				this.schools[i] = ((Slime) order[i]).getSchool();
+		}
+	}
+
+	/**
+	 * Return the number of tasks of this advancement.
+	 */
+	int getNbGroups() {
+		return this.groups.length;
+	}
+
+	/**
+	 * Check whether this advancement can advance the given objects over the given time duration: whether
+	 * they are the objects it was split for, in the same order, no slime among them changed its school and the
+	 * region each of them can reach lies within the region it was grouped by.
+	 *
+	 * @param	objects
+	 * 			The objects to advance, in the order in which they advance.
+	 * @param	dt
+	 * 			The time duration to advance.
+	 */
+	boolean isValidFor(Collection<Object> objects, double dt) {
+		if (objects.size() != this.order.length)
+			return false;
+		int i = 0;
+		for (Object object: objects) {
+			GameObject gameObject = this.order[i];
+			if ((object != gameObject) || (gameObject.getWorld() != this.groups[0].world))
+				return false;
+			if ((gameObject instanceof Slime) && (((Slime) gameObject).getSchool() != this.schools[i]))
+				return false;
+			if (!computeRegion(gameObject, this.widths[i], this.heights[i], dt, 0, this.nextX1, this.nextY1,
+					this.nextX2, this.nextY2))
+				return false;
+			if ((this.nextX1[0] < this.x1[i]) || (this.nextY1[0] < this.y1[i]) ||
+					(this.nextX2[0] > this.x2[i]) || (this.nextY2[0] > this.y2[i]))
+				return false;
+			i++;
+		}
+		return true;
+	}
+
+	/**
+	 * The objects to advance, in the order of their world, and the tasks they are split in.
+	 */
+	private final GameObject[] order;
+	private final Group[] groups;
+
+	/**
+	 * The regions the objects were grouped by, the largest width and height of their sprites and the schools
+	 * of the slimes among them.
+	 */
+	private final int[] x1, y1, x2, y2;
+	private final int[] widths, heights;
+	private final School[] schools;
+
+	/**
+	 * The region an object can reach in the next advancement, as computed by isValidFor().
+	 */
+	private final int[] nextX1 = new int[1], nextY1 = new int[1], nextX2 = new int[1], nextY2 = new int[1];
+
+	/**
+	 * A group of objects advancing on the same thread, and what happened to the world while they advanced.
+	 */
+	private static class Group {
+
+		private Group(int[] members, World world) {
+			this.members = members;
+			this.world = world;
+		}
+
+		/**
+		 * The indices of the objects of this group, in increasing order.
+		 */
+		private final int[] members;
+
+		/**
+		 * The world of the objects of this group.
+		 */
+		private final World world;
+
+		/**
+		 * The index of the object that is advancing, the number of objects that finished advancing and the
+		 * total number of partial advancements they took.
+		 */
+		private int current = -1;
+		private int nbAdvanced = 0;
+		private long nbSubSteps = 0;
+
+		/**
+		 * The objects removed from the world while this group advanced, and the indices of the objects
+		 * that were advancing at the time.
+		 */
+		private final List<Object> removals = new ArrayList<Object>();
+		private final List<Integer> removedWhile = new ArrayList<Integer>();
+
+		/**
+		 * The objects that moved while this group advanced, and the number of queries for the objects in a
+		 * rectangle this group made and the number of objects they examined.
+		 */
+		private final List<GameObject> moved = new ArrayList<GameObject>();
+		private long nbQueries = 0;
+		private long nbCandidates = 0;
+
+		/**
+		 * The filter accepting the objects in the spatial grid this group can see: the objects of no group and
+		 * the objects of this group, as long as they are in the world and in their cell of the grid.
+		 */
+		private final Predicate<GameObject> sees = this::sees;
+
+		private boolean sees(GameObject object) {
+			return ((object.parallelGroup == null) || (object.parallelGroup == this)) &&
+					!object.gridStale && (object.getWorld() == this.world);
+		}
+
+		/**
+		 * The exception that stopped this group, if any.
+		 */
+		private RuntimeException failure = null;
+
+		/**
+		 * Forget what happened to the world while this group advanced before.
+		 */
+		private void reset() {
+			this.current = -1;
+			this.nbAdvanced = 0;
+			this.nbSubSteps = 0;
+			this.removals.clear();
+			this.removedWhile.clear();
+			this.moved.clear();
+			this.nbQueries = 0;
+			this.nbCandidates = 0;
+			this.failure = null;
+		}
+	}
+
+	/**
+	 * The group advancing on the current thread, if any.
+	 */
+	private static final ThreadLocal<Group> currentGroup = new ThreadLocal<Group>();
+
+	//********************************** READ PHASE ***************************************//
+
+	/**
+	 * Advance the time of all objects of this advancement with the given duration, each group as a task
+	 * of the common fork/join pool. An exception thrown by an object stops the group of that object, and is
+	 * thrown again by rethrowFailure().
+	 *
+	 * @param	dt
+	 * 			The time duration to advance.
+	 * @param	profiler
+	 * 			The profiler to record the time each object takes in.
+	 * @pre		This advancement was split for its objects as they are now, or isValidFor() holds for them and
+	 * 			the given time duration.
+	 */
+	void advance(double dt, PhaseProfiler profiler) {
+		for (Group group: this.groups) {
+			group.reset();
+			for (int index: group.members)
+				this.order[index].parallelGroup = group;
+		}
+		ForkJoinPool.commonPool().invoke(new AdvanceGroups(0, this.groups.length, dt, profiler));
+	}
+
+	private class AdvanceGroups extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private AdvanceGroups(int first, int last, double dt, PhaseProfiler profiler) {
+			this.first = first;
+			this.last = last;
+			this.dt = dt;
+			this.profiler = profiler;
+		}
+
+		private final int first, last;
+		private final double dt;
+		private final PhaseProfiler profiler;
+
+		@Override
+		protected void compute() {
+			if (this.last - this.first == 1)
+				advanceGroup(groups[this.first], this.dt, this.profiler);
+			else {
+				int middle = (this.first + this.last) >>> 1;
+				invokeAll(new AdvanceGroups(this.first, middle, this.dt, this.profiler),
+						new AdvanceGroups(middle, this.last, this.dt, this.profiler));
+			}
+		}
+	}
+
+	private void advanceGroup(Group group, double dt, PhaseProfiler profiler) {
+		currentGroup.set(group);
+		try {
+			for (int index: group.members) {
+				group.current = index;
+				GameObject object = this.order[index];
+				long objectTime = profiler.start();
+				object.advanceObjectsTime(dt);
+				if (objectTime != 0)
+					profiler.stop(object.getClass().getSimpleName(), objectTime);
+				group.nbAdvanced++;
+				group.nbSubSteps += object.getNbSubStepsOfLastAdvance();
+			}
+		} catch (RuntimeException exc) {
+			group.failure = exc;
+		} finally {
+			currentGroup.remove();
+		}
+	}
+
+	/**
+	 * Register that the given object is removed from its world by the group advancing on the current thread.
+	 *
+	 * @param	object
+	 * 			The removed object.
+	 * @return	False if and only if no group is advancing on the current thread.
+	 */
+	static boolean deferRemoval(Object object) {
+		Group group = currentGroup.get();
+		if (group == null)
+			return false;
+		group.removals.add(object);
+		group.removedWhile.add(group.current);
+		return true;
+	}
+
+	/**
+	 * Register that the given object moved while the group advancing on the current thread advanced.
+	 *
+	 * @param	object
+	 * 			The moved object.
+	 * @return	False if and only if no group is advancing on the current thread.
+	 */
+	static boolean deferMove(GameObject object) {
+		Group group = currentGroup.get();
+		if (group == null)
+			return false;
+		if (!object.gridStale) {
+			object.gridStale = true;
+			group.moved.add(object);
+		}
+		return true;
+	}
+
+	/**
+	 * Return all objects of the world of the group advancing on the current thread whose current sprite overlaps
+	 * with the given rectangle of pixels, in the order in which they were registered in the given grid of that
+	 * world, as far as that group can see them.
+	 *
+	 * @param	grid
+	 * 			The spatial grid of the world, as it was when the groups started to advance.
+	 * @param	result
+	 * 			The empty list to add the objects to.
+	 * @return	False if and only if no group is advancing on the current thread, in which case the given list is
+	 * 			left untouched.
+	 */
+	static boolean getObjectsIn(SpatialGrid grid, int x1, int y1, int x2, int y2, List<GameObject> result) {
+		Group group = currentGroup.get();
+		if (group == null)
+			return false;
+		group.nbQueries++;
+		group.nbCandidates += grid.collectObjectsIn(x1, y1, x2, y2, group.sees, result);
+		if ((x2 >= x1) && (y2 >= y1)) {
+			group.nbCandidates += group.moved.size();
+			for (GameObject object: group.moved) {
+				if ((object.getWorld() == group.world) && SpatialGrid.overlaps(object, x1, y1, x2, y2))
+					result.add(object);
+			}
+		}
+		SpatialGrid.sortInOrderOfRegistration(result);
+		return true;
+	}
+
+	//********************************** RESOLVE PHASE ***************************************//
+
+	/**
+	 * Bring the given spatial grid of the world of the objects of this advancement up to date: take the
+	 * objects removed meanwhile out of it, move the objects that moved meanwhile to their cell, and count the
+	 * queries answered meanwhile.
+	 *
+	 * @param	grid
+	 * 			The spatial grid of the world.
+	 */
+	void resolve(SpatialGrid grid) {
+		for (GameObject object: this.order)
+			object.parallelGroup = null;
+		for (Group group: this.groups) {
+			for (Object object: group.removals)
+				grid.remove((GameObject) object);
+			for (GameObject object: group.moved) {
+				object.gridStale = false;
+				grid.update(object);
+			}
+			grid.addQueries(group.nbQueries, group.nbCandidates);
+		}
+	}
+
+	/**
+	 * Return the objects removed from their world while the objects of this advancement advanced, in the order
+	 * in which they would have been removed if all objects had advanced one after the other.
+	 */
+	List<Object> getRemovals() {
+		List<long[]> keys = new ArrayList<long[]>();
+		List<Object> removals = new ArrayList<Object>();
+		for (Group group: this.groups) {
+			for (int i = 0; i < group.removals.size(); i++) {
+				keys.add(new long[] {group.removedWhile.get(i), removals.size()});
+				removals.add(group.removals.get(i));
+			}
+		}
+		// the removals of one group are in order already, and every object advances in one group only
+		keys.sort((first, second) -> Long.compare(first[0], second[0]));
+		List<Object> result = new ArrayList<Object>(removals.size());
+		for (long[] key: keys)
+			result.add(removals.get((int) key[1]));
+		return result;
+	}
+
+	/**
+	 * Return the number of objects that finished advancing.
+	 */
+	int getNbAdvancedObjects() {
+		int nbAdvanced = 0;
+		for (Group group: this.groups)
+			nbAdvanced += group.nbAdvanced;
+		return nbAdvanced;
+	}
+
+	/**
+	 * Return the total number of partial advancements the objects that finished advancing took.
+	 */
+	long getNbSubSteps() {
+		long nbSubSteps = 0;
+		for (Group group: this.groups)
+			nbSubSteps += group.nbSubSteps;
+		return nbSubSteps;
+	}
+
+	/**
+	 * Throw the exception thrown by the object that advances first of all objects that threw one, if any.
+	 */
+	void rethrowFailure() throws RuntimeException {
+		RuntimeException failure = null;
+		int failedIndex = Integer.MAX_VALUE;
+		for (Group group: this.groups) {
+			if ((group.failure != null) && (group.current < failedIndex)) {
+				failure = group.failure;
+				failedIndex = group.current;
+			}
+		}
+		if (failure != null)
+			throw failure;
+	}
+}
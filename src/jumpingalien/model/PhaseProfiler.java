@@ -0,0 +1,164 @@
+package jumpingalien.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of profilers recording how long the phases of advancing the time of a world take, and how many
+ * times something happens per advancement, in a histogram per phase.
+ * A profiler is disabled when it is created; while it is disabled, it records nothing and costs next to nothing.
+ *
+ * A phase is timed by taking a start time before it and handing that start time to stop() or lap() after it:
+ *
+ * 		long time = profiler.start();
+ * 		doSomething();
+ * 		time = profiler.lap("doSomething", time);
+ * 		doSomethingElse();
+ * 		profiler.stop("doSomethingElse", time);
+ */
+public class PhaseProfiler {
+
+	/**
+	 * A profiler that can never be enabled, for objects that are not in a world.
+	 */
+	public static final PhaseProfiler NONE = new PhaseProfiler() {
+
+		@Override
+		public void setEnabled(boolean enabled) throws IllegalStateException {
+			if (enabled)
+				throw new IllegalStateException("This profiler cannot be enabled");
+		}
+	};
+
+	private volatile boolean enabled = false;
+
+	private final LinkedHashMap<String, TimingHistogram> histograms = new LinkedHashMap<>();
+	private final Set<String> countedPhases = new HashSet<>();
+
+	//********** ENABLING **********//
+
+	@Basic
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enable or disable this profiler. Values recorded so far are kept.
+	 *
+	 * @post	| new.isEnabled() == enabled
+	 */
+	public void setEnabled(boolean enabled) throws IllegalStateException {
+		this.enabled = enabled;
+	}
+
+	//********** RECORDING **********//
+
+	/**
+	 * Return the start time for a phase that is about to begin.
+	 *
+	 * @return	0 if this profiler is disabled.
+	 * 		|	if (!isEnabled()) then result == 0
+	 * @return	The current value of System.nanoTime() otherwise.
+	 */
+	public long start() {
+		if (!enabled)
+			return 0;
+		return System.nanoTime();
+	}
+
+	/**
+	 * Record the time elapsed since the given start time as a duration of the given phase.
+	 *
+	 * @param	phase
+	 * 			The name of the phase that ended.
+	 * @param	startTime
+	 * 			The time the phase began, as returned by start() or lap().
+	 * @effect	| lap(phase, startTime)
+	 */
+	public void stop(String phase, long startTime) {
+		lap(phase, startTime);
+	}
+
+	/**
+	 * Record the time elapsed since the given start time as a duration of the given phase, and return the start
+	 * time of the next phase.
+	 *
+	 * @param	phase
+	 * 			The name of the phase that ended.
+	 * @param	startTime
+	 * 			The time the phase began, as returned by start() or lap().
+	 * @return	0 without recording anything if this profiler is disabled, or was disabled when the phase began.
+	 * 		|	if (!isEnabled() || startTime == 0) then result == 0
+	 */
+	public long lap(String phase, long startTime) {
+		if (!enabled || startTime == 0)
+			return 0;
+		long now = System.nanoTime();
+		getHistogram(phase).record(Math.max(0, now - startTime));
+		return now;
+	}
+
+	/**
+	 * Record the given count for the given phase, if this profiler is enabled.
+	 *
+	 * @param	phase
+	 * 			The name of the phase that is counted.
+	 * @param	count
+	 * 			The count to record.
+	 * @effect	| if (isEnabled()) then getHistogram(phase).record(count)
+	 */
+	public void count(String phase, long count) throws IllegalArgumentException {
+		if (enabled) {
+			synchronized (histograms) {
+				countedPhases.add(phase);
+			}
+			getHistogram(phase).record(count);
+		}
+	}
+
+	//********** RESULTS **********//
+
+	/**
+	 * Return the histogram of the given phase, creating it if nothing has been recorded for that phase yet.
+	 */
+	public TimingHistogram getHistogram(String phase) {
+		synchronized (histograms) {
+			return histograms.computeIfAbsent(phase, name -> new TimingHistogram());
+		}
+	}
+
+	/**
+	 * Return the names of all phases for which values have been recorded, in the order they were first recorded.
+	 */
+	public List<String> getPhases() {
+		synchronized (histograms) {
+			return new ArrayList<>(histograms.keySet());
+		}
+	}
+
+	/**
+	 * Check whether the histogram of the given phase holds counts rather than durations in nanoseconds.
+	 */
+	public boolean isCountedPhase(String phase) {
+		synchronized (histograms) {
+			return countedPhases.contains(phase);
+		}
+	}
+
+	/**
+	 * Remove all values recorded by this profiler.
+	 *
+	 * @post	| new.getPhases().isEmpty()
+	 */
+	public void reset() {
+		synchronized (histograms) {
+			histograms.clear();
+			countedPhases.clear();
+		}
+	}
+}
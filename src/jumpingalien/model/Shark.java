@@ -1,6 +1,7 @@
 package jumpingalien.model;
 
 
+import java.util.List;
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Raw;
 import jumpingalien.util.Sprite;
@@ -95,15 +96,15 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 	/**
 	 * @effect	| if this.getWorld() == null
 	 * 			|	result == false
-	 * @return	| result == for any pixelX in this.getPixelPosition()[0]+1..this.getPixelPosition()[0] + this.getCurrentSprite().getWidth()-1
+	 * @return	| result == for any pixelX in this.getPixelX()+1..this.getPixelX() + this.getCurrentSprite().getWidth()-1
 	 * 			|	featureSymbol result == Feature.WATER.getSymbol()
 	 */
 	public boolean topPerimeterOverlappingWater() {
 		if (this.getWorld() == null)
 			return false;
 		else {
-			int PixelY = this.getPixelPosition()[1]+this.getCurrentSprite().getHeight()+1;
-			for (int PixelX = this.getPixelPosition()[0]+1; PixelX <= this.getPixelPosition()[0] + this.getCurrentSprite().getWidth()-1
+			int PixelY = this.getPixelY()+this.getCurrentSprite().getHeight()+1;
+			for (int PixelX = this.getPixelX()+1; PixelX <= this.getPixelX() + this.getCurrentSprite().getWidth()-1
 					;PixelX++) {
 				int featureSymbol = this.getWorld().getFeatureSymbolAtLocation(PixelX, PixelY);
 				if ( featureSymbol == Feature.WATER.getSymbol() ) 
@@ -228,7 +229,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 		}
 		
 		if (this.getWorld()!=null) {
-			if (this.allCollidingObjectsWithOrientation(this.getWorld()).isEmpty())	{
+			if (!this.collidesWithanObjectWithOrientation(this.getWorld()))	{
 				hor_pos = (getHorizontalPosition() + getHorizontalVelocity()*timeDuration + 0.5*getHorizontalAcceleration()*(Math.pow(timeDuration,2)));
 				this.setHorizontalVelocity((this.getHorizontalVelocity() + this.getHorizontalAcceleration()*timeDuration));
 			}
@@ -238,7 +239,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 			this.setHorizontalVelocity((this.getHorizontalVelocity() + this.getHorizontalAcceleration()*timeDuration));
 		}
 	
-		this.setNewPosition(new double[] {hor_pos,ver_pos});
+		this.setPositionXY(hor_pos, ver_pos);
 	}
 
 	
@@ -403,7 +404,9 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 			return;
 		
 		else {
-			for (Object object: this.allCollidingObjects(this.getWorld())) {
+			List<GameObject> objects = this.queryCollidingObjects(this.getWorld(), false);
+			for (int i = 0; i < objects.size(); i++) {
+				Object object = objects.get(i);
 				if (!((GameObject) object).isDead() && object != this) {
 					if (object instanceof Mazub) {
 						if (this.getTimeAfterCollision()>=0.6) {
@@ -465,13 +468,12 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 	
 	@Override
 	public Sprite getCurrentSprite() {
-		Sprite[] sprites = this.getSprites();
 		if (this.getOrientation() == 0)
-			return sprites[0];
+			return this.getSprite(0);
 		else if (this.getOrientation() == -1)
-			return sprites[1];
+			return this.getSprite(1);
 		else 
-			return sprites[2];
+			return this.getSprite(2);
 	}
 	/**
 	 * @return |	result == 500
@@ -488,7 +490,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 
 	@Override @Basic
 	public double getHorizontalPosition() {
-		return this.horizontalPosition;
+		return this.getX();
 	}
 
 
@@ -501,13 +503,13 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 	@Override @Raw
 	public void setHorizontalPosition(double horizontalPosition) {
 		if (this.canHaveAsHorizontalPosition(horizontalPosition))
-			this.horizontalPosition = horizontalPosition;
+			this.storeX(horizontalPosition);
 	}
 
 
 	@Override @Basic
 	public double getHorizontalVelocity() {
-		return this.horizontalVelocity;
+		return this.getVx();
 	}
 
 
@@ -530,7 +532,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 	@Override @Raw
 	public void setHorizontalVelocity(double horizontalVelocity) {
 		if (this.isValidHorizontalVelocity(horizontalVelocity))
-			this.horizontalVelocity = horizontalVelocity;
+			this.storeVx(horizontalVelocity);
 	}
 
 
@@ -542,7 +544,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 
 	@Override @Basic
 	public double getHorizontalAcceleration() {
-		return this.horizontalAcceleration;
+		return this.getAx();
 	}
 
 
@@ -552,7 +554,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override
 	public void setHorizontalAcceleration(double horizontalAcceleration) {
-		this.horizontalAcceleration = horizontalAcceleration;
+		this.storeAx(horizontalAcceleration);
 		
 	}
 
@@ -563,7 +565,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 
 	@Override @Basic
 	public double getVerticalPosition() {
-		return this.verticalPosition;
+		return this.getY();
 	}
 
 
@@ -576,13 +578,13 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 	@Override @Raw
 	public void setVerticalPosition(double verticalPosition) {
 		if (this.canHaveAsVerticalPosition(verticalPosition))
-			this.verticalPosition = verticalPosition;
+			this.storeY(verticalPosition);
 	}
 
 
 	@Override @Basic
 	public double getVerticalVelocity() {
-		return this.verticalVelocity;
+		return this.getVy();
 	}
 
 
@@ -605,7 +607,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 	@Override
 	public void setVerticalVelocity(double verticalVelocity) {
 		if (isValidVerticalVelocity(verticalVelocity))
-			this.verticalVelocity = verticalVelocity;
+			this.storeVy(verticalVelocity);
 	}
 
 
@@ -617,7 +619,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 
 	@Override @Basic
 	public double getVerticalAcceleration() {
-		return this.verticalAcceleration;
+		return this.getAy();
 	}
 
 
@@ -627,7 +629,7 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
  	 */
 	@Override
 	public void setVerticalAcceleration(double verticalAcceleration) {
-		this.verticalAcceleration = verticalAcceleration;	
+		this.storeAy(verticalAcceleration);	
 	}
 	
 
@@ -636,24 +638,15 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 	 * TOTAL MOVE *
 	 **************/
 
-	@Override @Basic
-	public double[] getPosition() {
-		return new double[] {getHorizontalPosition(), getVerticalPosition()};
-	}
-	
 	/**
- 	 * @param  	position
- 	 * @post | 	new.getPosition == position;
+ 	 * @param  	horizontalPosition
+ 	 * @param  	verticalPosition
+ 	 * @post | 	new.getX() == horizontalPosition && new.getY() == verticalPosition;
  	 */
-	@Override 
-	public void setHorAndVerPosition(double[] position) {
-		setHorizontalPosition(position[0]);
-		setVerticalPosition(position[1]);
-	}
-	
-	@Override @Basic
-	public double[] getVelocity() {
-		return new double[] {getHorizontalVelocity(), getVerticalVelocity()};
+	@Override
+	protected void setHorAndVerPosition(double horizontalPosition, double verticalPosition) {
+		setHorizontalPosition(horizontalPosition);
+		setVerticalPosition(verticalPosition);
 	}
 	
 	/**
@@ -666,11 +659,6 @@ public class Shark extends GameObject implements HorizontalMove, VerticalMove {
 		setVerticalVelocity(velocity[1]);
 	}
 
-	@Override @Basic
-	public double[] getAcceleration() {
-		return new double[] {getHorizontalAcceleration(), getVerticalAcceleration()};
-	}
-	
 	/**
  	 * @param  	acceleration
  	 * @post | 	new.getAcceleration == acceleration;
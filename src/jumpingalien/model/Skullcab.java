@@ -48,7 +48,7 @@ public class Skullcab extends Plant implements VerticalMove {
 	 *@effect 	|	else if timeDuration>timeToSwitch then
 	 *			|		this.advanceTimePartially2(timeToSwitch)
 	 *			|		if !isDead() 
-	 *			|			this.setVelocity(this.getVelocity()[0],-this.getVelocity()[1])
+	 *			|			this.setVelocity(this.getVx(),-this.getVy())
 	 *			|		timeDuration -= timeToSwitch
 	 *			|		this.setTimeToDie(this.getTimeToDie()-timeToSwitch)
 	 *			|		timeToSwitch = 0.5
@@ -72,7 +72,7 @@ public class Skullcab extends Plant implements VerticalMove {
 			else if (timeDuration>timeToSwitch) {
 				this.advanceTimePartially2(timeToSwitch);
 				if (!isDead()) {
-					this.setVerticalVelocity(-this.getVelocity()[1]);
+					this.setVerticalVelocity(-this.getVy());
 				}
 				timeDuration -= timeToSwitch;
 				this.setTimeToDie(this.getTimeToDie()-timeToSwitch);
@@ -90,42 +90,39 @@ public class Skullcab extends Plant implements VerticalMove {
 	
 	/**
 	 * @param timeDuration
-	 * @effect | if (getWorld() != null) 
-	 *		   | 	for (Object object: getWorld().getObjects())
-	 *		   | 		if (object instanceof Mazub)  
-	 *		   |			if (object.OverlapsWithObject(this))  
-	 *		   |				if (this.getTimeAfterCollision()>=0.6) then
-	 *		   | 					object.EatingPlant(this,(Mazub) object)
-	 *		   |					this.setTimeAfterCollision(0.0)
-	 *		   |				else then this.setTimeAfterCollision(this.getTimeAfterCollision()+timeDuration)
+	 * @effect | if (getWorld() != null && getWorld().getPlayerMazub() != null) 
+	 *		   |	if (getWorld().getPlayerMazub().OverlapsWithObject(this))  
+	 *		   |		if (this.getTimeAfterCollision()>=0.6) then
+	 *		   | 			getWorld().getPlayerMazub().EatingPlant(this, getWorld().getPlayerMazub())
+	 *		   |			this.setTimeAfterCollision(0.0)
+	 *		   |		else then this.setTimeAfterCollision(this.getTimeAfterCollision()+timeDuration)
+	 *		   |	else then this.setTimeAfterCollision(0.6)
 	 * @effect | this.terminateDeadObject(timeDuration)
 	 * @effect | if (!isDead()) 
-	 *		   | 	then setNewPosition(new double[] {(getHorizontalPosition() + getVelocity()[0]*timeDuration),getPosition()[1]})
+	 *		   | 	then setPositionXY((getHorizontalPosition() + getVelocity()[0]*timeDuration), getPosition()[1])
 	 */
 	public void advanceTimePartially2(double timeDuration) {
 		
 		if (this.getWorld() != null) {
-			for (Object object: this.getWorld().getObjects()){
-				if (object instanceof Mazub) {
-					if (((GameObject) object).overlapsWithObject(this)){
-						if (this.getTimeAfterCollision()>=0.6) {
-							((GameObject) object).eatingPlant(this,(Mazub) object);
-							this.setTimeAfterCollision(0.0);
-						}
-						else
-							this.setTimeAfterCollision(this.getTimeAfterCollision()+timeDuration);
-						
+			Mazub mazub = this.getWorld().getPlayerMazub();
+			if (mazub != null) {
+				if (mazub.overlapsWithObject(this)){
+					if (this.getTimeAfterCollision()>=0.6) {
+						mazub.eatingPlant(this, mazub);
+						this.setTimeAfterCollision(0.0);
 					}
 					else
-						this.setTimeAfterCollision(0.6);
-				}	
+						this.setTimeAfterCollision(this.getTimeAfterCollision()+timeDuration);
+					
+				}
+				else
+					this.setTimeAfterCollision(0.6);
 			}
 		}
 		this.terminateDeadObject(timeDuration);
 		if (! this.isDead()) {
-			double new_ver_pos = (this.getVerticalPosition() + this.getVelocity()[1]*timeDuration);
-			double[] position = new double[] {this.horizontalPosition,new_ver_pos};
-			this.setNewPosition(position);
+			double new_ver_pos = (this.getVerticalPosition() + this.getVy()*timeDuration);
+			this.setPositionXY(this.getX(), new_ver_pos);
 		}
 	}
 	
@@ -141,11 +138,10 @@ public class Skullcab extends Plant implements VerticalMove {
 	@Basic @Raw
 	@Override
 	public Sprite getCurrentSprite() {
-		Sprite[] sprites = getSprites();			
 			if (this.getVerticalVelocity()>0) 
-				return sprites[0];
+				return this.getSprite(0);
 			else 
-				return sprites[1];
+				return this.getSprite(1);
 		}
 	/**
 	 * @return |	result == 3
@@ -162,7 +158,7 @@ public class Skullcab extends Plant implements VerticalMove {
 
 	@Override @Basic
 	public double getVerticalPosition() {
-		return this.verticalPosition;
+		return this.getY();
 	}
 
 
@@ -175,12 +171,12 @@ public class Skullcab extends Plant implements VerticalMove {
 	@Override @Raw
 	public void setVerticalPosition(double verticalPosition) {
 		if (this.canHaveAsVerticalPosition(verticalPosition))
-			this.verticalPosition = verticalPosition;
+			this.storeY(verticalPosition);
 	}
 
 	@Override @Basic
 	public double getVerticalVelocity() {
-		return this.verticalVelocity;
+		return this.getVy();
 	}
 	
 	/**
@@ -202,7 +198,7 @@ public class Skullcab extends Plant implements VerticalMove {
 	@Override
 	public void setVerticalVelocity(double verticalVelocity) {
 		if (isValidVerticalVelocity(verticalVelocity))
-			this.verticalVelocity = verticalVelocity;
+			this.storeVy(verticalVelocity);
 	}
 
 
@@ -214,7 +210,7 @@ public class Skullcab extends Plant implements VerticalMove {
 
 	@Override @Basic
 	public double getVerticalAcceleration() {
-		return this.verticalAcceleration;
+		return this.getAy();
 	}
 
 
@@ -224,33 +220,22 @@ public class Skullcab extends Plant implements VerticalMove {
  	 */
 	@Override
 	public void setVerticalAcceleration(double verticalAcceleration) {
-		this.verticalAcceleration = verticalAcceleration;	
+		this.storeAy(verticalAcceleration);	
 	}
 	
 	/**************
 	 * TOTAL MOVE *
 	 **************/
 
-
-	@Override @Basic
-	public double[] getPosition() {
-		return new double[] {this.horizontalPosition, getVerticalPosition()};
-	}
-
 	/**
- 	 * @param  	position
- 	 * @post | 	new.getPosition == position;
+ 	 * @param  	horizontalPosition
+ 	 * @param  	verticalPosition
+ 	 * @post | 	new.getX() == horizontalPosition && new.getY() == verticalPosition;
  	 */
 	@Override
-	public void setHorAndVerPosition(double[] position) {
-		this.horizontalPosition = position[0];
-		setVerticalPosition(position[1]);
-	}
-
-
-	@Override @Basic
-	public double[] getVelocity() {
-		return new double[] {this.horizontalVelocity, getVerticalVelocity()};
+	protected void setHorAndVerPosition(double horizontalPosition, double verticalPosition) {
+		this.storeX(horizontalPosition);
+		setVerticalPosition(verticalPosition);
 	}
 
 
@@ -264,12 +249,6 @@ public class Skullcab extends Plant implements VerticalMove {
 	}
 
 
-	@Override @Basic
-	public double[] getAcceleration() {
-		return new double[] {this.horizontalAcceleration, getVerticalAcceleration()};
-	}
-
-
 	/**
  	 * @param  	acceleration
  	 * @post | 	new.getAcceleration == acceleration;
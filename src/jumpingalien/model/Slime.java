@@ -1,5 +1,6 @@
 package jumpingalien.model;
 
+import java.util.List;
 import java.util.TreeSet;
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Immutable;
@@ -75,11 +76,7 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 	 * @return | (!(idAlreadyExists) && (id > 0))
 	 */
 	public static boolean canHaveAsID(long id) {
-		boolean idAlreadyExists = false;
-		for (SlimeID slimeID: allIDs) {
-			if (slimeID.getSlimeID() == id)
-				idAlreadyExists = true;
-		}
+		boolean idAlreadyExists = allIDs.contains(new SlimeID(id));
 		return (!(idAlreadyExists) && (id > 0));
 			
 	}
@@ -208,7 +205,7 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 		double hor_pos = this.getHorizontalPosition();
 		
 		if (this.getWorld()!=null) {
-			if (this.allCollidingObjectsWithOrientation(this.getWorld()).isEmpty())	{
+			if (!this.collidesWithanObjectWithOrientation(this.getWorld()))	{
 				hor_pos = (getHorizontalPosition() + getHorizontalVelocity()*timeDuration + 0.5*getHorizontalAcceleration()*(Math.pow(timeDuration,2)));
 				this.setHorizontalVelocity((this.getHorizontalVelocity() + this.getHorizontalAcceleration()*timeDuration));
 			}
@@ -217,7 +214,7 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 			hor_pos = (getHorizontalPosition() + getHorizontalVelocity()*timeDuration + 0.5*getHorizontalAcceleration()*(Math.pow(timeDuration,2)));
 			this.setHorizontalVelocity((this.getHorizontalVelocity() + this.getHorizontalAcceleration()*timeDuration));
 		}
-		setNewPosition(new double[] {hor_pos,this.verticalPosition});
+		setPositionXY(hor_pos, this.getY());
 	}
 		
 	
@@ -262,7 +259,9 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 			return;
 		
 		else {
-			for (Object object: this.allCollidingObjectsWithOrientation(this.getWorld())) {
+			List<GameObject> objects = this.queryCollidingObjects(this.getWorld(), true);
+			for (int i = 0; i < objects.size(); i++) {
+				Object object = objects.get(i);
 				if (!((GameObject) object).isDead() && object !=this && !this.isDead()) {
 					if (object instanceof Shark) {
 						if (this.getHorizontalVelocity() != 0) {
@@ -371,11 +370,10 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 
 	@Override
 	public Sprite getCurrentSprite() {
-		Sprite[] sprites = getSprites();			
 			if (getOrientation() > 0) 
-				return sprites[0];
+				return this.getSprite(0);
 			else 
-				return sprites[1];
+				return this.getSprite(1);
 	}
 	
 	/**
@@ -392,7 +390,7 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 
 	@Override @Basic
 	public double getHorizontalPosition() {
-		return this.horizontalPosition;
+		return this.getX();
 	}
 
 
@@ -405,13 +403,13 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 	@Override @Raw
 	public void setHorizontalPosition(double horizontalPosition) {
 		if (this.canHaveAsHorizontalPosition(horizontalPosition))
-			this.horizontalPosition = horizontalPosition;
+			this.storeX(horizontalPosition);
 	}
 
 
 	@Override @Basic
 	public double getHorizontalVelocity() {
-		return this.horizontalVelocity;
+		return this.getVx();
 	}
 
 
@@ -434,7 +432,7 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 	@Override @Raw
 	public void setHorizontalVelocity(double horizontalVelocity) {
 		if (this.isValidHorizontalVelocity(horizontalVelocity))
-			this.horizontalVelocity = horizontalVelocity;
+			this.storeVx(horizontalVelocity);
 	}
 
 
@@ -446,7 +444,7 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 
 	@Override
 	public double getHorizontalAcceleration() {
-		return this.horizontalAcceleration;
+		return this.getAx();
 	}
 
 
@@ -456,7 +454,7 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
  	 */
 	@Override
 	public void setHorizontalAcceleration(double horizontalAcceleration) {
-		this.horizontalAcceleration = horizontalAcceleration;
+		this.storeAx(horizontalAcceleration);
 		
 	}
 
@@ -465,24 +463,15 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 	 * TOTAL MOVE *
 	 **************/
 	
-	@Override @Basic
-	public double[] getPosition() {
-		return new double[] {getHorizontalPosition(), this.verticalPosition};
-	}
-	
 	/**
- 	 * @param  	position
- 	 * @post | 	new.getPosition == position;
+ 	 * @param  	horizontalPosition
+ 	 * @param  	verticalPosition
+ 	 * @post | 	new.getX() == horizontalPosition && new.getY() == verticalPosition;
  	 */
-	@Override 
-	public void setHorAndVerPosition(double[] position) {
-		setHorizontalPosition(position[0]);
-		this.verticalPosition = position[1];
-	}
-	
-	@Override @Basic
-	public double[] getVelocity() {
-		return new double[] {getHorizontalVelocity(), this.verticalVelocity};
+	@Override
+	protected void setHorAndVerPosition(double horizontalPosition, double verticalPosition) {
+		setHorizontalPosition(horizontalPosition);
+		this.storeY(verticalPosition);
 	}
 	
 	/**
@@ -494,11 +483,6 @@ public class Slime extends GameObject implements HorizontalMove, Comparable<Slim
 		setHorizontalVelocity(velocity[0]);
 	}
 	
-	@Override @Basic
-	public double[] getAcceleration() {
-		return new double[] {getHorizontalAcceleration(), this.verticalAcceleration};
-	}
-	
 	/**
  	 * @param  	acceleration
  	 * @post | 	new.getAcceleration == acceleration;
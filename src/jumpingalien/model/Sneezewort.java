@@ -51,11 +51,10 @@ public class Sneezewort extends Plant implements HorizontalMove {
 	@Basic @Raw
 	@Override
 	public Sprite getCurrentSprite() {
-		Sprite[] sprites = getSprites();			
 			if (getOrientation() < 0) 
-				return sprites[0];
+				return this.getSprite(0);
 			else 
-				return sprites[1];
+				return this.getSprite(1);
 		}
 	
 
@@ -108,30 +107,24 @@ public class Sneezewort extends Plant implements HorizontalMove {
 	}
 	/**
 	 * @param timeDuration
-	 * @effect | if (getWorld() != null) 
-	 *		   | 	for (Object object: getWorld().getObjects())
-	 *		   | 		if (object instanceof Mazub) 
-	 *		   |			if (object.OverlapsWithObject(this)) then
-	 *		   | 				object.EatingPlant(this,(Mazub) object)
+	 * @effect | if (getWorld() != null && getWorld().getPlayerMazub() != null) 
+	 *		   |	if (getWorld().getPlayerMazub().overlapsWithObject(this)) then
+	 *		   | 		getWorld().getPlayerMazub().eatingPlant(this, getWorld().getPlayerMazub())
 	 * @effect | this.terminateDeadObject(timeDuration)
 	 * @effect | if (!isDead())
-	 *		   | 	then setNewPosition(new double[] {(getHorizontalPosition() + getVelocity()[0]*timeDuration),getPosition()[1]})
+	 *		   | 	then setPositionXY((getHorizontalPosition() + getVelocity()[0]*timeDuration), getPosition()[1])
 	 */
 	public void advanceTimePartially2(double timeDuration) {
 		if (this.getWorld() != null) {
-			for (Object object: this.getWorld().getObjects()){
-				if (object instanceof Mazub) {
-					if (((GameObject) object).overlapsWithObject(this)){
-						((GameObject) object).eatingPlant(this,(Mazub) object);
-					}
-				}	
+			Mazub mazub = this.getWorld().getPlayerMazub();
+			if (mazub != null && mazub.overlapsWithObject(this)) {
+				mazub.eatingPlant(this, mazub);
 			}
 		}
 		this.terminateDeadObject(timeDuration);
 		if (! this.isDead()) {
 			double new_hor_pos = (this.getHorizontalPosition() + this.getHorizontalVelocity()*timeDuration);
-			double[] position = new double[] {new_hor_pos, this.verticalPosition};
-			this.setNewPosition(position);
+			this.setPositionXY(new_hor_pos, this.getY());
 		}
 	}
 		
@@ -153,7 +146,7 @@ public class Sneezewort extends Plant implements HorizontalMove {
 
 	@Override @Basic
 	public double getHorizontalPosition() {
-		return this.horizontalPosition;
+		return this.getX();
 	}
 
 
@@ -166,13 +159,13 @@ public class Sneezewort extends Plant implements HorizontalMove {
 	@Override @Raw
 	public void setHorizontalPosition(double horizontalPosition) {
 		if (this.canHaveAsHorizontalPosition(horizontalPosition))
-			this.horizontalPosition = horizontalPosition;
+			this.storeX(horizontalPosition);
 	}
 
 
 	@Override @Basic
 	public double getHorizontalVelocity() {
-		return this.horizontalVelocity;
+		return this.getVx();
 	}
 
 
@@ -195,7 +188,7 @@ public class Sneezewort extends Plant implements HorizontalMove {
 	@Override @Raw
 	public void setHorizontalVelocity(double horizontalVelocity) {
 		if (this.isValidHorizontalVelocity(horizontalVelocity))
-			this.horizontalVelocity = horizontalVelocity;
+			this.storeVx(horizontalVelocity);
 	}
 
 
@@ -207,7 +200,7 @@ public class Sneezewort extends Plant implements HorizontalMove {
 
 	@Override @Basic
 	public double getHorizontalAcceleration() {
-		return this.horizontalAcceleration;
+		return this.getAx();
 	}
 
 
@@ -217,7 +210,7 @@ public class Sneezewort extends Plant implements HorizontalMove {
  	 */
 	@Override
 	public void setHorizontalAcceleration(double horizontalAcceleration) {
-		this.horizontalAcceleration = horizontalAcceleration;
+		this.storeAx(horizontalAcceleration);
 		
 	}
 	
@@ -225,24 +218,15 @@ public class Sneezewort extends Plant implements HorizontalMove {
 	 * TOTAL MOVE *
 	 **************/
 	
-	@Override @Basic
-	public double[] getPosition() {
-		return new double[] {getHorizontalPosition(), this.verticalPosition};
-	}
-	
 	/**
- 	 * @param  	position
- 	 * @post | 	new.getPosition == position;
+ 	 * @param  	horizontalPosition
+ 	 * @param  	verticalPosition
+ 	 * @post | 	new.getX() == horizontalPosition && new.getY() == verticalPosition;
  	 */
-	@Override 
-	public void setHorAndVerPosition(double[] position) {
-		setHorizontalPosition(position[0]);
-		this.verticalPosition = position[1];
-	}
-	
-	@Override @Basic
-	public double[] getVelocity() {
-		return new double[] {getHorizontalVelocity(), this.verticalVelocity};
+	@Override
+	protected void setHorAndVerPosition(double horizontalPosition, double verticalPosition) {
+		setHorizontalPosition(horizontalPosition);
+		this.storeY(verticalPosition);
 	}
 	
 	/**
@@ -254,11 +238,6 @@ public class Sneezewort extends Plant implements HorizontalMove {
 		setHorizontalVelocity(velocity[0]);
 	}
 	
-	@Override @Basic
-	public double[] getAcceleration() {
-		return new double[] {getHorizontalAcceleration(), this.verticalAcceleration};
-	}
-	
 	/**
  	 * @param  	acceleration
  	 * @post | 	new.getAcceleration == acceleration;
@@ -0,0 +1,284 @@
+package jumpingalien.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import jumpingalien.util.Sprite;
+
+/**
+ * A uniform grid registering the game objects of a world by the cell of their bottom left pixel,
+ * used to find the objects near a rectangle of pixels without looking at every object of the world.
+ *
+ * @invar	Each registered object is stored in exactly one cell, the cell of its pixel position.
+ * 		|	for object in registered objects
+ * 		|		getCellOf(object.getPixelPosition()) == object.gridCell
+ *
+ * @version	1.0
+ *
+ * @author 	Arthur van Meerbeeck, 2e Bachelor Burgerlijk Ingenieur, Computerwetenschappen-Elektrotechniek
+ *
+ * @author	Paul van Tieghem de Ten Berghe, 2e Bachelor Burgerlijk Ingenieur, Elektrotechniek-Computerwetenschappen
+ */
+class SpatialGrid {
+
+	/**
+	 * Initialize this new grid covering a world of the given size with cells of the given size.
+	 *
+	 * @param 	cellSize
+	 * 			The length in pixels of a side of a cell.
+	 * @param 	widthInPixels
+	 * 			The width in pixels of the covered world.
+	 * @param 	heightInPixels
+	 * 			The height in pixels of the covered world.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	SpatialGrid(int cellSize, int widthInPixels, int heightInPixels) {
+		this.cellSize = Math.max(1, cellSize);
+		this.nbCellsX = Math.max(1, (widthInPixels + this.cellSize - 1)/this.cellSize);
+		this.nbCellsY = Math.max(1, (heightInPixels + this.cellSize - 1)/this.cellSize);
+		this.cells = new ArrayList[this.nbCellsX*this.nbCellsY];
+	}
+
+	private final int cellSize;
+	private final int nbCellsX;
+	private final int nbCellsY;
+	private final ArrayList<GameObject>[] cells;
+
+	//********************************** CELLS ***************************************//
+
+	/**
+	 * Return the index of the cell containing the given pixel, pixels outside the grid
+	 * belong to the nearest cell at the border of the grid.
+	 *
+	 * @param	pixelX
+	 * @param	pixelY
+	 * @return	| result == clampY(pixelY/cellSize)*nbCellsX + clampX(pixelX/cellSize)
+	 */
+	private int getCellOf(int pixelX, int pixelY) {
+		return clampCellY(Math.floorDiv(pixelY, this.cellSize))*this.nbCellsX + clampCellX(Math.floorDiv(pixelX, this.cellSize));
+	}
+
+	private int clampCellX(int cellX) {
+		return Math.max(0, Math.min(this.nbCellsX-1, cellX));
+	}
+
+	private int clampCellY(int cellY) {
+		return Math.max(0, Math.min(this.nbCellsY-1, cellY));
+	}
+
+	private void insertInCell(GameObject object, int cell) {
+		if (this.cells[cell] == null)
+			this.cells[cell] = new ArrayList<GameObject>(4);
+		this.cells[cell].add(object);
+		object.gridCell = cell;
+	}
+
+	//********************************** REGISTRATION ***************************************//
+
+	/**
+	 * Register the given object in this grid.
+	 *
+	 * @param	object
+	 * 			The object to register.
+	 * @effect	| insertInCell(object, getCellOf(object.getPixelX(), object.getPixelY()))
+	 * @post	| for sprite in object.getSprites()
+	 * 			|	new.maxObjectWidth >= sprite.getWidth() && new.maxObjectHeight >= sprite.getHeight()
+	 */
+	void add(GameObject object) {
+		object.gridSequence = this.nextSequence++;
+		insertInCell(object, getCellOf(object.getPixelX(), object.getPixelY()));
+		for (Sprite sprite: object.getSprites()) {
+			this.maxObjectWidth = Math.max(this.maxObjectWidth, sprite.getWidth());
+			this.maxObjectHeight = Math.max(this.maxObjectHeight, sprite.getHeight());
+		}
+	}
+
+	/**
+	 * Remove the given object from this grid.
+	 *
+	 * @param	object
+	 * 			The object to remove.
+	 * @post	| object.gridCell == -1
+	 */
+	void remove(GameObject object) {
+		if (object.gridCell < 0)
+			return;
+		this.cells[object.gridCell].remove(object);
+		object.gridCell = -1;
+	}
+
+	/**
+	 * Move the given object to the cell of its current pixel position.
+	 *
+	 * @param	object
+	 * 			The object that has moved.
+	 */
+	void update(GameObject object) {
+		if (object.gridCell < 0)
+			return;
+		int cell = getCellOf(object.getPixelX(), object.getPixelY());
+		if (cell != object.gridCell) {
+			this.cells[object.gridCell].remove(object);
+			insertInCell(object, cell);
+		}
+	}
+
+	/**
+	 * Remove all objects from this grid.
+	 */
+	void clear() {
+		for (int cell = 0; cell < this.cells.length; cell++) {
+			if (this.cells[cell] != null) {
+				for (GameObject object: this.cells[cell])
+					object.gridCell = -1;
+				this.cells[cell] = null;
+			}
+		}
+	}
+
+	private long nextSequence = 0;
+
+	//********************************** QUERIES ***************************************//
+
+	/**
+	 * Return all registered objects whose current sprite overlaps with the given rectangle of pixels,
+	 * in the order in which they were registered.
+	 *
+	 * @param	x1
+	 * 			The leftmost column of pixels of the rectangle.
+	 * @param	y1
+	 * 			The bottom row of pixels of the rectangle.
+	 * @param	x2
+	 * 			The rightmost column of pixels of the rectangle.
+	 * @param	y2
+	 * 			The top row of pixels of the rectangle.
+	 * @return	| for object in result
+	 * 			|	object.getPixelX() <= x2 && object.getPixelX()+object.getCurrentSprite().getWidth()-1 >= x1 &&
+	 * 			|	object.getPixelY() <= y2 && object.getPixelY()+object.getCurrentSprite().getHeight()-1 >= y1
+	 */
+	List<GameObject> getObjectsIn(int x1, int y1, int x2, int y2) {
+		ArrayList<GameObject> result = new ArrayList<GameObject>();
+		this.getObjectsIn(x1, y1, x2, y2, result);
+		return result;
+	}
+
+	/**
+	 * Add all registered objects whose current sprite overlaps with the given rectangle of pixels to the given
+	 * empty list, in the order in which they were registered, so that a caller can reuse its list for each query.
+	 *
+	 * @param	result
+	 * 			The list to add the objects to.
+	 * @effect	| result.addAll(getObjectsIn(x1, y1, x2, y2))
+	 */
+	void getObjectsIn(int x1, int y1, int x2, int y2, List<GameObject> result) {
+		this.nbQueries++;
+		this.nbCandidates += this.collectObjectsIn(x1, y1, x2, y2, null, result);
+		sortInOrderOfRegistration(result);
+	}
+
+	/**
+	 * Add the registered objects whose current sprite overlaps with the given rectangle of pixels to the given
+	 * list, leaving out the objects rejected by the given filter before looking at their position. The grid is
+	 * not changed, so several threads may collect objects at once while no objects are registered or moved.
+	 *
+	 * @param	x1
+	 * 			The leftmost column of pixels of the rectangle.
+	 * @param	y1
+	 * 			The bottom row of pixels of the rectangle.
+	 * @param	x2
+	 * 			The rightmost column of pixels of the rectangle.
+	 * @param	y2
+	 * 			The top row of pixels of the rectangle.
+	 * @param	filter
+	 * 			The filter accepting the objects to look at, or null to look at all objects.
+	 * @param	result
+	 * 			The list to add the objects to.
+	 * @return	The number of objects examined.
+	 */
+	int collectObjectsIn(int x1, int y1, int x2, int y2, Predicate<GameObject> filter, List<GameObject> result) {
+		if ((x2 < x1) || (y2 < y1))
+			return 0;
+		CollisionQueryEvent event = CollisionQueryEvent.isRecorded() ? new CollisionQueryEvent() : null;
+		if (event != null)
+			event.begin();
+		int nbCandidates = 0;
+		int nbResults = result.size();
+		// An object overlaps with the rectangle only if its bottom left pixel lies at most one sprite size before it.
+		int firstCellX = clampCellX(Math.floorDiv(x1 - this.maxObjectWidth + 1, this.cellSize));
+		int lastCellX = clampCellX(Math.floorDiv(x2, this.cellSize));
+		int firstCellY = clampCellY(Math.floorDiv(y1 - this.maxObjectHeight + 1, this.cellSize));
+		int lastCellY = clampCellY(Math.floorDiv(y2, this.cellSize));
+		for (int cellY = firstCellY; cellY <= lastCellY; cellY++) {
+			for (int cellX = firstCellX; cellX <= lastCellX; cellX++) {
+				ArrayList<GameObject> cell = this.cells[cellY*this.nbCellsX + cellX];
+				if (cell == null)
+					continue;
+				nbCandidates += cell.size();
+				for (int index = 0; index < cell.size(); index++) {
+					GameObject object = cell.get(index);
+					if (((filter == null) || filter.test(object)) && overlaps(object, x1, y1, x2, y2))
+						result.add(object);
+				}
+			}
+		}
+		if ((event != null) && event.shouldCommit()) {
+			event.kind = CollisionQueryEvent.OBJECTS;
+			event.candidates = nbCandidates;
+			event.results = result.size() - nbResults;
+			event.commit();
+		}
+		return nbCandidates;
+	}
+
+	/**
+	 * Check whether the current sprite of the given object overlaps with the given rectangle of pixels.
+	 *
+	 * @return	| result == (object.getPixelX() <= x2 && object.getPixelX()+object.getCurrentSprite().getWidth()-1 >= x1 &&
+	 * 			|	object.getPixelY() <= y2 && object.getPixelY()+object.getCurrentSprite().getHeight()-1 >= y1)
+	 */
+	static boolean overlaps(GameObject object, int x1, int y1, int x2, int y2) {
+		int x = object.getPixelX();
+		int y = object.getPixelY();
+		Sprite sprite = object.getCurrentSprite();
+		return (x <= x2) && (x+sprite.getWidth()-1 >= x1) && (y <= y2) && (y+sprite.getHeight()-1 >= y1);
+	}
+
+	/**
+	 * Sort the given objects in the order in which they were registered.
+	 */
+	static void sortInOrderOfRegistration(List<GameObject> objects) {
+		if (objects.size() > 1)
+			objects.sort(BY_SEQUENCE);
+	}
+
+	/**
+	 * Count the given number of queries, answered by examining the given number of objects, as answered by this grid.
+	 */
+	void addQueries(long nbQueries, long nbCandidates) {
+		this.nbQueries += nbQueries;
+		this.nbCandidates += nbCandidates;
+	}
+
+	/**
+	 * Return the number of queries answered by this grid so far.
+	 */
+	long getNbQueries() {
+		return this.nbQueries;
+	}
+
+	/**
+	 * Return the number of objects examined while answering the queries of this grid so far.
+	 */
+	long getNbCandidates() {
+		return this.nbCandidates;
+	}
+
+	private long nbQueries = 0;
+	private long nbCandidates = 0;
+
+	private static final Comparator<GameObject> BY_SEQUENCE = Comparator.comparingLong(object -> object.gridSequence);
+
+	private int maxObjectWidth = 0;
+	private int maxObjectHeight = 0;
+}
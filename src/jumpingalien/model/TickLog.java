@@ -0,0 +1,209 @@
+package jumpingalien.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A log of the time durations of the successive advancements of time of a world, numbered from zero on.
+ * Successive advancements over the same time duration are kept as a single run, so that a world advancing
+ * its time in fixed steps only needs a few entries, however many times its time has advanced. The log only
+ * keeps a fixed number of the latest advancements: older ones are discarded as new ones are logged.
+ *
+ * The log is used to let dormant objects of a world catch up with the advancements of time they have missed,
+ * by advancing them over the very same time durations, in the same order.
+ *
+ * @invar	The runs of this log are numbered in order of the advancements they cover.
+ * 		|	for run in 1..getNbRuns()-1
+ * 		|		firstTick[run] == firstTick[run-1] + count[run-1]
+ * @invar	This log keeps at most its capacity of advancements.
+ * 		|	getNbTicks() - getFirstTick() <= getCapacity()
+ *
+ * @version	1.0
+ *
+ * @author 	Arthur van Meerbeeck, 2e Bachelor Burgerlijk Ingenieur, Computerwetenschappen-Elektrotechniek
+ *
+ * @author	Paul van Tieghem de Ten Berghe, 2e Bachelor Burgerlijk Ingenieur, Elektrotechniek-Computerwetenschappen
+ */
+class TickLog {
+
+	/**
+	 * Initialize this new log keeping at most the given number of advancements.
+	 *
+	 * @param	capacity
+	 * 			The number of latest advancements this log keeps.
+	 * @throws	IllegalArgumentException
+	 * 		|	capacity < 1
+	 */
+	TickLog(int capacity) throws IllegalArgumentException {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Illegal capacity");
+		this.capacity = capacity;
+		// every run covers at least one advancement
+		this.firstTick = new long[capacity];
+		this.count = new int[capacity];
+		this.dt = new double[capacity];
+	}
+
+	/**
+	 * Return the number of latest advancements this log keeps.
+	 */
+	int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Return the number of advancements of time logged in this log, including those that have been discarded.
+	 */
+	long getNbTicks() {
+		return this.nbTicks;
+	}
+
+	/**
+	 * Return the first advancement of time this log still keeps.
+	 */
+	long getFirstTick() {
+		return (this.nbRuns == 0) ? this.nbTicks : this.firstTick[this.start];
+	}
+
+	/**
+	 * Return the total time duration of the advancements of time logged in this log, including those that have
+	 * been discarded.
+	 */
+	double getTime() {
+		return this.time;
+	}
+
+	/**
+	 * Return the number of runs of equal time durations kept by this log.
+	 */
+	int getNbRuns() {
+		return this.nbRuns;
+	}
+
+	/**
+	 * Log an advancement of time over the given time duration, discarding the oldest advancement if this log
+	 * is full.
+	 *
+	 * @param	dt
+	 * 			The time duration of the advancement.
+	 * @post	| new.getNbTicks() == getNbTicks() + 1
+	 * @post	| new.getFirstTick() == Math.max(getFirstTick(), new.getNbTicks() - getCapacity())
+	 */
+	void append(double dt) {
+		int last = this.runAt(this.nbRuns-1);
+		if ((this.nbRuns > 0) && (Double.doubleToLongBits(this.dt[last]) == Double.doubleToLongBits(dt)))
+			this.count[last]++;
+		else {
+			if (this.nbRuns == this.capacity)
+				this.discardBefore(this.firstTick[this.start] + this.count[this.start]);
+			last = this.runAt(this.nbRuns);
+			this.firstTick[last] = this.nbTicks;
+			this.count[last] = 1;
+			this.dt[last] = dt;
+			this.nbRuns++;
+		}
+		this.nbTicks++;
+		this.time += dt;
+		if (this.nbTicks - this.getFirstTick() > this.capacity)
+			this.discardBefore(this.nbTicks - this.capacity);
+	}
+
+	/**
+	 * Advance the time of the given objects over the logged advancements from the given tick on, up to but not
+	 * including the given end tick, one advancement after the other. In each advancement, the objects that are
+	 * in the given world when it starts advance in the given order.
+	 *
+	 * @param	objects
+	 * 			The objects to advance.
+	 * @param	world
+	 * 			The world of the objects.
+	 * @param	fromTick
+	 * 			The first advancement to replay.
+	 * @param	toTick
+	 * 			The advancement to stop at.
+	 * @return	The number of times an object advanced.
+	 * @throws	IllegalStateException
+	 * 		|	(fromTick < toTick) && (fromTick < getFirstTick())
+	 */
+	long replay(GameObject[] objects, World world, long fromTick, long toTick) throws IllegalStateException {
+		if (fromTick >= toTick)
+			return 0;
+		if ((fromTick < this.getFirstTick()) || (toTick > this.nbTicks))
+			throw new IllegalStateException("Advancement no longer logged");
+		int run = this.findRun(fromTick);
+		long nbReplayed = 0;
+		List<GameObject> advancing = new ArrayList<GameObject>(objects.length);
+		for (long tick = fromTick; tick < toTick; tick++) {
+			while (tick >= this.firstTick[this.runAt(run)] + this.count[this.runAt(run)])
+				run++;
+			advancing.clear();
+			for (GameObject object: objects) {
+				if (object.getWorld() == world)
+					advancing.add(object);
+			}
+			if (advancing.isEmpty())
+				break;
+			for (GameObject object: advancing)
+				object.advanceObjectsTime(this.dt[this.runAt(run)]);
+			nbReplayed += advancing.size();
+		}
+		return nbReplayed;
+	}
+
+	/**
+	 * Return the number of the run, counted from the oldest run kept, covering the given kept advancement.
+	 */
+	private int findRun(long tick) {
+		int low = 0, high = this.nbRuns-1;
+		while (low < high) {
+			int middle = (low+high+1) >>> 1;
+			if (this.firstTick[this.runAt(middle)] <= tick)
+				low = middle;
+			else
+				high = middle-1;
+		}
+		return low;
+	}
+
+	/**
+	 * Forget the advancements before the given tick.
+	 *
+	 * @param	tick
+	 * 			The first advancement that may still be replayed.
+	 * @post	| new.getFirstTick() == Math.max(getFirstTick(), Math.min(tick, getNbTicks()))
+	 */
+	void discardBefore(long tick) {
+		while ((this.nbRuns > 0) && (this.firstTick[this.start] < tick)) {
+			long end = this.firstTick[this.start] + this.count[this.start];
+			if (end <= tick) {
+				this.start = this.runAt(1);
+				this.nbRuns--;
+			}
+			else {
+				this.count[this.start] = (int) (end - tick);
+				this.firstTick[this.start] = tick;
+			}
+		}
+	}
+
+	/**
+	 * Return the index in the arrays of this log of the given run, counted from the oldest run kept.
+	 */
+	private int runAt(int run) {
+		return Math.floorMod(this.start + run, this.capacity);
+	}
+
+	/**
+	 * The first advancement, the number of advancements and the time duration of every run of this log, kept
+	 * as a ring starting at the oldest run.
+	 */
+	private final long[] firstTick;
+	private final int[] count;
+	private final double[] dt;
+	private int start = 0;
+	private int nbRuns = 0;
+
+	private final int capacity;
+	private long nbTicks = 0;
+	private double time = 0.0;
+}
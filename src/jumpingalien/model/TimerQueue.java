@@ -0,0 +1,193 @@
+package jumpingalien.model;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A queue of timers on one clock, each with a deadline and an action that is performed once the clock reaches
+ * that deadline. The timers are kept in a binary heap ordered by their deadline, so that the next deadline is
+ * known at once and a timer is scheduled or cancelled in logarithmic time. Timers with the same deadline fire
+ * in the order in which they were scheduled.
+ *
+ * @invar	Every timer in this queue has a deadline that is not before the deadline of its parent in the heap.
+ * 		|	for i in 1..size()-1
+ * 		|		!timers[i].firesBefore(timers[(i-1)/2])
+ *
+ * @version	1.0
+ *
+ * @author 	Arthur van Meerbeeck, 2e Bachelor Burgerlijk Ingenieur, Computerwetenschappen-Elektrotechniek
+ *
+ * @author	Paul van Tieghem de Ten Berghe, 2e Bachelor Burgerlijk Ingenieur, Elektrotechniek-Computerwetenschappen
+ */
+class TimerQueue {
+
+	/**
+	 * A timer of a queue of timers.
+	 */
+	static final class Timer {
+
+		private Timer(double deadline, long sequence, Runnable action) {
+			this.deadline = deadline;
+			this.sequence = sequence;
+			this.action = action;
+		}
+
+		/**
+		 * Return the time on the clock of its queue at which this timer fires.
+		 */
+		@Basic
+		double getDeadline() {
+			return this.deadline;
+		}
+
+		/**
+		 * Check whether this timer is still waiting in its queue.
+		 */
+		boolean isPending() {
+			return (this.index >= 0);
+		}
+
+		private boolean firesBefore(Timer other) {
+			return (this.deadline < other.deadline) ||
+					((this.deadline == other.deadline) && (this.sequence < other.sequence));
+		}
+
+		private final double deadline;
+		private final long sequence;
+		private final Runnable action;
+		private int index = -1;
+	}
+
+	/**
+	 * Return the number of timers waiting in this queue.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the earliest deadline of the timers in this queue, or positive infinity if this queue is empty.
+	 */
+	double getNextDeadline() {
+		return (this.size == 0) ? Double.POSITIVE_INFINITY : this.timers[0].deadline;
+	}
+
+	/**
+	 * Schedule the given action at the given deadline.
+	 *
+	 * @param	deadline
+	 * 			The time on the clock of this queue at which the action is to be performed.
+	 * @param	action
+	 * 			The action to perform.
+	 * @return	The timer of the action, which can be used to cancel it.
+	 * @throws	IllegalArgumentException
+	 * 		|	Double.isNaN(deadline) || (action == null)
+	 */
+	Timer schedule(double deadline, Runnable action) throws IllegalArgumentException {
+		if (Double.isNaN(deadline) || (action == null))
+			throw new IllegalArgumentException("Illegal timer");
+		Timer timer = new Timer(deadline, this.nextSequence++, action);
+		if (this.size == this.timers.length)
+			this.timers = Arrays.copyOf(this.timers, 2*this.size);
+		timer.index = this.size++;
+		this.timers[timer.index] = timer;
+		this.siftUp(timer.index);
+		return timer;
+	}
+
+	/**
+	 * Cancel the given timer, if it is still waiting in this queue.
+	 *
+	 * @param	timer
+	 * 			The timer to cancel.
+	 * @post	| !timer.isPending()
+	 */
+	void cancel(Timer timer) {
+		if ((timer == null) || !timer.isPending() || (this.timers[timer.index] != timer))
+			return;
+		this.removeAt(timer.index);
+	}
+
+	/**
+	 * Perform the actions of all timers in this queue whose deadline is not after the given time, in order of
+	 * their deadlines, including those of timers scheduled by these actions.
+	 *
+	 * @param	time
+	 * 			The current time on the clock of this queue.
+	 * @return	The number of actions performed.
+	 */
+	int fireUntil(double time) {
+		int nbFired = 0;
+		while ((this.size > 0) && (this.timers[0].deadline <= time)) {
+			Timer timer = this.timers[0];
+			this.removeAt(0);
+			this.firing = timer;
+			try {
+				timer.action.run();
+			} finally {
+				this.firing = null;
+			}
+			nbFired++;
+		}
+		return nbFired;
+	}
+
+	/**
+	 * Return the timer whose action is being performed, or null if no action is being performed.
+	 */
+	Timer getFiringTimer() {
+		return this.firing;
+	}
+
+	private void removeAt(int index) {
+		Timer removed = this.timers[index];
+		Timer last = this.timers[--this.size];
+		this.timers[this.size] = null;
+		removed.index = -1;
+		if (index < this.size) {
+			this.timers[index] = last;
+			last.index = index;
+			this.siftDown(index);
+			this.siftUp(last.index);
+		}
+	}
+
+	private void siftUp(int index) {
+		Timer timer = this.timers[index];
+		while (index > 0) {
+			int parent = (index-1) >>> 1;
+			if (!timer.firesBefore(this.timers[parent]))
+				break;
+			this.timers[index] = this.timers[parent];
+			this.timers[index].index = index;
+			index = parent;
+		}
+		this.timers[index] = timer;
+		timer.index = index;
+	}
+
+	private void siftDown(int index) {
+		Timer timer = this.timers[index];
+		while (2*index+1 < this.size) {
+			int child = 2*index+1;
+			if ((child+1 < this.size) && this.timers[child+1].firesBefore(this.timers[child]))
+				child++;
+			if (!this.timers[child].firesBefore(timer))
+				break;
+			this.timers[index] = this.timers[child];
+			this.timers[index].index = index;
+			index = child;
+		}
+		this.timers[index] = timer;
+		timer.index = index;
+	}
+
+	/**
+	 * The heap of timers of this queue, and the number of timers in it.
+	 */
+	private Timer[] timers = new Timer[4];
+	private int size = 0;
+	private long nextSequence = 0;
+	private Timer firing = null;
+}
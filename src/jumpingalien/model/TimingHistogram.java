@@ -0,0 +1,137 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of histograms of non-negative values, such as durations in nanoseconds or counts.
+ * Values are recorded in buckets whose width grows with the value, so that every value is known up to
+ * a relative error of at most 1/16, whatever its magnitude.
+ *
+ * @invar	The total count of this histogram equals the sum of the counts of its buckets.
+ * 		|	getCount() == sum(counts)
+ */
+public class TimingHistogram {
+
+	/**
+	 * The number of bits of a value kept in its bucket, and the resulting number of buckets.
+	 * Values below 2^SUB_BUCKET_BITS have a bucket of their own.
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+	private static final int NB_BUCKETS = (64 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS + SUB_BUCKETS;
+
+	private final long[] counts = new long[NB_BUCKETS];
+	private long count = 0;
+	private long sum = 0;
+	private long max = 0;
+
+	//********** RECORDING **********//
+
+	/**
+	 * Record the given value in this histogram.
+	 *
+	 * @param	value
+	 * 			The value to record.
+	 * @throws	IllegalArgumentException
+	 * 		|	value < 0
+	 * @post	| new.getCount() == getCount() + 1
+	 * @post	| new.getMax() == Math.max(getMax(), value)
+	 */
+	public synchronized void record(long value) throws IllegalArgumentException {
+		if (value < 0)
+			throw new IllegalArgumentException("Illegal value: " + value);
+		counts[bucketOf(value)]++;
+		count++;
+		sum += value;
+		if (value > max)
+			max = value;
+	}
+
+	/**
+	 * Remove all recorded values from this histogram.
+	 *
+	 * @post	| new.getCount() == 0
+	 */
+	public synchronized void reset() {
+		java.util.Arrays.fill(counts, 0);
+		count = 0;
+		sum = 0;
+		max = 0;
+	}
+
+	//********** STATISTICS **********//
+
+	@Basic
+	public synchronized long getCount() {
+		return count;
+	}
+
+	/**
+	 * Return the largest value recorded in this histogram, or 0 if no values are recorded.
+	 */
+	@Basic
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/**
+	 * Return the mean of the values recorded in this histogram, or 0 if no values are recorded.
+	 */
+	public synchronized double getMean() {
+		if (count == 0)
+			return 0.0;
+		return (double) sum / count;
+	}
+
+	/**
+	 * Return the value below or at which the given percentage of the recorded values lie.
+	 *
+	 * @param	percentile
+	 * 			The percentage of values.
+	 * @throws	IllegalArgumentException
+	 * 		|	!(percentile >= 0 && percentile <= 100)
+	 * @return	0 if no values are recorded.
+	 * 		|	if (getCount() == 0) then result == 0
+	 * @return	Otherwise, the largest value of the bucket holding the requested value, but no more than the largest
+	 * 			value recorded.
+	 * 		|	result <= getMax()
+	 */
+	public synchronized long getValueAtPercentile(double percentile) throws IllegalArgumentException {
+		if (!(percentile >= 0 && percentile <= 100))
+			throw new IllegalArgumentException("Illegal percentile: " + percentile);
+		if (count == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int bucket = 0; bucket < NB_BUCKETS; bucket++) {
+			seen += counts[bucket];
+			if (seen >= rank)
+				return Math.min(max, highestValueOf(bucket));
+		}
+		return max;
+	}
+
+	//********** BUCKETS **********//
+
+	/**
+	 * Return the index of the bucket of the given non-negative value.
+	 */
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+		return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+	}
+
+	/**
+	 * Return the largest value in the bucket with the given index.
+	 */
+	private static long highestValueOf(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		int shift = bucket / HALF_SUB_BUCKETS - 1;
+		long subBucket = bucket - shift * HALF_SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
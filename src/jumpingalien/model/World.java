@@ -1,9 +1,12 @@
 package jumpingalien.model;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import be.kuleuven.cs.som.annotate.*;
@@ -49,12 +52,11 @@ public class World {
 	 * @post | new.getSizeInPixels() == new int[] {nbTilesX,nbTilesY}
 	 * @post | new.getVisibleWindowDimension() == new int[] {visibleWindowWidth,visibleWindowHeight}
 	 * @post | new.getTargetTileCoordinates() == targetPosition
-	 * @effect | for (int feature: features)
-	 *		   |	if (!isValidFeature(feature))
-	 *		   |		then feature == AIR;
-	 *		   |	features.add(feature);
-	 * @effect | while (features.size() < this.getNumberOfTiles())
-	 *		   |	features.add(AIR);	
+	 * @post | for (int tile = 0; tile < new.getNumberOfTiles(); tile++)
+	 *		   |	if (tile < features.length && isValidFeature(features[tile]))
+	 *		   |		then new.getFeatureSymbols()[tile] == features[tile]
+	 *		   |	else
+	 *		   |		then new.getFeatureSymbols()[tile] == AIR
 	 * 
 	 */
 	public World(int tileLength,int nbTilesX, int nbTilesY,int[] targetPosition,int visibleWindowWidth, 
@@ -66,14 +68,14 @@ public class World {
 		setSizeInPixels(new int[] {nbTilesX,nbTilesY});
 		setVisibleWindowDimension(new int[] {visibleWindowWidth,visibleWindowHeight});
 		setTargetTileCoordinates(targetPosition);
-		for (int feature: features) {
+		this.features = new byte[this.getNumberOfTiles()];
+		for (int tile = 0; tile < this.features.length; tile++) {
+			int feature = (tile < features.length) ? features[tile] : Feature.AIR.getSymbol();
 			if (!isValidFeature(feature))
 				feature = Feature.AIR.getSymbol();
-			this.features.add(feature);
-		}
-		while (this.features.size() < this.getNumberOfTiles()) {
-			this.features.add(Feature.AIR.getSymbol());
+			this.features[tile] = (byte) feature;
 		}
+		this.grid = new SpatialGrid(this.getTileLength(), this.getHorizontalSizeInPixels(), this.getVerticalSizeInPixels());
 	}
 	
 	//****************************** HORIZONTAL SIZE IN PIXELS  **********************************//
@@ -352,14 +354,42 @@ public class World {
 	 * @return | if ((PixelX<0) || (PixelX>=getHorizontalSizeInPixels()) || (PixelY<0) || (PixelY>=getVerticalSizeInPixels())) 
 	 * 		   |	then result ==  AIR
 	 * 		   | else
-	 * 		   |    then result ==  Features.get(getTileOfPosition(PixelX, PixelY)-1)
+	 * 		   |    then result ==  getFeatureSymbolOfTile(PixelX/getTileLength(), PixelY/getTileLength())
 	 */
 	@Basic
 	public int getFeatureSymbolAtLocation(int PixelX,int PixelY) {
-		if ((PixelX<0) || (PixelX>=getHorizontalSizeInPixels()) || (PixelY<0) || (PixelY>=getVerticalSizeInPixels())) 
+		if ((PixelX<0) || (PixelX>=this.horizontalSizeInPixels) || (PixelY<0) || (PixelY>=this.verticalSizeInPixels))
+			return Feature.AIR.getSymbol();
+		else
+			return this.features[(PixelY/this.tileLength)*this.nbHorTiles + PixelX/this.tileLength];
+	}
+
+	/**
+	 * @param  tileX
+	 * @param  tileY
+	 * @return | if ((tileX<0) || (tileX>=getNumberOfHorTiles()) || (tileY<0) || (tileY>=getNumberOfVerTiles()))
+	 * 		   |	then result ==  AIR
+	 * 		   | else
+	 * 		   |    then result ==  the symbol of the feature of the tile (tileX, tileY)
+	 */
+	@Basic
+	public int getFeatureSymbolOfTile(int tileX, int tileY) {
+		if ((tileX<0) || (tileX>=this.nbHorTiles) || (tileY<0) || (tileY>=this.nbVerTiles))
 			return Feature.AIR.getSymbol();
-		else 
-			return this.features.get(this.getTileOfPosition(PixelX, PixelY)-1);
+		return this.features[tileY*this.nbHorTiles + tileX];
+	}
+
+	/**
+	 * @return | result.length == getNumberOfTiles()
+	 * @return | for each tile (tileX, tileY) of this world
+	 * 		   |	result[tileY*getNumberOfHorTiles() + tileX] == getFeatureSymbolOfTile(tileX, tileY)
+	 * @note	 The result is a copy; changing it does not change the terrain of this world.
+	 */
+	public int[] getFeatureSymbols() {
+		int[] copy = new int[this.features.length];
+		for (int tile = 0; tile < this.features.length; tile++)
+			copy[tile] = this.features[tile];
+		return copy;
 	}
 	
 	/**
@@ -372,11 +402,7 @@ public class World {
 	 */
 	@Basic
 	public Feature getFeature(int featureSymbol) {
-		for (Feature feature: Feature.values()) {
-			if (feature.getSymbol() == featureSymbol)
-				return feature;
-		}
-		return Feature.AIR;
+		return Feature.fromSymbol(featureSymbol);
 	}
 	
 	
@@ -389,11 +415,7 @@ public class World {
 	 * 		   |    then result ==  false
 	 */
 	public boolean isValidFeature(int featureSymbol) {
-		for (Feature feature: Feature.values()) {
-			if (feature.getSymbol() == featureSymbol)
-				return true;
-		}
-		return false;
+		return Feature.isValidSymbol(featureSymbol);
 	}
 	
 	/**
@@ -411,13 +433,105 @@ public class World {
 	public void setFeature(int PixelX,int PixelY,int feature) {
 		if ((PixelX<0) || (PixelX>=getHorizontalSizeInPixels()) || (PixelY<0) || (PixelY>=getVerticalSizeInPixels()))
 			return;
-		if (isValidFeature(feature))
-			this.features.set(this.getTileOfPosition(PixelX, PixelY)-1,feature);
-		else
-			this.features.set(this.getTileOfPosition(PixelX, PixelY)-1,Feature.AIR.getSymbol());
+		if (!isValidFeature(feature))
+			feature = Feature.AIR.getSymbol();
+		this.features[this.getTileOfPosition(PixelX, PixelY)-1] = (byte) feature;
 	}
 
-	public ArrayList<Integer> features = new ArrayList<Integer>();
+	/**
+	 * The symbols of the features of all tiles, row by row starting at the bottom row,
+	 * so that the tile (tileX, tileY) is stored at index tileY*getNumberOfHorTiles() + tileX.
+	 */
+	private final byte[] features;
+
+//************************************ TERRAIN QUERIES **************************************//
+
+	/**
+	 * Return the features overlapping with the given rectangle of pixels, as a bitmask
+	 * in which bit (1 << symbol) is set for every feature symbol that occurs.
+	 *
+	 * @param  x1
+	 * 		   The leftmost column of pixels of the rectangle.
+	 * @param  y1
+	 * 		   The bottom row of pixels of the rectangle.
+	 * @param  x2
+	 * 		   The rightmost column of pixels of the rectangle.
+	 * @param  y2
+	 * 		   The top row of pixels of the rectangle.
+	 * @return | for each x in x1..x2 and each y in y1..y2
+	 * 		   |	(result & (1 << getFeatureSymbolAtLocation(x, y))) != 0
+	 * @return | for each symbol
+	 * 		   |	if ((result & (1 << symbol)) != 0)
+	 * 		   |		then for some x in x1..x2 and some y in y1..y2
+	 * 		   |			getFeatureSymbolAtLocation(x, y) == symbol
+	 */
+	public int getFeatureMaskOfRectangle(int x1, int y1, int x2, int y2) {
+		if ((x2 < x1) || (y2 < y1))
+			return 0;
+		int mask = 0;
+		if ((x1 < 0) || (y1 < 0) || (x2 >= this.horizontalSizeInPixels) || (y2 >= this.verticalSizeInPixels))
+			mask |= 1 << Feature.AIR.getSymbol();
+		if ((x2 < 0) || (y2 < 0) || (x1 >= this.horizontalSizeInPixels) || (y1 >= this.verticalSizeInPixels))
+			return mask;
+		CollisionQueryEvent event = CollisionQueryEvent.isRecorded() ? new CollisionQueryEvent() : null;
+		if (event != null)
+			event.begin();
+		int firstTileX = Math.max(x1, 0)/this.tileLength;
+		int lastTileX = Math.min(x2, this.horizontalSizeInPixels-1)/this.tileLength;
+		int firstTileY = Math.max(y1, 0)/this.tileLength;
+		int lastTileY = Math.min(y2, this.verticalSizeInPixels-1)/this.tileLength;
+		for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+			int row = tileY*this.nbHorTiles;
+			for (int tileX = firstTileX; tileX <= lastTileX; tileX++)
+				mask |= 1 << this.features[row + tileX];
+		}
+		if ((event != null) && event.shouldCommit()) {
+			event.kind = CollisionQueryEvent.FEATURES;
+			event.candidates = (lastTileX-firstTileX+1)*(lastTileY-firstTileY+1);
+			event.commit();
+		}
+		return mask;
+	}
+
+	/**
+	 * Check whether the given rectangle of pixels overlaps with a feature having the given property.
+	 *
+	 * @param  x1
+	 * 		   The leftmost column of pixels of the rectangle.
+	 * @param  y1
+	 * 		   The bottom row of pixels of the rectangle.
+	 * @param  x2
+	 * 		   The rightmost column of pixels of the rectangle.
+	 * @param  y2
+	 * 		   The top row of pixels of the rectangle.
+	 * @param  property
+	 * 		   The property of features to look for.
+	 * @return | result == for some x in x1..x2 and some y in y1..y2
+	 * 		   |	Feature.hasProperty(getFeatureSymbolAtLocation(x, y), property)
+	 */
+	public boolean rectangleHasFeatureProperty(int x1, int y1, int x2, int y2, int property) {
+		return Feature.maskHasProperty(getFeatureMaskOfRectangle(x1, y1, x2, y2), property);
+	}
+
+	/**
+	 * Check whether the given rectangle of pixels overlaps with the given feature.
+	 *
+	 * @param  x1
+	 * 		   The leftmost column of pixels of the rectangle.
+	 * @param  y1
+	 * 		   The bottom row of pixels of the rectangle.
+	 * @param  x2
+	 * 		   The rightmost column of pixels of the rectangle.
+	 * @param  y2
+	 * 		   The top row of pixels of the rectangle.
+	 * @param  feature
+	 * 		   The feature to look for.
+	 * @return | result == for some x in x1..x2 and some y in y1..y2
+	 * 		   |	getFeatureSymbolAtLocation(x, y) == feature.getSymbol()
+	 */
+	public boolean rectangleContainsFeature(int x1, int y1, int x2, int y2, Feature feature) {
+		return ((getFeatureMaskOfRectangle(x1, y1, x2, y2) & (1 << feature.getSymbol())) != 0);
+	}
 
 //*********************************** SET MAZUB TO CONTROL ******************************************//
 
@@ -450,12 +564,30 @@ public class World {
 	
 	//**************************************** GAME OBJECTS ***************************************//
 
+	/**
+	 * Return a copy of the set of objects of this world, in the order in which they were added.
+	 * Use getObjectsView() to look at the objects without copying them.
+	 * 
+	 * @return | result.equals(getObjectsView())
+	 */
 	@Basic @Raw
 	public Set<Object> getObjects() {
-		LinkedHashSet<Object> copy = new LinkedHashSet<Object>(objects);
+		LinkedHashSet<Object> copy = new LinkedHashSet<Object>(this.objectsView);
 		return copy;
 	}
 	
+	/**
+	 * Return a read-only live view of the objects of this world, in the order in which they were added.
+	 * The view follows every change of this world without being copied. Objects added or removed while
+	 * the time of this world advances are added to or removed from the view at once.
+	 * 
+	 * @return | result.equals(getObjects())
+	 */
+	@Basic @Raw
+	public Set<Object> getObjectsView() {
+		return this.objectsView;
+	}
+	
 	/**
 	 * @param  object
 	 * @return | result == (object != null) && (! object.isTerminated()) && (! this.isTerminated())
@@ -468,8 +600,8 @@ public class World {
 	 * @param object
 	 * @throws IllegalArgumentException
 	 * 		| (!isValidObject(object))
-	 * @throws IllegalArgumentException
-	 * 		|  getObjects().size() >= 100
+	 * @throws IllegalStateException
+	 * 		|  getNumberOfObjects() >= getMaximumNumberOfObjects()
 	 * @throws IllegalArgumentException
 	 * 		|  gameStarted
 	 * @throws IllegalArgumentException
@@ -477,8 +609,8 @@ public class World {
 	 * @throws IllegalArgumentException
 	 * 		|  OverlapsWithImpassableTerrain(getWorld()) && (!(object instanceof Plant)
 	 * @throws IllegalArgumentException
-	 * 		|  (object.getPixelPosition()[0] < 0 || object.getPixelPosition()[0] >= getHorizontalSizeInPixels() 
-	 *		|	|| object.getPixelPosition()[1] < 0 || object.getPixelPosition()[1] >= getVerticalSizeInPixels()) 
+	 * 		|  (object.getPixelX() < 0 || object.getPixelX() >= getHorizontalSizeInPixels() 
+	 *		|	|| object.getPixelY() < 0 || object.getPixelY() >= getVerticalSizeInPixels()) 
 	 * @effect | if (this.getObjects().size() == 0 && object instance of Mazub)
 	 *		   | 	then setMazub(object)
 	 * @effect | objects.add(object);
@@ -490,7 +622,7 @@ public class World {
 			throw new IllegalArgumentException("Illegal object");
 		else if (object instanceof Mazub && this.worldAlreadyContainsMazub())
 			throw new IllegalArgumentException("World already contains a Mazub");
-		else if (this.getObjects().size() >= 100) {
+		else if (this.getNumberOfObjects() >= this.getMaximumNumberOfObjects()) {
 			if (((object instanceof Mazub) && (this.getPlayerMazub()!=null)) || !(object instanceof Mazub))
 			throw new IllegalStateException("Too many objects");
 		}
@@ -500,13 +632,20 @@ public class World {
 			throw new IllegalArgumentException("Already in other world");
 		else if (((GameObject) object).overlapsWithImpassableTerrain(this) && (!(object instanceof Plant))) 
 			throw new IllegalStateException("Impassable terrain");
-		else if (((GameObject) object).getPixelPosition()[0] < 0 || ((GameObject) object).getPixelPosition()[0] >= this.getHorizontalSizeInPixels() 
-				|| ((GameObject) object).getPixelPosition()[1] < 0 || ((GameObject) object).getPixelPosition()[1] >= this.getVerticalSizeInPixels()) 
+		else if (((GameObject) object).getPixelX() < 0 || ((GameObject) object).getPixelX() >= this.getHorizontalSizeInPixels() 
+				|| ((GameObject) object).getPixelY() < 0 || ((GameObject) object).getPixelY() >= this.getVerticalSizeInPixels()) 
 			throw new IllegalArgumentException("Illegal position");
 		if (this.getPlayerMazub()==null && object instanceof Mazub) 
 			this.setPlayerMazub((jumpingalien.model.Mazub) object);
-		objects.add(object);
+		if (this.isAdvancingTime)
+			this.pendingAdditions.add(object);
+		else
+			objects.add(object);
 		((GameObject) object).setWorld(this);
+		this.registry.register((GameObject) object);
+		if (this.usesEntityStore())
+			this.attachToEntityStore((GameObject) object);
+		this.grid.add((GameObject) object);
 	}
 	
 	/**
@@ -514,24 +653,17 @@ public class World {
 	 * @return	|	result == this.objects.stream().anyMatch(object->object instanceof Mazub)
 	 */
 	public boolean worldAlreadyContainsMazub() {
-		return this.objects.stream().anyMatch(object->object instanceof Mazub);
-
+		return (this.registry.size(ObjectRegistry.MAZUB) > 0);
 	}
 	
 	/**
 	 * 
 	 * @param slime
-	 * @return |	result == for any worldobject in this.objects
-	 * 		   |		worldobject.getId()==slime.getId()
+	 * @return |	result == for any slime in getSlimes()
+	 * 		   |		worldslime.getId()==slime.getId()
 	 */
 	public boolean isSlimeDuplicate(Slime slime) {		
-		for (Object worldobject: this.objects) {
-			if (worldobject instanceof Slime) {
-				if (((Slime) worldobject).getId() == slime.getId())
-					return true;
-			}
-		}
-		return false;
+		return this.registry.containsSlimeWithId(slime.getId());
 	}
 
 	/**
@@ -542,40 +674,438 @@ public class World {
 	 *		   | 	then setMazub(null)
 	 * @effect  | ((GameObject) object).setWorld(null)
 	 *		   | objects.remove(object)
+	 * @note	  While the time of this world advances, the object is only taken out of the order of objects 
+	 * 			  once all objects have advanced, so that the iteration over them is not disturbed.
+	 * @note	  If the object lies dormant, it first catches up with the advancements of time it has missed,
+	 * 			  together with the objects lying dormant with it.
+	 * @note	  While the objects of this world advance in parallel, the object keeps its handle and its cell
+	 * 			  in the spatial grid until all objects have advanced, so that handles are handed out in the
+	 * 			  same order as when the objects advance one after the other.
 	 */
 	@Raw
 	public void removeObject(Object object) throws IllegalArgumentException {
 		if (!(((GameObject) object).getWorld()== this)) 
 			throw new IllegalArgumentException("Object not in this world");
+		this.dormancy.wake((GameObject) object);
 		if (object == this.getPlayerMazub())
 			this.playerMazub = null;
 		((GameObject) object).setWorld(null);
-		objects.remove(object);
+		if (((GameObject) object).isAttachedTo(this.entities))
+			((GameObject) object).detachFromStore();
+		if (this.isAdvancingInParallel && ParallelAdvance.deferRemoval(object))
+			return;
+		this.unregisterObject(object);
+		this.grid.remove((GameObject) object);
+	}
+	
+	/**
+	 * Take the given object, which has been removed from this world, out of the objects and the registry of this world.
+	 */
+	private void unregisterObject(Object object) {
+		if (this.isAdvancingTime) {
+			if (!this.pendingAdditions.remove(object))
+				this.pendingRemovals.add(object);
+		}
+		else
+			objects.remove(object);
+		this.registry.unregister((GameObject) object);
 	}
 	
 	LinkedHashSet<Object> objects = new LinkedHashSet<Object>();
 	
-	//**************************************** ITERATOR ********************************************//
+	//************************************ DEFERRED ADD AND REMOVE ****************************************//
+	
 	/**
+	 * Apply the additions and removals of objects made while the time of this world advanced.
 	 * 
-	 * @return	| result == new Iterator()
+	 * @effect | for object in pendingRemovals
+	 * 		   |	objects.remove(object)
+	 * @effect | for object in pendingAdditions
+	 * 		   |	objects.remove(object)
+	 * 		   |	objects.add(object)
 	 */
-    @SuppressWarnings("all")
-	public Iterator iterator() {
-		return new Iterator() {
-
-			public boolean hasNext() {
-				return (currentIterator.hasNext());
+	private void applyPendingChanges() {
+		if (!this.pendingRemovals.isEmpty()) {
+			for (Object object: this.pendingRemovals)
+				this.objects.remove(object);
+			this.pendingRemovals.clear();
+		}
+		if (!this.pendingAdditions.isEmpty()) {
+			for (Object object: this.pendingAdditions) {
+				this.objects.remove(object);
+				this.objects.add(object);
 			}
-
-			public Object next() throws NoSuchElementException {
-				if (!hasNext())
-					throw new NoSuchElementException();
-				return currentIterator.next();
+			this.pendingAdditions.clear();
+		}
+	}
+	
+	/**
+	 * Objects added to and removed from this world while its time advances.
+	 */
+	private final LinkedHashSet<Object> pendingAdditions = new LinkedHashSet<Object>();
+	private final ArrayList<Object> pendingRemovals = new ArrayList<Object>();
+	
+	/**
+	 * Variable registering whether the objects of this world are advancing their time.
+	 */
+	private boolean isAdvancingTime = false;
+	
+	/**
+	 * Variable registering whether the objects of this world are advancing their time in parallel. While they do,
+	 * the spatial grid of this world is only read, and the objects that move are only moved in it afterwards.
+	 */
+	private boolean isAdvancingInParallel = false;
+	
+	/**
+	 * Read-only live view of the objects of this world, skipping objects that were removed 
+	 * and including objects that were added while the time of this world advances.
+	 */
+	private final Set<Object> objectsView = new AbstractSet<Object>() {
+		
+		@Override
+		public Iterator<Object> iterator() {
+			return new Iterator<Object>() {
+				
+				public boolean hasNext() {
+					while (this.nextObject == null) {
+						if (this.current.hasNext()) {
+							Object object = this.current.next();
+							if (this.inPendingAdditions || (hasAsObject(object) && !pendingAdditions.contains(object)))
+								this.nextObject = object;
+						}
+						else if (!this.inPendingAdditions && !pendingAdditions.isEmpty()) {
+							this.current = pendingAdditions.iterator();
+							this.inPendingAdditions = true;
+						}
+						else
+							return false;
+					}
+					return true;
+				}
+				
+				public Object next() throws NoSuchElementException {
+					if (!hasNext())
+						throw new NoSuchElementException();
+					Object result = this.nextObject;
+					this.nextObject = null;
+					return result;
+				}
+				
+				private Iterator<Object> current = objects.iterator();
+				private boolean inPendingAdditions = false;
+				private Object nextObject = null;
+			};
+		}
+		
+		@Override
+		public int size() {
+			return getNumberOfObjects();
+		}
+		
+		@Override
+		public boolean contains(Object object) {
+			return hasAsObject(object);
+		}
+	};
+	
+	//**************************************** OBJECT REGISTRY ***************************************//
+	
+	/**
+	 * @return | result == getObjects().size()
+	 */
+	public int getNumberOfObjects() {
+		return this.registry.size();
+	}
+	
+	/**
+	 * @param  object
+	 * @return | result == getObjects().contains(object)
+	 */
+	public boolean hasAsObject(Object object) {
+		return ((object instanceof GameObject) && this.registry.contains((GameObject) object));
+	}
+	
+	/**
+	 * Return the handle of the given object in this world. The handle of an object does not change 
+	 * as long as the object stays in this world, handles of removed objects are reused.
+	 * 
+	 * @param  object
+	 * @throws IllegalArgumentException
+	 * 		   | !hasAsObject(object)
+	 * @return | getObjectWithHandle(result) == object
+	 */
+	public int getObjectHandle(Object object) throws IllegalArgumentException {
+		if (!hasAsObject(object))
+			throw new IllegalArgumentException("Object not in this world");
+		return ((GameObject) object).handle;
+	}
+	
+	/**
+	 * @param  handle
+	 * @return | if (for some object in getObjects(): getObjectHandle(object) == handle)
+	 * 		   |	then result == object
+	 * 		   | else
+	 * 		   |	then result == null
+	 */
+	public GameObject getObjectWithHandle(int handle) {
+		return this.registry.getObject(handle);
+	}
+	
+	/**
+	 * @return | result == the set of all objects of getObjects() that are a Shark
+	 */
+	public List<Shark> getSharks() {
+		List<Shark> sharks = new ArrayList<Shark>(this.registry.size(ObjectRegistry.SHARK));
+		for (int slot = 0; slot < this.registry.size(ObjectRegistry.SHARK); slot++)
+			sharks.add((Shark) this.registry.get(ObjectRegistry.SHARK, slot));
+		return sharks;
+	}
+	
+	/**
+	 * @return | result == the set of all objects of getObjects() that are a Slime
+	 */
+	public List<Slime> getSlimes() {
+		List<Slime> slimes = new ArrayList<Slime>(this.registry.size(ObjectRegistry.SLIME));
+		for (int slot = 0; slot < this.registry.size(ObjectRegistry.SLIME); slot++)
+			slimes.add((Slime) this.registry.get(ObjectRegistry.SLIME, slot));
+		return slimes;
+	}
+	
+	/**
+	 * @return | result == the set of all objects of getObjects() that are a Plant
+	 */
+	public List<Plant> getPlants() {
+		List<Plant> plants = new ArrayList<Plant>(this.registry.size(ObjectRegistry.PLANT));
+		for (int slot = 0; slot < this.registry.size(ObjectRegistry.PLANT); slot++)
+			plants.add((Plant) this.registry.get(ObjectRegistry.PLANT, slot));
+		return plants;
+	}
+	
+	/**
+	 * Registry giving every object of this world a handle and keeping the objects in a dense array per kind.
+	 */
+	private final ObjectRegistry registry = new ObjectRegistry();
+	
+	//**************************************** ENTITY STORE ***************************************//
+	
+	/**
+	 * Check whether the kinematic state of the objects of this world is kept in the entity store of
+	 * this world, at the handles of the objects, so that the quantities of their integration that only depend on
+	 * their velocity and acceleration are computed in bulk at the start of every advancement of time.
+	 * 
+	 * @note	 A new world does not use its entity store: the advanceWorldTime benchmarks show no consistent
+	 * 			 gain from it, while every access to the state of an object attached to it goes through its slot.
+	 */
+	@Basic
+	public boolean usesEntityStore() {
+		return this.usesEntityStore;
+	}
+	
+	/**
+	 * Set whether the kinematic state of the objects of this world is kept in the entity store of
+	 * this world. The state of the objects does not change, nor does the way their time advances.
+	 * 
+	 * @param	usesEntityStore
+	 * 			Whether the entity store is used.
+	 * @post	| new.usesEntityStore() == usesEntityStore
+	 */
+	public void setUsesEntityStore(boolean usesEntityStore) {
+		if (usesEntityStore == this.usesEntityStore)
+			return;
+		this.usesEntityStore = usesEntityStore;
+		for (int kind = 0; kind < ObjectRegistry.NB_KINDS; kind++) {
+			for (int slot = 0; slot < this.registry.size(kind); slot++) {
+				GameObject object = this.registry.get(kind, slot);
+				if (usesEntityStore)
+					this.attachToEntityStore(object);
+				else
+					object.detachFromStore();
 			}
+		}
+	}
+	
+	/**
+	 * Keep the kinematic state of the given object of this world in the entity store, at the handle of the object.
+	 */
+	private void attachToEntityStore(GameObject object) {
+		int flags = (ObjectRegistry.getKindOf(object) == ObjectRegistry.MAZUB) ? EntityStore.PLAYER : 0;
+		object.attachTo(this.entities, flags);
+	}
+	
+	private boolean usesEntityStore = false;
+	
+	/**
+	 * Store of the kinematic state of the objects of this world, indexed by their handles.
+	 */
+	private final EntityStore entities = new EntityStore(16);
+	
+	//**************************************** OBJECT LIMITS ***************************************//
+	
+	@Basic @Raw
+	public int getMaximumNumberOfObjects() {
+		return this.maximumNumberOfObjects;
+	}
+	
+	/**
+	 * @param  maximumNumberOfObjects
+	 * @return | result == (maximumNumberOfObjects > 0)
+	 */
+	public static boolean isValidMaximumNumberOfObjects(int maximumNumberOfObjects) {
+		return (maximumNumberOfObjects > 0);
+	}
+	
+	/**
+	 * Set the maximum number of objects of this world. Use Integer.MAX_VALUE for a world without limit.
+	 * 
+	 * @param  maximumNumberOfObjects
+	 * @throws IllegalArgumentException
+	 * 		   | !isValidMaximumNumberOfObjects(maximumNumberOfObjects)
+	 * @post   | new.getMaximumNumberOfObjects() == maximumNumberOfObjects
+	 */
+	@Raw
+	public void setMaximumNumberOfObjects(int maximumNumberOfObjects) throws IllegalArgumentException {
+		if (!isValidMaximumNumberOfObjects(maximumNumberOfObjects))
+			throw new IllegalArgumentException("Illegal maximum number of objects");
+		this.maximumNumberOfObjects = maximumNumberOfObjects;
+	}
+	
+	public static final int DEFAULT_MAXIMUM_NUMBER_OF_OBJECTS = 100;
+	
+	private int maximumNumberOfObjects = DEFAULT_MAXIMUM_NUMBER_OF_OBJECTS;
+	
+	@Basic @Raw
+	public int getMaximumNumberOfSchools() {
+		return this.maximumNumberOfSchools;
+	}
+	
+	/**
+	 * @param  maximumNumberOfSchools
+	 * @return | result == (maximumNumberOfSchools > 0)
+	 */
+	public static boolean isValidMaximumNumberOfSchools(int maximumNumberOfSchools) {
+		return (maximumNumberOfSchools > 0);
+	}
+	
+	/**
+	 * Set the maximum number of schools of this world. Use Integer.MAX_VALUE for a world without limit.
+	 * 
+	 * @param  maximumNumberOfSchools
+	 * @throws IllegalArgumentException
+	 * 		   | !isValidMaximumNumberOfSchools(maximumNumberOfSchools)
+	 * @post   | new.getMaximumNumberOfSchools() == maximumNumberOfSchools
+	 */
+	@Raw
+	public void setMaximumNumberOfSchools(int maximumNumberOfSchools) throws IllegalArgumentException {
+		if (!isValidMaximumNumberOfSchools(maximumNumberOfSchools))
+			throw new IllegalArgumentException("Illegal maximum number of schools");
+		this.maximumNumberOfSchools = maximumNumberOfSchools;
+	}
+	
+	public static final int DEFAULT_MAXIMUM_NUMBER_OF_SCHOOLS = 10;
+	
+	private int maximumNumberOfSchools = DEFAULT_MAXIMUM_NUMBER_OF_SCHOOLS;
+	
+	//************************************** SPATIAL INDEX *****************************************//
+	
+	/**
+	 * Return all objects of this world whose current sprite overlaps with the given rectangle of pixels,
+	 * in the order in which they were added to this world.
+	 * 
+	 * @param  x1
+	 * 		   The leftmost column of pixels of the rectangle.
+	 * @param  y1
+	 * 		   The bottom row of pixels of the rectangle.
+	 * @param  x2
+	 * 		   The rightmost column of pixels of the rectangle.
+	 * @param  y2
+	 * 		   The top row of pixels of the rectangle.
+	 * @return | for object in getObjects()
+	 * 		   |	result.contains(object) == (object.getPixelX() <= x2 && 
+	 * 		   |		object.getPixelX()+object.getCurrentSprite().getWidth()-1 >= x1 &&
+	 * 		   |		object.getPixelY() <= y2 && 
+	 * 		   |		object.getPixelY()+object.getCurrentSprite().getHeight()-1 >= y1)
+	 */
+	public List<GameObject> getObjectsInRectangle(int x1, int y1, int x2, int y2) {
+		List<GameObject> result = new ArrayList<GameObject>();
+		this.getObjectsInRectangle(x1, y1, x2, y2, result);
+		return result;
+	}
 
-			public Iterator currentIterator = getObjects().iterator();
-		};
+	/**
+	 * Add all objects of this world whose current sprite overlaps with the given rectangle of pixels to the given
+	 * empty list, in the order in which they were added to this world. Game objects pass a list of their own, so
+	 * that their queries while advancing do not allocate a new list.
+	 * 
+	 * @param  result
+	 * 		   The list to add the objects to.
+	 * @effect | result.addAll(getObjectsInRectangle(x1, y1, x2, y2))
+	 */
+	void getObjectsInRectangle(int x1, int y1, int x2, int y2, List<GameObject> result) {
+		if (this.isAdvancingInParallel && ParallelAdvance.getObjectsIn(this.grid, x1, y1, x2, y2, result))
+			return;
+		this.grid.getObjectsIn(x1, y1, x2, y2, result);
+	}
+
+	/**
+	 * Return the number of times this world has been queried for the objects in a rectangle.
+	 */
+	public long getNbObjectQueries() {
+		return this.grid.getNbQueries();
+	}
+
+	/**
+	 * Return the number of objects this world has examined while answering queries for the objects in a rectangle.
+	 */
+	public long getNbObjectQueryCandidates() {
+		return this.grid.getNbCandidates();
+	}
+
+	/**
+	 * Return all objects of this world whose current sprite overlaps with the visible window of this world,
+	 * extended with the given margin at each side, in the order in which they were added to this world.
+	 *
+	 * @param  margin
+	 * 		   The number of pixels the visible window is extended with at each side.
+	 * @return | result == getObjectsInRectangle(getVisibleWindowPosition()[0]-margin, getVisibleWindowPosition()[1]-margin,
+	 * 		   |		getVisibleWindowPosition()[0]+getVisibleWindowDimension()[0]-1+margin,
+	 * 		   |		getVisibleWindowPosition()[1]+getVisibleWindowDimension()[1]-1+margin)
+	 * @throws IllegalArgumentException
+	 * 		   | margin < 0
+	 */
+	public List<GameObject> getObjectsInVisibleWindow(int margin) throws IllegalArgumentException {
+		if (margin < 0)
+			throw new IllegalArgumentException("Illegal margin");
+		int[] position = this.getVisibleWindowPosition();
+		int[] dimension = this.getVisibleWindowDimension();
+		return this.getObjectsInRectangle(position[0]-margin, position[1]-margin,
+				position[0]+dimension[0]-1+margin, position[1]+dimension[1]-1+margin);
+	}
+
+	/**
+	 * Register that the pixel position of the given object in this world has changed.
+	 * 
+	 * @param  object
+	 * 		   The object that has moved.
+	 */
+	void objectMoved(GameObject object) {
+		if (!this.isAdvancingInParallel || !ParallelAdvance.deferMove(object))
+			this.grid.update(object);
+	}
+	
+	/**
+	 * Uniform grid of cells of one tile, indexing the objects of this world by their pixel position.
+	 */
+	private final SpatialGrid grid;
+	
+	//**************************************** ITERATOR ********************************************//
+	/**
+	 * Return an iterator over the live view of the objects of this world.
+	 * 
+	 * @return	| result == getObjectsView().iterator()
+	 */
+    @SuppressWarnings("all")
+	public Iterator iterator() {
+		return this.objectsView.iterator();
 	}
 	
 	//****************************************** SCHOOLS **********************************************//
@@ -591,11 +1121,11 @@ public class World {
 	/**
 	 * @param school
 	 * @throws IllegalArgumentException
-	 * 		|	this.getSchools().size()>=10
+	 * 		|	this.getSchools().size()>=getMaximumNumberOfSchools()
 	 * @effect |	schools.add(school)
 	 */
 	public void addSchool(School school) throws IllegalArgumentException {
-		if (this.getSchools().size()>=10) {
+		if (this.schools.size()>=this.getMaximumNumberOfSchools()) {
 			throw new IllegalArgumentException("Maximum schools reached");
 		}
 		schools.add(school);
@@ -631,8 +1161,12 @@ public class World {
 		this.isTerminated = true;
 		for (Object object: this.objects) {
 			((GameObject) object).setWorld(null);
+			if (((GameObject) object).isAttachedTo(this.entities))
+				((GameObject) object).detachFromStore();
 		}
 		this.objects.clear();
+		this.registry.clear();
+		this.grid.clear();
 	}
 
 	@Basic @Raw
@@ -738,14 +1272,14 @@ public class World {
 		
 		//Horizontal Window Position
 		if (this.getVisibleWindowDimension()[0] > this.getPlayerMazub().getCurrentSprite().getWidth()+400) {
-			if (this.getPlayerMazub().getPixelPosition()[0] > 200 && (this.getHorizontalSizeInPixels() - 
-					(this.getPlayerMazub().getPixelPosition()[0] + this.getPlayerMazub().getCurrentSprite().getWidth()) > 200)) {
-				int new_hor_VWP = (this.getPlayerMazub().getPixelPosition()[0]-200);
+			if (this.getPlayerMazub().getPixelX() > 200 && (this.getHorizontalSizeInPixels() - 
+					(this.getPlayerMazub().getPixelX() + this.getPlayerMazub().getCurrentSprite().getWidth()) > 200)) {
+				int new_hor_VWP = (this.getPlayerMazub().getPixelX()-200);
 				this.setVisibleWindowPosition(new int[] {new_hor_VWP,this.getVisibleWindowPosition()[1]});
 			}
 		}
 		else {
-			int middle_of_mazub = (this.getPlayerMazub().getPixelPosition()[0] + (this.getPlayerMazub().getCurrentSprite().getWidth())/2);
+			int middle_of_mazub = (this.getPlayerMazub().getPixelX() + (this.getPlayerMazub().getCurrentSprite().getWidth())/2);
 			int new_hor_VWP = ( (middle_of_mazub) - (this.getVisibleWindowDimension()[0])/2);
 			if ((new_hor_VWP + this.getVisibleWindowDimension()[0]) >= this.horizontalSizeInPixels) {
 				this.setVisibleWindowPosition(new int[] {this.horizontalSizeInPixels-this.getVisibleWindowDimension()[0],this.getVisibleWindowPosition()[1]});
@@ -761,14 +1295,14 @@ public class World {
 		
 		//Vertical Window Position
 		if (this.getVisibleWindowDimension()[1] > this.getPlayerMazub().getCurrentSprite().getHeight()+400) {
-			if (this.getPlayerMazub().getPixelPosition()[1] > 200 && (this.getVerticalSizeInPixels() - 
-					(this.getPlayerMazub().getPixelPosition()[1] + this.getPlayerMazub().getCurrentSprite().getHeight()) > 200)) {
-				int new_ver_VWP = (this.getPlayerMazub().getPixelPosition()[1]-200);
+			if (this.getPlayerMazub().getPixelY() > 200 && (this.getVerticalSizeInPixels() - 
+					(this.getPlayerMazub().getPixelY() + this.getPlayerMazub().getCurrentSprite().getHeight()) > 200)) {
+				int new_ver_VWP = (this.getPlayerMazub().getPixelY()-200);
 				this.setVisibleWindowPosition(new int[] {this.getVisibleWindowPosition()[0],new_ver_VWP});
 			}
 		}
 		else {
-			int middle_of_mazub = (this.getPlayerMazub().getPixelPosition()[1] + (this.getPlayerMazub().getCurrentSprite().getHeight())/2);
+			int middle_of_mazub = (this.getPlayerMazub().getPixelY() + (this.getPlayerMazub().getCurrentSprite().getHeight())/2);
 			int new_ver_VWP = ( (middle_of_mazub) - (this.getVisibleWindowDimension()[1])/2);
 			if ((new_ver_VWP + this.getVisibleWindowDimension()[1]) >= this.verticalSizeInPixels) {
 				this.setVisibleWindowPosition(new int[] {this.getVisibleWindowPosition()[0],this.verticalSizeInPixels-this.getVisibleWindowDimension()[1]});
@@ -802,8 +1336,13 @@ public class World {
 	 * @param 	dt
 	 * @throws 	 IllegalArgumentException
 	 *		   | !isValidTimeDuration(dt)
-	 * @effect | if (getObjects().size() != 0)
-	 *		   | 	getObjects().forEach(object->((GameObject) object).advanceObjectsTime(dt))
+	 * @effect | for object in getObjects()
+	 *		   | 	object.advanceObjectsTime(dt)
+	 * @note	 Every object of this world when the time starts to advance advances its time, also when it is
+	 * 			 removed from this world by an object advancing before it. Objects added meanwhile only advance
+	 * 			 from the next call on.
+	 * @note	 If getActivityMargin() >= 0, only the objects in the activity region of this world advance,
+	 * 			 after those of them that were dormant have caught up (see getActivityMargin()).
 	 * @effect | if ((getPlayerMazub() != null) && (getPlayerMazub().isDead()))
 	 *		   | 	then didPlayerWin == false
 	 *		   | 	then isGameOver == true
@@ -814,8 +1353,60 @@ public class World {
 		
 		if (!isValidTimeDuration(dt)) throw new IllegalArgumentException("Illegal time duration");
 		
-		if (this.getObjects().size() != 0) {
-			this.getObjects().forEach(object->((GameObject) object).advanceObjectsTime(dt));
+		PhaseProfiler profiler = this.getProfiler();
+		long worldTime = profiler.start();
+		WorldTickEvent event = WorldTickEvent.isRecorded() ? new WorldTickEvent() : null;
+		if (event != null)
+			event.begin();
+		int nbObjects = 0;
+		long nbSubSteps = 0;
+		this.isAdvancingTime = true;
+		if (this.usesEntityStore())
+			this.entities.integrate(dt, this.registry.getHandleBound());
+		Collection<Object> advancingObjects = this.objects;
+		ParallelAdvance parallelAdvance = null;
+		try {
+			if (this.getActivityMargin() >= 0) {
+				long catchUpTime = profiler.start();
+				int[] region = this.getActivityRegion();
+				advancingObjects = this.dormancy.prepareTick(this.objects, dt, region[0], region[1], region[2], region[3]);
+				if (catchUpTime != 0)
+					profiler.stop("catchUp", catchUpTime);
+				profiler.count("dormant objects", this.objects.size() - advancingObjects.size());
+			}
+			if (this.advancesInParallel() && this.gameStarted) {
+				if ((this.parallelAdvance == null) || !this.parallelAdvance.isValidFor(advancingObjects, dt))
+					this.parallelAdvance = ParallelAdvance.partition(advancingObjects, dt, this.maxParallelTasks,
+							this.minParallelTaskSize);
+				parallelAdvance = this.parallelAdvance;
+			}
+			if ((parallelAdvance != null) && (parallelAdvance.getNbGroups() > 1)) {
+				this.isAdvancingInParallel = true;
+				try {
+					parallelAdvance.advance(dt, profiler);
+				} finally {
+					this.isAdvancingInParallel = false;
+					parallelAdvance.resolve(this.grid);
+					for (Object object: parallelAdvance.getRemovals())
+						this.unregisterObject(object);
+				}
+				nbObjects = parallelAdvance.getNbAdvancedObjects();
+				nbSubSteps = parallelAdvance.getNbSubSteps();
+				parallelAdvance.rethrowFailure();
+			}
+			else {
+				for (Object object: advancingObjects) {
+					long objectTime = profiler.start();
+					((GameObject) object).advanceObjectsTime(dt);
+					if (objectTime != 0)
+						profiler.stop(object.getClass().getSimpleName(), objectTime);
+					nbObjects++;
+					nbSubSteps += ((GameObject) object).getNbSubStepsOfLastAdvance();
+				}
+			}
+		} finally {
+			this.isAdvancingTime = false;
+			this.applyPendingChanges();
 		}
 		if ((getPlayerMazub() != null) && (getPlayerMazub().isDead())) {
 			this.didPlayerWin = false;
@@ -823,7 +1414,164 @@ public class World {
 		}
 		if ((getPlayerMazub() != null) && (!(getPlayerMazub().isDead())))
 			changeVisibleWindowPosition();
+		profiler.stop("advanceWorldTime", worldTime);
+		if ((event != null) && event.shouldCommit()) {
+			event.dt = dt;
+			event.objectCount = nbObjects;
+			event.subSteps = nbSubSteps;
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Check whether the objects of this world advance their time in parallel once the game has started.
+	 * 
+	 * @note	 The objects are split in groups of objects that cannot interact while the time advances,
+	 * 			 and the groups advance concurrently. The result is the same as when the objects advance
+	 * 			 one after the other, unless an object throws an exception: then all groups still finish
+	 * 			 advancing, and the exception of the object that advances first is thrown.
+	 * @note	 The objects only advance concurrently if there are enough of them to keep at least two
+	 * 			 threads busy; fewer objects advance one after the other, as handing them over to other
+	 * 			 threads takes longer than advancing them.
+	 */
+	@Basic
+	public boolean advancesInParallel() {
+		return this.advancesInParallel;
+	}
+	
+	/**
+	 * Set whether the objects of this world advance their time in parallel once the game has started.
+	 * 
+	 * @param	advancesInParallel
+	 * 			Whether the objects advance in parallel.
+	 * @post	| new.advancesInParallel() == advancesInParallel
+	 */
+	public void setAdvancesInParallel(boolean advancesInParallel) {
+		this.advancesInParallel = advancesInParallel;
+		this.parallelAdvance = null;
+	}
+	
+	private boolean advancesInParallel = false;
+	
+	/**
+	 * Set the largest number of tasks the objects of this world are split in when they advance in parallel,
+	 * and the smallest number of objects worth a task of their own.
+	 * 
+	 * @param	maxTasks
+	 * 			The largest number of tasks.
+	 * @param	minTaskSize
+	 * 			The smallest number of objects in a task.
+	 */
+	void setParallelSplit(int maxTasks, int minTaskSize) {
+		this.maxParallelTasks = maxTasks;
+		this.minParallelTaskSize = minTaskSize;
+		this.parallelAdvance = null;
+	}
+	
+	private int maxParallelTasks = ParallelAdvance.MAX_TASKS;
+	private int minParallelTaskSize = ParallelAdvance.MIN_TASK_SIZE;
+	
+	/**
+	 * The split of the objects of this world over the tasks of the last advancement in parallel, kept to
+	 * advance them again as long as it holds for them.
+	 */
+	private ParallelAdvance parallelAdvance = null;
+	
+	//************************************ ACTIVITY REGION ******************************************//
+	
+	/**
+	 * Return the number of pixels around the visible window and around the player Mazub of this world within
+	 * which objects take part in the advancement of time. A negative margin means all objects of this world
+	 * always take part.
+	 * 
+	 * @note	 Objects outside the activity region lie dormant: they do not advance at all. As soon as they
+	 * 			 can re-enter the region, they catch up with the advancements of time they have missed, over the
+	 * 			 very same time durations, before the objects of the region advance. Objects only lie dormant
+	 * 			 in groups that no other object can come near while they lie dormant, and the objects of a group
+	 * 			 catch up together, so their catch-up is exact, unless an object throws an exception while
+	 * 			 advancing. Objects lie dormant for a bounded number of advancements of time at most, after which
+	 * 			 they catch up as well.
+	 */
+	@Basic
+	public int getActivityMargin() {
+		return this.activityMargin;
+	}
+	
+	/**
+	 * Set the number of pixels around the visible window and around the player Mazub of this world within
+	 * which objects take part in the advancement of time.
+	 * 
+	 * @param	activityMargin
+	 * 			The new margin, or a negative number to let all objects take part.
+	 * @post	| new.getActivityMargin() == activityMargin
+	 * @effect	| if (activityMargin < 0)
+	 * 			|	then every dormant object catches up with the advancements of time it has missed
+	 * @throws	IllegalStateException
+	 * 			The time of this world is advancing.
+	 * 		|	isAdvancingTime
+	 */
+	public void setActivityMargin(int activityMargin) throws IllegalStateException {
+		if (this.isAdvancingTime)
+			throw new IllegalStateException("Time is advancing");
+		if (activityMargin < 0)
+			this.dormancy.wakeAll();
+		this.activityMargin = activityMargin;
 	}
 	
+	/**
+	 * Return the smallest rectangle enclosing the visible window and the player Mazub of this world, extended with
+	 * the activity margin at each side, as its leftmost column, bottom row, rightmost column and top row of pixels.
+	 */
+	private int[] getActivityRegion() {
+		int[] position = this.getVisibleWindowPosition();
+		int[] dimension = this.getVisibleWindowDimension();
+		long x1 = position[0], y1 = position[1];
+		long x2 = position[0]+dimension[0]-1, y2 = position[1]+dimension[1]-1;
+		Mazub mazub = this.getPlayerMazub();
+		if (mazub != null) {
+			x1 = Math.min(x1, mazub.getPixelX());
+			y1 = Math.min(y1, mazub.getPixelY());
+			x2 = Math.max(x2, mazub.getPixelX()+mazub.getCurrentSprite().getWidth()-1);
+			y2 = Math.max(y2, mazub.getPixelY()+mazub.getCurrentSprite().getHeight()-1);
+		}
+		int margin = this.getActivityMargin();
+		return new int[] {clampToPixels(x1-margin), clampToPixels(y1-margin),
+				clampToPixels(x2+margin), clampToPixels(y2+margin)};
+	}
+	
+	/**
+	 * Return the given pixel coordinate, limited to the range of pixel coordinates.
+	 */
+	private static int clampToPixels(long coordinate) {
+		return (int) Math.max(Integer.MIN_VALUE/2, Math.min(Integer.MAX_VALUE/2, coordinate));
+	}
+	
+	/**
+	 * Return the number of objects of this world lying dormant.
+	 */
+	int getNbDormantObjects() {
+		return this.dormancy.getNbDormantObjects();
+	}
+	
+	private int activityMargin = -1;
+	
+	/**
+	 * The dormancy of the objects of this world outside its activity region.
+	 */
+	private final Dormancy dormancy = new Dormancy(this);
+	
+	//************************************ PROFILING ******************************************//
+	
+	/**
+	 * Return the profiler recording how long advancing the time of this world and of its objects takes.
+	 * The profiler is disabled until it is enabled explicitly.
+	 */
+	@Basic @Immutable
+	public PhaseProfiler getProfiler() {
+		return this.profiler;
+	}
+	
+	private final PhaseProfiler profiler = new PhaseProfiler();
+	
 	
 }
\ No newline at end of file
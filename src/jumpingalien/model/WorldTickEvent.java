@@ -0,0 +1,39 @@
+package jumpingalien.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event covering one advancement of the time of a world.
+ */
+@Name("jumpingalien.WorldTick")
+@Label("World Tick")
+@Category({ "Jumping Alien", "Simulation" })
+@Description("Advancing the time of a world and all of its objects")
+class WorldTickEvent extends jdk.jfr.Event {
+
+	/**
+	 * Check whether a recording is collecting world tick events, so that worlds need not even allocate
+	 * an event while none is.
+	 */
+	static boolean isRecorded() {
+		return TYPE.isEnabled();
+	}
+
+	private static final EventType TYPE = EventType.getEventType(WorldTickEvent.class);
+
+	@Label("Time Duration")
+	@Description("The in-game time the world advanced, in seconds")
+	double dt;
+
+	@Label("Object Count")
+	@Description("The number of objects that advanced their time")
+	int objectCount;
+
+	@Label("Sub-Steps")
+	@Description("The total number of partial advancements of all objects")
+	long subSteps;
+}
@@ -0,0 +1,450 @@
+package jumpingalien.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.internal.JumpingAlienOptions;
+import jumpingalien.internal.game.JumpingAlienGame;
+import jumpingalien.internal.tmxfile.TMXFileReader;
+import jumpingalien.model.Mazub;
+import jumpingalien.model.Sneezewort;
+import jumpingalien.model.World;
+import jumpingalien.util.Sprite;
+
+/**
+ * Micro benchmarks for the hot paths of the model.
+ *
+ * Every benchmark is run for a number of warm-up iterations followed by a
+ * number of measured iterations of a fixed duration. For each benchmark the
+ * throughput (operations per second) and the allocation rate (bytes allocated
+ * per operation) are reported and compared with the checked-in baseline.
+ *
+ * So that the baseline holds on any machine, it does not record throughputs
+ * but speeds relative to a reference workload that does not involve the model
+ * and that is measured in the same run.
+ *
+ * Usage: ModelBenchmarks [-record] [-baseline file] [-tolerance fraction]
+ * [-iterations n] [-warmup n] [-time seconds] [filter]
+ *
+ * With -record, the measured results are written to the baseline file instead;
+ * benchmarks left out by the filter keep their results in that file.
+ * The process exits with status 1 if a benchmark regressed by more than the
+ * tolerance (default 0.25) compared with the baseline. A benchmark that did not
+ * allocate in the baseline regresses once it allocates more than a few bytes
+ * per operation.
+ */
+public class ModelBenchmarks {
+
+	private static final String DEFAULT_BASELINE = "tests/jumpingalien/benchmarks/baseline.txt";
+
+	private static final double FRAME_TIME = 1.0 / 30;
+
+	/**
+	 * The number of bytes per operation by which the measured allocation may
+	 * exceed the baseline without being reported, as allocation is sampled.
+	 */
+	private static final double ALLOCATION_NOISE = 16;
+
+	/**
+	 * An operation to benchmark, created afresh for every benchmark run. The
+	 * result of the operation is consumed so that it cannot be optimised away.
+	 */
+	private interface Benchmark {
+		Object run();
+	}
+
+	private final java.util.Map<String, Supplier<Benchmark>> benchmarks = new LinkedHashMap<>();
+
+	/**
+	 * The name of the reference workload in the results.
+	 */
+	private static final String REFERENCE = "reference";
+
+	public ModelBenchmarks() {
+		for (String level : new String[] { "simple_and_small.tmx", "level0.tmx", "level1.tmx" }) {
+			benchmarks.put("advanceWorldTime/" + level, () -> new AdvanceWorldTime(level, false, false));
+			benchmarks.put("advanceWorldTime/" + level + "/entity-store", () -> new AdvanceWorldTime(level, false, true));
+		}
+		benchmarks.put("advanceWorldTime/level1.tmx/parallel", () -> new AdvanceWorldTime("level1.tmx", true, false));
+		benchmarks.put("advanceWorldTime/sharks", () -> new AdvanceSharks(false));
+		benchmarks.put("advanceWorldTime/sharks/parallel", () -> new AdvanceSharks(true));
+		benchmarks.put("overlapsWithImpassableTerrain", () -> {
+			LevelState state = new LevelState("level1.tmx");
+			return () -> state.alien.overlapsWithImpassableTerrain(state.world);
+		});
+		benchmarks.put("getOverlappingFeatures", () -> {
+			LevelState state = new LevelState("level1.tmx");
+			return () -> state.alien.getOverlappingFeatures();
+		});
+		for (int nbObjects : new int[] { 10, 100, 1000 }) {
+			benchmarks.put("allCollidingObjects/" + nbObjects, () -> new AllCollidingObjects(nbObjects));
+		}
+		benchmarks.put("Mazub.getCurrentSprite", () -> {
+			LevelState state = new LevelState("level1.tmx");
+			state.facade.startMoveRight(state.alien);
+			return () -> state.alien.getCurrentSprite();
+		});
+		benchmarks.put("TMXFileReader.read/level1.tmx", () -> {
+			TMXFileReader reader = new TMXFileReader("levels/");
+			reader.setUseCompiledLevels(false);
+			return () -> reader.read("level1.tmx");
+		});
+		benchmarks.put("TMXFileReader.read/level1.lvl", () -> {
+			TMXFileReader reader = new TMXFileReader("levels/");
+			reader.setCompileOnRead(true);
+			// the first read compiles the level if its compiled file is not up to date
+			reader.read("level1.tmx");
+			return () -> reader.read("level1.tmx");
+		});
+	}
+
+	//********** BENCHMARKS **********//
+
+	/**
+	 * A level loaded in the same way the game loads it.
+	 */
+	private static class LevelState {
+
+		private final Facade facade = new Facade();
+		private final World world;
+		private final Mazub alien;
+
+		private LevelState(String level) {
+			facade.cleanAllSlimeIds();
+			JumpingAlienGame game = new JumpingAlienGame(new JumpingAlienOptions(), facade);
+			game.setVisibleScreenSize(1024, 768);
+			if (!game.setMapFile(level))
+				throw new IllegalArgumentException("Could not read level " + level);
+			game.start();
+			this.world = game.getWorld();
+			this.alien = game.getAlienInfoProvider().getAlien();
+		}
+	}
+
+	/**
+	 * Advances a level by one frame, with Mazub running and jumping, with or
+	 * without the entity store of the world. When the game is over or the model
+	 * gives up, the level is loaded again.
+	 */
+	private static class AdvanceWorldTime implements Benchmark {
+
+		private final String level;
+		private final boolean parallel;
+		private final boolean entityStore;
+		private LevelState state;
+		private final Random random = new Random(42);
+		private int nbFrames;
+
+		private AdvanceWorldTime(String level, boolean parallel, boolean entityStore) {
+			this.level = level;
+			this.parallel = parallel;
+			this.entityStore = entityStore;
+			reset();
+		}
+
+		private void reset() {
+			state = new LevelState(level);
+			state.facade.setAdvancesInParallel(state.world, parallel);
+			state.world.setUsesEntityStore(entityStore);
+			state.facade.startMoveRight(state.alien);
+		}
+
+		@Override
+		public Object run() {
+			if (++nbFrames % 15 == 0) {
+				if (state.facade.isJumping(state.alien))
+					state.facade.endJump(state.alien);
+				else if (random.nextBoolean())
+					state.facade.startJump(state.alien);
+			}
+			try {
+				state.facade.advanceWorldTime(state.world, FRAME_TIME);
+			} catch (RuntimeException e) {
+				reset();
+			}
+			if (state.world.isGameOver())
+				reset();
+			return state.world;
+		}
+	}
+
+	/**
+	 * Advances a world of 60000 by 200 pixels, filled with water above a row of
+	 * solid ground, with Mazub standing in air at its left edge and 200 sharks
+	 * far apart from each other by one frame: enough objects to split over
+	 * several threads. When the game is over, the world is created again.
+	 */
+	private static class AdvanceSharks implements Benchmark {
+
+		private static final int NB_SHARKS = 200;
+
+		private final boolean parallel;
+		private Facade facade;
+		private World world;
+
+		private AdvanceSharks(boolean parallel) {
+			this.parallel = parallel;
+			reset();
+		}
+
+		private void reset() {
+			facade = new Facade();
+			int nbTilesX = 6000;
+			int nbTilesY = 20;
+			int[] features = new int[nbTilesX * nbTilesY];
+			for (int tile = 0; tile < features.length; tile++)
+				features[tile] = (tile < nbTilesX) ? 1 : (tile % nbTilesX < 15) ? 0 : 2;
+			world = facade.createWorld(10, nbTilesX, nbTilesY, new int[] { nbTilesX - 1, nbTilesY - 1 }, 1000, 200,
+					features);
+			world.setMaximumNumberOfObjects(NB_SHARKS + 1);
+			facade.setAdvancesInParallel(world, parallel);
+			Sprite[] mazubSprites = new Sprite[18];
+			for (int i = 0; i < mazubSprites.length; i++)
+				mazubSprites[i] = new Sprite("Mazub " + i, 90, 45);
+			facade.addGameObject(facade.createMazub(20, 10, mazubSprites), world);
+			for (int i = 0; i < NB_SHARKS; i++)
+				facade.addGameObject(facade.createShark(200 + 280 * i, 10, new Sprite("Shark Rest", 70, 50),
+						new Sprite("Shark Left", 70, 50), new Sprite("Shark Right", 70, 50)), world);
+			facade.startGame(world);
+		}
+
+		@Override
+		public Object run() {
+			try {
+				facade.advanceWorldTime(world, FRAME_TIME);
+			} catch (RuntimeException e) {
+				reset();
+			}
+			if (world.isGameOver())
+				reset();
+			return world;
+		}
+	}
+
+	/**
+	 * Looks up the objects colliding with Mazub in a world of 2000 by 2000
+	 * pixels filled with the given number of sneezeworts at random positions.
+	 */
+	private static class AllCollidingObjects implements Benchmark {
+
+		private final World world;
+		private final Mazub alien;
+
+		private AllCollidingObjects(int nbObjects) {
+			Facade facade = new Facade();
+			int[] features = new int[200 * 200];
+			world = facade.createWorld(10, 200, 200, new int[] { 199, 199 }, 500, 500, features);
+			world.setMaximumNumberOfObjects(nbObjects + 1);
+			Sprite[] mazubSprites = new Sprite[18];
+			for (int i = 0; i < mazubSprites.length; i++)
+				mazubSprites[i] = new Sprite("Mazub " + i, 90, 45);
+			alien = facade.createMazub(1000, 1000, mazubSprites);
+			facade.addGameObject(alien, world);
+			Random random = new Random(42);
+			for (int i = 0; i < nbObjects; i++) {
+				Sneezewort plant = facade.createSneezewort(random.nextInt(1960), random.nextInt(1970),
+						new Sprite("Sneezewort Left", 40, 30), new Sprite("Sneezewort Right", 40, 30));
+				facade.addGameObject(plant, world);
+			}
+			facade.startGame(world);
+		}
+
+		@Override
+		public Object run() {
+			return alien.allCollidingObjects(world);
+		}
+	}
+
+	/**
+	 * Sorts a copy of a fixed array of random numbers: a workload independent of
+	 * the model, against which the speed of the model benchmarks is expressed.
+	 */
+	private static class Reference implements Benchmark {
+
+		private final int[] numbers = new Random(42).ints(4096).toArray();
+
+		@Override
+		public Object run() {
+			int[] sorted = numbers.clone();
+			java.util.Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+
+	//********** MEASUREMENT **********//
+
+	private int warmupIterations = 2;
+	private int measurementIterations = 5;
+	private double iterationTime = 1.0;
+
+	private static volatile int sink;
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Result of a benchmark: operations per second, the speed relative to the
+	 * reference workload and bytes allocated per operation.
+	 */
+	private static class Result {
+
+		private final double opsPerSecond;
+		private final double relativeSpeed;
+		private final double bytesPerOp;
+
+		private Result(double opsPerSecond, double relativeSpeed, double bytesPerOp) {
+			this.opsPerSecond = opsPerSecond;
+			this.relativeSpeed = relativeSpeed;
+			this.bytesPerOp = bytesPerOp;
+		}
+	}
+
+	private Result measure(Supplier<Benchmark> supplier, double referenceOpsPerSecond) {
+		Benchmark benchmark = supplier.get();
+		for (int i = 0; i < warmupIterations; i++)
+			iteration(benchmark);
+		long totalOps = 0;
+		long totalNanos = 0;
+		long totalBytes = 0;
+		for (int i = 0; i < measurementIterations; i++) {
+			long[] counts = iteration(benchmark);
+			totalOps += counts[0];
+			totalNanos += counts[1];
+			totalBytes += counts[2];
+		}
+		double opsPerSecond = totalOps / (totalNanos / 1e9);
+		return new Result(opsPerSecond, opsPerSecond / referenceOpsPerSecond, (double) totalBytes / totalOps);
+	}
+
+	/**
+	 * Run the given benchmark for one iteration and return the number of
+	 * operations, the elapsed nanoseconds and the allocated bytes.
+	 */
+	private long[] iteration(Benchmark benchmark) {
+		long threadId = Thread.currentThread().getId();
+		long deadline = (long) (iterationTime * 1e9);
+		int hash = 0;
+		long ops = 0;
+		long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			for (int i = 0; i < 64; i++)
+				hash += System.identityHashCode(benchmark.run());
+			ops += 64;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < deadline);
+		long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+		sink += hash;
+		return new long[] { ops, elapsed, bytes };
+	}
+
+	//********** BASELINE **********//
+
+	private static java.util.Map<String, Result> readBaseline(Path file) throws IOException {
+		java.util.Map<String, Result> baseline = new LinkedHashMap<>();
+		if (!Files.exists(file))
+			return baseline;
+		for (String line : Files.readAllLines(file)) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			String[] parts = line.split("\\s+");
+			baseline.put(parts[0], new Result(Double.NaN, Double.parseDouble(parts[1]), Double.parseDouble(parts[2])));
+		}
+		return baseline;
+	}
+
+	private static void writeBaseline(Path file, java.util.Map<String, Result> results) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("# benchmark speed-relative-to-reference bytes/op, recorded with ModelBenchmarks -record");
+		for (java.util.Map.Entry<String, Result> entry : results.entrySet())
+			lines.add(String.format(Locale.ROOT, "%s %.6g %.1f", entry.getKey(),
+					entry.getValue().relativeSpeed, entry.getValue().bytesPerOp));
+		Files.write(file, lines);
+	}
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		ModelBenchmarks suite = new ModelBenchmarks();
+		boolean record = false;
+		Path baselineFile = Paths.get(DEFAULT_BASELINE);
+		double tolerance = 0.25;
+		String filter = "";
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-record":
+				record = true;
+				break;
+			case "-baseline":
+				baselineFile = Paths.get(args[++i]);
+				break;
+			case "-tolerance":
+				tolerance = Double.parseDouble(args[++i]);
+				break;
+			case "-iterations":
+				suite.measurementIterations = Integer.parseInt(args[++i]);
+				break;
+			case "-warmup":
+				suite.warmupIterations = Integer.parseInt(args[++i]);
+				break;
+			case "-time":
+				suite.iterationTime = Double.parseDouble(args[++i]);
+				break;
+			default:
+				filter = args[i];
+			}
+		}
+
+		java.util.Map<String, Result> baseline = readBaseline(baselineFile);
+		java.util.Map<String, Result> results = new LinkedHashMap<>();
+		boolean regressed = false;
+		Result reference = suite.measure(Reference::new, 1.0);
+		System.out.println(String.format("%-36s %14s %12s %12s %10s %10s", "benchmark", "ops/s", "relative", "bytes/op",
+				"d(speed)", "d(bytes)"));
+		System.out.println(String.format(Locale.ROOT, "%-36s %14.1f", REFERENCE, reference.opsPerSecond));
+		for (java.util.Map.Entry<String, Supplier<Benchmark>> entry : suite.benchmarks.entrySet()) {
+			if (!entry.getKey().contains(filter))
+				continue;
+			Result result = suite.measure(entry.getValue(), reference.opsPerSecond);
+			results.put(entry.getKey(), result);
+			Result base = baseline.get(entry.getKey());
+			String comparison = "";
+			if (base != null) {
+				double speed = result.relativeSpeed / base.relativeSpeed - 1;
+				double extraBytes = result.bytesPerOp - base.bytesPerOp;
+				// over a baseline that does not allocate, any allocation beyond the noise is a regression
+				boolean allocates = (extraBytes > ALLOCATION_NOISE) &&
+						((base.bytesPerOp == 0) || (extraBytes / base.bytesPerOp > tolerance));
+				boolean worse = (speed < -tolerance) || allocates;
+				regressed |= worse;
+				String allocation = (base.bytesPerOp == 0) ?
+						String.format(Locale.ROOT, "%+9.0fB", extraBytes) :
+						String.format(Locale.ROOT, "%+9.1f%%", 100 * extraBytes / base.bytesPerOp);
+				comparison = String.format(Locale.ROOT, " %+9.1f%% %s%s", 100 * speed, allocation,
+						worse ? "  REGRESSION" : "");
+			}
+			System.out.println(String.format(Locale.ROOT, "%-36s %14.1f %12.6f %12.1f%s", entry.getKey(),
+					result.opsPerSecond, result.relativeSpeed, result.bytesPerOp, comparison));
+		}
+		if (record) {
+			// benchmarks left out by the filter keep their recorded results
+			java.util.Map<String, Result> recorded = new LinkedHashMap<>(baseline);
+			recorded.putAll(results);
+			writeBaseline(baselineFile, recorded);
+			System.out.println("Baseline written to " + baselineFile);
+		} else if (regressed) {
+			System.exit(1);
+		}
+	}
+}
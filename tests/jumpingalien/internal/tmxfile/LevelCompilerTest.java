@@ -0,0 +1,132 @@
+package jumpingalien.internal.tmxfile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.internal.tmxfile.data.ImageTile;
+import jumpingalien.internal.tmxfile.data.Layer;
+import jumpingalien.internal.tmxfile.data.Map;
+import jumpingalien.internal.tmxfile.data.MapObject;
+import jumpingalien.internal.tmxfile.data.ObjectGroup;
+import jumpingalien.internal.tmxfile.data.Tileset;
+
+class LevelCompilerTest {
+
+	private static final String LEVELS_FOLDER = "levels/";
+
+	private static final String[] LEVELS = { "simple_and_small.tmx", "level0.tmx", "level1.tmx" };
+
+	@Test
+	void compile_SameMapAsXml() throws IOException {
+		TMXFileReader reader = new TMXFileReader(LEVELS_FOLDER);
+		reader.setUseCompiledLevels(false);
+		Path folder = Files.createTempDirectory("levels");
+		try {
+			for (String level: LEVELS) {
+				Map expected = reader.read(level);
+				Path compiled = folder.resolve(level + LevelCompiler.EXTENSION);
+				LevelCompiler.compile(expected, LEVELS_FOLDER, new File(LEVELS_FOLDER, level).toPath(), compiled);
+				CompiledLevelReader compiledReader = new CompiledLevelReader(LEVELS_FOLDER);
+				assertTrue(compiledReader.isUpToDate(compiled, new File(LEVELS_FOLDER, level).toPath()));
+				assertSameMap(expected, compiledReader.read(compiled));
+				Files.delete(compiled);
+			}
+		} finally {
+			Files.delete(folder);
+		}
+	}
+
+	@Test
+	void read_NoCompiledFileByDefault() {
+		Path compiled = LevelCompiler.getCompiledPath(LEVELS_FOLDER, "simple_and_small.tmx");
+		boolean existed = Files.exists(compiled);
+		new TMXFileReader(LEVELS_FOLDER).read("simple_and_small.tmx");
+		assertEquals(existed, Files.exists(compiled));
+	}
+
+	private static void assertSameMap(Map expected, Map actual) {
+		assertEquals(expected.getNbTilesX(), actual.getNbTilesX());
+		assertEquals(expected.getNbTilesY(), actual.getNbTilesY());
+		assertEquals(expected.getTileSizeX(), actual.getTileSizeX());
+		assertEquals(expected.getTileSizeY(), actual.getTileSizeY());
+		assertEquals(expected.getInitialPositionX(), actual.getInitialPositionX());
+		assertEquals(expected.getInitialPositionY(), actual.getInitialPositionY());
+		assertEquals(expected.getTargetTileX(), actual.getTargetTileX());
+		assertEquals(expected.getTargetTileY(), actual.getTargetTileY());
+		assertEquals(expected.getBackground(), actual.getBackground());
+		assertEquals(expected.getAttributes(), actual.getAttributes());
+
+		assertEquals(expected.getTilesets().size(), actual.getTilesets().size());
+		for (int i = 0; i < expected.getTilesets().size(); i++) {
+			Tileset expectedTileset = expected.getTilesets().get(i);
+			Tileset actualTileset = actual.getTilesets().get(i);
+			assertEquals(expectedTileset.getFirstId(), actualTileset.getFirstId());
+			assertEquals(expectedTileset.getTiles().size(), actualTileset.getTiles().size());
+			for (int j = 0; j < expectedTileset.getTiles().size(); j++)
+				assertSameTile(expectedTileset.getTiles().get(j), actualTileset.getTiles().get(j));
+		}
+
+		assertEquals(expected.getLayers().size(), actual.getLayers().size());
+		for (int i = 0; i < expected.getLayers().size(); i++) {
+			Layer expectedLayer = expected.getLayers().get(i);
+			Layer actualLayer = actual.getLayers().get(i);
+			assertEquals(expectedLayer.getName(), actualLayer.getName());
+			for (int tileX = 0; tileX < expected.getNbTilesX(); tileX++) {
+				for (int tileY = 0; tileY < expected.getNbTilesY(); tileY++)
+					assertSameTile(expectedLayer.getTile(tileX, tileY), actualLayer.getTile(tileX, tileY));
+			}
+		}
+
+		assertEquals(expected.getObjectGroups().size(), actual.getObjectGroups().size());
+		for (int i = 0; i < expected.getObjectGroups().size(); i++) {
+			ObjectGroup expectedGroup = expected.getObjectGroups().get(i);
+			ObjectGroup actualGroup = actual.getObjectGroups().get(i);
+			assertEquals(expectedGroup.getName(), actualGroup.getName());
+			List<MapObject> expectedObjects = sortedById(expectedGroup.getObjects());
+			List<MapObject> actualObjects = sortedById(actualGroup.getObjects());
+			assertEquals(expectedObjects.size(), actualObjects.size());
+			for (int j = 0; j < expectedObjects.size(); j++) {
+				MapObject expectedObject = expectedObjects.get(j);
+				MapObject actualObject = actualObjects.get(j);
+				assertEquals(expectedObject.getId(), actualObject.getId());
+				assertSameTile(expectedObject.getTile(), actualObject.getTile());
+				assertEquals(expectedObject.getX(), actualObject.getX());
+				assertEquals(expectedObject.getY(), actualObject.getY());
+				assertEquals(expectedObject.getHflip(), actualObject.getHflip());
+				assertEquals(expectedObject.getVflip(), actualObject.getVflip());
+				assertEquals(expectedObject.getAttributes(), actualObject.getAttributes());
+			}
+		}
+		assertEquals(expected.getObjects().size(), actual.getObjects().size());
+	}
+
+	private static void assertSameTile(ImageTile expected, ImageTile actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+		assertNotNull(actual);
+		assertEquals(expected.getId(), actual.getId());
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		assertEquals(expected.getFile().getAbsoluteFile().toPath().normalize(),
+				actual.getFile().getAbsoluteFile().toPath().normalize());
+		assertEquals(expected.getType(), actual.getType());
+	}
+
+	private static List<MapObject> sortedById(List<MapObject> objects) {
+		List<MapObject> result = new ArrayList<MapObject>(objects);
+		result.sort(Comparator.comparingInt(MapObject::getId));
+		return result;
+	}
+
+}
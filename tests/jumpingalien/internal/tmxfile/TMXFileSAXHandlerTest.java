@@ -0,0 +1,125 @@
+package jumpingalien.internal.tmxfile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.junit.jupiter.api.*;
+import org.xml.sax.SAXException;
+
+import jumpingalien.internal.tmxfile.data.ImageTile;
+import jumpingalien.internal.tmxfile.data.Map;
+
+class TMXFileSAXHandlerTest {
+
+	private static final int HFLIP = 1 << 31;
+	private static final int VFLIP = 1 << 30;
+
+	/**
+	 * The gids of a layer of 3 by 2 cells, top row first.
+	 */
+	private static final int[] GIDS = { 1, 0, 2 | HFLIP, 3 | VFLIP, 1 | HFLIP | VFLIP, 0 };
+
+	@Test
+	void parse_TileElements() throws Exception {
+		List<ImageTile> tiles = parse(tileElements(GIDS)).getLayer("Terrain").getTiles();
+		assertEquals(GIDS.length, tiles.size());
+		assertEquals(1, tiles.get(0).getId());
+		assertNull(tiles.get(1));
+		assertEquals(2, tiles.get(2).getId());
+		assertEquals(3, tiles.get(3).getId());
+	}
+
+	@Test
+	void parse_CsvLayer() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int gid: GIDS)
+			text.append(text.length() == 0 ? "" : ",").append(Integer.toUnsignedString(gid));
+		assertSameLayer(parse(data("csv", null, text.toString())));
+	}
+
+	@Test
+	void parse_Base64Layer() throws Exception {
+		assertSameLayer(parse(data("base64", null, TileDataDecoderTest.encode(GIDS, null))));
+	}
+
+	@Test
+	void parse_Base64ZlibLayer() throws Exception {
+		assertSameLayer(parse(data("base64", "zlib", TileDataDecoderTest.encode(GIDS, "zlib"))));
+	}
+
+	@Test
+	void parse_Base64GzipLayer() throws Exception {
+		assertSameLayer(parse(data("base64", "gzip", TileDataDecoderTest.encode(GIDS, "gzip"))));
+	}
+
+	@Test
+	void parse_WrongCellCount() {
+		assertThrows(SAXException.class, () -> parse(data("csv", null, "1,0,2")));
+		assertThrows(SAXException.class, () -> parse(data("base64", "zlib",
+				TileDataDecoderTest.encode(new int[] { 1, 0, 2, 3, 1, 0, 2 }, "zlib"))));
+	}
+
+	@Test
+	void parse_UnsupportedEncoding() {
+		assertThrows(SAXException.class, () -> parse(data("hex", null, "01000000")));
+	}
+
+	/**
+	 * Check that the layer of the given map holds the same tiles as the layer given by its tile elements, that is
+	 * the tiles of the gids without their flip bits.
+	 */
+	private static void assertSameLayer(Map map) throws Exception {
+		Map expected = parse(tileElements(GIDS));
+		List<ImageTile> expectedTiles = expected.getLayer("Terrain").getTiles();
+		List<ImageTile> tiles = map.getLayer("Terrain").getTiles();
+		assertEquals(expectedTiles.size(), tiles.size());
+		for (int i = 0; i < tiles.size(); i++) {
+			if (expectedTiles.get(i) == null)
+				assertNull(tiles.get(i));
+			else
+				assertEquals(expectedTiles.get(i).getId(), tiles.get(i).getId());
+		}
+	}
+
+	private static String tileElements(int[] gids) {
+		StringBuilder data = new StringBuilder("  <data>\n");
+		for (int gid: gids) {
+			int tile = gid & 0x1fffffff;
+			data.append((tile == 0) ? "   <tile/>\n" : "   <tile gid=\"" + tile + "\"/>\n");
+		}
+		return layer(data.append("  </data>\n").toString());
+	}
+
+	private static String data(String encoding, String compression, String text) {
+		return layer("  <data encoding=\"" + encoding + "\""
+				+ ((compression == null) ? "" : " compression=\"" + compression + "\"") + ">\n   " + text
+				+ "\n  </data>\n");
+	}
+
+	private static String layer(String data) {
+		return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<map version=\"1.2\" width=\"3\" height=\"2\" tilewidth=\"70\" tileheight=\"70\">\n"
+				+ " <tileset firstgid=\"1\" name=\"Terrain\">\n"
+				+ "  <tile id=\"0\"><image width=\"70\" height=\"70\" source=\"tiles/box.png\"/></tile>\n"
+				+ "  <tile id=\"1\"><image width=\"70\" height=\"70\" source=\"tiles/grass.png\"/></tile>\n"
+				+ "  <tile id=\"2\"><image width=\"70\" height=\"70\" source=\"tiles/water.png\"/></tile>\n"
+				+ " </tileset>\n"
+				+ " <layer id=\"1\" name=\"Terrain\" width=\"3\" height=\"2\">\n"
+				+ data
+				+ " </layer>\n"
+				+ "</map>\n";
+	}
+
+	private static Map parse(String xml) throws Exception {
+		TMXFileSAXHandler handler = new TMXFileSAXHandler("levels/");
+		SAXParserFactory.newInstance().newSAXParser().parse(
+				new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), handler);
+		return handler.getResult();
+	}
+
+}
@@ -0,0 +1,145 @@
+package jumpingalien.internal.tmxfile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.*;
+
+class TileDataDecoderTest {
+
+	private static final int HFLIP = 1 << 31;
+	private static final int VFLIP = 1 << 30;
+
+	private static final int[] GIDS = { 0, 1, 42, 177, 0, 3 | HFLIP, 5 | VFLIP, 7 | HFLIP | VFLIP };
+
+	@Test
+	void decodeCsv_LegalCase() throws IOException {
+		assertArrayEquals(new int[] { 0, 1, 42, 177 }, TileDataDecoder.decodeCsv("0,1,42,177", 4));
+	}
+
+	@Test
+	void decodeCsv_WhitespaceAndLineBreaks() throws IOException {
+		assertArrayEquals(new int[] { 0, 1, 42, 177 }, TileDataDecoder.decodeCsv("\n  0,1,\n  42, 177\n", 4));
+	}
+
+	@Test
+	void decodeCsv_FlipBitsKept() throws IOException {
+		String text = Integer.toUnsignedString(3 | HFLIP) + "," + Integer.toUnsignedString(5 | VFLIP);
+		assertArrayEquals(new int[] { 3 | HFLIP, 5 | VFLIP }, TileDataDecoder.decodeCsv(text, 2));
+	}
+
+	@Test
+	void decodeCsv_MoreCellsThanExpected() throws IOException {
+		int[] gids = TileDataDecoder.decodeCsv("1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20", 2);
+		assertEquals(20, gids.length);
+		assertEquals(20, gids[19]);
+	}
+
+	@Test
+	void decodeCsv_FewerCellsThanExpected() throws IOException {
+		assertArrayEquals(new int[] { 1, 2 }, TileDataDecoder.decodeCsv("1,2", 100));
+	}
+
+	@Test
+	void decodeCsv_MissingGid() {
+		assertThrows(IOException.class, () -> TileDataDecoder.decodeCsv("1,,2", 3));
+	}
+
+	@Test
+	void decodeCsv_IllegalCharacter() {
+		assertThrows(IOException.class, () -> TileDataDecoder.decodeCsv("1,x,2", 3));
+	}
+
+	@Test
+	void decodeCsv_GidTooLarge() {
+		assertThrows(IOException.class, () -> TileDataDecoder.decodeCsv("4294967296", 1));
+	}
+
+	@Test
+	void decodeBase64_Uncompressed() throws IOException {
+		String text = Base64.getEncoder().encodeToString(toBytes(GIDS));
+		assertArrayEquals(GIDS, TileDataDecoder.decodeBase64(text, null, GIDS.length));
+	}
+
+	@Test
+	void decodeBase64_SurroundingWhitespace() throws IOException {
+		String text = "\n   " + Base64.getEncoder().encodeToString(toBytes(GIDS)) + "\n  ";
+		assertArrayEquals(GIDS, TileDataDecoder.decodeBase64(text, null, GIDS.length));
+	}
+
+	@Test
+	void decodeBase64_Zlib() throws IOException {
+		String text = encode(GIDS, "zlib");
+		assertArrayEquals(GIDS, TileDataDecoder.decodeBase64(text, "zlib", GIDS.length));
+	}
+
+	@Test
+	void decodeBase64_Gzip() throws IOException {
+		String text = encode(GIDS, "gzip");
+		assertArrayEquals(GIDS, TileDataDecoder.decodeBase64(text, "gzip", GIDS.length));
+	}
+
+	@Test
+	void decodeBase64_LargerThanExpected() throws IOException {
+		int[] gids = new int[1000];
+		for (int i = 0; i < gids.length; i++)
+			gids[i] = i % 178;
+		assertArrayEquals(gids, TileDataDecoder.decodeBase64(encode(gids, "zlib"), "zlib", 10));
+	}
+
+	@Test
+	void decodeBase64_NotASequenceOfGids() {
+		String text = Base64.getEncoder().encodeToString(new byte[] { 1, 0, 0, 0, 2, 0 });
+		assertThrows(IOException.class, () -> TileDataDecoder.decodeBase64(text, null, 2));
+	}
+
+	@Test
+	void decodeBase64_IllegalBase64() {
+		assertThrows(IOException.class, () -> TileDataDecoder.decodeBase64("AAAA*AAA", null, 2));
+	}
+
+	@Test
+	void decodeBase64_UnsupportedCompression() throws IOException {
+		String text = encode(GIDS, "zlib");
+		assertThrows(IOException.class, () -> TileDataDecoder.decodeBase64(text, "zstd", GIDS.length));
+	}
+
+	@Test
+	void decodeBase64_CorruptCompressedData() {
+		String text = Base64.getEncoder().encodeToString(toBytes(GIDS));
+		assertThrows(IOException.class, () -> TileDataDecoder.decodeBase64(text, "gzip", GIDS.length));
+	}
+
+	/**
+	 * Return the given gids as little-endian unsigned ints.
+	 */
+	static byte[] toBytes(int[] gids) {
+		byte[] bytes = new byte[4 * gids.length];
+		for (int i = 0; i < gids.length; i++) {
+			bytes[4 * i] = (byte) gids[i];
+			bytes[4 * i + 1] = (byte) (gids[i] >>> 8);
+			bytes[4 * i + 2] = (byte) (gids[i] >>> 16);
+			bytes[4 * i + 3] = (byte) (gids[i] >>> 24);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Return the given gids encoded as in a TMX file, with the given compression ("zlib", "gzip" or null).
+	 */
+	static String encode(int[] gids, String compression) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream out = (compression == null) ? bytes
+				: compression.equals("zlib") ? new DeflaterOutputStream(bytes) : new GZIPOutputStream(bytes)) {
+			out.write(toBytes(gids));
+		}
+		return Base64.getEncoder().encodeToString(bytes.toByteArray());
+	}
+
+}
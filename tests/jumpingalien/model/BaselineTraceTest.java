@@ -0,0 +1,174 @@
+package jumpingalien.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.internal.gui.sprites.JumpingAlienSprites;
+import jumpingalien.internal.tmxfile.TMXFileReader;
+import jumpingalien.internal.tmxfile.data.ImageTile;
+import jumpingalien.internal.tmxfile.data.Layer;
+import jumpingalien.internal.tmxfile.data.Map;
+import jumpingalien.internal.tmxfile.data.MapObject;
+import jumpingalien.util.ModelException;
+
+/**
+ * Plays the bundled levels with scripted input and checks, frame after frame, that every object ends up at the
+ * same pixel with the same hitpoints as in the model before any of the optimizations of the model were made.
+ * The expected traces hold one hash per frame, recorded with that model.
+ */
+class BaselineTraceTest {
+
+	private static final String TRACES = "tests/jumpingalien/model/baseline-traces.txt";
+
+	private static final String[] LEVELS = { "simple_and_small.tmx", "level0.tmx", "level1.tmx" };
+	private static final int[] NB_SEEDS = { 20, 3, 3 };
+	private static final int NB_FRAMES = 300;
+
+	/**
+	 * The time durations of the frames, drawn at random, so that objects also advance over uneven durations.
+	 */
+	private static final double[] FRAME_DURATIONS = { 1.0/60, 0.02, 0.033, 0.04, 0.05, 0.07, 0.1, 0.15, 0.19 };
+
+	private static java.util.Map<String, int[]> expected;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws IOException {
+		expected = new HashMap<String, int[]>();
+		for (String line: Files.readAllLines(Paths.get(TRACES))) {
+			String[] fields = line.trim().split("\\s+");
+			if ((fields.length < 2) || fields[0].startsWith("#"))
+				continue;
+			String[] hashes = fields[2].split(",");
+			int[] frames = new int[hashes.length];
+			for (int frame = 0; frame < hashes.length; frame++)
+				frames[frame] = Integer.parseUnsignedInt(hashes[frame], 16);
+			expected.put(fields[0] + " " + fields[1], frames);
+		}
+	}
+
+	@Test
+	void advanceWorldTime_SamePixelsAsBaseline() {
+		for (int index = 0; index < LEVELS.length; index++) {
+			String level = LEVELS[index];
+			for (long seed = 1; seed <= NB_SEEDS[index]; seed++) {
+				int[] frames = expected.get(level + " " + seed);
+				assertNotNull(frames);
+				int[] actual = trace(level, seed, NB_FRAMES);
+				for (int frame = 0; frame < Math.min(frames.length, actual.length); frame++) {
+					if (frames[frame] != actual[frame])
+						fail(level + ", seed " + seed + ": first difference at frame " + frame);
+				}
+				assertEquals(frames.length, actual.length);
+			}
+		}
+	}
+
+	/**
+	 * Play the given level over the given number of frames, with input and frame durations drawn from a random
+	 * generator with the given seed, and return a hash of the pixel positions, the hitpoints and the termination
+	 * of all objects after every frame, up to the end of the game or up to a frame in which the model fails.
+	 */
+	static int[] trace(String level, long seed, int nbFrames) {
+		Facade facade = new Facade();
+		facade.cleanAllSlimeIds();
+		Map map = new TMXFileReader("levels/").read(level);
+		Layer terrain = map.getLayer("Terrain");
+		int[] features = new int[map.getNbTilesX() * map.getNbTilesY()];
+		for (int y = 0; y < map.getNbTilesY(); y++) {
+			for (int x = 0; x < map.getNbTilesX(); x++) {
+				ImageTile tile = terrain.getTile(x, y);
+				features[y*map.getNbTilesX() + x] = (tile == null) ? 0 : tile.getType().getValue();
+			}
+		}
+		World world = facade.createWorld(map.getTileSizeX(), map.getNbTilesX(), map.getNbTilesY(),
+				new int[] { map.getTargetTileX(), map.getTargetTileY() }, Math.min(1024, map.getPixelWidth()),
+				Math.min(768, map.getPixelHeight()), features);
+		Mazub alien = facade.createMazub(map.getInitialPositionX(), map.getInitialPositionY(),
+				JumpingAlienSprites.ALIEN_SPRITESET);
+		facade.addGameObject(alien, world);
+		List<Object> objects = new ArrayList<Object>();
+		objects.add(alien);
+		java.util.Map<Integer, School> schools = new HashMap<Integer, School>();
+		List<MapObject> mapObjects = new ArrayList<MapObject>(map.getObjects());
+		mapObjects.sort(Comparator.comparingInt(MapObject::getId));
+		long slimeId = 1;
+		for (MapObject mapObject: mapObjects) {
+			String filename = mapObject.getTile().getOSIndependentFilename();
+			Object object = null;
+			if (filename.equals(JumpingAlienSprites.PLANT_LEFT_FILENAME)) {
+				if (mapObject.getBooleanAttribute("skullcab").orElse(false))
+					object = facade.createSkullcab(mapObject.getX(), mapObject.getY(),
+							JumpingAlienSprites.PLANT_SPRITE_UP, JumpingAlienSprites.PLANT_SPRITE_DOWN);
+				else
+					object = facade.createSneezewort(mapObject.getX(), mapObject.getY(),
+							JumpingAlienSprites.PLANT_SPRITE_LEFT, JumpingAlienSprites.PLANT_SPRITE_RIGHT);
+			}
+			else if (filename.contains("fish"))
+				object = facade.createShark(mapObject.getX(), mapObject.getY(), JumpingAlienSprites.SHARK_SPRITE_REST,
+						JumpingAlienSprites.SHARK_SPRITE_LEFT, JumpingAlienSprites.SHARK_SPRITE_RIGHT);
+			else if (filename.contains("slime")) {
+				School school = schools.computeIfAbsent(mapObject.getIntAttribute("school").orElse(0),
+						number -> facade.createSchool(world));
+				object = facade.createSlime(slimeId++, mapObject.getX(), mapObject.getY(), school,
+						JumpingAlienSprites.SLIME_SPRITE_RIGHT, JumpingAlienSprites.SLIME_SPRITE_LEFT);
+			}
+			if (object != null) {
+				try {
+					facade.addGameObject(object, world);
+					objects.add(object);
+				} catch (ModelException exc) {
+					// the level holds more objects than a world accepts
+				}
+			}
+		}
+		facade.startGame(world);
+
+		Random random = new Random(seed);
+		int[] hashes = new int[nbFrames];
+		int frame = 0;
+		for (; (frame < nbFrames) && !facade.isGameOver(world); frame++) {
+			if (frame % 10 == 0) {
+				try {
+					switch (random.nextInt(6)) {
+					case 0: if (!facade.isMoving(alien)) facade.startMoveRight(alien); break;
+					case 1: if (!facade.isMoving(alien)) facade.startMoveLeft(alien); break;
+					case 2: if (facade.isMoving(alien)) facade.endMove(alien); break;
+					case 3: if (!facade.isJumping(alien)) facade.startJump(alien); break;
+					case 4: if (facade.isJumping(alien)) facade.endJump(alien); break;
+					default: if (facade.isDucking(alien)) facade.endDuck(alien); else facade.startDuck(alien);
+					}
+				} catch (ModelException exc) {
+					// the input is not allowed in the current state of the alien
+				}
+			}
+			try {
+				facade.advanceWorldTime(world, FRAME_DURATIONS[random.nextInt(FRAME_DURATIONS.length)]);
+			} catch (IllegalArgumentException exc) {
+				// the alien left the world, which the model does not allow for
+				break;
+			}
+			int hash = 17;
+			for (Object object: objects) {
+				if (facade.isTerminatedGameObject(object))
+					hash = 31*hash - 1;
+				else {
+					int[] pixel = facade.getPixelPosition(object);
+					hash = 31*(31*(31*hash + pixel[0]) + pixel[1]) + facade.getHitPoints(object);
+				}
+			}
+			hashes[frame] = hash;
+		}
+		return java.util.Arrays.copyOf(hashes, frame);
+	}
+}
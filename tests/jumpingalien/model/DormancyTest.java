@@ -0,0 +1,104 @@
+package jumpingalien.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+
+class DormancyTest {
+
+	private Facade facade;
+	private World[] worlds;
+	private Mazub[] aliens;
+	private GameObject[][] objects;
+
+	@BeforeEach
+	void setUp() {
+		facade = new Facade();
+		facade.cleanAllSlimeIds();
+		worlds = new World[2];
+		aliens = new Mazub[2];
+		objects = new GameObject[2][];
+		for (int i = 0; i < 2; i++) {
+			int[] features = TwinWorlds.groundFeatures(800, 60);
+			// a wall at the right, against which slimes far away from Mazub turn
+			for (int row = 1; row < 20; row++)
+				for (int tile = 792; tile < 800; tile++)
+					features[800*row + tile] = 1;
+			worlds[i] = facade.createWorld(10, 800, 60, new int[] { 0, 59 }, 300, 300, features);
+			Mazub alien = aliens[i] = TwinWorlds.addMazub(facade, worlds[i]);
+			TwinWorlds.addSneezewortRow(facade, worlds[i]);
+			// a slime of a school of its own meets the slimes of another school coming back from the wall
+			facade.addGameObject(facade.createSlime(1 + 10*i, 6200, 10, facade.createSchool(worlds[i]),
+					TwinWorlds.SLIME_SPRITES), worlds[i]);
+			School school = facade.createSchool(worlds[i]);
+			for (int slime = 0; slime < 3; slime++)
+				facade.addGameObject(facade.createSlime(2 + 10*i + slime, 7500 + 120*slime, 10, school,
+						TwinWorlds.SLIME_SPRITES), worlds[i]);
+			objects[i] = worlds[i].getObjectsView().toArray(new GameObject[0]);
+			facade.startGame(worlds[i]);
+			facade.startMoveRight(alien);
+		}
+		facade.setActivityMargin(worlds[0], 0);
+	}
+
+	private void advance(int nbFrames) {
+		for (int frame = 0; frame < nbFrames; frame++)
+			TwinWorlds.advanceFrame(facade, worlds, aliens, frame, 1.0/30);
+	}
+
+	@Test
+	void advanceWorldTime_SameWithAndWithoutDormancy() {
+		int maxNbDormant = 0;
+		for (int frame = 0; frame < 200; frame++) {
+			advance(1);
+			maxNbDormant = Math.max(maxNbDormant, worlds[0].getNbDormantObjects());
+			for (int i = 0; i < objects[0].length; i++) {
+				if (objects[0][i].dormantGroup == null)
+					assertSameState(objects[0][i], objects[1][i]);
+			}
+		}
+		assertTrue(maxNbDormant > 0);
+		facade.setActivityMargin(worlds[0], -1);
+		assertEquals(0, worlds[0].getNbDormantObjects());
+		for (int i = 0; i < objects[0].length; i++)
+			assertSameState(objects[0][i], objects[1][i]);
+	}
+
+	@Test
+	void advanceWorldTime_DormantObjectsWakeWithinBound() {
+		java.util.Map<Object, Integer> nbDormantFrames = new java.util.IdentityHashMap<Object, Integer>();
+		for (int frame = 0; frame < 3*Dormancy.MAXIMUM_NUMBER_OF_DORMANT_TICKS; frame++) {
+			advance(1);
+			assertNull(aliens[0].dormantGroup);
+			for (Object object: worlds[0].getObjectsView()) {
+				if (((GameObject) object).dormantGroup == null)
+					nbDormantFrames.remove(object);
+				else
+					nbDormantFrames.merge(object, 1, Integer::sum);
+			}
+			for (int nbFrames: nbDormantFrames.values())
+				assertTrue(nbFrames <= Dormancy.MAXIMUM_NUMBER_OF_DORMANT_TICKS);
+		}
+	}
+
+	@Test
+	void removeObject_DormantObjectCatchesUp() {
+		advance(20);
+		int index = 0;
+		while ((index < objects[0].length) && (objects[0][index].dormantGroup == null))
+			index++;
+		assertTrue(index < objects[0].length);
+		GameObject dormant = objects[0][index], twin = objects[1][index];
+		facade.removeGameObject(dormant, worlds[0]);
+		facade.removeGameObject(twin, worlds[1]);
+		assertNull(dormant.dormantGroup);
+		assertSameState(dormant, twin);
+	}
+
+	private void assertSameState(GameObject a, GameObject b) {
+		assertEquals(a.getWorld() == worlds[0], b.getWorld() == worlds[1]);
+		TwinWorlds.assertSameState(a, b);
+	}
+}
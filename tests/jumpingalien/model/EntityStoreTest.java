@@ -0,0 +1,118 @@
+package jumpingalien.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+
+class EntityStoreTest {
+
+	@Test
+	void put_OccupiesSlot() {
+		EntityStore store = new EntityStore(4);
+		store.put(2, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 0);
+		assertEquals(1.0, store.x[2]);
+		assertEquals(2.0, store.y[2]);
+		assertEquals(3.0, store.vx[2]);
+		assertEquals(4.0, store.vy[2]);
+		assertEquals(5.0, store.ax[2]);
+		assertEquals(6.0, store.ay[2]);
+		assertEquals(EntityStore.OCCUPIED, store.flags[2]);
+		store.free(2);
+		assertEquals(0, store.flags[2]);
+		assertEquals(0.0, store.vx[2]);
+	}
+
+	@Test
+	void ensureCapacity_KeepsState() {
+		EntityStore store = new EntityStore(2);
+		store.put(1, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 0);
+		store.put(40, 7.0, 8.0, 0.0, 0.0, 0.0, 0.0, 0);
+		assertTrue(store.capacity() > 40);
+		assertEquals(3.0, store.vx[1]);
+		assertEquals(7.0, store.x[40]);
+	}
+
+	@Test
+	void integrate_MatchesComputationPerObject() {
+		EntityStore store = new EntityStore(4);
+		double vx = 0.7, vy = -3.1, ax = 0.9, ay = -10.0, dt = 1.0/60;
+		store.put(0, 0.0, 0.0, vx, vy, ax, ay, 0);
+		store.integrate(dt, 1);
+		assertTrue(store.isIntegrated(0, dt));
+		assertEquals(0.01/(Math.sqrt((Math.pow(vx,2) + Math.pow(vy, 2))+(Math.sqrt((Math.pow(ax, 2)+
+				Math.pow(ay, 2)))))), store.firstStep[0]);
+		assertEquals((Math.abs(vx) + Math.abs(ax)*dt)*dt*100, store.reachX[0]);
+		assertEquals((Math.abs(vy) + Math.abs(ay)*dt)*dt*100, store.reachY[0]);
+		assertFalse(store.isIntegrated(0, 2*dt));
+	}
+
+	@Test
+	void integrate_SkipsPlayerAndFreeSlots() {
+		EntityStore store = new EntityStore(4);
+		store.put(0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, EntityStore.PLAYER);
+		store.integrate(0.01, 2);
+		assertFalse(store.isIntegrated(0, 0.01));
+		assertFalse(store.isIntegrated(1, 0.01));
+	}
+
+	@Test
+	void setVelocityOrAcceleration_InvalidatesIntegration() {
+		EntityStore store = new EntityStore(4);
+		for (int slot = 0; slot < 4; slot++)
+			store.put(slot, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0);
+		store.integrate(0.01, 4);
+		store.setVx(0, 2.0);
+		store.setVy(1, 2.0);
+		store.setAx(2, 2.0);
+		store.setAy(3, 2.0);
+		for (int slot = 0; slot < 4; slot++)
+			assertFalse(store.isIntegrated(slot, 0.01));
+		store.integrate(0.01, 4);
+		store.setX(0, 5.0);
+		store.setY(0, 5.0);
+		assertTrue(store.isIntegrated(0, 0.01));
+	}
+
+	@Test
+	void setUsesEntityStore_KeepsStateOfObjects() {
+		Facade facade = new Facade();
+		World world = facade.createWorld(10, 20, 20, new int[] { 19, 19 }, 100, 100, new int[400]);
+		Sneezewort plant = TwinWorlds.addSneezewort(facade, world, 50, 50);
+		assertFalse(world.usesEntityStore());
+		world.setUsesEntityStore(true);
+		plant.setPositionXY(0.51, 0.52);
+		world.setUsesEntityStore(false);
+		assertEquals(0.51, plant.getX());
+		assertEquals(0.52, plant.getY());
+		assertEquals(-0.5, plant.getVx());
+		plant.setHorizontalVelocity(0.5);
+		world.setUsesEntityStore(true);
+		assertEquals(0.5, plant.getVx());
+		assertEquals(0.51, plant.getX());
+		facade.removeGameObject(plant, world);
+		assertEquals(0.5, plant.getVx());
+		assertEquals(0.51, plant.getX());
+	}
+
+	@Test
+	void advanceWorldTime_SameWithAndWithoutEntityStore() {
+		World[] worlds = new World[2];
+		Mazub[] aliens = new Mazub[2];
+		Facade facade = new Facade();
+		for (int i = 0; i < 2; i++) {
+			worlds[i] = TwinWorlds.createWorld(facade, 100, 60, 200, 200);
+			worlds[i].setUsesEntityStore(i == 0);
+			Mazub alien = aliens[i] = TwinWorlds.addMazub(facade, worlds[i]);
+			for (int plant = 0; plant < 4; plant++)
+				TwinWorlds.addSneezewort(facade, worlds[i], 60 + 70*plant, 100);
+			facade.startGame(worlds[i]);
+			facade.startMoveRight(alien);
+		}
+		for (int frame = 0; frame < 120; frame++)
+			TwinWorlds.advanceFrame(facade, worlds, aliens, frame, 1.0/60);
+		assertSame(worlds[0], aliens[0].getWorld());
+		TwinWorlds.assertSameObjects(worlds[0], worlds[1]);
+	}
+}
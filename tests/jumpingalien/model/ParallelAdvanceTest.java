@@ -0,0 +1,130 @@
+package jumpingalien.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+
+class ParallelAdvanceTest {
+
+	private Facade facade;
+
+	@BeforeEach
+	void setUp() {
+		facade = new Facade();
+		facade.cleanAllSlimeIds();
+	}
+
+	private World createWorld() {
+		return TwinWorlds.createWorld(facade, 400, 60, 400, 300);
+	}
+
+	@Test
+	void partition_SplitsObjectsFarApart() {
+		World world = createWorld();
+		List<Object> objects = new ArrayList<Object>();
+		for (int plant = 0; plant < 3; plant++)
+			objects.add(TwinWorlds.addSneezewort(facade, world, 100 + 1000*plant, 100));
+		assertEquals(3, ParallelAdvance.partition(objects, 0.01, 4, 1).getNbGroups());
+	}
+
+	@Test
+	void partition_KeepsObjectsNearbyTogether() {
+		World world = createWorld();
+		List<Object> objects = new ArrayList<Object>();
+		for (int x: new int[] { 100, 150, 2000 })
+			objects.add(TwinWorlds.addSneezewort(facade, world, x, 100));
+		assertEquals(2, ParallelAdvance.partition(objects, 0.01, 4, 1).getNbGroups());
+		objects.remove(2);
+		assertEquals(1, ParallelAdvance.partition(objects, 0.01, 4, 1).getNbGroups());
+	}
+
+	@Test
+	void partition_TooFewObjects() {
+		World world = createWorld();
+		List<Object> objects = new ArrayList<Object>();
+		for (int plant = 0; plant < 4; plant++)
+			objects.add(TwinWorlds.addSneezewort(facade, world, 100 + 1000*plant, 100));
+		assertNull(ParallelAdvance.partition(objects, 0.01, 1, 1));
+		assertNull(ParallelAdvance.partition(objects, 0.01, 4, 3));
+		assertEquals(2, ParallelAdvance.partition(objects, 0.01, 4, 2).getNbGroups());
+		assertEquals(4, ParallelAdvance.partition(objects, 0.01, 4, 1).getNbGroups());
+	}
+
+	@Test
+	void isValidFor_SameObjectsNearby() {
+		World world = createWorld();
+		List<Object> objects = new ArrayList<Object>();
+		for (int plant = 0; plant < 3; plant++)
+			objects.add(TwinWorlds.addSneezewort(facade, world, 100 + 1000*plant, 100));
+		ParallelAdvance advance = ParallelAdvance.partition(objects, 0.01, 4, 1);
+		assertTrue(advance.isValidFor(objects, 0.01));
+		((GameObject) objects.get(1)).setPixelPosition(1040, 100);
+		assertTrue(advance.isValidFor(objects, 0.01));
+		((GameObject) objects.get(1)).setPixelPosition(1500, 100);
+		assertFalse(advance.isValidFor(objects, 0.01));
+		((GameObject) objects.get(1)).setPixelPosition(1000, 100);
+		assertFalse(advance.isValidFor(objects, 1.0));
+		assertFalse(advance.isValidFor(objects.subList(0, 2), 0.01));
+		List<Object> reversed = new ArrayList<Object>(objects);
+		java.util.Collections.reverse(reversed);
+		assertFalse(advance.isValidFor(reversed, 0.01));
+	}
+
+	@Test
+	void partition_KeepsSchoolTogether() {
+		World world = createWorld();
+		School school = facade.createSchool(world);
+		List<Object> objects = new ArrayList<Object>();
+		for (int slime = 0; slime < 2; slime++) {
+			Slime member = facade.createSlime(slime + 1, 100 + 3000*slime, 10, school, TwinWorlds.SLIME_SPRITES);
+			facade.addGameObject(member, world);
+			objects.add(member);
+		}
+		assertEquals(1, ParallelAdvance.partition(objects, 0.01, 4, 1).getNbGroups());
+		objects.add(TwinWorlds.addSneezewort(facade, world, 2000, 100));
+		assertEquals(2, ParallelAdvance.partition(objects, 0.01, 4, 1).getNbGroups());
+	}
+
+	@Test
+	void advanceWorldTime_SameInParallel() {
+		World[] worlds = new World[2];
+		Mazub[] aliens = new Mazub[2];
+		for (int i = 0; i < 2; i++) {
+			worlds[i] = createWorld();
+			facade.setAdvancesInParallel(worlds[i], i == 0);
+			worlds[i].setParallelSplit(4, 1);
+			Mazub alien = aliens[i] = TwinWorlds.addMazub(facade, worlds[i]);
+			TwinWorlds.addSneezewortRow(facade, worlds[i]);
+			for (int s = 0; s < 2; s++) {
+				School school = facade.createSchool(worlds[i]);
+				for (int slime = 0; slime < 3; slime++)
+					facade.addGameObject(facade.createSlime(1 + 10*i + 3*s + slime, 400 + 1200*s + 250*slime, 10,
+							school, TwinWorlds.SLIME_SPRITES), worlds[i]);
+			}
+			facade.startGame(worlds[i]);
+			facade.startMoveRight(aliens[i]);
+		}
+		for (int frame = 0; frame < 300; frame++) {
+			TwinWorlds.advanceFrame(facade, worlds, aliens, frame, 1.0/30);
+			assertSameState(worlds[0], worlds[1]);
+		}
+		assertSame(worlds[0], aliens[0].getWorld());
+		assertTrue(worlds[0].getObjectsView().size() < 20);
+	}
+
+	private static void assertSameState(World first, World second) {
+		TwinWorlds.assertSameObjects(first, second);
+		assertEquals(first.getNbObjectQueries(), second.getNbObjectQueries());
+		for (World world: new World[] { first, second }) {
+			for (Object object: world.getObjectsView()) {
+				int[] pixel = ((GameObject) object).getPixelPosition();
+				assertTrue(world.getObjectsInRectangle(pixel[0], pixel[1], pixel[0], pixel[1]).contains(object));
+			}
+		}
+	}
+}
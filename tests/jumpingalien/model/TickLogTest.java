@@ -0,0 +1,93 @@
+package jumpingalien.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.util.Sprite;
+
+class TickLogTest {
+
+	private static Sprite[] sneezewortSprites;
+
+	@BeforeAll
+	static void setUpBeforeClass() {
+		sneezewortSprites = new Sprite[] { new Sprite("Sneezewort Left", 40, 30),
+				new Sprite("Sneezewort Right", 40, 30) };
+	}
+
+	@Test
+	void constructor_IllegalCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new TickLog(0));
+	}
+
+	@Test
+	void append_MergesEqualDurations() {
+		TickLog log = new TickLog(16);
+		log.append(0.1);
+		log.append(0.1);
+		log.append(0.1);
+		log.append(0.05);
+		log.append(0.05);
+		log.append(0.1);
+		assertEquals(6, log.getNbTicks());
+		assertEquals(3, log.getNbRuns());
+		assertEquals(0, log.getFirstTick());
+		assertEquals(0.5, log.getTime(), 1E-12);
+	}
+
+	@Test
+	void append_DiscardsOldestTicksBeyondCapacity() {
+		TickLog log = new TickLog(4);
+		for (int tick = 0; tick < 10; tick++)
+			log.append(0.1);
+		assertEquals(10, log.getNbTicks());
+		assertEquals(6, log.getFirstTick());
+		assertEquals(1, log.getNbRuns());
+		for (int tick = 0; tick < 6; tick++)
+			log.append(0.01*(tick+1));
+		assertEquals(16, log.getNbTicks());
+		assertEquals(12, log.getFirstTick());
+		assertEquals(4, log.getNbRuns());
+	}
+
+	@Test
+	void discardBefore_WithinRun() {
+		TickLog log = new TickLog(16);
+		for (int tick = 0; tick < 5; tick++)
+			log.append(0.1);
+		log.append(0.2);
+		log.discardBefore(3);
+		assertEquals(3, log.getFirstTick());
+		assertEquals(2, log.getNbRuns());
+		log.discardBefore(5);
+		assertEquals(5, log.getFirstTick());
+		assertEquals(1, log.getNbRuns());
+		log.discardBefore(100);
+		assertEquals(6, log.getFirstTick());
+		assertEquals(0, log.getNbRuns());
+		assertEquals(6, log.getNbTicks());
+	}
+
+	@Test
+	void replay_SameAsAdvancingDirectly() {
+		Facade facade = new Facade();
+		World world = facade.createWorld(10, 100, 20, new int[] { 99, 19 }, 200, 200, new int[2000]);
+		Sneezewort replayed = facade.createSneezewort(100, 100, sneezewortSprites[0], sneezewortSprites[1]);
+		Sneezewort advanced = facade.createSneezewort(600, 100, sneezewortSprites[0], sneezewortSprites[1]);
+		facade.addGameObject(replayed, world);
+		facade.addGameObject(advanced, world);
+		TickLog log = new TickLog(8);
+		double[] durations = { 0.03, 0.03, 0.05, 0.1, 0.1, 0.1, 0.02, 0.03, 0.03, 0.15 };
+		for (double dt: durations)
+			log.append(dt);
+		assertThrows(IllegalStateException.class, () -> log.replay(new GameObject[] { replayed }, world, 1, 10));
+		for (int tick = 2; tick < 10; tick++)
+			advanced.advanceObjectsTime(durations[tick]);
+		assertEquals(8, log.replay(new GameObject[] { replayed }, world, 2, 10));
+		assertEquals(advanced.getX() - 5.0, replayed.getX(), 1E-12);
+		assertArrayEquals(advanced.getVelocity(), replayed.getVelocity());
+		assertEquals(0, log.replay(new GameObject[] { replayed }, world, 10, 10));
+	}
+}
@@ -0,0 +1,140 @@
+package jumpingalien.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.util.Sprite;
+
+class TimerQueueTest {
+
+	private TimerQueue queue;
+	private List<String> fired;
+
+	@BeforeEach
+	void setUp() {
+		queue = new TimerQueue();
+		fired = new ArrayList<String>();
+	}
+
+	private TimerQueue.Timer schedule(double deadline, String name) {
+		return queue.schedule(deadline, () -> fired.add(name));
+	}
+
+	@Test
+	void schedule_IllegalTimer() {
+		assertThrows(IllegalArgumentException.class, () -> queue.schedule(Double.NaN, () -> {}));
+		assertThrows(IllegalArgumentException.class, () -> queue.schedule(1.0, null));
+		assertEquals(0, queue.size());
+	}
+
+	@Test
+	void getNextDeadline_EarliestDeadline() {
+		assertEquals(Double.POSITIVE_INFINITY, queue.getNextDeadline());
+		schedule(3.0, "c");
+		schedule(1.0, "a");
+		schedule(2.0, "b");
+		assertEquals(3, queue.size());
+		assertEquals(1.0, queue.getNextDeadline());
+	}
+
+	@Test
+	void fireUntil_InOrderOfDeadlines() {
+		for (int i = 9; i >= 0; i--)
+			schedule(i, "t" + i);
+		assertEquals(4, queue.fireUntil(3.5));
+		assertArrayEquals(new Object[] { "t0", "t1", "t2", "t3" }, fired.toArray());
+		assertEquals(6, queue.size());
+		assertEquals(4.0, queue.getNextDeadline());
+		assertEquals(0, queue.fireUntil(3.9));
+	}
+
+	@Test
+	void fireUntil_SameDeadlineInOrderOfScheduling() {
+		for (int i = 0; i < 20; i++)
+			schedule(1.0 + (i % 2), "t" + i);
+		queue.fireUntil(2.0);
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 20; i += 2)
+			expected.add("t" + i);
+		for (int i = 1; i < 20; i += 2)
+			expected.add("t" + i);
+		assertEquals(expected, fired);
+	}
+
+	@Test
+	void cancel_PendingTimer() {
+		schedule(1.0, "a");
+		TimerQueue.Timer b = schedule(2.0, "b");
+		schedule(3.0, "c");
+		assertTrue(b.isPending());
+		queue.cancel(b);
+		assertFalse(b.isPending());
+		assertEquals(2, queue.size());
+		queue.fireUntil(5.0);
+		assertArrayEquals(new Object[] { "a", "c" }, fired.toArray());
+	}
+
+	@Test
+	void cancel_FiredOrForeignTimer() {
+		TimerQueue.Timer a = schedule(1.0, "a");
+		schedule(2.0, "b");
+		queue.fireUntil(1.0);
+		assertFalse(a.isPending());
+		queue.cancel(a);
+		queue.cancel(null);
+		TimerQueue other = new TimerQueue();
+		TimerQueue.Timer foreign = other.schedule(2.0, () -> {});
+		queue.cancel(foreign);
+		assertTrue(foreign.isPending());
+		assertEquals(1, queue.size());
+		assertEquals(2.0, queue.getNextDeadline());
+	}
+
+	@Test
+	void fireUntil_TimersScheduledByActions() {
+		queue.schedule(1.0, () -> {
+			assertNotNull(queue.getFiringTimer());
+			assertEquals(1.0, queue.getFiringTimer().getDeadline());
+			fired.add("a");
+			schedule(1.5, "b");
+			schedule(4.0, "c");
+		});
+		assertNull(queue.getFiringTimer());
+		assertEquals(2, queue.fireUntil(2.0));
+		assertArrayEquals(new Object[] { "a", "b" }, fired.toArray());
+		assertNull(queue.getFiringTimer());
+		assertEquals(4.0, queue.getNextDeadline());
+	}
+
+	@Test
+	void cancel_KeepsHeapOrdered() {
+		List<TimerQueue.Timer> timers = new ArrayList<TimerQueue.Timer>();
+		for (int i = 0; i < 50; i++)
+			timers.add(schedule((i * 37) % 50, "t" + ((i * 37) % 50)));
+		for (int i = 0; i < 50; i += 3)
+			queue.cancel(timers.get(i));
+		queue.fireUntil(50.0);
+		double previous = -1;
+		for (String name: fired) {
+			int deadline = Integer.parseInt(name.substring(1));
+			assertTrue(deadline > previous);
+			previous = deadline;
+		}
+		assertEquals(50 - 17, fired.size());
+		assertEquals(0, queue.size());
+	}
+
+	@Test
+	void advanceObjectsTime_DueTimerFiresWithoutSubStep() {
+		Sneezewort sneezewort = new Sneezewort(new double[] { 1.0, 1.0 },
+				new Sprite[] { new Sprite("Sneezewort Left", 40, 30), new Sprite("Sneezewort Right", 40, 30) });
+		sneezewort.scheduleAfter(0.0, () -> fired.add("due"));
+		sneezewort.advanceObjectsTime(0.001);
+		assertEquals(1, sneezewort.getNbSubStepsOfLastAdvance());
+		assertArrayEquals(new Object[] { "due" }, fired.toArray());
+	}
+}
@@ -0,0 +1,109 @@
+package jumpingalien.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.util.Sprite;
+
+/**
+ * Sprites, worlds and checks shared by the tests that play two worlds side by side, with an optimization of the
+ * model turned on in the first one only, and compare the objects of both worlds.
+ */
+final class TwinWorlds {
+
+	private TwinWorlds() {
+	}
+
+	static final Sprite[] MAZUB_SPRITES = new Sprite[10];
+	static {
+		for (int i = 0; i < MAZUB_SPRITES.length; i++)
+			MAZUB_SPRITES[i] = new Sprite("Mazub " + i, 90, 45);
+	}
+
+	static final Sprite[] SNEEZEWORT_SPRITES = { new Sprite("Sneezewort Left", 40, 30),
+			new Sprite("Sneezewort Right", 40, 30) };
+
+	static final Sprite[] SLIME_SPRITES = { new Sprite("Slime Right", 60, 60), new Sprite("Slime Left", 60, 60) };
+
+	/**
+	 * Return the features of a world of the given number of tiles with a row of solid ground at the bottom and
+	 * air above it.
+	 */
+	static int[] groundFeatures(int nbTilesX, int nbTilesY) {
+		int[] features = new int[nbTilesX*nbTilesY];
+		for (int tile = 0; tile < nbTilesX; tile++)
+			features[tile] = 1;
+		return features;
+	}
+
+	/**
+	 * Return a world of tiles of 10 pixels with the given number of tiles and the given visible window, a row of
+	 * solid ground at the bottom and its target tile at the top right.
+	 */
+	static World createWorld(Facade facade, int nbTilesX, int nbTilesY, int windowWidth, int windowHeight) {
+		return facade.createWorld(10, nbTilesX, nbTilesY, new int[] { nbTilesX - 1, nbTilesY - 1 }, windowWidth,
+				windowHeight, groundFeatures(nbTilesX, nbTilesY));
+	}
+
+	/**
+	 * Add a Mazub standing on the ground at the left of the given world, and return it.
+	 */
+	static Mazub addMazub(Facade facade, World world) {
+		Mazub alien = facade.createMazub(20, 10, MAZUB_SPRITES);
+		facade.addGameObject(alien, world);
+		return alien;
+	}
+
+	/**
+	 * Add a sneezewort at the given position to the given world, and return it.
+	 */
+	static Sneezewort addSneezewort(Facade facade, World world, int pixelX, int pixelY) {
+		Sneezewort sneezewort = facade.createSneezewort(pixelX, pixelY, SNEEZEWORT_SPRITES[0], SNEEZEWORT_SPRITES[1]);
+		facade.addGameObject(sneezewort, world);
+		return sneezewort;
+	}
+
+	/**
+	 * Add twelve sneezeworts, 300 pixels apart at three heights in turn, to the given world.
+	 */
+	static void addSneezewortRow(Facade facade, World world) {
+		for (int plant = 0; plant < 12; plant++)
+			addSneezewort(facade, world, 150 + 300*plant, 60 + 40*(plant%3));
+	}
+
+	/**
+	 * Advance the given worlds by one frame with the given duration, after letting their Mazubs start to jump
+	 * every 40 frames if they are not jumping yet.
+	 */
+	static void advanceFrame(Facade facade, World[] worlds, Mazub[] aliens, int frame, double dt) {
+		for (int i = 0; i < worlds.length; i++) {
+			if ((frame % 40 == 0) && !aliens[i].isJumping)
+				aliens[i].startJump();
+			facade.advanceWorldTime(worlds[i], dt);
+		}
+	}
+
+	/**
+	 * Check that the given objects are of the same class and have the same position, velocity, acceleration and
+	 * hitpoints.
+	 */
+	static void assertSameState(GameObject a, GameObject b) {
+		assertSame(a.getClass(), b.getClass());
+		assertArrayEquals(a.getPosition(), b.getPosition());
+		assertArrayEquals(a.getVelocity(), b.getVelocity());
+		assertArrayEquals(a.getAcceleration(), b.getAcceleration());
+		assertEquals(a.getHitpoints(), b.getHitpoints());
+	}
+
+	/**
+	 * Check that the given worlds hold as many objects, and that the objects at the same place in their order
+	 * have the same state.
+	 */
+	static void assertSameObjects(World first, World second) {
+		Object[] firstObjects = first.getObjectsView().toArray();
+		Object[] secondObjects = second.getObjectsView().toArray();
+		assertEquals(firstObjects.length, secondObjects.length);
+		for (int i = 0; i < firstObjects.length; i++)
+			assertSameState((GameObject) firstObjects[i], (GameObject) secondObjects[i]);
+	}
+}